@@ -20,6 +20,7 @@ package bench;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.DynamoDBServiceProvider;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.DynamoDbService;
 import entities.EntityWithCompression;
+import entities.EntityWithDeflateCompression;
 import entities.EntityWithNoCompression;
 import io.micronaut.context.ApplicationContext;
 import org.codehaus.groovy.runtime.IOGroovyMethods;
@@ -48,6 +49,7 @@ public class CompressedEntityDynamoDbBenchmark {
     private LocalStackContainer localstack;
     private DynamoDbService<EntityWithCompression> compressionDynamoDbService;
     private DynamoDbService<EntityWithNoCompression> noCompressionDynamoDbService;
+    private DynamoDbService<EntityWithDeflateCompression> deflateCompressionDynamoDbService;
     private String jsonLarge;
     private String jsonSmall;
 
@@ -77,6 +79,13 @@ public class CompressedEntityDynamoDbBenchmark {
             System.out.println(e.getMessage());
         }
 
+        deflateCompressionDynamoDbService = ctx.getBean(DynamoDBServiceProvider.class).findOrCreate(EntityWithDeflateCompression.class);
+        try {
+            deflateCompressionDynamoDbService.createTable();
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+        }
+
         jsonLarge = IOGroovyMethods.getText(this.getClass().getClassLoader().getResourceAsStream("large.json"));
         jsonSmall = IOGroovyMethods.getText(this.getClass().getClassLoader().getResourceAsStream("small.json"));
     }
@@ -101,6 +110,16 @@ public class CompressedEntityDynamoDbBenchmark {
         compressionDynamoDbService.save(new EntityWithCompression(UUID.randomUUID().toString(), jsonSmall));
     }
 
+    @Benchmark
+    public void test_deflate_compressed_json_large() {
+        deflateCompressionDynamoDbService.save(new EntityWithDeflateCompression(UUID.randomUUID().toString(), jsonLarge));
+    }
+
+    @Benchmark
+    public void test_deflate_compressed_json_small() {
+        deflateCompressionDynamoDbService.save(new EntityWithDeflateCompression(UUID.randomUUID().toString(), jsonSmall));
+    }
+
     @TearDown(Level.Trial)
     public void cleanUp() {
         ctx.stop();
@@ -0,0 +1,56 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package entities;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.Compressed;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.PartitionKey;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert.DeflateCompressionCodec;
+import io.micronaut.core.annotation.Introspected;
+
+@Introspected
+public final class EntityWithDeflateCompression {
+
+    private String id;
+    private String data;
+
+    public EntityWithDeflateCompression() {
+    }
+
+    public EntityWithDeflateCompression(String id, String data) {
+        this.id = id;
+        this.data = data;
+    }
+
+    @PartitionKey
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @Compressed(codec = DeflateCompressionCodec.class, threshold = 1024)
+    public String getData() {
+        return data;
+    }
+
+    public void setData(String data) {
+        this.data = data;
+    }
+}
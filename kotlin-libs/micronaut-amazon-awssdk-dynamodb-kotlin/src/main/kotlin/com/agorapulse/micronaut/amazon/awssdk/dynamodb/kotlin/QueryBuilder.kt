@@ -128,6 +128,22 @@ class QueryBuilder<T>(private val delegate: com.agorapulse.micronaut.amazon.awss
         return this
     }
 
+    /**
+     * Sets the number of pages requested in advance while the items of the current page are being processed.
+     *
+     * The items are handed over to the consumer on a separate thread so the next page is requested as soon
+     * as the current page arrives. At most the given number of pages is buffered.
+     *
+     * The prefetch only applies to the asynchronous queries without [limit] and is disabled by default.
+     *
+     * @param pages the number of pages requested in advance, `0` disables the prefetch
+     * @return self
+     */
+    fun prefetch(pages: Int): QueryBuilder<T> {
+        delegate.prefetch(pages)
+        return this
+    }
+
     /**
      * Sets the query offset by defining the exclusive start value.
      * @param lastEvaluatedKey exclusive start value
@@ -85,7 +85,9 @@ class ScanBuilder<T>(private val delegate: com.agorapulse.micronaut.amazon.awssd
     /**
      * Sets the maximum number of items to be returned from the queries.
      *
-     * This is a shortcut for calling `[reactor.core.publisher.Flux.take]` on the result Flux.
+     * The size of the requested pages is derived from the number of the remaining items so no more items than required
+     * are read from the table. If the filter is present, the page size grows with the number of filtered out items.
+     * The page size set by [page] is never exceeded.
      *
      * @param max the maximum number of items returned
      * @return self
@@ -95,6 +97,36 @@ class ScanBuilder<T>(private val delegate: com.agorapulse.micronaut.amazon.awssd
         return this
     }
 
+    /**
+     * Sets the number of pages requested in advance while the items of the current page are being processed.
+     *
+     * The items are handed over to the consumer on a separate thread so the next page is requested as soon
+     * as the current page arrives. At most the given number of pages is buffered.
+     *
+     * The prefetch only applies to the asynchronous scans without [limit] and is disabled by default.
+     *
+     * @param pages the number of pages requested in advance, `0` disables the prefetch
+     * @return self
+     */
+    fun prefetch(pages: Int): ScanBuilder<T> {
+        delegate.prefetch(pages)
+        return this
+    }
+
+    /**
+     * Splits the scan into the given number of segments which are scanned concurrently.
+     *
+     * The items from the individual segments are merged as they arrive so the order of the results is not guaranteed.
+     * The parallel scan cannot be combined with [lastEvaluatedKey].
+     *
+     * @param totalSegments the number of segments scanned concurrently, `1` means sequential scan
+     * @return self
+     */
+    fun parallel(totalSegments: Int): ScanBuilder<T> {
+        delegate.parallel(totalSegments)
+        return this
+    }
+
     /**
      * Sets the scan offset by defining the exclusive start value.
      * @param lastEvaluatedKey exclusive start value
@@ -49,7 +49,11 @@ class UpdateBuilder<T, R>(private val delegate: com.agorapulse.micronaut.amazon.
 
     /**
      * Add a difference to particular attribute of the entity.
-     * @param attributeName name of the attribute
+     *
+     * The numbers are incremented and the items are added to the sets. If the attribute is a list then the items
+     * are appended to the end of the list. The missing attribute is treated as zero or as an empty collection.
+     *
+     * @param attributeName name of the attribute or a path to the nested attribute such as `address.zip`
      * @param delta the difference - usually a number or set of new items for set attributes
      * @return self
      */
@@ -60,7 +64,10 @@ class UpdateBuilder<T, R>(private val delegate: com.agorapulse.micronaut.amazon.
 
     /**
      * Sets a particular attribute of the entity.
-     * @param attributeName name of the attribute
+     *
+     * Setting the value to `null` removes the attribute.
+     *
+     * @param attributeName name of the attribute or a path to the nested attribute such as `address.zip`
      * @param value new value to be set
      * @return self
      */
@@ -69,9 +76,34 @@ class UpdateBuilder<T, R>(private val delegate: com.agorapulse.micronaut.amazon.
         return this
     }
 
+    /**
+     * Sets a particular attribute of the entity only if the attribute does not exist yet.
+     * @param attributeName name of the attribute or a path to the nested attribute such as `address.zip`
+     * @param value new value to be set if the attribute is missing
+     * @return self
+     */
+    fun putIfAbsent(attributeName: String, value: Any?): UpdateBuilder<T, R> {
+        delegate.putIfAbsent(attributeName, value)
+        return this
+    }
+
+    /**
+     * Appends the values to the end of the list attribute of the entity.
+     *
+     * The missing attribute is treated as an empty list.
+     *
+     * @param attributeName name of the attribute or a path to the nested attribute such as `address.lines`
+     * @param values the collection of the values or a single value to be appended
+     * @return self
+     */
+    fun append(attributeName: String, values: Any?): UpdateBuilder<T, R> {
+        delegate.append(attributeName, values)
+        return this
+    }
+
     /**
      * Deletes the value of the particular attribute of the entity.
-     * @param attributeName name of the attribute
+     * @param attributeName name of the attribute or a path to the nested attribute such as `address.zip`
      * @return self
      */
     fun delete(attributeName: String): UpdateBuilder<T, R> {
@@ -160,6 +192,17 @@ class UpdateBuilder<T, R>(private val delegate: com.agorapulse.micronaut.amazon.
         return this
     }
 
+    /**
+     * Creates an independent copy of this update.
+     *
+     * The copy can be used to update a different item, e.g. by setting different keys, without affecting this update.
+     *
+     * @return the copy of this update
+     */
+    fun copy(): UpdateBuilder<T, R> {
+        return UpdateBuilder(delegate.copy())
+    }
+
     fun toJavaBuilder(): com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.UpdateBuilder<T, R> {
         return delegate
     }
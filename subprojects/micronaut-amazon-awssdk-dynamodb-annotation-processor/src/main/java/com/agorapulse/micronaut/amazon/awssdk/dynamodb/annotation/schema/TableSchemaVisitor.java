@@ -0,0 +1,424 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.schema;
+
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.inject.ast.ClassElement;
+import io.micronaut.inject.ast.MethodElement;
+import io.micronaut.inject.ast.PropertyElement;
+import io.micronaut.inject.visitor.TypeElementVisitor;
+import io.micronaut.inject.visitor.VisitorContext;
+import io.micronaut.inject.writer.GeneratedFile;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a table schema with direct getter and setter calls for every mutable {@link Introspected} Java class
+ * which declares a partition key.
+ * <p>
+ * The generated class is named after the entity with <code>$</code> prefix and <code>$TableSchema</code> suffix and it is
+ * picked up by the default table schema creator at runtime. The classes which cannot be mapped without the runtime
+ * introspection, such as immutable entities or entities with flattened properties, are skipped and use the runtime schema.
+ * </p>
+ * <p>
+ * The generation can be disabled using <code>-Amicronaut.amazon.awssdk.dynamodb.generate.schemas=false</code> compiler argument.
+ * </p>
+ */
+public class TableSchemaVisitor implements TypeElementVisitor<Introspected, Object> {
+
+    public static final String ENABLED_OPTION = "micronaut.amazon.awssdk.dynamodb.generate.schemas";
+
+    private static final String PACKAGE = "com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.";
+    private static final String SDK_PACKAGE = "software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.";
+
+    private static final List<String> PARTITION_KEYS_ANNOTATIONS = List.of(PACKAGE + "PartitionKey", PACKAGE + "HashKey", SDK_PACKAGE + "DynamoDbPartitionKey");
+    private static final List<String> SORT_KEYS_ANNOTATIONS = List.of(PACKAGE + "SortKey", PACKAGE + "RangeKey", SDK_PACKAGE + "DynamoDbSortKey");
+    private static final List<String> SECONDARY_PARTITION_KEYS_ANNOTATIONS = List.of(PACKAGE + "SecondaryPartitionKey", SDK_PACKAGE + "DynamoDbSecondaryPartitionKey");
+    private static final List<String> SECONDARY_SORT_KEYS_ANNOTATIONS = List.of(PACKAGE + "SecondarySortKey", SDK_PACKAGE + "DynamoDbSecondarySortKey");
+    private static final List<String> UPDATE_BEHAVIOUR_ANNOTATIONS = List.of(PACKAGE + "UpdateBehavior", SDK_PACKAGE + "DynamoDbUpdateBehavior");
+    private static final List<String> ATTRIBUTE_ANNOTATIONS = List.of(SDK_PACKAGE + "DynamoDbAttribute", PACKAGE + "Attribute");
+    private static final List<String> IGNORE_ANNOTATIONS = List.of(SDK_PACKAGE + "DynamoDbIgnore", PACKAGE + "Ignore");
+    private static final List<String> FLATTEN_ANNOTATIONS = List.of(SDK_PACKAGE + "DynamoDbFlatten", PACKAGE + "Flatten");
+    private static final List<String> IMMUTABLE_ANNOTATIONS = List.of(SDK_PACKAGE + "DynamoDbImmutable", PACKAGE + "Immutable");
+    private static final List<String> CONVERTER_ANNOTATIONS = List.of(
+        SDK_PACKAGE + "DynamoDbConvertedBy", PACKAGE + "ConvertedBy", PACKAGE + "Compressed", PACKAGE + "ConvertedJson"
+    );
+    private static final String TIME_TO_LIVE_ANNOTATION = PACKAGE + "TimeToLive";
+    private static final List<String> INTROSPECTED_CUSTOMIZATIONS = List.of(
+        "classes", "packages", "includes", "excludes", "excludedAnnotations", "includedAnnotations", "accessKind", "visibility", "annotationMetadata"
+    );
+
+    @Override
+    public @NonNull VisitorKind getVisitorKind() {
+        return VisitorKind.ISOLATING;
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Set.of(ENABLED_OPTION);
+    }
+
+    @Override
+    public void visitClass(ClassElement element, VisitorContext context) {
+        if (context.getLanguage() != VisitorContext.Language.JAVA) {
+            return;
+        }
+
+        if ("false".equalsIgnoreCase(context.getOptions().get(ENABLED_OPTION))) {
+            return;
+        }
+
+        createSchema(element).ifPresent(source -> {
+            String className = getGeneratedSimpleName(element);
+            Optional<GeneratedFile> file = context.visitGeneratedSourceFile(element.getPackageName(), className, element);
+            if (file.isEmpty()) {
+                return;
+            }
+            try (Writer writer = file.get().openWriter()) {
+                writer.write(source);
+            } catch (IOException e) {
+                context.warn("Failed to generate DynamoDB table schema for " + element.getName() + ": " + e.getMessage(), element);
+            }
+        });
+    }
+
+    static String getGeneratedSimpleName(ClassElement element) {
+        String packageName = element.getPackageName();
+        String name = packageName.isEmpty() ? element.getName() : element.getName().substring(packageName.length() + 1);
+        return "$" + name + "$TableSchema";
+    }
+
+    private static Optional<String> createSchema(ClassElement element) {
+        if (!isSupportedClass(element)) {
+            return Optional.empty();
+        }
+
+        String beanType = canonicalName(element);
+        List<String> attributes = new ArrayList<>();
+        boolean hasPartitionKey = false;
+
+        for (PropertyElement property : element.getBeanProperties()) {
+            if (property.isExcluded() || property.isWriteOnly() || hasAnyAnnotation(property, IGNORE_ANNOTATIONS) && !property.isReadOnly()) {
+                continue;
+            }
+
+            if (property.isReadOnly() && !hasAnyAnnotation(property, SECONDARY_PARTITION_KEYS_ANNOTATIONS) && !hasAnyAnnotation(property, SECONDARY_SORT_KEYS_ANNOTATIONS)) {
+                continue;
+            }
+
+            if (hasAnyAnnotation(property, FLATTEN_ANNOTATIONS)) {
+                return Optional.empty();
+            }
+
+            if (property.hasAnnotation(TIME_TO_LIVE_ANNOTATION)) {
+                attributes.add("support.getTimeToLiveAttribute(" + javaString(property.getName()) + ")");
+            }
+
+            Optional<String> attribute = createAttribute(beanType, property);
+            if (attribute.isEmpty()) {
+                return Optional.empty();
+            }
+
+            attributes.add(attribute.get());
+            hasPartitionKey |= hasAnyAnnotation(property, PARTITION_KEYS_ANNOTATIONS);
+        }
+
+        if (!hasPartitionKey) {
+            return Optional.empty();
+        }
+
+        if (element.hasAnnotation(TIME_TO_LIVE_ANNOTATION)) {
+            attributes.add("support.getTimeToLiveAttribute()");
+        }
+
+        return Optional.of(writeSchema(element, beanType, attributes));
+    }
+
+    private static boolean isSupportedClass(ClassElement element) {
+        if (!element.hasDeclaredStereotype(Introspected.class) && !element.hasStereotype(Introspected.class)) {
+            return false;
+        }
+
+        if (element.isAbstract() || element.isInterface() || element.isEnum() || element.isRecord() || element.isPrivate() || element.isInner() && !element.isStatic()) {
+            return false;
+        }
+
+        if (!element.getTypeArguments().isEmpty() || hasAnyAnnotation(element, IMMUTABLE_ANNOTATIONS)) {
+            return false;
+        }
+
+        AnnotationValue<Introspected> introspected = element.getAnnotation(Introspected.class);
+        if (introspected != null && INTROSPECTED_CUSTOMIZATIONS.stream().anyMatch(introspected::contains)) {
+            return false;
+        }
+
+        if (introspected != null && introspected.getAnnotation("builder").isPresent()) {
+            return false;
+        }
+
+        return element.getDefaultConstructor().filter(c -> !c.isPrivate()).isPresent();
+    }
+
+    private static Optional<String> createAttribute(String beanType, PropertyElement property) {
+        Optional<MethodElement> getter = property.getReadMethod().filter(m -> !m.isPrivate());
+        Optional<MethodElement> setter = property.getWriteMethod().filter(m -> !m.isPrivate());
+
+        if (getter.isEmpty() || !property.isReadOnly() && setter.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ClassElement type = property.getType();
+        String propertyName = javaString(property.getName());
+        String enhancedType = enhancedType(type);
+
+        if (enhancedType == null) {
+            String sourceType = sourceType(type);
+            if (sourceType == null) {
+                return Optional.empty();
+            }
+            enhancedType = "support.<" + sourceType + ">getEnhancedType(" + propertyName + ")";
+        }
+
+        StringBuilder attribute = new StringBuilder();
+        attribute.append("StaticAttribute.builder(").append(beanType).append(".class, ").append(enhancedType).append(")");
+        attribute.append("\n                .name(").append(javaString(attributeName(property))).append(")");
+        attribute.append("\n                .getter(").append(beanType).append("::").append(getter.get().getName()).append(")");
+
+        if (property.isReadOnly()) {
+            // secondary indices can be read only
+            attribute.append("\n                .setter((bean, value) -> { })");
+        } else if (type.isPrimitive() && !type.isArray()) {
+            attribute.append("\n                .setter((bean, value) -> {\n                    if (value != null) {\n                        bean.")
+                .append(setter.get().getName()).append("(value);\n                    }\n                })");
+        } else {
+            attribute.append("\n                .setter(").append(beanType).append("::").append(setter.get().getName()).append(")");
+        }
+
+        if (hasAnyAnnotation(property, CONVERTER_ANNOTATIONS)) {
+            attribute.append("\n                .attributeConverter(support.getAttributeConverter(").append(propertyName).append("))");
+        }
+
+        for (String tag : tags(property)) {
+            attribute.append("\n                .addTag(").append(tag).append(")");
+        }
+
+        attribute.append("\n                .build()");
+        return Optional.of(attribute.toString());
+    }
+
+    private static List<String> tags(PropertyElement property) {
+        List<String> tags = new ArrayList<>();
+
+        findAnnotation(property, UPDATE_BEHAVIOUR_ANNOTATIONS)
+            .flatMap(AnnotationValue::stringValue)
+            .ifPresent(behavior -> tags.add("StaticAttributeTags.updateBehavior(UpdateBehavior." + behavior + ")"));
+
+        findAnnotation(property, PARTITION_KEYS_ANNOTATIONS).ifPresent(anno -> tags.add("StaticAttributeTags.primaryPartitionKey()"));
+        findAnnotation(property, SORT_KEYS_ANNOTATIONS).ifPresent(anno -> tags.add("StaticAttributeTags.primarySortKey()"));
+
+        findAnnotation(property, SECONDARY_PARTITION_KEYS_ANNOTATIONS)
+            .map(anno -> anno.stringValues("indexNames"))
+            .ifPresent(indexNames -> tags.add("StaticAttributeTags.secondaryPartitionKey(" + javaStrings(indexNames) + ")"));
+
+        findAnnotation(property, SECONDARY_SORT_KEYS_ANNOTATIONS)
+            .map(anno -> anno.stringValues("indexNames"))
+            .ifPresent(indexNames -> tags.add("StaticAttributeTags.secondarySortKey(" + javaStrings(indexNames) + ")"));
+
+        return tags;
+    }
+
+    /**
+     * Mirrors the runtime conversion of the property types to enhanced types for the types which do not need the runtime.
+     * @param type the type of the property
+     * @return the source code creating the enhanced type or <code>null</code> if the type must be resolved at runtime
+     */
+    private static String enhancedType(ClassElement type) {
+        if (type.isGenericPlaceholder() || type.isWildcard()) {
+            return null;
+        }
+
+        if (type.isArray() || type.isPrimitive()) {
+            return "EnhancedType.of(" + erasedType(type) + ".class)";
+        }
+
+        List<? extends ClassElement> typeArguments = type.getBoundGenericTypes();
+
+        if ("java.util.List".equals(type.getName()) || "java.util.Set".equals(type.getName())) {
+            if (typeArguments.size() != 1) {
+                return null;
+            }
+            String elementType = enhancedType(typeArguments.get(0));
+            return elementType == null ? null : "EnhancedType." + ("java.util.List".equals(type.getName()) ? "listOf(" : "setOf(") + elementType + ")";
+        }
+
+        if ("java.util.Map".equals(type.getName())) {
+            if (typeArguments.size() != 2) {
+                return null;
+            }
+            String keyType = enhancedType(typeArguments.get(0));
+            String valueType = enhancedType(typeArguments.get(1));
+            return keyType == null || valueType == null ? null : "EnhancedType.mapOf(" + keyType + ", " + valueType + ")";
+        }
+
+        if (type.getPackageName().startsWith("java.") && typeArguments.isEmpty()) {
+            return "EnhancedType.of(" + canonicalName(type) + ".class)";
+        }
+
+        return null;
+    }
+
+    private static String erasedType(ClassElement type) {
+        if (type.isArray()) {
+            return erasedType(type.fromArray()) + "[]";
+        }
+        return type.isPrimitive() ? type.getName() : canonicalName(type);
+    }
+
+    private static String sourceType(ClassElement type) {
+        if (type.isGenericPlaceholder() || type.isWildcard()) {
+            return null;
+        }
+
+        if (type.isArray()) {
+            String componentType = sourceType(type.fromArray());
+            return componentType == null ? null : componentType + "[]";
+        }
+
+        if (type.isPrimitive()) {
+            return type.getName();
+        }
+
+        List<? extends ClassElement> typeArguments = type.getBoundGenericTypes();
+        if (typeArguments.isEmpty()) {
+            return canonicalName(type);
+        }
+
+        List<String> arguments = new ArrayList<>();
+        for (ClassElement argument : typeArguments) {
+            String sourceType = sourceType(argument);
+            if (sourceType == null) {
+                return null;
+            }
+            arguments.add(sourceType);
+        }
+
+        return canonicalName(type) + "<" + String.join(", ", arguments) + ">";
+    }
+
+    private static String canonicalName(ClassElement type) {
+        return type.getEnclosingType()
+            .map(enclosing -> canonicalName(enclosing) + "." + type.getName().substring(enclosing.getName().length() + 1))
+            .orElseGet(type::getName);
+    }
+
+    private static String attributeName(PropertyElement property) {
+        return findAnnotation(property, ATTRIBUTE_ANNOTATIONS)
+            .flatMap(AnnotationValue::stringValue)
+            .orElseGet(property::getName);
+    }
+
+    private static String writeSchema(ClassElement element, String beanType, List<String> attributes) {
+        String className = getGeneratedSimpleName(element);
+        StringBuilder source = new StringBuilder();
+
+        if (!element.getPackageName().isEmpty()) {
+            source.append("package ").append(element.getPackageName()).append(";\n\n");
+        }
+
+        source.append("import com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema.GeneratedTableSchemaSupport;\n");
+        source.append("import io.micronaut.context.BeanContext;\n");
+        source.append("import io.micronaut.core.annotation.Generated;\n");
+        source.append("import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;\n");
+        source.append("import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchemaCache;\n");
+        source.append("import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttribute;\n");
+        source.append("import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags;\n");
+        source.append("import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;\n");
+        source.append("import software.amazon.awssdk.enhanced.dynamodb.mapper.UpdateBehavior;\n");
+        source.append("import software.amazon.awssdk.enhanced.dynamodb.mapper.WrappedTableSchema;\n\n");
+        source.append("import java.util.ArrayList;\n");
+        source.append("import java.util.Arrays;\n");
+        source.append("import java.util.List;\n\n");
+
+        source.append("@Generated\n");
+        source.append("public final class ").append(className)
+            .append(" extends WrappedTableSchema<").append(beanType).append(", StaticTableSchema<").append(beanType).append(">> {\n\n");
+
+        source.append("    public ").append(className).append("(BeanContext beanContext, MetaTableSchemaCache metaTableSchemaCache) {\n");
+        source.append("        super(create(new GeneratedTableSchemaSupport<>(").append(beanType).append(".class, beanContext, metaTableSchemaCache)));\n");
+        source.append("    }\n\n");
+
+        source.append("    private static StaticTableSchema<").append(beanType).append("> create(GeneratedTableSchemaSupport<")
+            .append(beanType).append("> support) {\n");
+        source.append("        List<StaticAttribute<").append(beanType).append(", ?>> attributes = new ArrayList<>();\n");
+        for (String attribute : attributes) {
+            source.append("        attributes.add(").append(attribute).append(");\n");
+        }
+        source.append("        return StaticTableSchema.builder(").append(beanType).append(".class)\n");
+        source.append("            .newItemSupplier(").append(beanType).append("::new)\n");
+        source.append("            .attributeConverterProviders(support.getAttributeConverterProviders())\n");
+        source.append("            .attributes(attributes)\n");
+        source.append("            .build();\n");
+        source.append("    }\n\n");
+        source.append("}\n");
+
+        return source.toString();
+    }
+
+    private static boolean hasAnyAnnotation(io.micronaut.core.annotation.AnnotationMetadata metadata, List<String> annotationNames) {
+        return annotationNames.stream().anyMatch(metadata::hasAnnotation);
+    }
+
+    private static Optional<AnnotationValue<java.lang.annotation.Annotation>> findAnnotation(PropertyElement property, List<String> annotationNames) {
+        for (String annotationName : annotationNames) {
+            Optional<AnnotationValue<java.lang.annotation.Annotation>> annotation = property.findAnnotation(annotationName);
+            if (annotation.isPresent()) {
+                return annotation;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String javaStrings(String[] values) {
+        return "Arrays.asList(" + Arrays.stream(values).map(TableSchemaVisitor::javaString).collect(Collectors.joining(", ")) + ")";
+    }
+
+    private static String javaString(String value) {
+        StringBuilder result = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> result.append("\\\"");
+                case '\\' -> result.append("\\\\");
+                case '\n' -> result.append("\\n");
+                case '\r' -> result.append("\\r");
+                case '\t' -> result.append("\\t");
+                default -> result.append(c);
+            }
+        }
+        return result.append('"').toString();
+    }
+
+}
@@ -0,0 +1,363 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.PageObserver;
+import io.micronaut.core.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.enhanced.dynamodb.model.DescribeTableEnhancedResponse;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputDescription;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Paces the bulk operations of a single table so they consume only the configured fraction of the table capacity.
+ * <p>
+ * The reads and the writes have separate budgets. Each budget is a token bucket refilled at the current rate which starts
+ * at the target fraction of the provisioned capacity and it is halved whenever the requests are throttled and increased
+ * again with every successful request. The capacity observed before the first throttling is used for the on-demand tables.
+ * </p>
+ */
+final class AdaptiveRateLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveRateLimiter.class);
+
+    private final String tableName;
+    private final Budget reads;
+    private final Budget writes;
+    private final Supplier<CompletableFuture<DescribeTableEnhancedResponse>> describeTable;
+    private final AtomicBoolean described = new AtomicBoolean();
+
+    /**
+     * @param configuration the rate limit configuration of the table
+     * @param describeTable the supplier of the table description used to find out the provisioned capacity
+     * @return the limiter for the table or <code>null</code> if the rate limit is not enabled
+     */
+    @Nullable
+    static AdaptiveRateLimiter create(@Nullable DynamoDBRateLimitConfiguration configuration, Supplier<CompletableFuture<DescribeTableEnhancedResponse>> describeTable) {
+        if (configuration == null || !configuration.isEnabled()) {
+            return null;
+        }
+        return new AdaptiveRateLimiter(configuration, describeTable, System::nanoTime);
+    }
+
+    AdaptiveRateLimiter(DynamoDBRateLimitConfiguration configuration, Supplier<CompletableFuture<DescribeTableEnhancedResponse>> describeTable, LongSupplier clock) {
+        this.tableName = configuration.getName();
+        this.reads = new Budget(configuration.getTargetUtilization(), configuration.getMinCapacity(), configuration.getReadCapacity(), clock);
+        this.writes = new Budget(configuration.getTargetUtilization(), configuration.getMinCapacity(), configuration.getWriteCapacity(), clock);
+        this.describeTable = describeTable;
+
+        if (configuration.getReadCapacity() > 0 && configuration.getWriteCapacity() > 0) {
+            described.set(true);
+        }
+    }
+
+    /**
+     * @return the budget for the reads
+     */
+    Budget reads() {
+        describe();
+        return reads;
+    }
+
+    /**
+     * @return the budget for the writes
+     */
+    Budget writes() {
+        describe();
+        return writes;
+    }
+
+    /**
+     * @return the observer pacing the scanned pages according to the read capacity they consumed
+     */
+    PageObserver scans() {
+        return new PageObserver() {
+
+            @Override
+            public boolean isConsumedCapacityRequired() {
+                return true;
+            }
+
+            @Override
+            public Duration onPage(String index, Page<?> page) {
+                Budget budget = reads();
+                // one read capacity unit reads two items of up to 4 KB with eventual consistency
+                budget.consumed(0, page.consumedCapacity() == null ? page.items().size() / 2.0 : MeteredOperations.capacityUnits(page.consumedCapacity()));
+                return budget.acquire(0);
+            }
+
+        };
+    }
+
+    /**
+     * @param consumedCapacity the capacity consumed by the request across all the tables
+     * @return the capacity units consumed from the current table
+     */
+    double capacityUnits(@Nullable List<ConsumedCapacity> consumedCapacity) {
+        return MeteredOperations.capacityUnits(consumedCapacity, tableName);
+    }
+
+    /**
+     * @param error the error returned by the request
+     * @return <code>true</code> if the request failed because it has been throttled
+     */
+    static boolean isThrottling(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof ProvisionedThroughputExceededException || current instanceof AwsServiceException e && e.isThrottlingException()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void describe() {
+        if (!described.compareAndSet(false, true)) {
+            return;
+        }
+
+        describeTable.get().whenComplete((response, error) -> {
+            if (error != null) {
+                LOGGER.debug("Failed to read the provisioned capacity of table {}, using the observed capacity", tableName, error);
+                return;
+            }
+
+            ProvisionedThroughputDescription throughput = response.table().provisionedThroughput();
+
+            // on-demand tables report zero provisioned capacity
+            if (throughput != null && throughput.readCapacityUnits() != null && throughput.writeCapacityUnits() != null) {
+                reads.provisioned(throughput.readCapacityUnits());
+                writes.provisioned(throughput.writeCapacityUnits());
+            }
+        });
+    }
+
+    /**
+     * Adaptive token bucket for either reads or writes of the table.
+     */
+    static final class Budget {
+
+        private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+        private static final long MIN_OBSERVATION = SECOND / 10;
+        private static final double DECREASE = 0.5;
+        private static final double INCREASE = 0.05;
+
+        private final double targetUtilization;
+        private final double minRate;
+        private final LongSupplier clock;
+        private final boolean configured;
+
+        private double ceiling = Double.POSITIVE_INFINITY;
+        private double rate = Double.POSITIVE_INFINITY;
+        private double tokens;
+        private long refilledAt;
+        private double observedUnits;
+        private long observedSince;
+        private double observedRate;
+
+        Budget(double targetUtilization, double minRate, double capacity, LongSupplier clock) {
+            this.targetUtilization = targetUtilization > 0 ? Math.min(targetUtilization, 1) : 1;
+            this.minRate = minRate > 0 ? minRate : 1;
+            this.clock = clock;
+            this.configured = capacity > 0;
+            this.refilledAt = clock.getAsLong();
+            this.observedSince = refilledAt;
+
+            if (configured) {
+                limit(capacity);
+            }
+        }
+
+        /**
+         * @return the current rate in capacity units per second, infinite if the budget is not limited yet
+         */
+        synchronized double getRate() {
+            return rate;
+        }
+
+        /**
+         * Reserves the capacity units for the next request.
+         * @param units the expected number of capacity units consumed by the request
+         * @return the delay before the request can be sent
+         */
+        synchronized Duration acquire(double units) {
+            refill();
+
+            if (Double.isInfinite(rate)) {
+                return Duration.ZERO;
+            }
+
+            tokens -= units;
+
+            if (tokens >= 0) {
+                return Duration.ZERO;
+            }
+
+            return Duration.ofNanos((long) Math.ceil(-tokens / rate * SECOND));
+        }
+
+        /**
+         * Reserves the capacity units for the next request and blocks the current thread until the request can be sent.
+         * @param units the expected number of capacity units consumed by the request
+         * @return <code>false</code> if the thread has been interrupted while waiting
+         */
+        boolean await(double units) {
+            Duration delay = acquire(units);
+
+            if (delay.isZero()) {
+                return true;
+            }
+
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay.toNanos());
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        /**
+         * Reserves the capacity units for the next request.
+         * @param units the expected number of capacity units consumed by the request
+         * @return mono which completes when the request can be sent
+         */
+        Mono<Void> pace(double units) {
+            return Mono.defer(() -> {
+                Duration delay = acquire(units);
+                if (delay.isZero()) {
+                    return Mono.empty();
+                }
+                return Mono.delay(delay).then();
+            });
+        }
+
+        /**
+         * Records the capacity actually consumed by the successful request and increases the rate.
+         * @param reserved the capacity units reserved for the request
+         * @param consumed the capacity units consumed by the request
+         */
+        synchronized void consumed(double reserved, double consumed) {
+            refill();
+            observe(consumed);
+
+            if (Double.isInfinite(rate)) {
+                return;
+            }
+
+            tokens += reserved - consumed;
+
+            if (rate < ceiling) {
+                double step = Double.isInfinite(ceiling) ? rate * INCREASE : ceiling * INCREASE;
+                rate = Math.min(ceiling, rate + step);
+            }
+        }
+
+        /**
+         * Records the request which has been throttled or partially processed and decreases the rate.
+         */
+        synchronized void throttled() {
+            refill();
+
+            if (Double.isInfinite(ceiling)) {
+                double observed = observedRate();
+                if (observed > 0) {
+                    ceiling = Math.max(minRate, observed * targetUtilization);
+                }
+            }
+
+            double current = Double.isInfinite(rate) ? ceiling : rate;
+            rate = Double.isInfinite(current) ? minRate : Math.max(minRate, current * DECREASE);
+            tokens = Math.min(tokens, 0);
+        }
+
+        /**
+         * Records the failed request.
+         * @param reserved the capacity units reserved for the request
+         * @param error the error returned by the request
+         */
+        void failed(double reserved, Throwable error) {
+            synchronized (this) {
+                if (!Double.isInfinite(rate)) {
+                    tokens += reserved;
+                }
+            }
+
+            if (isThrottling(error)) {
+                throttled();
+            }
+        }
+
+        /**
+         * Sets the provisioned capacity of the table unless the capacity has been configured explicitly.
+         * @param capacity the provisioned capacity units per second, zero for the on-demand tables
+         */
+        synchronized void provisioned(double capacity) {
+            if (!configured && capacity > 0) {
+                limit(capacity);
+            }
+        }
+
+        private void limit(double capacity) {
+            ceiling = Math.max(minRate, capacity * targetUtilization);
+            rate = Math.min(rate, ceiling);
+        }
+
+        private void refill() {
+            long now = clock.getAsLong();
+            if (!Double.isInfinite(rate)) {
+                // allows bursts of up to one second worth of the capacity
+                tokens = Math.min(rate, tokens + (double) (now - refilledAt) * rate / SECOND);
+            }
+            refilledAt = now;
+        }
+
+        private void observe(double units) {
+            long now = clock.getAsLong();
+            long elapsed = now - observedSince;
+            if (elapsed >= SECOND) {
+                observedRate = observedUnits * SECOND / elapsed;
+                observedUnits = 0;
+                observedSince = now;
+            }
+            observedUnits += units;
+        }
+
+        private double observedRate() {
+            long elapsed = clock.getAsLong() - observedSince;
+            if (elapsed < MIN_OBSERVATION) {
+                return observedRate;
+            }
+            return Math.max(observedRate, observedUnits * SECOND / elapsed);
+        }
+
+    }
+
+}
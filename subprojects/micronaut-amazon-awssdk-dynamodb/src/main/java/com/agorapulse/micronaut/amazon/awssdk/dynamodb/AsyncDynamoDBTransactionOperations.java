@@ -0,0 +1,50 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import org.reactivestreams.Publisher;
+
+import java.util.function.Consumer;
+
+/**
+ * Reads and writes the items from multiple tables atomically using DynamoDB transactions.
+ *
+ * The tables are resolved using the {@link AsyncDynamoDBServiceProvider} and the events are published by the services responsible for the particular tables.
+ */
+public interface AsyncDynamoDBTransactionOperations {
+
+    /**
+     * Executes all the actions within a single <code>TransactWriteItems</code> request. Either all the actions succeed or none of them is applied.
+     *
+     * The <code>PRE_*</code> events are published before the request is sent and the <code>POST_*</code> events after the transaction is committed.
+     * The <code>POST_UPDATE</code> events only contain the keys of the updated items.
+     *
+     * @param actions the consumer collecting up to 100 actions
+     * @return publisher emitting the number of actions executed
+     */
+    Publisher<Integer> transactWrite(Consumer<TransactionWriteBuilder> actions);
+
+    /**
+     * Loads the requested items within a single <code>TransactGetItems</code> request so they are read in a consistent state.
+     *
+     * @param reads the consumer collecting up to 100 items to be loaded
+     * @return publisher emitting the loaded items
+     */
+    Publisher<BatchGetResult> transactGet(Consumer<BatchGetBuilder> reads);
+
+}
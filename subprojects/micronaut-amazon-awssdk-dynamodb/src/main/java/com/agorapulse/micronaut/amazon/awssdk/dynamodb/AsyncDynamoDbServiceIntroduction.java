@@ -17,21 +17,20 @@
  */
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
 
-import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.Query;
-import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.Scan;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.Service;
-import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.Update;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.Builders;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedQuery;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedScan;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.ScanBuilder;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedUpdate;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.UpdateBuilder;
-import com.agorapulse.micronaut.amazon.awssdk.dynamodb.util.ItemArgument;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.util.QueryArguments;
 import io.micronaut.aop.MethodInvocationContext;
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.type.MutableArgumentValue;
+import io.micronaut.inject.ExecutableMethod;
 import io.micronaut.scheduling.LoomSupport;
 import jakarta.annotation.PreDestroy;
 import jakarta.inject.Singleton;
@@ -45,9 +44,10 @@ import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
 
 import java.util.Collections;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.stream.Stream;
@@ -63,6 +63,7 @@ public class AsyncDynamoDbServiceIntroduction implements DynamoDbServiceIntroduc
     private final FunctionEvaluator functionEvaluator;
     private final AsyncDynamoDBServiceProvider provider;
     private final ConversionService conversionService;
+    private final ConcurrentMap<ExecutableMethod<Object, Object>, ServiceMethodInvocationPlan> invocationPlans = new ConcurrentHashMap<>();
     private final ExecutorService blockingExecutorService = LoomSupport.isSupported()
         ? LoomSupport.newThreadPerTaskExecutor(LoomSupport.newVirtualThreadFactory("dynamodb-blocking-pool-"))
         : Executors.newCachedThreadPool();
@@ -134,153 +135,179 @@ public class AsyncDynamoDbServiceIntroduction implements DynamoDbServiceIntroduc
     }
 
     private <T> Object doIntercept(MethodInvocationContext<Object, Object> context, AsyncDynamoDbService<T> service) {
-        String methodName = context.getMethodName();
-        if (methodName.startsWith("save")) {
-            return unwrapIfRequired(handleSave(service, context), context);
-        }
+        ServiceMethodInvocationPlan plan = getInvocationPlan(context, service);
+        return unwrapIfRequired(execute(plan, context, service), plan);
+    }
 
-        if (methodName.startsWith("get") || methodName.startsWith("load")) {
-            return unwrapIfRequired(handleGet(service, context), context);
+    private <T> ServiceMethodInvocationPlan getInvocationPlan(MethodInvocationContext<Object, Object> context, AsyncDynamoDbService<T> service) {
+        ExecutableMethod<Object, Object> method = context.getExecutableMethod();
+        ServiceMethodInvocationPlan plan = invocationPlans.get(method);
+        if (plan != null) {
+            return plan;
         }
 
-        if (context.getTargetMethod().isAnnotationPresent(Query.class)) {
-            DetachedQuery<T> criteria = functionEvaluator.evaluateAnnotationType(context.getTargetMethod().getAnnotation(Query.class).value(), context);
-
-            if (methodName.startsWith("count")) {
-                return unwrapIfRequired(service.count(criteria), context);
-            }
-
-            Publisher<T> queryResult = service.query(criteria);
-            if (methodName.startsWith("delete")) {
-                return unwrapIfRequired(service.deleteAll(queryResult), context);
-            }
-
-            if (context.getTargetMethod().isAnnotationPresent(Update.class)) {
-                UpdateBuilder<T, ?> update = (UpdateBuilder<T, ?>) functionEvaluator.evaluateAnnotationType(context.getTargetMethod().getAnnotation(Update.class).value(), context);
-                return unwrapIfRequired(service.updateAll(queryResult, update), context);
-            }
+        // unsupported methods throw the exception and are not cached so they keep failing on every invocation
+        ServiceMethodInvocationPlan newPlan = ServiceMethodInvocationPlan.create(context, service.getItemType(), service.getTable().tableSchema().tableMetadata());
+        ServiceMethodInvocationPlan existing = invocationPlans.putIfAbsent(method, newPlan);
+        return existing == null ? newPlan : existing;
+    }
 
-            return unwrapIfRequired(queryResult, context);
+    @SuppressWarnings("unchecked")
+    private <T> Publisher<?> execute(ServiceMethodInvocationPlan plan, MethodInvocationContext<Object, Object> context, AsyncDynamoDbService<T> service) {
+        Map<String, MutableArgumentValue<?>> params = context.getParameters();
+        QueryArguments partitionAndSort = plan.getQueryArguments();
+
+        switch (plan.getOperation()) {
+            case SAVE:
+                return service.save((T) params.get(plan.getItemArgument().getName()).getValue());
+            case SAVE_ALL:
+                return service.saveAll(toPublisher(service.getItemType(), plan.getItemArgument(), params));
+            case GET:
+                return service.get(partitionAndSort.getPartitionValue(params), partitionAndSort.getSortValue(params));
+            case GET_ALL_BY_PARTITION_KEYS:
+                return service.getAll(partitionAndSort.getPartitionAttributeValues(conversionService, params));
+            case GET_ALL_BY_SORT_KEYS:
+                return service.getAll(partitionAndSort.getPartitionValue(params), partitionAndSort.getSortAttributeValues(conversionService, params));
+            case QUERY:
+                return query(plan, service, this.<DetachedQuery<T>>evaluateCriteria(plan, context));
+            case QUERY_COUNT:
+                return service.count(this.<DetachedQuery<T>>evaluateCriteria(plan, context));
+            case QUERY_DELETE:
+                return service.deleteAll(service.query(this.<DetachedQuery<T>>evaluateCriteria(plan, context)));
+            case QUERY_UPDATE:
+                return updateAll(plan, service, service.query(this.<DetachedQuery<T>>evaluateCriteria(plan, context)), evaluateUpdate(plan, context));
+            case SCAN:
+                if (plan.getProjectionType() != null) {
+                    return service.scan(this.<T>evaluateScan(plan, context), plan.getProjectionType());
+                }
+                return service.scan(this.<T>evaluateScan(plan, context));
+            case SCAN_COUNT:
+                return service.count(this.<T>evaluateScan(plan, context));
+            case SCAN_DELETE:
+                return service.deleteAll(service.scan(this.<T>evaluateScan(plan, context)));
+            case SCAN_UPDATE:
+                return updateAll(plan, service, service.scan(this.<T>evaluateScan(plan, context)), evaluateUpdate(plan, context));
+            case UPDATE:
+                return service.update(this.<DetachedUpdate<T, ?>>evaluateCriteria(plan, context));
+            case DELETE_ITEM:
+                return Mono.from(QueryArguments.toPublisher(conversionService, service.getItemType(), plan.getItemArgument(), params)).flatMap(item -> Mono.from(service.delete(item)));
+            case DELETE_ITEMS:
+                return service.deleteAll(QueryArguments.toPublisher(conversionService, service.getItemType(), plan.getItemArgument(), params));
+            case DELETE_BY_KEY:
+                return service.delete(partitionAndSort.getPartitionValue(params), partitionAndSort.getSortValue(params));
+            case DELETE_BY_ARGUMENTS:
+                return service.deleteAll(service.query(partitionAndSort.generateQuery(context, conversionService)));
+            case COUNT_BY_KEY:
+                return service.count(partitionAndSort.getPartitionValue(params), partitionAndSort.getSortValue(params));
+            case COUNT_BY_ARGUMENTS:
+                return service.countUsingQuery(partitionAndSort.generateQuery(context, conversionService));
+            case FIND_BY_KEY:
+                if (plan.getProjectionType() != null) {
+                    return query(plan, service, findByKey(partitionAndSort.getPartitionValue(params), partitionAndSort.getSortValue(params)));
+                }
+                return service.findAll(partitionAndSort.getPartitionValue(params), partitionAndSort.getSortValue(params));
+            case FIND_BY_ARGUMENTS:
+                return query(plan, service, Builders.<T>query(partitionAndSort.generateQuery(context, conversionService)));
+            default:
+                throw new UnsupportedOperationException("Cannot implement method " + context.getExecutableMethod().getTargetMethod());
         }
+    }
 
-        if (context.getTargetMethod().isAnnotationPresent(Scan.class)) {
-            DetachedScan<T> criteria = functionEvaluator.evaluateAnnotationType(context.getTargetMethod().getAnnotation(Scan.class).value(), context);
-
-            if (methodName.startsWith("count")) {
-                return unwrapIfRequired(service.count(criteria), context);
-            }
-
-            Publisher<T> scanResult = service.scan(criteria);
-
-            if (methodName.startsWith("delete")) {
-                return unwrapIfRequired(service.deleteAll(scanResult), context);
-            }
-
-            if (context.getTargetMethod().isAnnotationPresent(Update.class)) {
-                UpdateBuilder<T, ?> update = (UpdateBuilder<T, ?>) functionEvaluator.evaluateAnnotationType(context.getTargetMethod().getAnnotation(Update.class).value(), context);
-                return unwrapIfRequired(service.updateAll(scanResult, update), context);
-            }
-
-            return unwrapIfRequired(scanResult, context);
+    private static <T> Publisher<?> query(ServiceMethodInvocationPlan plan, AsyncDynamoDbService<T> service, DetachedQuery<T> query) {
+        if (plan.getProjectionType() != null) {
+            return service.query(query, plan.getProjectionType());
         }
+        return service.query(query);
+    }
 
-        if (context.getTargetMethod().isAnnotationPresent(Update.class)) {
-            DetachedUpdate<T, ?> criteria = functionEvaluator.evaluateAnnotationType(context.getTargetMethod().getAnnotation(Update.class).value(), context);
-
-            return unwrapIfRequired(service.update(criteria), context);
+    private static <T> DetachedQuery<T> findByKey(Object partitionKey, Object sortKey) {
+        if (sortKey == null) {
+            return Builders.query(q -> q.partitionKey(partitionKey));
         }
+        return Builders.query(q -> q.partitionKey(partitionKey).sortKey(s -> s.eq(sortKey)));
+    }
 
-        if (methodName.startsWith("delete")) {
-            Optional<ItemArgument> maybeItemArgument = ItemArgument.findItemArgument(service.getItemType(), context);
-            if (maybeItemArgument.isPresent()) {
-                return unwrapIfRequired(handleDelete(service, context, maybeItemArgument), context);
-            }
-        }
+    private <C> C evaluateCriteria(ServiceMethodInvocationPlan plan, MethodInvocationContext<Object, Object> context) {
+        return functionEvaluator.evaluateAnnotationType(plan.getCriteriaType(), context);
+    }
 
-        if (methodName.startsWith("query") || methodName.startsWith("findAll") || methodName.startsWith("list") || methodName.startsWith("count") || methodName.startsWith("delete")) {
-            QueryArguments partitionAndSort = QueryArguments.create(context, service.getTable().tableSchema().tableMetadata(), service.getItemType());
-            if (methodName.startsWith("count")) {
-                if (partitionAndSort.isCustomized()) {
-                    return unwrapIfRequired(service.countUsingQuery(partitionAndSort.generateQuery(context, conversionService)), context);
-                }
-                return unwrapIfRequired(service.count(partitionAndSort.getPartitionValue(context.getParameters()), partitionAndSort.getSortValue(context.getParameters())), context);
-            }
-            if (methodName.startsWith("delete")) {
-                if (partitionAndSort.isCustomized()) {
-                    return unwrapIfRequired(service.deleteAll(service.query(partitionAndSort.generateQuery(context, conversionService))), context);
-                }
-                Optional<ItemArgument> maybeItemArgument = ItemArgument.findItemArgument(service.getItemType(), context);
-                return unwrapIfRequired(handleDelete(service, context, maybeItemArgument), context);
-            }
-            if (partitionAndSort.isCustomized()) {
-                return unwrapIfRequired(service.query(partitionAndSort.generateQuery(context, conversionService)), context);
-            }
-            return unwrapIfRequired(
-                service.findAll(partitionAndSort.getPartitionValue(context.getParameters()), partitionAndSort.getSortValue(context.getParameters())),
-                context
-            );
+    private <T> DetachedScan<T> evaluateScan(ServiceMethodInvocationPlan plan, MethodInvocationContext<Object, Object> context) {
+        DetachedScan<T> scan = evaluateCriteria(plan, context);
+        if (plan.getTotalSegments() > 1 && scan instanceof ScanBuilder<T> builder) {
+            return builder.parallel(plan.getTotalSegments());
         }
-
-        throw new UnsupportedOperationException("Cannot implement method " + context.getExecutableMethod().getTargetMethod());
+        return scan;
     }
 
-    private Object unwrapIfRequired(Publisher<?> publisherWithoutCheckpoint, MethodInvocationContext<Object, Object> context) {
-        Class<Object> type = context.getReturnType().getType();
-        Publisher<?> publisher = publisherWithCheckpoint(publisherWithoutCheckpoint, context);
-        if (void.class.isAssignableFrom(type) || Void.class.isAssignableFrom(type)) {
-            return safeBlock(Flux.from(publisher).collectList());
-        }
-        if (Publishers.isConvertibleToPublisher(type)) {
-            return Publishers.convertPublisher(conversionService, publisher, type);
+    @SuppressWarnings("unchecked")
+    private static <T> Publisher<?> updateAll(ServiceMethodInvocationPlan plan, AsyncDynamoDbService<T> service, Publisher<T> items, UpdateBuilder<T, ?> update) {
+        if (plan.isTransactional()) {
+            return service.updateAllInTransactions(items, update);
         }
+        return service.updateAll(items, update);
+    }
 
-        if (Number.class.isAssignableFrom(type) || type.isPrimitive() && !boolean.class.isAssignableFrom(type)) {
-            if (Publishers.isSingle(publisher.getClass())) {
-                Object result = safeBlock(Mono.from(publisher));
+    private <T> UpdateBuilder<T, ?> evaluateUpdate(ServiceMethodInvocationPlan plan, MethodInvocationContext<Object, Object> context) {
+        return (UpdateBuilder<T, ?>) functionEvaluator.evaluateAnnotationType(plan.getUpdateType(), context);
+    }
 
-                if (result == null) {
-                    return 0;
+    private Object unwrapIfRequired(Publisher<?> publisherWithoutCheckpoint, ServiceMethodInvocationPlan plan) {
+        Class<Object> type = plan.getReturnType();
+        Publisher<?> publisher = publisherWithCheckpoint(publisherWithoutCheckpoint, plan.getCheckpointDescription());
+
+        switch (plan.getResultType()) {
+            case VOID:
+                // the results are ignored so they must not be retained, e.g. when saving or deleting very large inputs
+                return safeBlock(Flux.from(publisher).then());
+            case PUBLISHER:
+                return Publishers.convertPublisher(conversionService, publisher, type);
+            case NUMBER:
+                return unwrapNumber(publisher, type);
+            case STREAM:
+                // to stream is also blocking operation, see reactor.core.publisher.BlockingIterable.SubscriberIterator.hasNext
+                if (Schedulers.isInNonBlockingThread()) {
+                    return safeBlock(Flux.from(publisher).collectList()).stream();
+                }
+                // for blocking threads we can return directly
+                return Flux.from(publisher).toStream();
+            case COLLECTION:
+                return conversionService.convert(safeBlock(Flux.from(publisher).collectList()), type).orElse(Collections.emptyList());
+            default:
+                Object value = safeBlock(Mono.from(publisher));
+
+                if (value == null) {
+                    return null;
                 }
 
-                return conversionService.convert(result, type).orElseGet(() -> {
-                    logTypeConversionFailure(type, result);
-                    return 0;
+                return conversionService.convert(value, type).orElseGet(() -> {
+                    logTypeConversionFailure(type, value);
+                    return null;
                 });
-            }
-            Long count = safeBlock(Flux.from(publisher).count());
+        }
+    }
 
-            if (count == null) {
+    private Object unwrapNumber(Publisher<?> publisher, Class<Object> type) {
+        if (Publishers.isSingle(publisher.getClass())) {
+            Object result = safeBlock(Mono.from(publisher));
+
+            if (result == null) {
                 return 0;
             }
 
-            return conversionService.convert(count, type).orElseGet(() -> {
-                logTypeConversionFailure(type, count);
+            return conversionService.convert(result, type).orElseGet(() -> {
+                logTypeConversionFailure(type, result);
                 return 0;
             });
         }
+        Long count = safeBlock(Flux.from(publisher).count());
 
-        if (Stream.class.isAssignableFrom(type)) {
-            // to stream is also blocking operation, see reactor.core.publisher.BlockingIterable.SubscriberIterator.hasNext
-            if (Schedulers.isInNonBlockingThread()) {
-                return safeBlock(Flux.from(publisher).collectList()).stream();
-            }
-            // for blocking threads we can return directly
-            return Flux.from(publisher).toStream();
-        }
-
-        if (type.isArray() || Iterable.class.isAssignableFrom(type)) {
-            return conversionService.convert(safeBlock(Flux.from(publisher).collectList()), type).orElse(Collections.emptyList());
-        }
-
-        Object value = safeBlock(Mono.from(publisher));
-
-        if (value == null) {
-            return null;
+        if (count == null) {
+            return 0;
         }
 
-        return conversionService.convert(value, type).orElseGet(() -> {
-            logTypeConversionFailure(type, value);
-            return null;
+        return conversionService.convert(count, type).orElseGet(() -> {
+            logTypeConversionFailure(type, count);
+            return 0;
         });
     }
 
@@ -301,92 +328,12 @@ public class AsyncDynamoDbServiceIntroduction implements DynamoDbServiceIntroduc
         }
     }
 
-    private <T> Publisher<T> handleSave(AsyncDynamoDbService<T> service, MethodInvocationContext<Object, Object> context) {
-        Map<String, MutableArgumentValue<?>> params = context.getParameters();
-        Argument<?>[] args = context.getArguments();
-
-        if (args.length != 1) {
-            throw new UnsupportedOperationException("Method expects 1 parameter - item, iterable of items or array of items");
-        }
-
-        Argument<?> itemArgument = args[0];
-        Publisher<T> items = toPublisher(service.getItemType(), itemArgument, params);
-
-        if (itemArgument.getType().isArray() || Iterable.class.isAssignableFrom(itemArgument.getType()) || Publisher.class.isAssignableFrom(itemArgument.getType())) {
-            return service.saveAll(items);
-        }
-
-        return service.save((T) params.get(itemArgument.getName()).getValue());
-    }
-
-    private <T> Publisher<?> handleDelete(AsyncDynamoDbService<T> service, MethodInvocationContext<Object, Object> context, Optional<ItemArgument> maybeItemArgument) {
-        Map<String, MutableArgumentValue<?>> params = context.getParameters();
-
-        if (maybeItemArgument.isPresent()) {
-            ItemArgument itemArgument = maybeItemArgument.get();
-            Publisher<T> items = QueryArguments.toPublisher(conversionService, service.getItemType(), itemArgument.getArgument(), params);
-
-            if (!itemArgument.isSingle()) {
-                return service.deleteAll(items);
-            }
-
-            if (service.getItemType().isAssignableFrom(itemArgument.getArgument().getType())) {
-                return Mono.from(items).flatMap(item -> Mono.from(service.delete(item)));
-            }
-        }
-
-        Argument<?>[] args = context.getArguments();
-        if (args.length > 2) {
-            throw new UnsupportedOperationException("Method expects at most 2 parameters - partition key and sort key, an item or items");
-        }
-
-        QueryArguments partitionAndSort = QueryArguments.create(context, service.getTable().tableSchema().tableMetadata(), service.getItemType());
-        return service.delete(partitionAndSort.getPartitionValue(params), partitionAndSort.getSortValue(params));
-    }
-
-    private <T> Publisher<T> handleGet(AsyncDynamoDbService<T> service, MethodInvocationContext<Object, Object> context) {
-        Map<String, MutableArgumentValue<?>> params = context.getParameters();
-        Argument<?>[] args = context.getArguments();
-
-        if (args.length > 2) {
-            throw new UnsupportedOperationException("Method expects at most 2 parameters - partition key and sort key or sort keys");
-        }
-
-        QueryArguments partitionAndSort = QueryArguments.create(context, service.getTable().tableSchema().tableMetadata(), service.getItemType());
-        Object partitionValue = partitionAndSort.getPartitionValue(params);
-
-        if (!partitionAndSort.hasSortKey()) {
-            if (partitionAndSort.isPartitionKeyPublisherOrIterable()) {
-                return service.getAll(partitionAndSort.getPartitionAttributeValues(conversionService, params));
-            }
-            return service.get(partitionValue, null);
-        }
-
-        if (partitionAndSort.isSortKeyPublisherOrIterable()) {
-            return service.getAll(partitionValue, partitionAndSort.getSortAttributeValues(conversionService, params));
-        }
-
-        return service.get(partitionValue, partitionAndSort.getSortValue(params));
-    }
-
-    private <T> Publisher<T> publisherWithCheckpoint(Publisher<T> publisher, MethodInvocationContext<Object, Object> context) {
+    private <T> Publisher<T> publisherWithCheckpoint(Publisher<T> publisher, String description) {
         if (publisher instanceof Mono<T> mono) {
-            return monoWithCheckpoint(mono, context);
+            return mono.checkpoint(description, true);
         }
 
-        if (publisher instanceof Flux<T> flux) {
-            return fluxWithCheckpoint(flux, context);
-        }
-
-        return Flux.from(publisher).checkpoint(context.getExecutableMethod().toString(), true);
-    }
-
-    private <T> Mono<T> monoWithCheckpoint(Publisher<T> publisher, MethodInvocationContext<Object, Object> context) {
-        return Mono.from(publisher).checkpoint(context.getExecutableMethod().toString(), true);
-    }
-
-    private <T> Flux<T> fluxWithCheckpoint(Publisher<T> publisher, MethodInvocationContext<Object, Object> context) {
-        return Flux.from(publisher).checkpoint(context.getExecutableMethod().toString(), true);
+        return Flux.from(publisher).checkpoint(description, true);
     }
 
 }
@@ -0,0 +1,82 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Collects the items from one or more tables to be loaded using shared <code>BatchGetItem</code> requests.
+ *
+ * The table name defaults to the simple name of the entity type, the same way as in {@link DynamoDBServiceProvider#findOrCreate(Class)}.
+ */
+public interface BatchGetBuilder {
+
+    /**
+     * Requests loading the item with given keys from given table.
+     *
+     * @param tableName     the name of the table
+     * @param type          the type of the DynamoDB entity
+     * @param partitionKey  the partition key of the item
+     * @param sortKey       the sort key of the item or <code>null</code> if the table has no sort key
+     * @param <T>           the type of the DynamoDB entity
+     * @return self
+     */
+    <T> BatchGetBuilder get(String tableName, Class<T> type, Object partitionKey, @Nullable Object sortKey);
+
+    /**
+     * Requests loading the item with given keys.
+     *
+     * @param type          the type of the DynamoDB entity
+     * @param partitionKey  the partition key of the item
+     * @param sortKey       the sort key of the item or <code>null</code> if the table has no sort key
+     * @param <T>           the type of the DynamoDB entity
+     * @return self
+     */
+    default <T> BatchGetBuilder get(Class<T> type, Object partitionKey, @Nullable Object sortKey) {
+        return get(type.getSimpleName(), type, partitionKey, sortKey);
+    }
+
+    /**
+     * Requests loading the item with given partition key from the table without the sort key.
+     *
+     * @param type          the type of the DynamoDB entity
+     * @param partitionKey  the partition key of the item
+     * @param <T>           the type of the DynamoDB entity
+     * @return self
+     */
+    default <T> BatchGetBuilder get(Class<T> type, Object partitionKey) {
+        return get(type, partitionKey, null);
+    }
+
+    /**
+     * Requests loading the items with given partition key and any of the sort keys.
+     *
+     * @param type          the type of the DynamoDB entity
+     * @param partitionKey  the partition key of the items
+     * @param sortKeys      the sort keys of the items
+     * @param <T>           the type of the DynamoDB entity
+     * @return self
+     */
+    default <T> BatchGetBuilder getAll(Class<T> type, Object partitionKey, Iterable<?> sortKeys) {
+        for (Object sortKey : sortKeys) {
+            get(type, partitionKey, sortKey);
+        }
+        return this;
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The items loaded by the batch read from one or more tables.
+ *
+ * The items are returned in the order they were requested. The items which do not exist are not present in the result.
+ */
+public final class BatchGetResult {
+
+    private final Map<MultiTableBatch.Table<?>, List<MultiTableBatch.Entry>> entriesByTable = new LinkedHashMap<>();
+    private final Map<MultiTableBatch.Entry, Object> loaded;
+    private final AttributeConversionHelper attributeConversionHelper;
+
+    BatchGetResult(List<MultiTableBatch.Entry> requested, Map<MultiTableBatch.Entry, Object> loaded, AttributeConversionHelper attributeConversionHelper) {
+        this.loaded = loaded;
+        this.attributeConversionHelper = attributeConversionHelper;
+        requested.forEach(entry -> entriesByTable.computeIfAbsent(entry.table(), t -> new ArrayList<>()).add(entry));
+    }
+
+    /**
+     * Returns the loaded items of given type from all the tables.
+     *
+     * @param type  the type of the DynamoDB entity
+     * @param <T>   the type of the DynamoDB entity
+     * @return the loaded items of given type in the order they were requested
+     */
+    public <T> List<T> getAll(Class<T> type) {
+        List<T> items = new ArrayList<>();
+        entriesByTable.forEach((table, entries) -> {
+            if (type.isAssignableFrom(table.itemType())) {
+                collect(type, entries, items);
+            }
+        });
+        return items;
+    }
+
+    /**
+     * Returns the loaded items from given table.
+     *
+     * @param tableName the name of the table
+     * @param type      the type of the DynamoDB entity
+     * @param <T>       the type of the DynamoDB entity
+     * @return the loaded items from given table in the order they were requested
+     */
+    public <T> List<T> getAll(String tableName, Class<T> type) {
+        List<T> items = new ArrayList<>();
+        entriesByTable.forEach((table, entries) -> {
+            if (table.name().equals(tableName)) {
+                collect(type, entries, items);
+            }
+        });
+        return items;
+    }
+
+    /**
+     * Returns the loaded item with given keys.
+     *
+     * @param type          the type of the DynamoDB entity
+     * @param partitionKey  the partition key of the item
+     * @param sortKey       the sort key of the item or <code>null</code> if the table has no sort key
+     * @param <T>           the type of the DynamoDB entity
+     * @return the loaded item or <code>null</code> if the item does not exist or it was not requested
+     */
+    @Nullable
+    public <T> T get(Class<T> type, Object partitionKey, @Nullable Object sortKey) {
+        for (MultiTableBatch.Table<?> table : entriesByTable.keySet()) {
+            if (type.isAssignableFrom(table.itemType())) {
+                Object item = loaded.get(new MultiTableBatch.Entry(table, table.key(attributeConversionHelper, partitionKey, sortKey)));
+                if (item != null) {
+                    return type.cast(item);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the loaded item with given partition key from the table without the sort key.
+     *
+     * @param type          the type of the DynamoDB entity
+     * @param partitionKey  the partition key of the item
+     * @param <T>           the type of the DynamoDB entity
+     * @return the loaded item or <code>null</code> if the item does not exist or it was not requested
+     */
+    @Nullable
+    public <T> T get(Class<T> type, Object partitionKey) {
+        return get(type, partitionKey, null);
+    }
+
+    /**
+     * @return the number of the loaded items
+     */
+    public int size() {
+        return loaded.size();
+    }
+
+    private <T> void collect(Class<T> type, List<MultiTableBatch.Entry> entries, List<T> items) {
+        for (MultiTableBatch.Entry entry : entries) {
+            Object item = loaded.get(entry);
+            if (item != null) {
+                items.add(type.cast(item));
+            }
+        }
+    }
+
+}
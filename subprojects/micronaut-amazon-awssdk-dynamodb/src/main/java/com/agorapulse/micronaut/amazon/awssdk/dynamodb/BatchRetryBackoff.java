@@ -0,0 +1,76 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes the delays between the attempts to resubmit the unprocessed items of the batch requests.
+ * <p>
+ * Uses exponential backoff with full jitter so the concurrent batches do not retry at the same time.
+ * </p>
+ */
+final class BatchRetryBackoff {
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    BatchRetryBackoff(DynamoDBBatchConfiguration configuration) {
+        this.maxAttempts = Math.max(1, configuration.getMaxAttempts());
+        this.initialBackoffMillis = Math.max(1, configuration.getInitialBackoff().toMillis());
+        this.maxBackoffMillis = Math.max(initialBackoffMillis, configuration.getMaxBackoff().toMillis());
+    }
+
+    /**
+     * @param attempt the number of the attempt which has just finished, starting with one
+     * @return <code>true</code> if another attempt is allowed
+     */
+    boolean canRetry(int attempt) {
+        return attempt < maxAttempts;
+    }
+
+    /**
+     * @param attempt the number of the attempt which has just finished, starting with one
+     * @return the random delay before the next attempt
+     */
+    Duration delay(int attempt) {
+        long ceiling = initialBackoffMillis << Math.min(attempt - 1, 30);
+        if (ceiling <= 0 || ceiling > maxBackoffMillis) {
+            ceiling = maxBackoffMillis;
+        }
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    /**
+     * Blocks the current thread until the next attempt.
+     * @param attempt the number of the attempt which has just finished, starting with one
+     * @return <code>false</code> if the thread has been interrupted while waiting
+     */
+    boolean await(int attempt) {
+        try {
+            Thread.sleep(delay(attempt).toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
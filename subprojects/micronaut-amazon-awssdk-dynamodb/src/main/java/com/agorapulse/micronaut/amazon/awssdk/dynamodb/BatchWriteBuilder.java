@@ -0,0 +1,135 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Collects the items from one or more tables to be saved or deleted using shared <code>BatchWriteItem</code> requests.
+ *
+ * The table name defaults to the simple name of the entity type, the same way as in {@link DynamoDBServiceProvider#findOrCreate(Class)}.
+ * If there are more writes of the item with the same key, only the last one is sent.
+ */
+public interface BatchWriteBuilder {
+
+    /**
+     * Requests saving the item into given table.
+     *
+     * @param tableName the name of the table
+     * @param item      the item to be saved
+     * @param <T>       the type of the DynamoDB entity
+     * @return self
+     */
+    <T> BatchWriteBuilder save(String tableName, T item);
+
+    /**
+     * Requests saving the item.
+     *
+     * @param item  the item to be saved
+     * @param <T>   the type of the DynamoDB entity
+     * @return self
+     */
+    default <T> BatchWriteBuilder save(T item) {
+        return save(item.getClass().getSimpleName(), item);
+    }
+
+    /**
+     * Requests saving all the items.
+     *
+     * @param items the items to be saved, they can be of different types
+     * @return self
+     */
+    default BatchWriteBuilder saveAll(Iterable<?> items) {
+        for (Object item : items) {
+            save(item);
+        }
+        return this;
+    }
+
+    /**
+     * Requests deleting the item from given table.
+     *
+     * @param tableName the name of the table
+     * @param item      the item to be deleted
+     * @param <T>       the type of the DynamoDB entity
+     * @return self
+     */
+    <T> BatchWriteBuilder delete(String tableName, T item);
+
+    /**
+     * Requests deleting the item.
+     *
+     * @param item  the item to be deleted
+     * @param <T>   the type of the DynamoDB entity
+     * @return self
+     */
+    default <T> BatchWriteBuilder delete(T item) {
+        return delete(item.getClass().getSimpleName(), item);
+    }
+
+    /**
+     * Requests deleting all the items.
+     *
+     * @param items the items to be deleted, they can be of different types
+     * @return self
+     */
+    default BatchWriteBuilder deleteAll(Iterable<?> items) {
+        for (Object item : items) {
+            delete(item);
+        }
+        return this;
+    }
+
+    /**
+     * Requests deleting the item with given keys from given table.
+     *
+     * @param tableName     the name of the table
+     * @param type          the type of the DynamoDB entity
+     * @param partitionKey  the partition key of the item
+     * @param sortKey       the sort key of the item or <code>null</code> if the table has no sort key
+     * @param <T>           the type of the DynamoDB entity
+     * @return self
+     */
+    <T> BatchWriteBuilder delete(String tableName, Class<T> type, Object partitionKey, @Nullable Object sortKey);
+
+    /**
+     * Requests deleting the item with given keys.
+     *
+     * @param type          the type of the DynamoDB entity
+     * @param partitionKey  the partition key of the item
+     * @param sortKey       the sort key of the item or <code>null</code> if the table has no sort key
+     * @param <T>           the type of the DynamoDB entity
+     * @return self
+     */
+    default <T> BatchWriteBuilder delete(Class<T> type, Object partitionKey, @Nullable Object sortKey) {
+        return delete(type.getSimpleName(), type, partitionKey, sortKey);
+    }
+
+    /**
+     * Requests deleting the item with given partition key from the table without the sort key.
+     *
+     * @param type          the type of the DynamoDB entity
+     * @param partitionKey  the partition key of the item
+     * @param <T>           the type of the DynamoDB entity
+     * @return self
+     */
+    default <T> BatchWriteBuilder delete(Class<T> type, Object partitionKey) {
+        return delete(type, partitionKey, null);
+    }
+
+}
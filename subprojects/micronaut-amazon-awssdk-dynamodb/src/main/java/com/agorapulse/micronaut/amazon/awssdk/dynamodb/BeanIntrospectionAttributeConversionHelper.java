@@ -18,28 +18,35 @@
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
 
 import io.micronaut.core.beans.BeanIntrospection;
-import io.micronaut.core.beans.BeanProperty;
+import io.micronaut.core.beans.BeanIntrospector;
+import io.micronaut.core.reflect.ReflectionUtils;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
 import software.amazon.awssdk.enhanced.dynamodb.MappedTableResource;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 import jakarta.inject.Singleton;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+/**
+ * Converts the values to attribute values using the attribute converters of the table schema.
+ *
+ * The converters are resolved once per table schema so no entity has to be instantiated for the conversion. Schemas
+ * which do not expose their converters fall back to setting the value to a new instance of the entity.
+ */
 @Singleton
 public class BeanIntrospectionAttributeConversionHelper implements AttributeConversionHelper {
 
-    @Override
-    public <T> Map<String, AttributeValue> convert(MappedTableResource<T> table, Map<String, Object> values) {
-        BeanIntrospection<T> introspection = EntityIntrospection.getBeanIntrospection(table);
-        T instance = introspection.instantiate();
-        return values.entrySet().stream().collect(Collectors.toMap(
-            Map.Entry::getKey,
-            e -> convert(introspection, table, instance, e.getKey(), e.getValue())
-        ));
-    }
+    private final Map<TableSchema<?>, Map<String, Function<Object, AttributeValue>>> converters = new ConcurrentHashMap<>();
 
-    private <T> AttributeValue convert(BeanIntrospection<T> introspection, MappedTableResource<T> table, T instance, String key, Object value) {
+    @Override
+    public <T> AttributeValue convert(MappedTableResource<T> table, String key, Object value) {
         if (value == null) {
             return null;
         }
@@ -48,9 +55,75 @@ public class BeanIntrospectionAttributeConversionHelper implements AttributeConv
             return (AttributeValue) value;
         }
 
-        BeanProperty<T, Object> p = introspection.getProperty(key).orElseThrow(() -> new IllegalArgumentException("Unknown property " + key + " for " + instance));
-        p.set(instance, value);
-        return table.tableSchema().attributeValue(instance, key);
+        return getConverter(table, key).apply(value);
+    }
+
+    @Override
+    public <T> Map<String, AttributeValue> convert(MappedTableResource<T> table, Map<String, Object> values) {
+        Map<String, AttributeValue> result = new HashMap<>(values.size() * 4 / 3 + 1);
+        values.forEach((key, value) -> result.put(key, convert(table, key, value)));
+        return result;
+    }
+
+    private <T> Function<Object, AttributeValue> getConverter(MappedTableResource<T> table, String key) {
+        TableSchema<T> schema = table.tableSchema();
+        Function<Object, AttributeValue> converter = converters.computeIfAbsent(schema, BeanIntrospectionAttributeConversionHelper::createConverters).get(key);
+
+        if (converter == null) {
+            throw new IllegalArgumentException("Unknown property " + key + " for " + describe(schema));
+        }
+
+        return converter;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Map<String, Function<Object, AttributeValue>> createConverters(TableSchema<T> schema) {
+        Map<String, Function<Object, AttributeValue>> converters = new LinkedHashMap<>();
+        for (String attributeName : schema.attributeNames()) {
+            try {
+                AttributeConverter<Object> converter = (AttributeConverter<Object>) schema.converterForAttribute(attributeName);
+                converters.put(attributeName, typeChecked(converter));
+            } catch (UnsupportedOperationException | IllegalArgumentException e) {
+                createInstanceConverter(schema, attributeName).ifPresent(c -> converters.put(attributeName, c));
+            }
+        }
+        return Collections.unmodifiableMap(converters);
+    }
+
+    private static Function<Object, AttributeValue> typeChecked(AttributeConverter<Object> converter) {
+        // fails the same way as setting the value of the wrong type to a new instance of the entity
+        Class<?> type = converter.type().rawClass();
+        Class<?> wrapperType = ReflectionUtils.getWrapperType(type);
+        return value -> {
+            if (!wrapperType.isInstance(value)) {
+                throw new IllegalArgumentException("Specified value [" + value + "] is not of the correct type: " + type);
+            }
+            return converter.transformFrom(value);
+        };
+    }
+
+    private static <T> Optional<Function<Object, AttributeValue>> createInstanceConverter(TableSchema<T> schema, String attributeName) {
+        return BeanIntrospector.SHARED.findIntrospection(schema.itemType().rawClass())
+            .flatMap(introspection -> introspection.getProperty(attributeName).map(property -> value -> {
+                T instance = introspection.instantiate();
+                property.set(instance, value);
+                return schema.attributeValue(instance, attributeName);
+            }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object describe(TableSchema<?> schema) {
+        // only used to compose the error message, keeps the message same as when the values were set to a new instance
+        Class<?> type = schema.itemType().rawClass();
+        Optional<BeanIntrospection<Object>> introspection = BeanIntrospector.SHARED.findIntrospection((Class<Object>) type);
+        if (introspection.isPresent() && introspection.get().getConstructorArguments().length == 0) {
+            try {
+                return introspection.get().instantiate();
+            } catch (RuntimeException ignored) {
+                // fall back to the type name
+            }
+        }
+        return type.getName();
     }
 
 }
@@ -0,0 +1,125 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Entity cache evicting the least recently used items once the maximum size is reached and the items older than their time to live.
+ * <p>
+ * The item loaded while the cache was invalidated is not cached to prevent caching its stale version.
+ * </p>
+ * @param <T> the type of the cached items
+ */
+final class BoundedDynamoDbEntityCache<T> implements DynamoDbEntityCache<T> {
+
+    private static final class Entry<T> {
+
+        private final Optional<T> item;
+        private final long expiresAt;
+
+        private Entry(Optional<T> item, long expiresAt) {
+            this.item = item;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+    private final long ttlNanos;
+    private final long missTtlNanos;
+    private final Map<Key, Entry<T>> entries;
+    private long generation;
+
+    BoundedDynamoDbEntityCache(int maxSize, Duration ttl, Duration missTtl) {
+        this.ttlNanos = ttl.toNanos();
+        this.missTtlNanos = missTtl == null ? 0 : missTtl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry<T>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public Mono<T> get(Key key, Function<Key, Mono<T>> loader) {
+        return Mono.defer(() -> {
+            long loadedGeneration;
+
+            synchronized (entries) {
+                Entry<T> entry = entries.get(key);
+                if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                    return Mono.justOrEmpty(entry.item);
+                }
+                if (entry != null) {
+                    entries.remove(key);
+                }
+                loadedGeneration = generation;
+            }
+
+            return loader.apply(key)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(item -> store(key, item, loadedGeneration))
+                .flatMap(Mono::justOrEmpty);
+        });
+    }
+
+    @Override
+    public void invalidate(Key key) {
+        synchronized (entries) {
+            generation++;
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void store(Key key, Optional<T> item, long loadedGeneration) {
+        long ttl = item.isPresent() ? ttlNanos : missTtlNanos;
+        if (ttl <= 0) {
+            return;
+        }
+
+        synchronized (entries) {
+            if (generation == loadedGeneration) {
+                entries.put(key, new Entry<>(item, System.nanoTime() + ttl));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.exception.FailedBatchRequestException;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Default implementation of {@link AsyncDynamoDBBatchOperations}.
+ */
+@Singleton
+public class DefaultAsyncDynamoDBBatchOperations implements AsyncDynamoDBBatchOperations {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultAsyncDynamoDBBatchOperations.class);
+
+    private final AsyncDynamoDBServiceProvider provider;
+    private final DynamoDbEnhancedAsyncClient enhancedClient;
+    private final AttributeConversionHelper attributeConversionHelper;
+    private final BatchRetryBackoff batchRetryBackoff;
+
+    public DefaultAsyncDynamoDBBatchOperations(
+        AsyncDynamoDBServiceProvider provider,
+        DynamoDbEnhancedAsyncClient enhancedClient,
+        AttributeConversionHelper attributeConversionHelper,
+        DynamoDBBatchConfiguration batchConfiguration
+    ) {
+        this.provider = provider;
+        this.enhancedClient = enhancedClient;
+        this.attributeConversionHelper = attributeConversionHelper;
+        this.batchRetryBackoff = new BatchRetryBackoff(batchConfiguration);
+    }
+
+    @Override
+    public Publisher<BatchGetResult> getAll(Consumer<BatchGetBuilder> reads) {
+        return Mono.defer(() -> {
+            MultiTableBatch.Reads batch = new MultiTableBatch.Reads(this::resolve, attributeConversionHelper);
+            reads.accept(batch);
+
+            List<MultiTableBatch.Entry> requested = batch.entries();
+            Map<MultiTableBatch.Entry, Object> loaded = new ConcurrentHashMap<>();
+
+            return Flux.fromIterable(MultiTableBatch.chunks(requested, DynamoDbService.DEFAULT_BATCH_GET_SIZE))
+                .flatMap(chunk -> readBatch(chunk, loaded, 1).doOnNext(l -> MultiTableBatch.publishLoaded(chunk, l)))
+                .then(Mono.fromSupplier(() -> new BatchGetResult(requested, loaded, attributeConversionHelper)));
+        });
+    }
+
+    @Override
+    public Publisher<Integer> writeAll(Consumer<BatchWriteBuilder> writes) {
+        return Mono.defer(() -> {
+            MultiTableBatch.Writes batch = new MultiTableBatch.Writes(this::resolve, attributeConversionHelper);
+            writes.accept(batch);
+
+            Queue<MultiTableBatch.Write> unprocessed = new ConcurrentLinkedQueue<>();
+
+            return Flux.fromIterable(MultiTableBatch.chunks(batch.writes(), DynamoDbService.DEFAULT_BATCH_SIZE))
+                .flatMap(chunk -> {
+                    MultiTableBatch.publishBeforeWrite(chunk);
+                    return writeBatch(chunk, 1).map(unprocessedWrites -> {
+                        unprocessed.addAll(unprocessedWrites);
+
+                        List<MultiTableBatch.Write> processed = MultiTableBatch.withoutUnprocessed(chunk, unprocessedWrites);
+                        MultiTableBatch.publishAfterWrite(processed);
+                        return processed.size();
+                    });
+                })
+                .reduce(0, Integer::sum)
+                .flatMap(written -> {
+                    if (unprocessed.isEmpty()) {
+                        return Mono.just(written);
+                    }
+                    return Mono.error(new FailedBatchRequestException("Failed to write items", unprocessed.stream().map(MultiTableBatch.Write::item).toList()));
+                });
+        });
+    }
+
+    private <T> MultiTableBatch.Table<T> resolve(String tableName, Class<T> type) {
+        return MultiTableBatch.Table.of(provider.findOrCreate(tableName, type));
+    }
+
+    private Mono<Map<MultiTableBatch.Entry, Object>> readBatch(List<MultiTableBatch.Entry> entries, Map<MultiTableBatch.Entry, Object> loaded, int attempt) {
+        return Mono.defer(() -> Flux.from(enhancedClient.batchGetItem(b -> b.readBatches(MultiTableBatch.readBatches(entries)))).next()).flatMap(page -> {
+            List<MultiTableBatch.Entry> unprocessed = MultiTableBatch.collect(page, entries, loaded);
+
+            if (unprocessed.isEmpty()) {
+                return Mono.just(loaded);
+            }
+
+            if (!batchRetryBackoff.canRetry(attempt)) {
+                return Mono.error(new FailedBatchRequestException("Failed to load items", unprocessed.stream().map(MultiTableBatch.Entry::key).toList()));
+            }
+
+            LOGGER.debug("{} keys of the batch were not processed, retrying (attempt {})", unprocessed.size(), attempt + 1);
+            return Mono.delay(batchRetryBackoff.delay(attempt)).then(readBatch(unprocessed, loaded, attempt + 1));
+        });
+    }
+
+    private Mono<List<MultiTableBatch.Write>> writeBatch(List<MultiTableBatch.Write> writes, int attempt) {
+        return Mono.fromFuture(() -> enhancedClient.batchWriteItem(b -> b.writeBatches(MultiTableBatch.writeBatches(writes)))).flatMap(result -> {
+            List<MultiTableBatch.Write> unprocessed = MultiTableBatch.unprocessed(result, writes);
+
+            if (unprocessed.isEmpty() || !batchRetryBackoff.canRetry(attempt)) {
+                return Mono.just(unprocessed);
+            }
+
+            LOGGER.debug("{} items of the batch were not processed, retrying (attempt {})", unprocessed.size(), attempt + 1);
+            return Mono.delay(batchRetryBackoff.delay(attempt)).then(writeBatch(unprocessed, attempt + 1));
+        });
+    }
+
+}
@@ -19,7 +19,10 @@ package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
 
 import io.micronaut.context.annotation.Value;
 import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.scheduling.TaskExecutors;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
@@ -28,24 +31,33 @@ import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import reactor.core.publisher.Mono;
 import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
 
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Provider of {@link AsyncDynamoDbService} for particular DynamoDB entities.
  */
 @Singleton
-public class DefaultAsyncDynamoDBServiceProvider implements AsyncDynamoDBServiceProvider {
+public class DefaultAsyncDynamoDBServiceProvider implements AsyncDynamoDBServiceProvider, AutoCloseable {
 
-    private final ConcurrentHashMap<String, AsyncDynamoDbService<?>> serviceCache = new ConcurrentHashMap<>();
+    private final ServiceRegistry<AsyncDynamoDbService<?>> services = new ServiceRegistry<>();
     private final DynamoDbEnhancedAsyncClient enhancedClient;
     private final DynamoDbAsyncClient client;
     private final AttributeConversionHelper attributeConversionHelper;
     private final ApplicationEventPublisher publisher;
     private final TableSchemaCreator tableSchemaCreator;
     private final boolean createTables;
+    private final DynamoDBBatchConfiguration batchConfiguration;
+    private final Map<String, DynamoDBWriteBehindConfiguration> writeBehindConfigurations;
+    private final DynamoDbEntityCacheRegistry cacheRegistry;
+    private final DynamoDbEventListeners eventListeners;
+    private final Map<String, DynamoDBRateLimitConfiguration> rateLimitConfigurations;
+    private final DynamoDbMetrics metrics;
     private final ExecutorService blockingExecutor;
 
     public DefaultAsyncDynamoDBServiceProvider(
@@ -56,6 +68,38 @@ public class DefaultAsyncDynamoDBServiceProvider implements AsyncDynamoDBService
         TableSchemaCreator tableSchemaCreator,
         @Value("${aws.dynamodb.create-tables:false}") boolean createTables,
         @Named(TaskExecutors.BLOCKING) ExecutorService blockingScheduler
+    ) {
+        this(
+            enhancedClient,
+            client,
+            attributeConversionHelper,
+            publisher,
+            tableSchemaCreator,
+            createTables, blockingScheduler,
+            new DynamoDBBatchConfiguration(),
+            List.of(),
+            null,
+            null,
+            List.of(),
+            null
+        );
+    }
+
+    @Inject
+    public DefaultAsyncDynamoDBServiceProvider(
+        DynamoDbEnhancedAsyncClient enhancedClient,
+        DynamoDbAsyncClient client,
+        AttributeConversionHelper attributeConversionHelper,
+        ApplicationEventPublisher publisher,
+        TableSchemaCreator tableSchemaCreator,
+        @Value("${aws.dynamodb.create-tables:false}") boolean createTables,
+        @Named(TaskExecutors.BLOCKING) ExecutorService blockingScheduler,
+        DynamoDBBatchConfiguration batchConfiguration,
+        List<DynamoDBWriteBehindConfiguration> writeBehindConfigurations,
+        @Nullable DynamoDbEntityCacheRegistry cacheRegistry,
+        @Nullable DynamoDbEventListeners eventListeners,
+        List<DynamoDBRateLimitConfiguration> rateLimitConfigurations,
+        @Nullable DynamoDbMetrics metrics
     ) {
         this.enhancedClient = enhancedClient;
         this.client = client;
@@ -63,6 +107,12 @@ public class DefaultAsyncDynamoDBServiceProvider implements AsyncDynamoDBService
         this.publisher = publisher;
         this.tableSchemaCreator = tableSchemaCreator;
         this.createTables = createTables;
+        this.batchConfiguration = batchConfiguration;
+        this.writeBehindConfigurations = writeBehindConfigurations.stream().collect(Collectors.toMap(DynamoDBWriteBehindConfiguration::getName, Function.identity()));
+        this.cacheRegistry = cacheRegistry;
+        this.eventListeners = eventListeners;
+        this.rateLimitConfigurations = rateLimitConfigurations.stream().collect(Collectors.toMap(DynamoDBRateLimitConfiguration::getName, Function.identity()));
+        this.metrics = metrics;
         this.blockingExecutor = blockingScheduler;
     }
 
@@ -77,33 +127,53 @@ public class DefaultAsyncDynamoDBServiceProvider implements AsyncDynamoDBService
     @Override
     @SuppressWarnings("unchecked")
     public <T> AsyncDynamoDbService<T> findOrCreate(String tableName, Class<T> type) {
-        return (AsyncDynamoDbService<T>) serviceCache.computeIfAbsent(tableName, t -> {
-                DynamoDbAsyncTable<T> table = enhancedClient.table(tableName, tableSchemaCreator.create(type));
+        return (AsyncDynamoDbService<T>) services.findOrCreate(tableName, () -> create(tableName, type));
+    }
+
+    /**
+     * Writes all the items buffered by the services with write-behind enabled.
+     * <p>
+     * All the services are flushed even if some of them fail to write their items.
+     * </p>
+     */
+    @Override
+    @PreDestroy
+    public void close() {
+        Mono.whenDelayError(services.getServices().stream().map(AsyncDynamoDbService::flush).toList()).block();
+    }
 
-                DefaultAsyncDynamoDbService<T> newService = new DefaultAsyncDynamoDbService<>(
-                    type,
-                    enhancedClient,
-                    client,
-                    attributeConversionHelper,
-                    publisher,
-                    table
-                );
+    private <T> AsyncDynamoDbService<T> create(String tableName, Class<T> type) {
+        DynamoDbAsyncTable<T> table = enhancedClient.table(tableName, tableSchemaCreator.create(type));
 
-                if (!createTables) {
-                    return newService;
-                }
+        DefaultAsyncDynamoDbService<T> newService = new DefaultAsyncDynamoDbService<>(
+            type,
+            enhancedClient,
+            client,
+            attributeConversionHelper,
+            publisher,
+            table,
+            new DynamoDbServiceOptions<T>()
+                .withBatchConfiguration(batchConfiguration)
+                .withWriteBehindConfiguration(writeBehindConfigurations.get(tableName))
+                .withCache(cacheRegistry == null ? null : cacheRegistry.create(tableName, type))
+                .withEventListeners(eventListeners)
+                .withRateLimitConfiguration(rateLimitConfigurations.get(tableName))
+                .withMetrics(metrics)
+        );
 
-                try {
-                    table.describeTable().join();
-                } catch (CompletionException e) {
-                    if (e.getCause() instanceof ResourceNotFoundException) {
-                        CompletableFuture.runAsync(() -> Mono.from(newService.createTable()).block(), blockingExecutor).join();
-                    }
-                }
+        if (!createTables) {
+            return newService;
+        }
 
-                return newService;
+        try {
+            table.describeTable().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ResourceNotFoundException) {
+                CompletableFuture.runAsync(() -> Mono.from(newService.createTable()).block(), blockingExecutor).join();
             }
-        );
+        }
+
+        return newService;
     }
 
 }
@@ -0,0 +1,102 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Default implementation of {@link AsyncDynamoDBTransactionOperations}.
+ */
+@Singleton
+public class DefaultAsyncDynamoDBTransactionOperations implements AsyncDynamoDBTransactionOperations {
+
+    private final AsyncDynamoDBServiceProvider provider;
+    private final DynamoDbEnhancedAsyncClient enhancedClient;
+    private final DynamoDbAsyncClient client;
+    private final AttributeConversionHelper attributeConversionHelper;
+
+    public DefaultAsyncDynamoDBTransactionOperations(
+        AsyncDynamoDBServiceProvider provider,
+        DynamoDbEnhancedAsyncClient enhancedClient,
+        DynamoDbAsyncClient client,
+        AttributeConversionHelper attributeConversionHelper
+    ) {
+        this.provider = provider;
+        this.enhancedClient = enhancedClient;
+        this.client = client;
+        this.attributeConversionHelper = attributeConversionHelper;
+    }
+
+    @Override
+    public Publisher<Integer> transactWrite(Consumer<TransactionWriteBuilder> actions) {
+        return Mono.defer(() -> {
+            Transactions.Writes transaction = new Transactions.Writes(this::resolve, attributeConversionHelper);
+            actions.accept(transaction);
+
+            List<Transactions.Action> transactionActions = transaction.actions();
+
+            if (transactionActions.isEmpty()) {
+                return Mono.just(0);
+            }
+
+            Transactions.checkTransactionSize(transactionActions.size());
+            Transactions.publishBeforeCommit(transactionActions);
+
+            return Mono.fromFuture(() -> client.transactWriteItems(transaction.request())).map(response -> {
+                Transactions.publishAfterCommit(transactionActions);
+                return transactionActions.size();
+            });
+        });
+    }
+
+    @Override
+    public Publisher<BatchGetResult> transactGet(Consumer<BatchGetBuilder> reads) {
+        return Mono.defer(() -> {
+            MultiTableBatch.Reads batch = new MultiTableBatch.Reads(this::resolve, attributeConversionHelper);
+            reads.accept(batch);
+
+            List<MultiTableBatch.Entry> requested = batch.entries();
+
+            if (requested.isEmpty()) {
+                return Mono.just(new BatchGetResult(requested, Collections.emptyMap(), attributeConversionHelper));
+            }
+
+            Transactions.checkTransactionSize(requested.size());
+
+            return Mono.fromFuture(() -> enhancedClient.transactGetItems(Transactions.getRequest(requested))).map(documents -> {
+                Map<MultiTableBatch.Entry, Object> loaded = Transactions.collect(requested, documents);
+                MultiTableBatch.publishLoaded(requested, loaded);
+                return new BatchGetResult(requested, loaded, attributeConversionHelper);
+            });
+        });
+    }
+
+    private <T> MultiTableBatch.Table<T> resolve(String tableName, Class<T> type) {
+        return MultiTableBatch.Table.of(provider.findOrCreate(tableName, type));
+    }
+
+}
@@ -23,9 +23,13 @@ import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.Builders;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedQuery;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedScan;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedUpdate;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.PageObserver;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.UpdateBuilder;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbBatchEvent;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbEvent;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbEventType;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.exception.FailedBatchRequestException;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema.ProjectionTableSchema;
 import io.micronaut.context.event.ApplicationEventPublisher;
 import io.micronaut.core.annotation.AnnotationValue;
 import io.micronaut.core.annotation.Nullable;
@@ -40,9 +44,9 @@ import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
 import software.amazon.awssdk.enhanced.dynamodb.model.EnhancedGlobalSecondaryIndex;
 import software.amazon.awssdk.enhanced.dynamodb.model.EnhancedLocalSecondaryIndex;
 import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
@@ -51,19 +55,26 @@ import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.Projection;
 import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -77,6 +88,17 @@ public class DefaultAsyncDynamoDbService<T> implements AsyncDynamoDbService<T> {
     private final AttributeConversionHelper attributeConversionHelper;
     private final ApplicationEventPublisher<DynamoDbEvent<T>> publisher;
     private final DynamoDbAsyncTable<T> table;
+    private final BatchRetryBackoff batchRetryBackoff;
+    private final int updateParallelism;
+    private final GetItemCoalescer<T> getItemCoalescer;
+    private final WriteBehindBuffer<T> writeBehindBuffer;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final DynamoDbMetrics metrics;
+    private final ReturnConsumedCapacity returnConsumedCapacity;
+    private final DynamoDbEntityCache<T> cache;
+    private final Set<DynamoDbEventType> listenedEventTypes;
+    private final boolean batchEventsListened;
+    private final Map<Class<?>, DynamoDbAsyncTable<?>> projectionTables = new ConcurrentHashMap<>();
 
     public DefaultAsyncDynamoDbService(
         Class<T> itemType,
@@ -86,12 +108,49 @@ public class DefaultAsyncDynamoDbService<T> implements AsyncDynamoDbService<T> {
         ApplicationEventPublisher<DynamoDbEvent<T>> publisher,
         DynamoDbAsyncTable<T> table
     ) {
+        this(itemType, enhancedClient, client, attributeConversionHelper, publisher, table, new DynamoDbServiceOptions<>());
+    }
+
+    public DefaultAsyncDynamoDbService(
+        Class<T> itemType,
+        DynamoDbEnhancedAsyncClient enhancedClient,
+        DynamoDbAsyncClient client,
+        AttributeConversionHelper attributeConversionHelper,
+        ApplicationEventPublisher<DynamoDbEvent<T>> publisher,
+        DynamoDbAsyncTable<T> table,
+        DynamoDbServiceOptions<T> options
+    ) {
+        DynamoDBBatchConfiguration batchConfiguration = options.getBatchConfiguration();
+        DynamoDBWriteBehindConfiguration writeBehindConfiguration = options.getWriteBehindConfiguration();
+        DynamoDbEventListeners eventListeners = options.getEventListeners();
+
         this.itemType = itemType;
         this.enhancedClient = enhancedClient;
         this.client = client;
         this.attributeConversionHelper = attributeConversionHelper;
         this.publisher = publisher;
         this.table = table;
+        this.batchRetryBackoff = new BatchRetryBackoff(batchConfiguration);
+        this.updateParallelism = Math.max(1, batchConfiguration.getUpdateParallelism());
+        this.rateLimiter = AdaptiveRateLimiter.create(options.getRateLimitConfiguration(), table::describeTable);
+        this.metrics = options.getMetrics();
+        this.returnConsumedCapacity = rateLimiter != null || this.metrics.isConsumedCapacityRequired() ? ReturnConsumedCapacity.TOTAL : null;
+        this.getItemCoalescer = batchConfiguration.isCoalesceGets()
+            ? new GetItemCoalescer<>(batchConfiguration.getCoalesceWindow(), keys -> recordOne("get", recording -> readBatch(keys, new LinkedHashMap<>(), 1, recording)))
+            : null;
+        this.writeBehindBuffer = writeBehindConfiguration != null && writeBehindConfiguration.isEnabled()
+            ? new WriteBehindBuffer<>(
+                writeBehindConfiguration,
+                batchRetryBackoff,
+                table::keyFrom,
+                batch -> recordOne("writeBehind", recording -> writeBatchOnce(batch, WriteBatch.Builder::addPutItem, r -> r.unprocessedPutItemsForTable(table), recording)),
+                written -> publishAll(DynamoDbEventType.POST_PERSIST, written, DynamoDbEvent::postPersist),
+                failure -> MeteredOperations.recordFailure(metrics, table.tableName(), "writeBehind", failure)
+            )
+            : null;
+        this.cache = options.getCache();
+        this.listenedEventTypes = eventListeners == null ? EnumSet.allOf(DynamoDbEventType.class) : eventListeners.getListenedEventTypes(itemType);
+        this.batchEventsListened = eventListeners != null && eventListeners.hasBatchListeners(itemType);
     }
 
     @Override
@@ -106,22 +165,46 @@ public class DefaultAsyncDynamoDbService<T> implements AsyncDynamoDbService<T> {
 
     @Override
     public Publisher<T> query(DetachedQuery<T> query) {
-        return Flux.from(query.query(table, attributeConversionHelper)).map(this::postLoad);
+        return postLoad(queried(query, table));
     }
 
     @Override
     public Publisher<T> scan(DetachedScan<T> scan) {
-        return Flux.from(scan.scan(table, attributeConversionHelper)).map(this::postLoad);
+        return postLoad(scanned(scan, table));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <P> Publisher<P> query(DetachedQuery<T> query, Class<P> projectionType) {
+        if (projectionType.isAssignableFrom(itemType)) {
+            return (Publisher<P>) query(query);
+        }
+
+        DynamoDbAsyncTable<T> projectionTable = getProjectionTable(projectionType);
+
+        return (Publisher<P>) queried(query, projectionTable);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <P> Publisher<P> scan(DetachedScan<T> scan, Class<P> projectionType) {
+        if (projectionType.isAssignableFrom(itemType)) {
+            return (Publisher<P>) scan(scan);
+        }
+
+        DynamoDbAsyncTable<T> projectionTable = getProjectionTable(projectionType);
+
+        return (Publisher<P>) scanned(scan, projectionTable);
     }
 
     @Override
     public Publisher<T> findAll(Object partitionKey, Object sortKey) {
-        return Flux.from(simplePartitionAndSort(partitionKey, sortKey).query(table, attributeConversionHelper)).map(this::postLoad);
+        return postLoad(queried(simplePartitionAndSort(partitionKey, sortKey), table));
     }
 
     @Override
     public <R> Publisher<R> update(DetachedUpdate<T, R> update) {
-        return update.update(table, client, attributeConversionHelper, publisher);
+        return recordMany("update", recording -> updateItem(update));
     }
 
     @Override
@@ -129,51 +212,105 @@ public class DefaultAsyncDynamoDbService<T> implements AsyncDynamoDbService<T> {
         // there is no batch update API, we can do batch updates in transaction but in that case it would cause
         // doubling the writes
 
-        BeanIntrospection<T> introspection = EntityIntrospection.getBeanIntrospection(table);
-        TableMetadata tableMetadata = table.tableSchema().tableMetadata();
+        Function<T, UpdateBuilder<T, R>> updateForEntity = Transactions.updateForEntity(table, update);
 
-        return Flux.from(items).map(this::postLoad).flatMap(entity -> {
-            introspection.getProperty(tableMetadata.primaryPartitionKey()).ifPresent(p -> update.partitionKey(p.get(entity)));
-            tableMetadata.primarySortKey().flatMap(introspection::getProperty).ifPresent(p -> update.sortKey(p.get(entity)));
+        if (rateLimiter == null) {
+            return recordMany("updateAll", recording -> postLoad(Flux.from(items)).flatMap(
+                entity -> updateItem(updateForEntity.apply(entity)),
+                updateParallelism
+            ).doOnNext(result -> recording.items(1)));
+        }
 
-            return update.update(table, client, attributeConversionHelper, publisher);
-        });
+        // the consumed capacity is not available for the updates so each update is expected to consume single unit
+        AdaptiveRateLimiter.Budget writes = rateLimiter.writes();
+        return recordMany("updateAll", recording -> postLoad(Flux.from(items)).flatMap(
+            entity -> writes.pace(1)
+                .thenMany(updateItem(updateForEntity.apply(entity)))
+                .doOnComplete(() -> writes.consumed(1, 1))
+                .doOnError(e -> writes.failed(1, e)),
+            updateParallelism
+        ).doOnNext(result -> recording.items(1)));
+    }
+
+    @Override
+    public Publisher<T> updateAllInTransactions(Publisher<T> items, UpdateBuilder<T, ?> update, int transactionSize) {
+        Transactions.checkTransactionSize(transactionSize);
+
+        Function<T, ? extends UpdateBuilder<T, ?>> updateForEntity = Transactions.updateForEntity(table, update);
+
+        return recordMany("updateAllInTransactions", recording -> Transactions.writeChunks(Transactions.chunks(postLoad(Flux.from(items)), transactionSize, table::keyFrom), table::keyFrom, batch -> {
+            List<TransactWriteItem> actions = new ArrayList<>(batch.size());
+            List<T> keyItems = new ArrayList<>(batch.size());
+
+            for (T entity : batch) {
+                UpdateItemRequest request = updateForEntity.apply(entity).resolveRequest(table, attributeConversionHelper);
+                keyItems.add(table.tableSchema().mapToItem(request.key()));
+                actions.add(Transactions.update(request));
+            }
+
+            publishAll(DynamoDbEventType.PRE_UPDATE, keyItems, DynamoDbEvent::preUpdate);
+
+            return transactWrite(actions, recording).thenMany(Flux.defer(() -> {
+                publishAll(DynamoDbEventType.POST_UPDATE, keyItems, DynamoDbEvent::postUpdate);
+                recording.items(batch.size());
+                return Flux.fromIterable(batch);
+            }));
+        }, updateParallelism));
     }
 
     @Override
     public Publisher<T> save(T entity) {
-        publisher.publishEvent(DynamoDbEvent.prePersist(entity));
-        return Mono.fromFuture(table.updateItem(entity))
-            .flatMap(updated ->
-                Mono.fromCallable(() -> {
-                    publisher.publishEvent(DynamoDbEvent.postPersist(updated));
-                    return updated;
-                })
-            );
+        publish(DynamoDbEventType.PRE_PERSIST, entity, DynamoDbEvent::prePersist);
+
+        if (writeBehindBuffer != null) {
+            return writeBehindBuffer.add(entity);
+        }
+
+        return saveItem(entity);
+    }
+
+    @Override
+    public Publisher<Void> flush() {
+        if (writeBehindBuffer != null) {
+            return writeBehindBuffer.flush();
+        }
+        return Mono.empty();
     }
 
     @Override
     public Publisher<T> saveAll(Publisher<T> itemsToSave, int batchSize) {
-        return Flux.from(itemsToSave)
+        return recordMany("saveAll", recording -> Flux.from(itemsToSave)
             .buffer(withinBatchSizeBounds(batchSize))
-            .flatMap(batchItems ->
-                Mono.fromFuture(enhancedClient.batchWriteItem(b -> {
-                    List<WriteBatch> writeBatches = batchItems.stream().map(i -> {
-                        publisher.publishEvent(DynamoDbEvent.prePersist(i));
-                        return WriteBatch.builder(table.tableSchema().itemType().rawClass()).mappedTableResource(table).addPutItem(i).build();
-                    }).toList();
-                    b.writeBatches(writeBatches);
-                })).zipWith(Mono.just(batchItems))
-            )
-            .flatMap(r -> {
-                List<T> unprocessed = r.getT1().unprocessedPutItemsForTable(table);
-                Flux<T> processed = Flux.fromIterable(r.getT2()).doOnNext(i -> publisher.publishEvent(DynamoDbEvent.postPersist(i)));
-                if (unprocessed.isEmpty()) {
-                    return processed;
-                }
-                LOGGER.info("Failed to save batch of items, retrying individually", new FailedBatchRequestException("Failed to save batch of items", unprocessed));
-                return Flux.concat(processed, Flux.fromIterable(unprocessed).flatMap(this::save));
-            });
+            .flatMap(batchItems -> {
+                publishAll(DynamoDbEventType.PRE_PERSIST, batchItems, DynamoDbEvent::prePersist);
+                return writeBatch(batchItems, WriteBatch.Builder::addPutItem, r -> r.unprocessedPutItemsForTable(table), 1, recording).flatMapMany(unprocessed -> {
+                    List<T> processedItems = withoutUnprocessed(batchItems, unprocessed.stream().map(table::keyFrom).toList());
+                    publishAll(DynamoDbEventType.POST_PERSIST, processedItems, DynamoDbEvent::postPersist);
+                    Flux<T> processed = Flux.fromIterable(processedItems);
+                    if (unprocessed.isEmpty()) {
+                        return processed;
+                    }
+                    LOGGER.info("Failed to save batch of items after all the attempts, saving them individually", new FailedBatchRequestException("Failed to save batch of items", unprocessed));
+                    return Flux.concat(processed, Flux.fromIterable(unprocessed).flatMap(this::saveItem));
+                });
+            }));
+    }
+
+    /**
+     * Saves the item using the update request, the pre persist event must be already published.
+     */
+    private Mono<T> saveItem(T entity) {
+        return recordOne("save", recording -> Mono.fromFuture(table.updateItemWithResponse(b -> b.item(entity).returnConsumedCapacity(returnConsumedCapacity))).map(response -> {
+            recording.items(1);
+            recording.writeCapacity(MeteredOperations.capacityUnits(response.consumedCapacity()));
+            return response.attributes();
+        }))
+            .flatMap(updated ->
+                Mono.fromCallable(() -> {
+                    publish(DynamoDbEventType.POST_PERSIST, updated, DynamoDbEvent::postPersist);
+                    return updated;
+                })
+            );
     }
 
     @Override
@@ -183,9 +320,9 @@ public class DefaultAsyncDynamoDbService<T> implements AsyncDynamoDbService<T> {
 
     @Override
     public Publisher<T> delete(T item) {
-        publisher.publishEvent(DynamoDbEvent.preRemove(item));
-        return Mono.fromFuture(table.deleteItem(table.keyFrom(item))).map(deletedItem -> {
-            publisher.publishEvent(DynamoDbEvent.postRemove(deletedItem));
+        publish(DynamoDbEventType.PRE_REMOVE, item, DynamoDbEvent::preRemove);
+        return deleteItem(table.keyFrom(item)).map(deletedItem -> {
+            publish(DynamoDbEventType.POST_REMOVE, deletedItem, DynamoDbEvent::postRemove);
             return deletedItem;
         });
     }
@@ -193,35 +330,34 @@ public class DefaultAsyncDynamoDbService<T> implements AsyncDynamoDbService<T> {
     @Override
     public Publisher<T> delete(Key key) {
         T item = table.tableSchema().mapToItem(key.primaryKeyMap(table.tableSchema()));
-        publisher.publishEvent(DynamoDbEvent.preRemove(item));
-        return Mono.fromFuture(table.deleteItem(key)).map(deletedItem -> {
-            publisher.publishEvent(DynamoDbEvent.postRemove(deletedItem));
+        publish(DynamoDbEventType.PRE_REMOVE, item, DynamoDbEvent::preRemove);
+        return deleteItem(key).map(deletedItem -> {
+            publish(DynamoDbEventType.POST_REMOVE, deletedItem, DynamoDbEvent::postRemove);
             return deletedItem;
         });
     }
 
     @Override
     public Publisher<T> deleteAll(Publisher<T> items, int batchSize) {
-        return Flux.from(items)
+        return recordMany("deleteAll", recording -> Flux.from(items)
             .buffer(withinBatchSizeBounds(batchSize))
-            .flatMap(batchItems ->
-                Mono.fromFuture(enhancedClient.batchWriteItem(b -> {
-                    List<WriteBatch> writeBatches = batchItems.stream().map(i -> {
-                        publisher.publishEvent(DynamoDbEvent.preRemove(i));
-                        return WriteBatch.builder(table.tableSchema().itemType().rawClass()).mappedTableResource(table).addDeleteItem(i).build();
-                    }).toList();
-                    b.writeBatches(writeBatches);
-                })).zipWith(Mono.just(batchItems))
-            )
-            .flatMap(r -> {
-                List<Key> unprocessed = r.getT1().unprocessedDeleteItemsForTable(table);
-                Flux<T> processed = Flux.fromIterable(r.getT2()).doOnNext(i -> publisher.publishEvent(DynamoDbEvent.postRemove(i)));
-                if (unprocessed.isEmpty()) {
-                    return processed;
-                }
-                LOGGER.info("Failed to delete batch of items, retrying individually", new FailedBatchRequestException("Failed to delete batch of items", unprocessed));
-                return Flux.concat(processed, Flux.fromIterable(unprocessed).flatMap(this::delete));
-            });
+            .flatMap(batchItems -> {
+                publishAll(DynamoDbEventType.PRE_REMOVE, batchItems, DynamoDbEvent::preRemove);
+                List<Key> keys = batchItems.stream().map(table::keyFrom).toList();
+                return writeBatch(keys, WriteBatch.Builder::addDeleteItem, r -> r.unprocessedDeleteItemsForTable(table), 1, recording).flatMapMany(unprocessed -> {
+                    List<T> processedItems = withoutUnprocessed(batchItems, unprocessed);
+                    publishAll(DynamoDbEventType.POST_REMOVE, processedItems, DynamoDbEvent::postRemove);
+                    Flux<T> processed = Flux.fromIterable(processedItems);
+                    if (unprocessed.isEmpty()) {
+                        return processed;
+                    }
+                    LOGGER.info("Failed to delete batch of items after all the attempts, deleting them individually", new FailedBatchRequestException("Failed to delete batch of items", unprocessed));
+                    return Flux.concat(processed, Flux.fromIterable(unprocessed).flatMap(key -> deleteItem(key).map(deletedItem -> {
+                        publish(DynamoDbEventType.POST_REMOVE, deletedItem, DynamoDbEvent::postRemove);
+                        return deletedItem;
+                    })));
+                });
+            }));
     }
 
     @Override
@@ -241,17 +377,20 @@ public class DefaultAsyncDynamoDbService<T> implements AsyncDynamoDbService<T> {
 
     @Override
     public Publisher<T> get(Key key) {
-        return Mono.fromFuture(table.getItem(key)).map(this::postLoad);
+        if (cache != null) {
+            return cache.get(key, this::load).map(this::postLoad);
+        }
+        return load(key).map(this::postLoad);
     }
 
     @Override
     public Publisher<Long> count(DetachedQuery<T> query) {
-        return query.count(table, attributeConversionHelper);
+        return recordMany("count", recording -> query.count(table, attributeConversionHelper));
     }
 
     @Override
     public Publisher<Long> count(DetachedScan<T> scan) {
-        return scan.count(table, attributeConversionHelper);
+        return recordMany("count", recording -> scan.count(table, attributeConversionHelper));
     }
 
     @Override
@@ -293,6 +432,141 @@ public class DefaultAsyncDynamoDbService<T> implements AsyncDynamoDbService<T> {
         return Math.max(2, Math.min(batchSize, 25));
     }
 
+    private static int withinBatchGetSizeBounds(int batchSize) {
+        return Math.max(1, Math.min(batchSize, 100));
+    }
+
+    /**
+     * Writes the batch and resubmits the unprocessed items until all of them are processed or the attempts are exhausted.
+     * @return the items which were not processed even after all the attempts
+     */
+    private <I> Mono<List<I>> writeBatch(
+        List<I> items,
+        BiConsumer<WriteBatch.Builder<T>, I> addItem,
+        Function<BatchWriteResult, List<I>> unprocessedItems,
+        int attempt,
+        DynamoDbMetrics.Recording recording
+    ) {
+        return writeBatchOnce(items, addItem, unprocessedItems, recording).flatMap(unprocessed -> {
+            if (unprocessed.isEmpty() || !batchRetryBackoff.canRetry(attempt)) {
+                return Mono.just(unprocessed);
+            }
+
+            LOGGER.debug("{} items of the batch were not processed, retrying (attempt {})", unprocessed.size(), attempt + 1);
+            recording.retried();
+            return Mono.delay(batchRetryBackoff.delay(attempt)).then(writeBatch(unprocessed, addItem, unprocessedItems, attempt + 1, recording));
+        });
+    }
+
+    /**
+     * Writes the batch without resubmitting the unprocessed items.
+     * @return the items which were not processed
+     */
+    private <I> Mono<List<I>> writeBatchOnce(
+        List<I> items,
+        BiConsumer<WriteBatch.Builder<T>, I> addItem,
+        Function<BatchWriteResult, List<I>> unprocessedItems,
+        DynamoDbMetrics.Recording recording
+    ) {
+        return writeBatch(items.stream().map(i -> {
+            WriteBatch.Builder<T> builder = WriteBatch.builder(table.tableSchema().itemType().rawClass()).mappedTableResource(table);
+            addItem.accept(builder, i);
+            return builder.build();
+        }).toList()).map(result -> {
+            List<I> unprocessed = unprocessedItems.apply(result);
+            double consumed = MeteredOperations.capacityUnits(result.consumedCapacity(), table.tableName());
+
+            recording.items(items.size() - unprocessed.size());
+            recording.writeCapacity(consumed);
+            recording.unprocessed(unprocessed.size());
+
+            if (rateLimiter != null) {
+                rateLimiter.writes().consumed(items.size(), consumed);
+                if (!unprocessed.isEmpty()) {
+                    rateLimiter.writes().throttled();
+                }
+            }
+
+            return unprocessed;
+        });
+    }
+
+    private Mono<BatchWriteResult> writeBatch(List<WriteBatch> batches) {
+        Mono<BatchWriteResult> write = Mono.fromFuture(() -> enhancedClient.batchWriteItem(b -> b.writeBatches(batches).returnConsumedCapacity(returnConsumedCapacity)));
+
+        if (rateLimiter == null) {
+            return write;
+        }
+
+        AdaptiveRateLimiter.Budget writes = rateLimiter.writes();
+        return writes.pace(batches.size())
+            .then(write)
+            .doOnError(e -> writes.failed(batches.size(), e));
+    }
+
+    private Mono<Void> transactWrite(List<TransactWriteItem> actions, DynamoDbMetrics.Recording recording) {
+        Mono<Double> write = Mono.fromFuture(() -> client.transactWriteItems(b -> b.transactItems(actions).returnConsumedCapacity(returnConsumedCapacity)))
+            .map(response -> MeteredOperations.capacityUnits(response.consumedCapacity(), table.tableName()))
+            .doOnNext(recording::writeCapacity);
+
+        if (rateLimiter == null) {
+            return write.then();
+        }
+
+        // the transactional writes consume twice as much capacity as the regular ones
+        AdaptiveRateLimiter.Budget writes = rateLimiter.writes();
+        double reserved = 2.0 * actions.size();
+        return writes.pace(reserved)
+            .then(write)
+            .doOnNext(consumed -> writes.consumed(reserved, consumed))
+            .doOnError(e -> writes.failed(reserved, e))
+            .then();
+    }
+
+    private Mono<T> deleteItem(Key key) {
+        return recordOne("delete", recording -> Mono.fromFuture(table.deleteItemWithResponse(b -> b.key(key).returnConsumedCapacity(returnConsumedCapacity))).flatMap(response -> {
+            recording.items(response.attributes() == null ? 0 : 1);
+            recording.writeCapacity(MeteredOperations.capacityUnits(response.consumedCapacity()));
+            return Mono.justOrEmpty(response.attributes());
+        }));
+    }
+
+    private Flux<T> queried(DetachedQuery<T> query, DynamoDbAsyncTable<T> mapper) {
+        return recordMany("query", recording -> query.query(mapper, attributeConversionHelper, MeteredOperations.pages(recording)));
+    }
+
+    private Flux<T> scanned(DetachedScan<T> scan, DynamoDbAsyncTable<T> mapper) {
+        return recordMany("scan", recording -> {
+            PageObserver observer = MeteredOperations.pages(recording);
+
+            if (rateLimiter == null) {
+                return scan.scan(mapper, attributeConversionHelper, observer);
+            }
+
+            return Flux.from(scan.scan(mapper, attributeConversionHelper, rateLimiter.scans().and(observer))).doOnError(e -> {
+                if (AdaptiveRateLimiter.isThrottling(e)) {
+                    rateLimiter.reads().throttled();
+                }
+            });
+        });
+    }
+
+    private <R> Flux<R> recordMany(String operation, Function<DynamoDbMetrics.Recording, Publisher<R>> action) {
+        return MeteredOperations.recordMany(metrics, table.tableName(), operation, action);
+    }
+
+    private <R> Mono<R> recordOne(String operation, Function<DynamoDbMetrics.Recording, Mono<R>> action) {
+        return MeteredOperations.recordOne(metrics, table.tableName(), operation, action);
+    }
+
+    private List<T> withoutUnprocessed(List<T> items, List<Key> unprocessedKeys) {
+        if (unprocessedKeys.isEmpty()) {
+            return items;
+        }
+        Set<Key> unprocessed = new HashSet<>(unprocessedKeys);
+        return items.stream().filter(i -> !unprocessed.contains(table.keyFrom(i))).toList();
+    }
+
     private DetachedQuery<T> simplePartitionAndSort(Object partitionKey, Object sortKey) {
         return doWithKey(partitionKey, sortKey, key -> {
             if (key.sortKeyValue().isPresent()) {
@@ -303,29 +577,70 @@ public class DefaultAsyncDynamoDbService<T> implements AsyncDynamoDbService<T> {
     }
 
     private Publisher<T> getAllByAttributeValue(Publisher<AttributeValue> partitionKeys, int batchSize) {
-        TableSchema<T> tableSchema = table.tableSchema();
-        Map<AttributeValue, Integer> order = new ConcurrentHashMap<>();
-        AtomicInteger counter = new AtomicInteger();
-        Comparator<T> comparator = Comparator.comparingInt(i -> order.getOrDefault(tableSchema.attributeValue(i, tableSchema.tableMetadata().primaryPartitionKey()), 0));
+        return getAllByKeys(Flux.from(partitionKeys).map(k -> Key.builder().partitionValue(k).build()), batchSize);
+    }
 
-        return Flux.from(partitionKeys).buffer(withinBatchSizeBounds(batchSize)).map(batchRangeKeys -> enhancedClient.batchGetItem(b -> b.readBatches(batchRangeKeys.stream().map(k -> {
-                order.put(k, counter.getAndIncrement());
-                return ReadBatch.builder(tableSchema.itemType().rawClass()).mappedTableResource(table).addGetItem(Key.builder().partitionValue(k).build()).build();
-        }).toList()))).flatMap(r -> Flux.from(r.resultsForTable(table)).map(this::postLoad)).sort(comparator);
+    private Publisher<T> getAll(AttributeValue hashKey, Publisher<AttributeValue> rangeKeys, int batchSize) {
+        return getAllByKeys(Flux.from(rangeKeys).map(k -> Key.builder().partitionValue(hashKey).sortValue(k).build()), batchSize);
+    }
 
+    private Flux<T> getAllByKeys(Flux<Key> keys, int batchSize) {
+        return recordMany("getAll", recording -> keys.buffer(withinBatchGetSizeBounds(batchSize))
+            .flatMapSequential(batchKeys ->
+                readBatch(new ArrayList<>(new LinkedHashSet<>(batchKeys)), new LinkedHashMap<>(), 1, recording).map(loaded -> {
+                    List<T> items = inRequestedOrder(batchKeys, loaded);
+                    publishAll(DynamoDbEventType.POST_LOAD, items, DynamoDbEvent::postLoad);
+                    return items;
+                })
+            )
+            .flatMapIterable(Function.identity()));
     }
 
-    private Publisher<T> getAll(AttributeValue hashKey, Publisher<AttributeValue> rangeKeys, int batchSize) {
-        TableSchema<T> tableSchema = table.tableSchema();
-        Map<AttributeValue, Integer> order = new ConcurrentHashMap<>();
-        AtomicInteger counter = new AtomicInteger();
-        Comparator<T> comparator = Comparator.comparingInt(i -> order.getOrDefault(tableSchema.attributeValue(i, tableSchema.tableMetadata().primarySortKey().get()), 0));
-
-        return Flux.from(rangeKeys).buffer(withinBatchSizeBounds(batchSize)).map(batchRangeKeys -> enhancedClient.batchGetItem(b -> b.readBatches(batchRangeKeys.stream().map(k -> {
-                order.put(k, counter.getAndIncrement());
-                return ReadBatch.builder(tableSchema.itemType().rawClass()).mappedTableResource(table).addGetItem(Key.builder().partitionValue(hashKey).sortValue(k).build()).build();
+    /**
+     * Reads the batch and resubmits the unprocessed keys until all of them are processed or the attempts are exhausted.
+     * @return the loaded items by their keys
+     */
+    private Mono<Map<Key, T>> readBatch(List<Key> keys, Map<Key, T> loaded, int attempt, DynamoDbMetrics.Recording recording) {
+        return Mono.defer(() -> Flux.from(enhancedClient.batchGetItem(b -> b.readBatches(toReadBatch(keys)).returnConsumedCapacity(returnConsumedCapacity))).next()).flatMap(page -> {
+            List<T> results = page.resultsForTable(table);
+            results.forEach(i -> loaded.put(table.keyFrom(i), i));
+            List<Key> unprocessed = page.unprocessedKeysForTable(table);
+
+            recording.items(results.size());
+            recording.readCapacity(MeteredOperations.capacityUnits(page.consumedCapacity(), table.tableName()));
+            recording.unprocessed(unprocessed.size());
+
+            if (unprocessed.isEmpty()) {
+                return Mono.just(loaded);
+            }
+
+            if (!batchRetryBackoff.canRetry(attempt)) {
+                return Mono.error(new FailedBatchRequestException("Failed to load items", unprocessed));
+            }
+
+            LOGGER.debug("{} keys of the batch were not processed, retrying (attempt {})", unprocessed.size(), attempt + 1);
+            recording.retried();
+            return Mono.delay(batchRetryBackoff.delay(attempt)).then(readBatch(unprocessed, loaded, attempt + 1, recording));
+        });
+    }
+
+    private ReadBatch toReadBatch(List<Key> keys) {
+        ReadBatch.Builder<T> builder = ReadBatch.builder(table.tableSchema().itemType().rawClass()).mappedTableResource(table);
+        keys.forEach(builder::addGetItem);
+        return builder.build();
+    }
+
+    private static <T> List<T> inRequestedOrder(List<Key> keys, Map<Key, T> loaded) {
+        List<T> ordered = new ArrayList<>(loaded.size());
+        for (Key key : keys) {
+            T item = loaded.remove(key);
+            if (item != null) {
+                ordered.add(item);
             }
-        ).toList()))).flatMap(r -> Flux.from(r.resultsForTable(table)).map(this::postLoad)).sort(comparator);
+        }
+        // keys which are equal but differently encoded (e.g. numbers) do not match, return them rather than dropping them
+        ordered.addAll(loaded.values());
+        return ordered;
     }
 
     private Map<String, ProjectionType> getProjectionTypes() {
@@ -363,11 +678,90 @@ public class DefaultAsyncDynamoDbService<T> implements AsyncDynamoDbService<T> {
         return p.findAnnotation(indexAnnotationClass).map(anno -> Arrays.asList(anno.stringValues("indexNames"))).orElse(Collections.emptyList());
     }
 
+    private Mono<T> load(Key key) {
+        if (getItemCoalescer != null) {
+            return getItemCoalescer.load(key);
+        }
+        return recordOne("get", recording -> Mono.fromFuture(table.getItemWithResponse(b -> b.key(key).returnConsumedCapacity(returnConsumedCapacity))).flatMap(response -> {
+            recording.items(response.attributes() == null ? 0 : 1);
+            recording.readCapacity(MeteredOperations.capacityUnits(response.consumedCapacity()));
+            return Mono.justOrEmpty(response.attributes());
+        }));
+    }
+
+    private Flux<T> postLoad(Flux<T> items) {
+        if (!listenedEventTypes.contains(DynamoDbEventType.POST_LOAD)) {
+            return items;
+        }
+        return items.doOnNext(this::postLoad);
+    }
+
+    private void publish(DynamoDbEventType type, T entity, Function<T, DynamoDbEvent<T>> eventFactory) {
+        invalidate(type, entity);
+
+        if (listenedEventTypes.contains(type)) {
+            publisher.publishEvent(eventFactory.apply(entity));
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void publishAll(DynamoDbEventType type, List<T> entities, Function<T, DynamoDbEvent<T>> eventFactory) {
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        if (cache != null) {
+            entities.forEach(entity -> invalidate(type, entity));
+        }
+
+        if (batchEventsListened) {
+            // the publisher is not restricted to the entity events at runtime
+            ((ApplicationEventPublisher) publisher).publishEvent(DynamoDbBatchEvent.of(type, entities));
+        }
+
+        if (listenedEventTypes.contains(type)) {
+            entities.forEach(entity -> publisher.publishEvent(eventFactory.apply(entity)));
+        }
+    }
+
+    /**
+     * Removes the persisted, updated or removed item from the cache once the change is written.
+     */
+    private void invalidate(DynamoDbEventType type, @Nullable T entity) {
+        if (cache == null || entity == null) {
+            return;
+        }
+
+        if (type == DynamoDbEventType.POST_PERSIST || type == DynamoDbEventType.POST_UPDATE || type == DynamoDbEventType.POST_REMOVE) {
+            cache.invalidate(table.keyFrom(entity));
+        }
+    }
+
     private T postLoad(T i) {
-        publisher.publishEvent(DynamoDbEvent.postLoad(i));
+        publish(DynamoDbEventType.POST_LOAD, i, DynamoDbEvent::postLoad);
         return i;
     }
 
+    /**
+     * Executes the update and removes the updated item from the cache before the result is emitted. The update only
+     * publishes the post update event when it returns the updated entity so the item cannot be invalidated by the event.
+     */
+    private <R> Publisher<R> updateItem(DetachedUpdate<T, R> update) {
+        if (cache == null) {
+            return update.update(table, client, attributeConversionHelper, publisher);
+        }
+
+        UpdateItemRequest request = update.resolveRequest(table, attributeConversionHelper);
+        Key key = Transactions.keyFrom(table, request.key());
+        return Flux.from(update.update(table, client, request, attributeConversionHelper, publisher))
+            .doOnEach(signal -> {
+                if (!signal.isOnSubscribe()) {
+                    cache.invalidate(key);
+                }
+            })
+            .doOnCancel(() -> cache.invalidate(key));
+    }
+
     private <R> R doWithKey(Object partitionKey, Object sortKey, Function<Key, R> function) {
         String hashKeyName = table.tableSchema().tableMetadata().primaryPartitionKey();
 
@@ -408,4 +802,15 @@ public class DefaultAsyncDynamoDbService<T> implements AsyncDynamoDbService<T> {
         String hashKeyName = table.tableSchema().tableMetadata().primaryPartitionKey();
         return function.apply(Flux.from(partitionKeys).map(key -> attributeConversionHelper.convert(table, hashKeyName, key)));
     }
+
+    @SuppressWarnings("unchecked")
+    private DynamoDbAsyncTable<T> getProjectionTable(Class<?> projectionType) {
+        // the projection table shares the metadata with the entity table but maps the items into the projection
+        // the builders only use the metadata and the converters so it can be passed where the entity table is expected
+        return (DynamoDbAsyncTable<T>) projectionTables.computeIfAbsent(
+            projectionType,
+            type -> enhancedClient.table(table.tableName(), ProjectionTableSchema.create(table.tableSchema(), type))
+        );
+    }
+
 }
@@ -0,0 +1,151 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.exception.FailedBatchRequestException;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPage;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Default implementation of {@link DynamoDBBatchOperations} sending up to <code>aws.dynamodb.batch.parallelism</code> batch requests concurrently.
+ */
+@Singleton
+public class DefaultDynamoDBBatchOperations implements DynamoDBBatchOperations {
+
+    private final DynamoDBServiceProvider provider;
+    private final DynamoDbEnhancedClient enhancedClient;
+    private final AttributeConversionHelper attributeConversionHelper;
+    private final BatchRetryBackoff batchRetryBackoff;
+    private final int batchParallelism;
+
+    public DefaultDynamoDBBatchOperations(
+        DynamoDBServiceProvider provider,
+        DynamoDbEnhancedClient enhancedClient,
+        AttributeConversionHelper attributeConversionHelper,
+        DynamoDBBatchConfiguration batchConfiguration
+    ) {
+        this.provider = provider;
+        this.enhancedClient = enhancedClient;
+        this.attributeConversionHelper = attributeConversionHelper;
+        this.batchRetryBackoff = new BatchRetryBackoff(batchConfiguration);
+        this.batchParallelism = Math.max(1, batchConfiguration.getParallelism());
+    }
+
+    @Override
+    public BatchGetResult getAll(Consumer<BatchGetBuilder> reads) {
+        MultiTableBatch.Reads batch = new MultiTableBatch.Reads(this::resolve, attributeConversionHelper);
+        reads.accept(batch);
+
+        List<MultiTableBatch.Entry> requested = batch.entries();
+        Map<MultiTableBatch.Entry, Object> loaded = new ConcurrentHashMap<>();
+
+        Flux.fromIterable(MultiTableBatch.chunks(requested, DynamoDbService.DEFAULT_BATCH_GET_SIZE))
+            .flatMap(chunk -> Mono.fromRunnable(() -> {
+                readBatch(chunk, loaded);
+                MultiTableBatch.publishLoaded(chunk, loaded);
+            }).subscribeOn(Schedulers.boundedElastic()), batchParallelism)
+            .blockLast();
+
+        return new BatchGetResult(requested, loaded, attributeConversionHelper);
+    }
+
+    @Override
+    public int writeAll(Consumer<BatchWriteBuilder> writes) {
+        MultiTableBatch.Writes batch = new MultiTableBatch.Writes(this::resolve, attributeConversionHelper);
+        writes.accept(batch);
+
+        Queue<MultiTableBatch.Write> unprocessed = new ConcurrentLinkedQueue<>();
+
+        int written = Flux.fromIterable(MultiTableBatch.chunks(batch.writes(), DynamoDbService.DEFAULT_BATCH_SIZE))
+            .flatMap(chunk -> Mono.fromCallable(() -> {
+                MultiTableBatch.publishBeforeWrite(chunk);
+                List<MultiTableBatch.Write> unprocessedWrites = writeBatch(chunk);
+                unprocessed.addAll(unprocessedWrites);
+
+                List<MultiTableBatch.Write> processed = MultiTableBatch.withoutUnprocessed(chunk, unprocessedWrites);
+                MultiTableBatch.publishAfterWrite(processed);
+                return processed.size();
+            }).subscribeOn(Schedulers.boundedElastic()), batchParallelism)
+            .reduce(0, Integer::sum)
+            .blockOptional()
+            .orElse(0);
+
+        if (unprocessed.isEmpty()) {
+            return written;
+        }
+
+        throw new FailedBatchRequestException("Failed to write items", unprocessed.stream().map(MultiTableBatch.Write::item).toList());
+    }
+
+    private <T> MultiTableBatch.Table<T> resolve(String tableName, Class<T> type) {
+        return MultiTableBatch.Table.of(provider.findOrCreate(tableName, type));
+    }
+
+    private void readBatch(List<MultiTableBatch.Entry> entries, Map<MultiTableBatch.Entry, Object> loaded) {
+        List<MultiTableBatch.Entry> remaining = entries;
+        int attempt = 1;
+
+        while (true) {
+            List<MultiTableBatch.Entry> current = remaining;
+            BatchGetResultPage page = enhancedClient.batchGetItem(b -> b.readBatches(MultiTableBatch.readBatches(current))).iterator().next();
+
+            remaining = MultiTableBatch.collect(page, current, loaded);
+
+            if (remaining.isEmpty()) {
+                return;
+            }
+
+            if (!batchRetryBackoff.canRetry(attempt) || !batchRetryBackoff.await(attempt)) {
+                throw new FailedBatchRequestException("Failed to load items", remaining.stream().map(MultiTableBatch.Entry::key).toList());
+            }
+
+            attempt++;
+        }
+    }
+
+    private List<MultiTableBatch.Write> writeBatch(List<MultiTableBatch.Write> writes) {
+        List<MultiTableBatch.Write> remaining = writes;
+        int attempt = 1;
+
+        while (true) {
+            List<MultiTableBatch.Write> current = remaining;
+            BatchWriteResult result = enhancedClient.batchWriteItem(b -> b.writeBatches(MultiTableBatch.writeBatches(current)));
+
+            remaining = MultiTableBatch.unprocessed(result, current);
+
+            if (remaining.isEmpty() || !batchRetryBackoff.canRetry(attempt) || !batchRetryBackoff.await(attempt)) {
+                return remaining;
+            }
+
+            attempt++;
+        }
+    }
+
+}
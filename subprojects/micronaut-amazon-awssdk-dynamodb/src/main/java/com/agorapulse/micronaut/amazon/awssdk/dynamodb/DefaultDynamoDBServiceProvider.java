@@ -19,29 +19,39 @@ package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
 
 import io.micronaut.context.annotation.Value;
 import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Provider of {@link DynamoDbService} for particular DynamoDB entities.
  */
 @Singleton
-public class DefaultDynamoDBServiceProvider implements DynamoDBServiceProvider {
+public class DefaultDynamoDBServiceProvider implements DynamoDBServiceProvider, AutoCloseable {
 
-    private final ReentrantLock lock = new ReentrantLock();
-    private final ConcurrentHashMap<String, DynamoDbService<?>> serviceCache = new ConcurrentHashMap<>();
+    private final ServiceRegistry<DynamoDbService<?>> services = new ServiceRegistry<>();
     private final DynamoDbEnhancedClient enhancedClient;
     private final DynamoDbClient client;
     private final AttributeConversionHelper attributeConversionHelper;
     private final ApplicationEventPublisher publisher;
     private final TableSchemaCreator tableSchemaCreator;
     private final boolean createTables;
+    private final DynamoDBBatchConfiguration batchConfiguration;
+    private final Map<String, DynamoDBWriteBehindConfiguration> writeBehindConfigurations;
+    private final DynamoDbEntityCacheRegistry cacheRegistry;
+    private final DynamoDbEventListeners eventListeners;
+    private final Map<String, DynamoDBRateLimitConfiguration> rateLimitConfigurations;
+    private final DynamoDbMetrics metrics;
 
     public DefaultDynamoDBServiceProvider(
         DynamoDbEnhancedClient enhancedClient,
@@ -50,6 +60,37 @@ public class DefaultDynamoDBServiceProvider implements DynamoDBServiceProvider {
         ApplicationEventPublisher publisher,
         TableSchemaCreator tableSchemaCreator,
         @Value("${aws.dynamodb.create-tables:false}") boolean createTables
+    ) {
+        this(
+            enhancedClient,
+            client,
+            attributeConversionHelper,
+            publisher,
+            tableSchemaCreator,
+            createTables,
+            new DynamoDBBatchConfiguration(),
+            List.of(),
+            null,
+            null,
+            List.of(),
+            null
+        );
+    }
+
+    @Inject
+    public DefaultDynamoDBServiceProvider(
+        DynamoDbEnhancedClient enhancedClient,
+        DynamoDbClient client,
+        AttributeConversionHelper attributeConversionHelper,
+        ApplicationEventPublisher publisher,
+        TableSchemaCreator tableSchemaCreator,
+        @Value("${aws.dynamodb.create-tables:false}") boolean createTables,
+        DynamoDBBatchConfiguration batchConfiguration,
+        List<DynamoDBWriteBehindConfiguration> writeBehindConfigurations,
+        @Nullable DynamoDbEntityCacheRegistry cacheRegistry,
+        @Nullable DynamoDbEventListeners eventListeners,
+        List<DynamoDBRateLimitConfiguration> rateLimitConfigurations,
+        @Nullable DynamoDbMetrics metrics
     ) {
         this.enhancedClient = enhancedClient;
         this.client = client;
@@ -57,6 +98,12 @@ public class DefaultDynamoDBServiceProvider implements DynamoDBServiceProvider {
         this.publisher = publisher;
         this.tableSchemaCreator = tableSchemaCreator;
         this.createTables = createTables;
+        this.batchConfiguration = batchConfiguration;
+        this.writeBehindConfigurations = writeBehindConfigurations.stream().collect(Collectors.toMap(DynamoDBWriteBehindConfiguration::getName, Function.identity()));
+        this.cacheRegistry = cacheRegistry;
+        this.eventListeners = eventListeners;
+        this.rateLimitConfigurations = rateLimitConfigurations.stream().collect(Collectors.toMap(DynamoDBRateLimitConfiguration::getName, Function.identity()));
+        this.metrics = metrics;
     }
 
     /**
@@ -70,37 +117,64 @@ public class DefaultDynamoDBServiceProvider implements DynamoDBServiceProvider {
     @Override
     @SuppressWarnings("unchecked")
     public <T> DynamoDbService<T> findOrCreate(String tableName, Class<T> type) {
-        // guard against concurrent access because MetaTableSchemaCache is not thread-safe
-        lock.lock();
+        return (DynamoDbService<T>) services.findOrCreate(tableName, () -> create(tableName, type));
+    }
 
-        try {
-            return (DynamoDbService<T>) serviceCache.computeIfAbsent(tableName, t -> {
-                    DynamoDbTable<T> table = enhancedClient.table(tableName, tableSchemaCreator.create(type));
-                    DefaultDynamoDbService<T> newService = new DefaultDynamoDbService<>(
-                        type,
-                        enhancedClient,
-                        client,
-                        attributeConversionHelper,
-                        publisher,
-                        table
-                    );
+    /**
+     * Writes all the items buffered by the services with write-behind enabled.
+     * <p>
+     * All the services are flushed even if some of them fail to write their items.
+     * </p>
+     */
+    @Override
+    @PreDestroy
+    public void close() {
+        RuntimeException failure = null;
+        for (DynamoDbService<?> service : services.getServices()) {
+            try {
+                service.flush();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
 
-                    if (!createTables) {
-                        return newService;
-                    }
+    private <T> DynamoDbService<T> create(String tableName, Class<T> type) {
+        DynamoDbTable<T> table = enhancedClient.table(tableName, tableSchemaCreator.create(type));
+        DefaultDynamoDbService<T> newService = new DefaultDynamoDbService<>(
+            type,
+            enhancedClient,
+            client,
+            attributeConversionHelper,
+            publisher,
+            table,
+            new DynamoDbServiceOptions<T>()
+                .withBatchConfiguration(batchConfiguration)
+                .withWriteBehindConfiguration(writeBehindConfigurations.get(tableName))
+                .withCache(cacheRegistry == null ? null : cacheRegistry.create(tableName, type))
+                .withEventListeners(eventListeners)
+                .withRateLimitConfiguration(rateLimitConfigurations.get(tableName))
+                .withMetrics(metrics)
+        );
 
-                    try {
-                        table.describeTable();
-                    } catch (ResourceNotFoundException e) {
-                        table.createTable();
-                    }
+        if (!createTables) {
+            return newService;
+        }
 
-                    return newService;
-                }
-            );
-        } finally {
-            lock.unlock();
+        try {
+            table.describeTable();
+        } catch (ResourceNotFoundException e) {
+            table.createTable();
         }
+
+        return newService;
     }
 
 }
@@ -0,0 +1,97 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import jakarta.inject.Singleton;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.Document;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Default implementation of {@link DynamoDBTransactionOperations}.
+ */
+@Singleton
+public class DefaultDynamoDBTransactionOperations implements DynamoDBTransactionOperations {
+
+    private final DynamoDBServiceProvider provider;
+    private final DynamoDbEnhancedClient enhancedClient;
+    private final DynamoDbClient client;
+    private final AttributeConversionHelper attributeConversionHelper;
+
+    public DefaultDynamoDBTransactionOperations(
+        DynamoDBServiceProvider provider,
+        DynamoDbEnhancedClient enhancedClient,
+        DynamoDbClient client,
+        AttributeConversionHelper attributeConversionHelper
+    ) {
+        this.provider = provider;
+        this.enhancedClient = enhancedClient;
+        this.client = client;
+        this.attributeConversionHelper = attributeConversionHelper;
+    }
+
+    @Override
+    public int transactWrite(Consumer<TransactionWriteBuilder> actions) {
+        Transactions.Writes transaction = new Transactions.Writes(this::resolve, attributeConversionHelper);
+        actions.accept(transaction);
+
+        List<Transactions.Action> transactionActions = transaction.actions();
+
+        if (transactionActions.isEmpty()) {
+            return 0;
+        }
+
+        Transactions.checkTransactionSize(transactionActions.size());
+        Transactions.publishBeforeCommit(transactionActions);
+
+        client.transactWriteItems(transaction.request());
+
+        Transactions.publishAfterCommit(transactionActions);
+        return transactionActions.size();
+    }
+
+    @Override
+    public BatchGetResult transactGet(Consumer<BatchGetBuilder> reads) {
+        MultiTableBatch.Reads batch = new MultiTableBatch.Reads(this::resolve, attributeConversionHelper);
+        reads.accept(batch);
+
+        List<MultiTableBatch.Entry> requested = batch.entries();
+
+        if (requested.isEmpty()) {
+            return new BatchGetResult(requested, Collections.emptyMap(), attributeConversionHelper);
+        }
+
+        Transactions.checkTransactionSize(requested.size());
+
+        List<Document> documents = enhancedClient.transactGetItems(Transactions.getRequest(requested));
+        Map<MultiTableBatch.Entry, Object> loaded = Transactions.collect(requested, documents);
+
+        MultiTableBatch.publishLoaded(requested, loaded);
+        return new BatchGetResult(requested, loaded, attributeConversionHelper);
+    }
+
+    private <T> MultiTableBatch.Table<T> resolve(String tableName, Class<T> type) {
+        return MultiTableBatch.Table.of(provider.findOrCreate(tableName, type));
+    }
+
+}
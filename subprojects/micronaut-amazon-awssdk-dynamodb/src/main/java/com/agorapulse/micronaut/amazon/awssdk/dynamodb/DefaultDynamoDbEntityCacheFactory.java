@@ -0,0 +1,33 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import jakarta.inject.Singleton;
+
+/**
+ * Default entity cache factory creating caches bounded by the size and the time to live.
+ */
+@Singleton
+public class DefaultDynamoDbEntityCacheFactory implements DynamoDbEntityCacheFactory {
+
+    @Override
+    public <T> DynamoDbEntityCache<T> create(DynamoDBCacheConfiguration configuration, Class<T> itemType) {
+        return new BoundedDynamoDbEntityCache<>(configuration.getMaxSize(), configuration.getTtl(), configuration.getMissTtl());
+    }
+
+}
@@ -23,30 +23,44 @@ import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.Builders;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedQuery;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedScan;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedUpdate;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.PageObserver;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.UpdateBuilder;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbBatchEvent;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbEvent;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbEventType;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.exception.FailedBatchRequestException;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema.ProjectionTableSchema;
 import io.micronaut.context.event.ApplicationEventPublisher;
 import io.micronaut.core.annotation.AnnotationValue;
 import io.micronaut.core.beans.BeanIntrospection;
 import io.micronaut.core.beans.BeanProperty;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPage;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedResponse;
 import software.amazon.awssdk.enhanced.dynamodb.model.EnhancedGlobalSecondaryIndex;
 import software.amazon.awssdk.enhanced.dynamodb.model.EnhancedLocalSecondaryIndex;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedResponse;
 import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedResponse;
 import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.Projection;
 import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 
 import io.micronaut.core.annotation.Nullable;
 import java.lang.annotation.Annotation;
@@ -54,13 +68,18 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -73,6 +92,18 @@ public class DefaultDynamoDbService<T> implements DynamoDbService<T> {
     private final AttributeConversionHelper attributeConversionHelper;
     private final ApplicationEventPublisher publisher;
     private final DynamoDbTable<T> table;
+    private final BatchRetryBackoff batchRetryBackoff;
+    private final int batchParallelism;
+    private final int updateParallelism;
+    private final GetItemCoalescer<T> getItemCoalescer;
+    private final WriteBehindBuffer<T> writeBehindBuffer;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final DynamoDbMetrics metrics;
+    private final ReturnConsumedCapacity returnConsumedCapacity;
+    private final DynamoDbEntityCache<T> cache;
+    private final Set<DynamoDbEventType> listenedEventTypes;
+    private final boolean batchEventsListened;
+    private final Map<Class<?>, DynamoDbTable<?>> projectionTables = new ConcurrentHashMap<>();
 
     public DefaultDynamoDbService(
         Class<T> itemType,
@@ -82,12 +113,56 @@ public class DefaultDynamoDbService<T> implements DynamoDbService<T> {
         ApplicationEventPublisher publisher,
         DynamoDbTable<T> table
     ) {
+        this(itemType, enhancedClient, client, attributeConversionHelper, publisher, table, new DynamoDbServiceOptions<>());
+    }
+
+    public DefaultDynamoDbService(
+        Class<T> itemType,
+        DynamoDbEnhancedClient enhancedClient,
+        DynamoDbClient client,
+        AttributeConversionHelper attributeConversionHelper,
+        ApplicationEventPublisher publisher,
+        DynamoDbTable<T> table,
+        DynamoDbServiceOptions<T> options
+    ) {
+        DynamoDBBatchConfiguration batchConfiguration = options.getBatchConfiguration();
+        DynamoDBWriteBehindConfiguration writeBehindConfiguration = options.getWriteBehindConfiguration();
+        DynamoDbEventListeners eventListeners = options.getEventListeners();
+
         this.itemType = itemType;
         this.enhancedClient = enhancedClient;
         this.client = client;
         this.attributeConversionHelper = attributeConversionHelper;
         this.publisher = publisher;
         this.table = table;
+        this.batchRetryBackoff = new BatchRetryBackoff(batchConfiguration);
+        this.batchParallelism = Math.max(1, batchConfiguration.getParallelism());
+        this.updateParallelism = Math.max(1, batchConfiguration.getUpdateParallelism());
+        this.rateLimiter = AdaptiveRateLimiter.create(options.getRateLimitConfiguration(), () -> {
+            try {
+                return CompletableFuture.completedFuture(table.describeTable());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+        this.metrics = options.getMetrics();
+        this.returnConsumedCapacity = rateLimiter != null || this.metrics.isConsumedCapacityRequired() ? ReturnConsumedCapacity.TOTAL : null;
+        this.getItemCoalescer = batchConfiguration.isCoalesceGets()
+            ? new GetItemCoalescer<>(batchConfiguration.getCoalesceWindow(), keys -> Mono.fromCallable(() -> record("get", r -> readBatch(keys, r))).subscribeOn(Schedulers.boundedElastic()))
+            : null;
+        this.writeBehindBuffer = writeBehindConfiguration != null && writeBehindConfiguration.isEnabled()
+            ? new WriteBehindBuffer<>(
+                writeBehindConfiguration,
+                batchRetryBackoff,
+                table::keyFrom,
+                batch -> Mono.fromCallable(() -> record("writeBehind", recording -> writeBatchOnce(batch, WriteBatch.Builder::addPutItem, r -> r.unprocessedPutItemsForTable(table), recording))).subscribeOn(Schedulers.boundedElastic()),
+                written -> publishAll(DynamoDbEventType.POST_PERSIST, written, DynamoDbEvent::postPersist),
+                failure -> MeteredOperations.recordFailure(metrics, table.tableName(), "writeBehind", failure)
+            )
+            : null;
+        this.cache = options.getCache();
+        this.listenedEventTypes = eventListeners == null ? EnumSet.allOf(DynamoDbEventType.class) : eventListeners.getListenedEventTypes(itemType);
+        this.batchEventsListened = eventListeners != null && eventListeners.hasBatchListeners(itemType);
     }
 
     @Override
@@ -102,22 +177,46 @@ public class DefaultDynamoDbService<T> implements DynamoDbService<T> {
 
     @Override
     public Publisher<T> query(DetachedQuery<T> query) {
-        return Flux.from(query.query(table, attributeConversionHelper)).map(this::postLoad);
+        return postLoad(queried(query, table));
     }
 
     @Override
     public Publisher<T> scan(DetachedScan<T> scan) {
-        return Flux.from(scan.scan(table, attributeConversionHelper)).map(this::postLoad);
+        return postLoad(scanned(scan, table));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <P> Publisher<P> query(DetachedQuery<T> query, Class<P> projectionType) {
+        if (projectionType.isAssignableFrom(itemType)) {
+            return (Publisher<P>) query(query);
+        }
+
+        DynamoDbTable<T> projectionTable = getProjectionTable(projectionType);
+
+        return (Publisher<P>) queried(query, projectionTable);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <P> Publisher<P> scan(DetachedScan<T> scan, Class<P> projectionType) {
+        if (projectionType.isAssignableFrom(itemType)) {
+            return (Publisher<P>) scan(scan);
+        }
+
+        DynamoDbTable<T> projectionTable = getProjectionTable(projectionType);
+
+        return (Publisher<P>) scanned(scan, projectionTable);
     }
 
     @Override
     public Publisher<T> findAll(Object partitionKey, Object sortKey) {
-        return Flux.from(simplePartitionAndSort(partitionKey, sortKey).query(table, attributeConversionHelper)).map(this::postLoad);
+        return postLoad(queried(simplePartitionAndSort(partitionKey, sortKey), table));
     }
 
     @Override
     public <R> R update(DetachedUpdate<T, R> update) {
-        return update.update(table, client, attributeConversionHelper, publisher);
+        return record("update", recording -> updateItem(update));
     }
 
     @Override
@@ -125,50 +224,151 @@ public class DefaultDynamoDbService<T> implements DynamoDbService<T> {
         // there is no batch update API, we can do batch updates in transaction but in that case it would cause
         // doubling the writes
 
-        BeanIntrospection<T> introspection = EntityIntrospection.getBeanIntrospection(table);
-        TableMetadata tableMetadata = table.tableSchema().tableMetadata();
+        Function<T, ? extends UpdateBuilder<T, ?>> updateForEntity = Transactions.updateForEntity(table, update);
 
-        AtomicInteger counter = new AtomicInteger();
+        Long updated = recordMany("updateAll", recording -> postLoad(Flux.from(items))
+            .flatMap(entity -> Mono.fromCallable(() -> {
+                if (rateLimiter == null) {
+                    updateItem(updateForEntity.apply(entity));
+                    return entity;
+                }
 
-        Flux.from(items).map(this::postLoad).subscribe(entity -> {
-            introspection.getProperty(tableMetadata.primaryPartitionKey()).ifPresent(p -> update.partitionKey(p.get(entity)));
-            tableMetadata.primarySortKey().flatMap(introspection::getProperty).ifPresent(p -> update.sortKey(p.get(entity)));
+                // the consumed capacity is not available for the updates so each update is expected to consume single unit
+                AdaptiveRateLimiter.Budget writes = rateLimiter.writes();
+                awaitWrites(writes, 1);
+                try {
+                    updateItem(updateForEntity.apply(entity));
+                    writes.consumed(1, 1);
+                    return entity;
+                } catch (RuntimeException e) {
+                    writes.failed(1, e);
+                    throw e;
+                }
+            }).subscribeOn(Schedulers.boundedElastic()), updateParallelism)
+            .doOnNext(entity -> recording.items(1)))
+            .count()
+            .block();
 
-            update.update(table, client, attributeConversionHelper, publisher);
+        return updated == null ? 0 : updated.intValue();
+    }
 
-            counter.incrementAndGet();
-        });
+    @Override
+    public int updateAllInTransactions(Publisher<T> items, UpdateBuilder<T, ?> update, int transactionSize) {
+        Transactions.checkTransactionSize(transactionSize);
+
+        Function<T, ? extends UpdateBuilder<T, ?>> updateForEntity = Transactions.updateForEntity(table, update);
+
+        Integer updated = recordMany("updateAllInTransactions", recording -> Transactions.writeChunks(Transactions.chunks(postLoad(Flux.from(items)), transactionSize, table::keyFrom), table::keyFrom, batch -> Mono.fromCallable(() -> {
+                List<TransactWriteItem> actions = new ArrayList<>(batch.size());
+                List<T> keyItems = new ArrayList<>(batch.size());
 
-        return counter.get();
+                for (T entity : batch) {
+                    UpdateItemRequest request = updateForEntity.apply(entity).resolveRequest(table, attributeConversionHelper);
+                    keyItems.add(table.tableSchema().mapToItem(request.key()));
+                    actions.add(Transactions.update(request));
+                }
+
+                publishAll(DynamoDbEventType.PRE_UPDATE, keyItems, DynamoDbEvent::preUpdate);
+
+                transactWrite(actions, recording);
+
+                publishAll(DynamoDbEventType.POST_UPDATE, keyItems, DynamoDbEvent::postUpdate);
+                recording.items(batch.size());
+                return batch.size();
+            }).subscribeOn(Schedulers.boundedElastic()), updateParallelism))
+            .reduce(0, Integer::sum)
+            .block();
+
+        return updated == null ? 0 : updated;
     }
 
     @Override
     public T save(T entity) {
-        publisher.publishEvent(DynamoDbEvent.prePersist(entity));
-        T updated = table.updateItem(entity);
-        publisher.publishEvent(DynamoDbEvent.postPersist(updated));
+        publish(DynamoDbEventType.PRE_PERSIST, entity, DynamoDbEvent::prePersist);
+
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.add(entity).block();
+            return entity;
+        }
+
+        T updated = record("save", recording -> {
+            UpdateItemEnhancedResponse<T> response = table.updateItemWithResponse(b -> b.item(entity).returnConsumedCapacity(returnConsumedCapacity));
+            recording.items(1);
+            recording.writeCapacity(MeteredOperations.capacityUnits(response.consumedCapacity()));
+            return response.attributes();
+        });
+        publish(DynamoDbEventType.POST_PERSIST, updated, DynamoDbEvent::postPersist);
         return updated;
     }
 
+    @Override
+    public void flush() {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.flush().block();
+        }
+    }
+
     @Override
     public Publisher<T> saveAll(Publisher<T> itemsToSave, int batchSize) {
-        List<T> saved = new ArrayList<>();
-        List<T> unprocessed = Flux.from(itemsToSave).buffer(withinBatchSizeBounds(batchSize)).map(batchItems -> enhancedClient.batchWriteItem(b -> {
-            b.writeBatches(batchItems.stream().map(i -> {
-                publisher.publishEvent(DynamoDbEvent.prePersist(i));
-                saved.add(i);
-                return WriteBatch.builder(table.tableSchema().itemType().rawClass()).mappedTableResource(table).addPutItem(i).build();
-            }).collect(Collectors.toList()));
-        })).flatMap(r -> Flux.fromIterable(r.unprocessedPutItemsForTable(table))).collectList().blockOptional().orElse(Collections.emptyList());
+        return record("saveAll", recording -> saveAll(itemsToSave, batchSize, recording));
+    }
+
+    @Override
+    public int saveAllAndCount(Publisher<T> itemsToSave, int batchSize) {
+        return record("saveAll", recording -> saveAllAndCount(itemsToSave, batchSize, recording));
+    }
+
+    private Publisher<T> saveAll(Publisher<T> itemsToSave, int batchSize, DynamoDbMetrics.Recording recording) {
+        List<T> unprocessed = Collections.synchronizedList(new ArrayList<>());
+        List<T> saved = Flux.from(itemsToSave)
+            .buffer(withinBatchSizeBounds(batchSize))
+            .flatMapSequential(batchItems -> saveBatch(batchItems, unprocessed, recording), batchParallelism)
+            .flatMapIterable(Function.identity())
+            .collectList()
+            .blockOptional()
+            .orElse(Collections.emptyList());
 
         if (unprocessed.isEmpty()) {
-            saved.forEach(i -> publisher.publishEvent(DynamoDbEvent.postPersist(i)));
             return Flux.fromIterable(saved);
         }
 
         throw new FailedBatchRequestException("Failed to save items", unprocessed);
     }
 
+    private int saveAllAndCount(Publisher<T> itemsToSave, int batchSize, DynamoDbMetrics.Recording recording) {
+        // only the unprocessed items are retained, the saved ones are released as soon as their batch is written
+        List<T> unprocessed = Collections.synchronizedList(new ArrayList<>());
+        int saved = Flux.from(itemsToSave)
+            .buffer(withinBatchSizeBounds(batchSize))
+            .flatMap(batchItems -> saveBatch(batchItems, unprocessed, recording).map(List::size), batchParallelism)
+            .reduce(0, Integer::sum)
+            .blockOptional()
+            .orElse(0);
+
+        if (unprocessed.isEmpty()) {
+            return saved;
+        }
+
+        throw new FailedBatchRequestException("Failed to save items", unprocessed);
+    }
+
+    /**
+     * Writes the batch on the bounded elastic scheduler and collects the items which were not processed.
+     * @return the items which were saved
+     */
+    private Mono<List<T>> saveBatch(List<T> batchItems, List<T> unprocessed, DynamoDbMetrics.Recording recording) {
+        return Mono.fromCallable(() -> {
+            publishAll(DynamoDbEventType.PRE_PERSIST, batchItems, DynamoDbEvent::prePersist);
+
+            List<T> unprocessedItems = writeBatch(batchItems, WriteBatch.Builder::addPutItem, r -> r.unprocessedPutItemsForTable(table), recording);
+            unprocessed.addAll(unprocessedItems);
+
+            List<T> processed = withoutUnprocessed(batchItems, unprocessedItems.stream().map(table::keyFrom).toList());
+            publishAll(DynamoDbEventType.POST_PERSIST, processed, DynamoDbEvent::postPersist);
+            return processed;
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
     @Override
     public T delete(Object partitionKey, @Nullable Object sortKey) {
         return doWithKey(partitionKey, sortKey, this::delete);
@@ -176,37 +376,47 @@ public class DefaultDynamoDbService<T> implements DynamoDbService<T> {
 
     @Override
     public T delete(T item) {
-        publisher.publishEvent(DynamoDbEvent.preRemove(item));
-        T deleted = table.deleteItem(table.keyFrom(item));
-        publisher.publishEvent(DynamoDbEvent.postRemove(deleted));
+        publish(DynamoDbEventType.PRE_REMOVE, item, DynamoDbEvent::preRemove);
+        T deleted = deleteItem(table.keyFrom(item));
+        publish(DynamoDbEventType.POST_REMOVE, deleted, DynamoDbEvent::postRemove);
         return item;
     }
 
     @Override
     public T delete(Key key) {
         T item = table.tableSchema().mapToItem(key.primaryKeyMap(table.tableSchema()));
-        publisher.publishEvent(DynamoDbEvent.preRemove(item));
-        T deleted = table.deleteItem(key);
-        publisher.publishEvent(DynamoDbEvent.postRemove(deleted));
+        publish(DynamoDbEventType.PRE_REMOVE, item, DynamoDbEvent::preRemove);
+        T deleted = deleteItem(key);
+        publish(DynamoDbEventType.POST_REMOVE, deleted, DynamoDbEvent::postRemove);
         return item;
     }
 
     @Override
     public int deleteAll(Publisher<T> items, int batchSize) {
-        TableSchema<T> tableSchema = table.tableSchema();
-        List<T> deleted = new ArrayList<>();
-        List<Key> unprocessed = Flux.from(items).buffer(withinBatchSizeBounds(batchSize)).map(batchItems -> enhancedClient.batchWriteItem(b -> {
-            b.writeBatches(batchItems.stream().map(i -> {
-                    publisher.publishEvent(DynamoDbEvent.preRemove(i));
-                    deleted.add(i);
-                    return WriteBatch.builder(tableSchema.itemType().rawClass()).mappedTableResource(table).addDeleteItem(i).build();
-                }
-            ).collect(Collectors.toList()));
-        })).flatMap(r -> Flux.fromIterable(r.unprocessedDeleteItemsForTable(table))).collectList().blockOptional().orElse(Collections.emptyList());
+        return record("deleteAll", recording -> deleteAll(items, batchSize, recording));
+    }
+
+    private int deleteAll(Publisher<T> items, int batchSize, DynamoDbMetrics.Recording recording) {
+        List<Key> unprocessed = Collections.synchronizedList(new ArrayList<>());
+        int deleted = Flux.from(items)
+            .buffer(withinBatchSizeBounds(batchSize))
+            .flatMap(batchItems -> Mono.fromCallable(() -> {
+                publishAll(DynamoDbEventType.PRE_REMOVE, batchItems, DynamoDbEvent::preRemove);
+                List<Key> keys = batchItems.stream().map(table::keyFrom).toList();
+
+                List<Key> unprocessedKeys = writeBatch(keys, WriteBatch.Builder::addDeleteItem, r -> r.unprocessedDeleteItemsForTable(table), recording);
+                unprocessed.addAll(unprocessedKeys);
+
+                List<T> processed = withoutUnprocessed(batchItems, unprocessedKeys);
+                publishAll(DynamoDbEventType.POST_REMOVE, processed, DynamoDbEvent::postRemove);
+                return processed.size();
+            }).subscribeOn(Schedulers.boundedElastic()), batchParallelism)
+            .reduce(0, Integer::sum)
+            .blockOptional()
+            .orElse(0);
 
         if (unprocessed.isEmpty()) {
-            deleted.forEach(i -> publisher.publishEvent(DynamoDbEvent.postRemove(i)));
-            return deleted.size();
+            return deleted;
         }
 
         throw new FailedBatchRequestException("Failed to delete items", unprocessed);
@@ -229,19 +439,19 @@ public class DefaultDynamoDbService<T> implements DynamoDbService<T> {
 
     @Override
     public T get(Key key) {
-        T item = table.getItem(key);
-        publisher.publishEvent(DynamoDbEvent.postLoad(item));
+        T item = cache == null ? load(key) : cache.get(key, k -> Mono.fromCallable(() -> load(k))).block();
+        publish(DynamoDbEventType.POST_LOAD, item, DynamoDbEvent::postLoad);
         return item;
     }
 
     @Override
     public int count(DetachedQuery<T> query) {
-        return query.count(table, attributeConversionHelper);
+        return record("count", recording -> query.count(table, attributeConversionHelper));
     }
 
     @Override
     public int count(DetachedScan<T> scan) {
-        return scan.count(table, attributeConversionHelper);
+        return record("count", recording -> scan.count(table, attributeConversionHelper));
     }
 
     @Override
@@ -284,6 +494,174 @@ public class DefaultDynamoDbService<T> implements DynamoDbService<T> {
         return Math.max(2, Math.min(batchSize, 25));
     }
 
+    private static int withinBatchGetSizeBounds(int batchSize) {
+        return Math.max(1, Math.min(batchSize, 100));
+    }
+
+    /**
+     * Writes the batch and resubmits the unprocessed items until all of them are processed or the attempts are exhausted.
+     * @return the items which were not processed even after all the attempts
+     */
+    private <I> List<I> writeBatch(
+        List<I> items,
+        BiConsumer<WriteBatch.Builder<T>, I> addItem,
+        Function<BatchWriteResult, List<I>> unprocessedItems,
+        DynamoDbMetrics.Recording recording
+    ) {
+        List<I> remaining = items;
+        int attempt = 1;
+
+        while (true) {
+            remaining = writeBatchOnce(remaining, addItem, unprocessedItems, recording);
+
+            if (remaining.isEmpty() || !batchRetryBackoff.canRetry(attempt) || !batchRetryBackoff.await(attempt)) {
+                return remaining;
+            }
+
+            recording.retried();
+            attempt++;
+        }
+    }
+
+    /**
+     * Writes the batch without resubmitting the unprocessed items.
+     * @return the items which were not processed
+     */
+    private <I> List<I> writeBatchOnce(
+        List<I> items,
+        BiConsumer<WriteBatch.Builder<T>, I> addItem,
+        Function<BatchWriteResult, List<I>> unprocessedItems,
+        DynamoDbMetrics.Recording recording
+    ) {
+        if (rateLimiter != null && !rateLimiter.writes().await(items.size())) {
+            return items;
+        }
+
+        BatchWriteResult result = writeBatch(items.stream().map(i -> {
+            WriteBatch.Builder<T> builder = WriteBatch.builder(table.tableSchema().itemType().rawClass()).mappedTableResource(table);
+            addItem.accept(builder, i);
+            return builder.build();
+        }).collect(Collectors.toList()));
+
+        List<I> remaining = unprocessedItems.apply(result);
+        double consumed = MeteredOperations.capacityUnits(result.consumedCapacity(), table.tableName());
+
+        recording.items(items.size() - remaining.size());
+        recording.writeCapacity(consumed);
+        recording.unprocessed(remaining.size());
+
+        if (rateLimiter != null) {
+            rateLimiter.writes().consumed(items.size(), consumed);
+            if (!remaining.isEmpty()) {
+                rateLimiter.writes().throttled();
+            }
+        }
+
+        return remaining;
+    }
+
+    private BatchWriteResult writeBatch(List<WriteBatch> batches) {
+        try {
+            return enhancedClient.batchWriteItem(b -> b.writeBatches(batches).returnConsumedCapacity(returnConsumedCapacity));
+        } catch (RuntimeException e) {
+            if (rateLimiter != null) {
+                rateLimiter.writes().failed(batches.size(), e);
+            }
+            throw e;
+        }
+    }
+
+    private void transactWrite(List<TransactWriteItem> actions, DynamoDbMetrics.Recording recording) {
+        // the transactional writes consume twice as much capacity as the regular ones
+        AdaptiveRateLimiter.Budget writes = rateLimiter == null ? null : rateLimiter.writes();
+        double reserved = 2.0 * actions.size();
+
+        if (writes != null) {
+            awaitWrites(writes, reserved);
+        }
+
+        try {
+            TransactWriteItemsResponse response = client.transactWriteItems(b -> b.transactItems(actions).returnConsumedCapacity(returnConsumedCapacity));
+            double consumed = MeteredOperations.capacityUnits(response.consumedCapacity(), table.tableName());
+            recording.writeCapacity(consumed);
+            if (writes != null) {
+                writes.consumed(reserved, consumed);
+            }
+        } catch (RuntimeException e) {
+            if (writes != null) {
+                writes.failed(reserved, e);
+            }
+            throw e;
+        }
+    }
+
+    private void awaitWrites(AdaptiveRateLimiter.Budget writes, double units) {
+        if (!writes.await(units)) {
+            // the thread has been interrupted so the write is not sent at all, the same as the interrupted batch writes
+            IllegalStateException interrupted = new IllegalStateException("Interrupted while waiting for the write capacity of table " + table.tableName());
+            writes.failed(units, interrupted);
+            throw interrupted;
+        }
+    }
+
+    private T deleteItem(Key key) {
+        return record("delete", recording -> {
+            DeleteItemEnhancedResponse<T> response = table.deleteItemWithResponse(b -> b.key(key).returnConsumedCapacity(returnConsumedCapacity));
+            recording.items(response.attributes() == null ? 0 : 1);
+            recording.writeCapacity(MeteredOperations.capacityUnits(response.consumedCapacity()));
+            return response.attributes();
+        });
+    }
+
+    private Flux<T> queried(DetachedQuery<T> query, DynamoDbTable<T> mapper) {
+        return recordMany("query", recording -> query.query(mapper, attributeConversionHelper, MeteredOperations.pages(recording)));
+    }
+
+    private Flux<T> scanned(DetachedScan<T> scan, DynamoDbTable<T> mapper) {
+        return recordMany("scan", recording -> {
+            PageObserver observer = MeteredOperations.pages(recording);
+
+            if (rateLimiter == null) {
+                return scan.scan(mapper, attributeConversionHelper, observer);
+            }
+
+            return Flux.from(scan.scan(mapper, attributeConversionHelper, rateLimiter.scans().and(observer))).doOnError(e -> {
+                if (AdaptiveRateLimiter.isThrottling(e)) {
+                    rateLimiter.reads().throttled();
+                }
+            });
+        });
+    }
+
+    private <R> R record(String operation, Function<DynamoDbMetrics.Recording, R> action) {
+        return MeteredOperations.record(metrics, table.tableName(), operation, action);
+    }
+
+    private <R> Flux<R> recordMany(String operation, Function<DynamoDbMetrics.Recording, Publisher<R>> action) {
+        return MeteredOperations.recordMany(metrics, table.tableName(), operation, action);
+    }
+
+    private List<T> withoutUnprocessed(List<T> items, List<Key> unprocessedKeys) {
+        if (unprocessedKeys.isEmpty()) {
+            return items;
+        }
+        Set<Key> unprocessed = new HashSet<>(unprocessedKeys);
+        return items.stream().filter(i -> !unprocessed.contains(table.keyFrom(i))).toList();
+    }
+
+    private T load(Key key) {
+        if (getItemCoalescer != null) {
+            return getItemCoalescer.load(key).block();
+        }
+
+        return record("get", recording -> {
+            GetItemEnhancedResponse<T> response = table.getItemWithResponse(b -> b.key(key).returnConsumedCapacity(returnConsumedCapacity));
+            recording.items(response.attributes() == null ? 0 : 1);
+            recording.readCapacity(MeteredOperations.capacityUnits(response.consumedCapacity()));
+            return response.attributes();
+        });
+    }
+
     private DetachedQuery<T> simplePartitionAndSort(Object partitionKey, Object sortKey) {
         return doWithKey(partitionKey, sortKey, key -> {
             if (key.sortKeyValue().isPresent()) {
@@ -294,35 +672,74 @@ public class DefaultDynamoDbService<T> implements DynamoDbService<T> {
     }
 
     private Publisher<T> getAllByAttributeValue(Publisher<AttributeValue> partitionKeys, int batchSize) {
-        TableSchema<T> tableSchema = table.tableSchema();
-        Map<AttributeValue, Integer> order = new ConcurrentHashMap<>();
-        AtomicInteger counter = new AtomicInteger();
-
-        return Flux.from(partitionKeys).buffer(withinBatchSizeBounds(batchSize)).map(batchRangeKeys -> enhancedClient.batchGetItem(b -> b.readBatches(batchRangeKeys.stream().map(k -> {
-                order.put(k, counter.getAndIncrement());
-                return ReadBatch.builder(tableSchema.itemType().rawClass()).mappedTableResource(table).addGetItem(Key.builder().partitionValue(k).build()).build();
-            })
-            .collect(Collectors.toList())))).flatMap(r -> {
-            Comparator<T> comparator = Comparator.comparingInt(i -> order.getOrDefault(tableSchema.attributeValue(i, tableSchema.tableMetadata().primaryPartitionKey()), 0));
-            List<T> it = r.resultsForTable(table).stream().sorted(comparator).collect(Collectors.toList());
-            return Flux.fromIterable(it).map(this::postLoad);
-        });
+        return getAllByKeys(Flux.from(partitionKeys).map(k -> Key.builder().partitionValue(k).build()), batchSize);
     }
 
     private Publisher<T> getAll(AttributeValue hashKey, Publisher<AttributeValue> rangeKeys, int batchSize) {
-        TableSchema<T> tableSchema = table.tableSchema();
-        Map<AttributeValue, Integer> order = new ConcurrentHashMap<>();
-        AtomicInteger counter = new AtomicInteger();
-
-        return Flux.from(rangeKeys).buffer(withinBatchSizeBounds(batchSize)).map(batchRangeKeys -> enhancedClient.batchGetItem(b -> b.readBatches(batchRangeKeys.stream().map(k -> {
-            order.put(k, counter.getAndIncrement());
-            return ReadBatch.builder(tableSchema.itemType().rawClass()).mappedTableResource(table).addGetItem(Key.builder().partitionValue(hashKey).sortValue(k).build()).build();
-        })
-        .collect(Collectors.toList())))).flatMap(r -> {
-            Comparator<T> comparator = Comparator.comparingInt(i -> order.getOrDefault(tableSchema.attributeValue(i, tableSchema.tableMetadata().primarySortKey().get()), 0));
-            List<T> it = r.resultsForTable(table).stream().sorted(comparator).collect(Collectors.toList());
-            return Flux.fromIterable(it).map(this::postLoad);
-        });
+        return getAllByKeys(Flux.from(rangeKeys).map(k -> Key.builder().partitionValue(hashKey).sortValue(k).build()), batchSize);
+    }
+
+    private Flux<T> getAllByKeys(Flux<Key> keys, int batchSize) {
+        return recordMany("getAll", recording -> keys.buffer(withinBatchGetSizeBounds(batchSize))
+            .flatMapSequential(batchKeys -> Mono.fromCallable(() -> {
+                List<T> loaded = inRequestedOrder(batchKeys, readBatch(batchKeys, recording));
+                publishAll(DynamoDbEventType.POST_LOAD, loaded, DynamoDbEvent::postLoad);
+                return loaded;
+            }).subscribeOn(Schedulers.boundedElastic()), batchParallelism)
+            .flatMapIterable(Function.identity()));
+    }
+
+    /**
+     * Reads the batch and resubmits the unprocessed keys until all of them are processed or the attempts are exhausted.
+     * @return the loaded items by their keys
+     */
+    private Map<Key, T> readBatch(List<Key> keys, DynamoDbMetrics.Recording recording) {
+        Map<Key, T> loaded = new LinkedHashMap<>();
+        List<Key> remaining = new ArrayList<>(new LinkedHashSet<>(keys));
+        int attempt = 1;
+
+        while (true) {
+            ReadBatch readBatch = toReadBatch(remaining);
+            BatchGetResultPage page = enhancedClient.batchGetItem(b -> b.readBatches(readBatch).returnConsumedCapacity(returnConsumedCapacity)).iterator().next();
+
+            List<T> results = page.resultsForTable(table);
+            results.forEach(i -> loaded.put(table.keyFrom(i), i));
+            remaining = page.unprocessedKeysForTable(table);
+
+            recording.items(results.size());
+            recording.readCapacity(MeteredOperations.capacityUnits(page.consumedCapacity(), table.tableName()));
+            recording.unprocessed(remaining.size());
+
+            if (remaining.isEmpty()) {
+                return loaded;
+            }
+
+            if (!batchRetryBackoff.canRetry(attempt) || !batchRetryBackoff.await(attempt)) {
+                throw new FailedBatchRequestException("Failed to load items", remaining);
+            }
+
+            recording.retried();
+            attempt++;
+        }
+    }
+
+    private ReadBatch toReadBatch(List<Key> keys) {
+        ReadBatch.Builder<T> builder = ReadBatch.builder(table.tableSchema().itemType().rawClass()).mappedTableResource(table);
+        keys.forEach(builder::addGetItem);
+        return builder.build();
+    }
+
+    private static <T> List<T> inRequestedOrder(List<Key> keys, Map<Key, T> loaded) {
+        List<T> ordered = new ArrayList<>(loaded.size());
+        for (Key key : keys) {
+            T item = loaded.remove(key);
+            if (item != null) {
+                ordered.add(item);
+            }
+        }
+        // keys which are equal but differently encoded (e.g. numbers) do not match, return them rather than dropping them
+        ordered.addAll(loaded.values());
+        return ordered;
     }
 
     private Map<String, ProjectionType> getProjectionTypes() {
@@ -360,9 +777,68 @@ public class DefaultDynamoDbService<T> implements DynamoDbService<T> {
         return p.findAnnotation(indexAnnotationClass).map(anno -> Arrays.asList(anno.stringValues("indexNames"))).orElse(Collections.emptyList());
     }
 
-    private T postLoad(T i) {
-        publisher.publishEvent(DynamoDbEvent.postLoad(i));
-        return i;
+    private Flux<T> postLoad(Flux<T> items) {
+        if (!listenedEventTypes.contains(DynamoDbEventType.POST_LOAD)) {
+            return items;
+        }
+        return items.doOnNext(i -> publisher.publishEvent(DynamoDbEvent.postLoad(i)));
+    }
+
+    private void publish(DynamoDbEventType type, T entity, Function<T, DynamoDbEvent<T>> eventFactory) {
+        invalidate(type, entity);
+
+        if (listenedEventTypes.contains(type)) {
+            publisher.publishEvent(eventFactory.apply(entity));
+        }
+    }
+
+    void publishAll(DynamoDbEventType type, List<T> entities, Function<T, DynamoDbEvent<T>> eventFactory) {
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        if (cache != null) {
+            entities.forEach(entity -> invalidate(type, entity));
+        }
+
+        if (batchEventsListened) {
+            publisher.publishEvent(DynamoDbBatchEvent.of(type, entities));
+        }
+
+        if (listenedEventTypes.contains(type)) {
+            entities.forEach(entity -> publisher.publishEvent(eventFactory.apply(entity)));
+        }
+    }
+
+    /**
+     * Removes the persisted, updated or removed item from the cache once the change is written.
+     */
+    private void invalidate(DynamoDbEventType type, @Nullable T entity) {
+        if (cache == null || entity == null) {
+            return;
+        }
+
+        if (type == DynamoDbEventType.POST_PERSIST || type == DynamoDbEventType.POST_UPDATE || type == DynamoDbEventType.POST_REMOVE) {
+            cache.invalidate(table.keyFrom(entity));
+        }
+    }
+
+    /**
+     * Executes the update and removes the updated item from the cache. The update only publishes the post update event
+     * when it returns the updated entity so the item cannot be invalidated by the event.
+     */
+    private <R> R updateItem(DetachedUpdate<T, R> update) {
+        if (cache == null) {
+            return update.update(table, client, attributeConversionHelper, publisher);
+        }
+
+        UpdateItemRequest request = update.resolveRequest(table, attributeConversionHelper);
+        Key key = Transactions.keyFrom(table, request.key());
+        try {
+            return update.update(table, client, request, attributeConversionHelper, publisher);
+        } finally {
+            cache.invalidate(key);
+        }
     }
 
     private <R> R doWithKey(Object partitionKey, Object sortKey, Function<Key, R> function) {
@@ -405,4 +881,15 @@ public class DefaultDynamoDbService<T> implements DynamoDbService<T> {
         String hashKeyName = table.tableSchema().tableMetadata().primaryPartitionKey();
         return function.apply(Flux.from(partitionKeys).map(key -> attributeConversionHelper.convert(table, hashKeyName, key)));
     }
+
+    @SuppressWarnings("unchecked")
+    private DynamoDbTable<T> getProjectionTable(Class<?> projectionType) {
+        // the projection table shares the metadata with the entity table but maps the items into the projection
+        // the builders only use the metadata and the converters so it can be passed where the entity table is expected
+        return (DynamoDbTable<T>) projectionTables.computeIfAbsent(
+            projectionType,
+            type -> enhancedClient.table(table.tableName(), ProjectionTableSchema.create(table.tableSchema(), type))
+        );
+    }
+
 }
@@ -17,6 +17,7 @@
  */
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
 
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema.GeneratedTableSchemaSupport;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema.IntrospectionTableSchema;
 import io.micronaut.context.BeanContext;
 import io.micronaut.core.beans.BeanIntrospector;
@@ -25,11 +26,21 @@ import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchemaC
 import software.amazon.awssdk.enhanced.dynamodb.mapper.BeanTableSchema;
 
 import jakarta.inject.Singleton;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Creates the table schemas using Micronaut introspection if available and caches them per entity type.
+ * The schemas generated by the annotation processor are preferred if present.
+ * <p>
+ * The schemas are created without any lock. {@link MetaTableSchemaCache} is not thread-safe so every schema gets
+ * its own cache which is only accessed by the thread creating the schema. If two threads create the schema
+ * for the same type at the same time, the first one stored wins.
+ * </p>
+ */
 @Singleton
 public class DefaultTableSchemaCreator implements TableSchemaCreator {
 
-    private final MetaTableSchemaCache cache = new MetaTableSchemaCache();
+    private final ConcurrentHashMap<Class<?>, TableSchema<?>> schemas = new ConcurrentHashMap<>();
     private final BeanContext context;
 
     public DefaultTableSchemaCreator(BeanContext context) {
@@ -37,9 +48,23 @@ public class DefaultTableSchemaCreator implements TableSchemaCreator {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> TableSchema<T> create(Class<T> entity) {
+        TableSchema<?> existing = schemas.get(entity);
+        if (existing != null) {
+            return (TableSchema<T>) existing;
+        }
+
+        TableSchema<T> schema = doCreate(entity);
+        existing = schemas.putIfAbsent(entity, schema);
+        return existing == null ? schema : (TableSchema<T>) existing;
+    }
+
+    private <T> TableSchema<T> doCreate(Class<T> entity) {
         if (BeanIntrospector.SHARED.findIntrospection(entity).isPresent()) {
-            return IntrospectionTableSchema.create(entity, context, cache);
+            MetaTableSchemaCache metaTableSchemaCache = new MetaTableSchemaCache();
+            return GeneratedTableSchemaSupport.find(entity, context, metaTableSchemaCache)
+                .orElseGet(() -> IntrospectionTableSchema.create(entity, context, metaTableSchemaCache));
         }
         return BeanTableSchema.create(entity);
     }
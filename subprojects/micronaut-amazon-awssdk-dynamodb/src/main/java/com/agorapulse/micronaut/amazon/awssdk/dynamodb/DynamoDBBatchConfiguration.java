@@ -0,0 +1,131 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.context.annotation.Requires;
+import org.reactivestreams.Publisher;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the batch operations such as {@link DynamoDbService#saveAll(Publisher, int)} or {@link DynamoDbService#deleteAll(Publisher, int)}.
+ */
+@ConfigurationProperties("aws.dynamodb.batch")
+@Requires(classes = software.amazon.awssdk.services.dynamodb.DynamoDbClient.class)
+public class DynamoDBBatchConfiguration {
+
+    /**
+     * The maximum number of attempts to write a single batch including the first one.
+     * <p>
+     * The items which were not processed by DynamoDB, e.g. because of throttling, are resubmitted as a new batch
+     * until there are no unprocessed items left or the number of attempts is exhausted.
+     * </p>
+     * @return the maximum number of attempts to write a single batch
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * The base delay before the first retry of the unprocessed items. The delay doubles with every attempt.
+     * @return the base delay before the first retry
+     */
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    /**
+     * The maximum delay between two attempts.
+     * @return the maximum delay between two attempts
+     */
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * The maximum number of batch requests dispatched concurrently by the synchronous {@link DynamoDbService}.
+     * @return the maximum number of batch requests dispatched concurrently
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * The maximum number of update requests or update transactions executed concurrently by
+     * {@link DynamoDbService#updateAll(Publisher, com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.UpdateBuilder)} and
+     * {@link DynamoDbService#updateAllInTransactions(Publisher, com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.UpdateBuilder)}.
+     * @return the maximum number of update requests executed concurrently
+     */
+    public int getUpdateParallelism() {
+        return updateParallelism;
+    }
+
+    public void setUpdateParallelism(int updateParallelism) {
+        this.updateParallelism = updateParallelism;
+    }
+
+    /**
+     * Whether the concurrent requests for single items should be collected and loaded using a single batch request.
+     * @return <code>true</code> if the concurrent requests for single items should be coalesced
+     */
+    public boolean isCoalesceGets() {
+        return coalesceGets;
+    }
+
+    public void setCoalesceGets(boolean coalesceGets) {
+        this.coalesceGets = coalesceGets;
+    }
+
+    /**
+     * How long the requests for single items are collected before they are loaded using a single batch request.
+     * @return the time window for collecting the requests for single items
+     */
+    public Duration getCoalesceWindow() {
+        return coalesceWindow;
+    }
+
+    public void setCoalesceWindow(Duration coalesceWindow) {
+        this.coalesceWindow = coalesceWindow;
+    }
+
+    private int maxAttempts = 8;
+    private Duration initialBackoff = Duration.ofMillis(50);
+    private Duration maxBackoff = Duration.ofSeconds(5);
+    private int parallelism = 4;
+    private int updateParallelism = 8;
+    private boolean coalesceGets;
+    private Duration coalesceWindow = Duration.ofMillis(2);
+
+}
@@ -0,0 +1,47 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import java.util.function.Consumer;
+
+/**
+ * Loads, saves and deletes the items from multiple tables using shared batch requests.
+ *
+ * The tables are resolved using the {@link DynamoDBServiceProvider} and the events are published by the services responsible for the particular tables.
+ */
+public interface DynamoDBBatchOperations {
+
+    /**
+     * Loads the requested items using as few <code>BatchGetItem</code> requests as possible, each of them reading up to 100 items.
+     *
+     * @param reads the consumer collecting the items to be loaded
+     * @return the loaded items
+     * @throws com.agorapulse.micronaut.amazon.awssdk.dynamodb.exception.FailedBatchRequestException if some of the keys are still unprocessed after all the attempts
+     */
+    BatchGetResult getAll(Consumer<BatchGetBuilder> reads);
+
+    /**
+     * Saves and deletes the requested items using as few <code>BatchWriteItem</code> requests as possible, each of them writing up to 25 items.
+     *
+     * @param writes the consumer collecting the items to be saved or deleted
+     * @return the number of items written
+     * @throws com.agorapulse.micronaut.amazon.awssdk.dynamodb.exception.FailedBatchRequestException if some of the items are still unprocessed after all the attempts
+     */
+    int writeAll(Consumer<BatchWriteBuilder> writes);
+
+}
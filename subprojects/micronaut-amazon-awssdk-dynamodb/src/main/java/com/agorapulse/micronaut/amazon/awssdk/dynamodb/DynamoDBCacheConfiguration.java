@@ -0,0 +1,101 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Entity cache configuration for each table name.
+ * <p>
+ * Services for tables with this configuration keep the items loaded by their primary key in a bounded cache.
+ * </p>
+ */
+@EachProperty("aws.dynamodb.cache")
+public class DynamoDBCacheConfiguration {
+
+    public DynamoDBCacheConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the name of the table
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Whether the cache is enabled for the table.
+     * @return <code>true</code> if the cache is enabled for the table
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The maximum number of cached items. The least recently used items are evicted first.
+     * @return the maximum number of cached items
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * How long the loaded item is kept in the cache.
+     * @return how long the loaded item is kept in the cache
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * How long the information that the item does not exist is kept in the cache. The misses are not cached if not set.
+     * @return how long the information that the item does not exist is kept in the cache
+     */
+    @Nullable
+    public Duration getMissTtl() {
+        return missTtl;
+    }
+
+    public void setMissTtl(@Nullable Duration missTtl) {
+        this.missTtl = missTtl;
+    }
+
+    private final String name;
+    private boolean enabled = true;
+    private int maxSize = 1000;
+    private Duration ttl = Duration.ofMinutes(5);
+    private Duration missTtl;
+
+}
@@ -0,0 +1,113 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+
+/**
+ * Client-side rate limit configuration for each table name.
+ * <p>
+ * The bulk operations of the services for tables with this configuration are paced to consume only the given fraction
+ * of the capacity of the table so they can run alongside the regular traffic.
+ * </p>
+ */
+@EachProperty("aws.dynamodb.rate-limit")
+public class DynamoDBRateLimitConfiguration {
+
+    public DynamoDBRateLimitConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the name of the table
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Whether the rate limit is enabled for the table.
+     * @return <code>true</code> if the rate limit is enabled for the table
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The fraction of the table capacity the bulk operations are allowed to consume.
+     * @return the fraction of the table capacity the bulk operations are allowed to consume
+     */
+    public double getTargetUtilization() {
+        return targetUtilization;
+    }
+
+    public void setTargetUtilization(double targetUtilization) {
+        this.targetUtilization = targetUtilization;
+    }
+
+    /**
+     * The read capacity units per second of the table, the provisioned read capacity of the table is used if not set.
+     * The capacity observed when the reads are throttled is used for on-demand tables.
+     * @return the read capacity units per second of the table or zero if not set
+     */
+    public double getReadCapacity() {
+        return readCapacity;
+    }
+
+    public void setReadCapacity(double readCapacity) {
+        this.readCapacity = readCapacity;
+    }
+
+    /**
+     * The write capacity units per second of the table, the provisioned write capacity of the table is used if not set.
+     * The capacity observed when the writes are throttled is used for on-demand tables.
+     * @return the write capacity units per second of the table or zero if not set
+     */
+    public double getWriteCapacity() {
+        return writeCapacity;
+    }
+
+    public void setWriteCapacity(double writeCapacity) {
+        this.writeCapacity = writeCapacity;
+    }
+
+    /**
+     * The capacity units per second the bulk operations are always allowed to consume even when they are throttled.
+     * @return the minimal capacity units per second
+     */
+    public double getMinCapacity() {
+        return minCapacity;
+    }
+
+    public void setMinCapacity(double minCapacity) {
+        this.minCapacity = minCapacity;
+    }
+
+    private final String name;
+    private boolean enabled = true;
+    private double targetUtilization = 0.5;
+    private double readCapacity;
+    private double writeCapacity;
+    private double minCapacity = 1;
+
+}
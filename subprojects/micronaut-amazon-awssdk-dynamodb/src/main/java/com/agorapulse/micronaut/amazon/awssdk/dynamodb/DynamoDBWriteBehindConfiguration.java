@@ -0,0 +1,108 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+
+import java.time.Duration;
+
+/**
+ * Write-behind configuration for each table name.
+ * <p>
+ * Services for tables with this configuration buffer the saved items and write them later using batch requests.
+ * </p>
+ * <p>
+ * Enabling the write-behind mode changes the semantics of <code>save</code>:
+ * </p>
+ * <ul>
+ *     <li>the items are written using put requests instead of update requests so the attributes of the stored item
+ *     which are not mapped by the entity are removed</li>
+ *     <li><code>save</code> returns the entity passed to it instead of the attributes returned by the update request</li>
+ *     <li>the <code>PostPersist</code> events are published once the item is written</li>
+ * </ul>
+ */
+@EachProperty("aws.dynamodb.write-behind")
+public class DynamoDBWriteBehindConfiguration {
+
+    public DynamoDBWriteBehindConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the name of the table
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Whether the write-behind is enabled for the table.
+     * @return <code>true</code> if the write-behind is enabled for the table
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The number of buffered items which triggers writing of the batch, maximum 25.
+     * @return the number of buffered items which triggers writing of the batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * The maximum time the item stays in the buffer before it is written.
+     * @return the maximum time the item stays in the buffer
+     */
+    public Duration getLinger() {
+        return linger;
+    }
+
+    public void setLinger(Duration linger) {
+        this.linger = linger;
+    }
+
+    /**
+     * The maximum number of buffered items. The saves wait until the buffered items are written when the buffer is full.
+     * @return the maximum number of buffered items
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    private final String name;
+    private boolean enabled = true;
+    private int batchSize = 25;
+    private Duration linger = Duration.ofMillis(100);
+    private int capacity = 10_000;
+
+}
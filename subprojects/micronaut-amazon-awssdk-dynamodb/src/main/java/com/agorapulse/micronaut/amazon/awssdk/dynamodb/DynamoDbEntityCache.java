@@ -0,0 +1,51 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+
+import java.util.function.Function;
+
+/**
+ * Read-through cache of the items loaded by their primary key.
+ *
+ * @param <T> the type of the cached items
+ */
+public interface DynamoDbEntityCache<T> {
+
+    /**
+     * Returns the cached item or loads it using the given loader.
+     * @param key the primary key of the item
+     * @param loader the function loading the item if it is not cached, the returned mono completes empty if the item does not exist
+     * @return mono emitting the item or completing empty if the item does not exist
+     */
+    Mono<T> get(Key key, Function<Key, Mono<T>> loader);
+
+    /**
+     * Removes the item from the cache.
+     * @param key the primary key of the item
+     */
+    void invalidate(Key key);
+
+    /**
+     * Removes all the items from the cache.
+     */
+    void invalidateAll();
+
+}
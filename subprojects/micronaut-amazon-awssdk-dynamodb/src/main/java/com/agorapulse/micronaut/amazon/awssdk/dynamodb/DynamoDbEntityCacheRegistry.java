@@ -0,0 +1,72 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the entity caches for the tables which have the cache configured.
+ * <p>
+ * The services sharing the same table and entity type, such as {@link DynamoDbService} and {@link AsyncDynamoDbService}, also share the same cache.
+ * The services invalidate the cached items themselves whenever they persist, update or remove them so no events need to be published
+ * just for the sake of the cache invalidation.
+ * </p>
+ */
+@Singleton
+@Requires(property = "aws.dynamodb.cache")
+public class DynamoDbEntityCacheRegistry {
+
+    private record CacheKey(String tableName, Class<?> itemType) { }
+
+    private final Map<String, DynamoDBCacheConfiguration> configurations;
+    private final DynamoDbEntityCacheFactory factory;
+    private final Map<CacheKey, DynamoDbEntityCache<?>> caches = new ConcurrentHashMap<>();
+
+    public DynamoDbEntityCacheRegistry(List<DynamoDBCacheConfiguration> configurations, DynamoDbEntityCacheFactory factory) {
+        this.configurations = configurations.stream().collect(Collectors.toMap(DynamoDBCacheConfiguration::getName, Function.identity()));
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the cache for the given table if the cache is configured and enabled for the table.
+     * @param tableName the name of the table
+     * @param itemType the type of the cached items
+     * @param <T> the type of the cached items
+     * @return the cache for the given table or <code>null</code> if the cache is not enabled for the table
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> DynamoDbEntityCache<T> create(String tableName, Class<T> itemType) {
+        DynamoDBCacheConfiguration configuration = configurations.get(tableName);
+
+        if (configuration == null || !configuration.isEnabled()) {
+            return null;
+        }
+
+        return (DynamoDbEntityCache<T>) caches.computeIfAbsent(new CacheKey(tableName, itemType), key -> factory.create(configuration, itemType));
+    }
+
+}
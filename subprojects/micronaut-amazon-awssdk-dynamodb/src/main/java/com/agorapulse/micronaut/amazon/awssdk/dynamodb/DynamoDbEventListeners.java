@@ -0,0 +1,120 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbBatchEvent;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbEventType;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbPostLoadEvent;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbPostPersistEvent;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbPostRemoveEvent;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbPostUpdateEvent;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbPrePersistEvent;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbPreRemoveEvent;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbPreUpdateEvent;
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.core.type.Argument;
+import jakarta.inject.Singleton;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds out which DynamoDB events have any listeners so the services can skip creating and publishing the events nobody listens to.
+ * <p>
+ * The listeners are matched by the event type and also by the entity type if the listener declares it,
+ * e.g. <code>ApplicationEventListener&lt;DynamoDbPostLoadEvent&lt;Book&gt;&gt;</code> only listens to the events for <code>Book</code> entities.
+ * </p>
+ */
+@Singleton
+public class DynamoDbEventListeners {
+
+    private final Collection<List<Argument<?>>> listenerTypeArguments;
+
+    public DynamoDbEventListeners(BeanContext beanContext) {
+        this.listenerTypeArguments = beanContext.getBeanDefinitions(ApplicationEventListener.class)
+            .stream()
+            .map(definition -> definition.getTypeArguments(ApplicationEventListener.class))
+            .toList();
+    }
+
+    /**
+     * Returns the types of the events for individual entities which have at least one listener.
+     * @param entityType the type of the entity
+     * @return the types of the events which have at least one listener
+     */
+    public Set<DynamoDbEventType> getListenedEventTypes(Class<?> entityType) {
+        Set<DynamoDbEventType> types = EnumSet.noneOf(DynamoDbEventType.class);
+        for (DynamoDbEventType type : DynamoDbEventType.values()) {
+            if (hasListeners(getEventClass(type), entityType)) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Returns whether there is a listener for the {@link DynamoDbBatchEvent}s.
+     * @param entityType the type of the entity
+     * @return <code>true</code> if there is a listener for the batch events of the given entity type
+     */
+    public boolean hasBatchListeners(Class<?> entityType) {
+        return hasListeners(DynamoDbBatchEvent.class, entityType);
+    }
+
+    private boolean hasListeners(Class<?> eventClass, Class<?> entityType) {
+        return listenerTypeArguments.stream().anyMatch(arguments -> listensTo(arguments, eventClass, entityType));
+    }
+
+    private static boolean listensTo(List<Argument<?>> arguments, Class<?> eventClass, Class<?> entityType) {
+        if (arguments.isEmpty()) {
+            // the type of the event is unknown
+            return true;
+        }
+
+        Argument<?> eventArgument = arguments.get(0);
+
+        if (!eventArgument.getType().isAssignableFrom(eventClass)) {
+            return false;
+        }
+
+        Argument<?>[] eventTypeParameters = eventArgument.getTypeParameters();
+
+        if (eventTypeParameters.length != 1) {
+            return true;
+        }
+
+        Class<?> listenedEntityType = eventTypeParameters[0].getType();
+        return listenedEntityType.isAssignableFrom(entityType) || entityType.isAssignableFrom(listenedEntityType);
+    }
+
+    private static Class<?> getEventClass(DynamoDbEventType type) {
+        return switch (type) {
+            case PRE_PERSIST -> DynamoDbPrePersistEvent.class;
+            case POST_PERSIST -> DynamoDbPostPersistEvent.class;
+            case PRE_REMOVE -> DynamoDbPreRemoveEvent.class;
+            case POST_REMOVE -> DynamoDbPostRemoveEvent.class;
+            case PRE_UPDATE -> DynamoDbPreUpdateEvent.class;
+            case POST_UPDATE -> DynamoDbPostUpdateEvent.class;
+            case POST_LOAD -> DynamoDbPostLoadEvent.class;
+        };
+    }
+
+}
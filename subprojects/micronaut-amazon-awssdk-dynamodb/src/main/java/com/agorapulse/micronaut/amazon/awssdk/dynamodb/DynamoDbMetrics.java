@@ -0,0 +1,149 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Records the metrics of the operations executed by the DynamoDB services.
+ */
+public interface DynamoDbMetrics {
+
+    /**
+     * The metrics which do not record anything.
+     */
+    DynamoDbMetrics NONE = new DynamoDbMetrics() {
+
+        @Override
+        public boolean isConsumedCapacityRequired() {
+            return false;
+        }
+
+        @Override
+        public Recording start(String tableName, String operation) {
+            return Recording.NONE;
+        }
+
+    };
+
+    /**
+     * @return <code>true</code> if the requests should return the consumed capacity
+     */
+    default boolean isConsumedCapacityRequired() {
+        return true;
+    }
+
+    /**
+     * Starts recording of the single operation.
+     * @param tableName the name of the table
+     * @param operation the name of the operation such as <code>save</code> or <code>scan</code>
+     * @return the recording of the operation
+     */
+    Recording start(String tableName, String operation);
+
+    /**
+     * The recording of the single operation.
+     */
+    interface Recording {
+
+        /**
+         * The recording which does not record anything.
+         */
+        Recording NONE = new Recording() { };
+
+        /**
+         * Sets the name of the index used by the operation.
+         * @param index the name of the index or <code>null</code> if the table itself is used
+         */
+        default void index(@Nullable String index) {
+            // not recorded by default
+        }
+
+        /**
+         * Records the items loaded, written or deleted.
+         * @param count the number of items
+         */
+        default void items(int count) {
+            // not recorded by default
+        }
+
+        /**
+         * Records the page fetched by the query or scan.
+         * @param items the number of items in the page
+         */
+        default void page(int items) {
+            items(items);
+        }
+
+        /**
+         * Records the read capacity units consumed.
+         * @param units the read capacity units consumed
+         */
+        default void readCapacity(double units) {
+            // not recorded by default
+        }
+
+        /**
+         * Records the write capacity units consumed.
+         * @param units the write capacity units consumed
+         */
+        default void writeCapacity(double units) {
+            // not recorded by default
+        }
+
+        /**
+         * Records the items which were not processed by the batch request.
+         * @param count the number of unprocessed items
+         */
+        default void unprocessed(int count) {
+            // not recorded by default
+        }
+
+        /**
+         * Records the items which were not written even after all the attempts.
+         * @param count the number of failed items
+         */
+        default void failed(int count) {
+            // not recorded by default
+        }
+
+        /**
+         * Records the request which has been throttled.
+         */
+        default void throttled() {
+            // not recorded by default
+        }
+
+        /**
+         * Records the request which has been resubmitted.
+         */
+        default void retried() {
+            // not recorded by default
+        }
+
+        /**
+         * Stops the recording.
+         * @param error the error which terminated the operation or <code>null</code> if the operation succeeded
+         */
+        default void stop(@Nullable Throwable error) {
+            // not recorded by default
+        }
+
+    }
+
+}
@@ -25,6 +25,7 @@ import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.QueryBuilder;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.ScanBuilder;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.UpdateBuilder;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 
@@ -41,6 +42,8 @@ import java.util.function.Function;
 public interface DynamoDbService<T> {
 
     int DEFAULT_BATCH_SIZE = 25;
+    int DEFAULT_BATCH_GET_SIZE = 100;
+    int DEFAULT_TRANSACTION_SIZE = 100;
 
     /**
      * @return the type of the items handled by this service
@@ -72,6 +75,20 @@ public interface DynamoDbService<T> {
         return query(Builders.query(query));
     }
 
+    /**
+     * Executes the prepared query and reads the items matching the query directly into the given projection type.
+     * <p>
+     * Only the attributes required by the projection are fetched from the table. The projection can be an interface
+     * with getters, a record or a class annotated with {@link io.micronaut.core.annotation.Introspected}.
+     * No events are published for the projected items.
+     * </p>
+     * @param query the query
+     * @param projectionType the type of the projection
+     * @param <P> the type of the projection
+     * @return the projections of the items matching the given query
+     */
+    <P> Publisher<P> query(DetachedQuery<T> query, Class<P> projectionType);
+
     /**
      * Executes the prepared scan (non-index query) and returns the items matching the scan.
      * @param scan the scan
@@ -79,6 +96,20 @@ public interface DynamoDbService<T> {
      */
     Publisher<T> scan(DetachedScan<T> scan);
 
+    /**
+     * Executes the prepared scan (non-index query) and reads the items matching the scan directly into the given projection type.
+     * <p>
+     * Only the attributes required by the projection are fetched from the table. The projection can be an interface
+     * with getters, a record or a class annotated with {@link io.micronaut.core.annotation.Introspected}.
+     * No events are published for the projected items.
+     * </p>
+     * @param scan the scan
+     * @param projectionType the type of the projection
+     * @param <P> the type of the projection
+     * @return the projections of the items matching the scan
+     */
+    <P> Publisher<P> scan(DetachedScan<T> scan, Class<P> projectionType);
+
     /**
      * Defines the scan (non-index query) using the scan builder and returns the items matching the scan.
      * @param scan the scan definition
@@ -125,16 +156,65 @@ public interface DynamoDbService<T> {
         return update(Builders.update(update));
     }
 
+    /**
+     * Updates all the items from the given publisher using the given update definition.
+     * <p>
+     * The update definition is copied for each item and its keys are set from the item. The updates are executed
+     * concurrently, the maximum number of concurrent requests is set by {@link DynamoDBBatchConfiguration#getUpdateParallelism()}.
+     * </p>
+     * @param items the items to update
+     * @param update the update definition
+     * @return the number of updated items
+     */
     int updateAll(Publisher<T> items, UpdateBuilder<T, ?> update);
 
     default <R> int updateAll(Publisher<T> items, Function<UpdateBuilder<T, T>, UpdateBuilder<T, R>> update) {
         return updateAll(items, Builders.update(update));
     }
 
+    /**
+     * Updates all the items from the given publisher using the given update definition in transactions.
+     * <p>
+     * The items are grouped into transactions of at most <code>transactionSize</code> items. Either all the updates
+     * within a single transaction succeed or none of them is applied. The return value settings of the update definition
+     * are ignored as the transactions do not return the updated values.
+     * </p>
+     * @param items the items to update
+     * @param update the update definition
+     * @param transactionSize the maximum number of items updated in a single transaction, max 100
+     * @return the number of updated items
+     */
+    int updateAllInTransactions(Publisher<T> items, UpdateBuilder<T, ?> update, int transactionSize);
+
+    default int updateAllInTransactions(Publisher<T> items, UpdateBuilder<T, ?> update) {
+        return updateAllInTransactions(items, update, DEFAULT_TRANSACTION_SIZE);
+    }
+
+    default <R> int updateAllInTransactions(Publisher<T> items, Function<UpdateBuilder<T, T>, UpdateBuilder<T, R>> update) {
+        return updateAllInTransactions(items, Builders.update(update));
+    }
+
     T save(T entity);
 
+    /**
+     * Writes all the items buffered by the write-behind mode and waits until they are written.
+     * <p>
+     * Does nothing if the write-behind mode is not enabled for the table.
+     * </p>
+     * @throws com.agorapulse.micronaut.amazon.awssdk.dynamodb.exception.FailedBatchRequestException if some buffered items
+     *          have not been written even after all the attempts since the last flush
+     * @see DynamoDBWriteBehindConfiguration
+     */
+    default void flush() {
+        // nothing is buffered unless the write-behind mode is enabled
+    }
+
     /**
      * Saves all the items from the given publisher.
+     * <p>
+     * The items are written before the method returns and all of them are kept in memory so they can be returned.
+     * Use {@link #saveAllAndCount(Publisher, int)} for very large inputs.
+     * </p>
      * @param itemsToSave the items to save
      * @param batchSize the batch size
      * @return the saved items
@@ -145,6 +225,25 @@ public interface DynamoDbService<T> {
         return saveAll(itemsToSave, DEFAULT_BATCH_SIZE);
     }
 
+    /**
+     * Saves all the items from the given publisher without retaining the saved items.
+     * <p>
+     * Unlike {@link #saveAll(Publisher, int)}, the memory used does not grow with the number of the items saved so
+     * this method is suitable for very large inputs such as imports.
+     * </p>
+     * @param itemsToSave the items to save
+     * @param batchSize the batch size
+     * @return the number of saved items
+     * @throws com.agorapulse.micronaut.amazon.awssdk.dynamodb.exception.FailedBatchRequestException if some of the items were not saved
+     */
+    default int saveAllAndCount(Publisher<T> itemsToSave, int batchSize) {
+        return Flux.from(saveAll(itemsToSave, batchSize)).count().blockOptional().orElse(0L).intValue();
+    }
+
+    default int saveAllAndCount(Publisher<T> itemsToSave) {
+        return saveAllAndCount(itemsToSave, DEFAULT_BATCH_SIZE);
+    }
+
     T delete(Object partitionKey, @Nullable Object sortKey);
 
     T delete(T item);
@@ -168,20 +267,20 @@ public interface DynamoDbService<T> {
     Publisher<T> getAll(Object partitionKey, Publisher<?> sortKeys, int batchSize);
 
     default Publisher<T> getAll(Object partitionKey, Publisher<?> sortKeys) {
-        return getAll(partitionKey, sortKeys, DEFAULT_BATCH_SIZE);
+        return getAll(partitionKey, sortKeys, DEFAULT_BATCH_GET_SIZE);
     }
 
     /**
      * Finds all the items for given partition key.
      *
      * @param partitionKeys the partition keys
-     * @param batchSize the batch size, max 25
+     * @param batchSize the batch size, max 100
      * @return flowable of all items with given partition keys
      */
     Publisher<T> getAll(Publisher<?> partitionKeys, int batchSize);
 
     default Publisher<T> getAll(Publisher<?> partitionKeys) {
-        return getAll(partitionKeys, DEFAULT_BATCH_SIZE);
+        return getAll(partitionKeys, DEFAULT_BATCH_GET_SIZE);
     }
 
     T get(Key key);
@@ -0,0 +1,100 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * Optional collaborators of {@link DefaultDynamoDbService} and {@link DefaultAsyncDynamoDbService}.
+ * <p>
+ * Every option is disabled unless it is set.
+ * </p>
+ * @param <T> the type of the DynamoDB entity
+ */
+public class DynamoDbServiceOptions<T> {
+
+    private DynamoDBBatchConfiguration batchConfiguration = new DynamoDBBatchConfiguration();
+    private DynamoDBWriteBehindConfiguration writeBehindConfiguration;
+    private DynamoDBRateLimitConfiguration rateLimitConfiguration;
+    private DynamoDbEntityCache<T> cache;
+    private DynamoDbEventListeners eventListeners;
+    private DynamoDbMetrics metrics;
+
+    public DynamoDbServiceOptions<T> withBatchConfiguration(DynamoDBBatchConfiguration batchConfiguration) {
+        this.batchConfiguration = batchConfiguration;
+        return this;
+    }
+
+    public DynamoDbServiceOptions<T> withWriteBehindConfiguration(@Nullable DynamoDBWriteBehindConfiguration writeBehindConfiguration) {
+        this.writeBehindConfiguration = writeBehindConfiguration;
+        return this;
+    }
+
+    public DynamoDbServiceOptions<T> withRateLimitConfiguration(@Nullable DynamoDBRateLimitConfiguration rateLimitConfiguration) {
+        this.rateLimitConfiguration = rateLimitConfiguration;
+        return this;
+    }
+
+    public DynamoDbServiceOptions<T> withCache(@Nullable DynamoDbEntityCache<T> cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * @param eventListeners the registry of the event listeners, all the events are published if not set
+     * @return self
+     */
+    public DynamoDbServiceOptions<T> withEventListeners(@Nullable DynamoDbEventListeners eventListeners) {
+        this.eventListeners = eventListeners;
+        return this;
+    }
+
+    public DynamoDbServiceOptions<T> withMetrics(@Nullable DynamoDbMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    public DynamoDBBatchConfiguration getBatchConfiguration() {
+        return batchConfiguration;
+    }
+
+    @Nullable
+    public DynamoDBWriteBehindConfiguration getWriteBehindConfiguration() {
+        return writeBehindConfiguration;
+    }
+
+    @Nullable
+    public DynamoDBRateLimitConfiguration getRateLimitConfiguration() {
+        return rateLimitConfiguration;
+    }
+
+    @Nullable
+    public DynamoDbEntityCache<T> getCache() {
+        return cache;
+    }
+
+    @Nullable
+    public DynamoDbEventListeners getEventListeners() {
+        return eventListeners;
+    }
+
+    public DynamoDbMetrics getMetrics() {
+        return metrics == null ? DynamoDbMetrics.NONE : metrics;
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.Service;
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Eagerly creates the table schemas and the services for all the declarative {@link Service} interfaces
+ * when the application starts.
+ * <p>
+ * The services are created in parallel so the cost of building the schemas and checking the tables is not paid
+ * by the first requests. The warm-up is enabled by setting <code>aws.dynamodb.warm-up.enabled</code> to <code>true</code>.
+ * The failures are only logged, the service is created again on the first use.
+ * </p>
+ */
+@Singleton
+@Requires(property = "aws.dynamodb.warm-up.enabled", value = "true")
+public class DynamoDbServiceWarmUp implements ApplicationEventListener<StartupEvent> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDbServiceWarmUp.class);
+
+    private final BeanContext beanContext;
+    private final AsyncDynamoDBServiceProvider provider;
+    private final int parallelism;
+
+    public DynamoDbServiceWarmUp(
+        BeanContext beanContext,
+        AsyncDynamoDBServiceProvider provider,
+        @Value("${aws.dynamodb.warm-up.parallelism:4}") int parallelism
+    ) {
+        this.beanContext = beanContext;
+        this.provider = provider;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        Map<String, Class<?>> tables = new LinkedHashMap<>();
+
+        for (BeanDefinition<?> definition : beanContext.getBeanDefinitions(Qualifiers.byStereotype(Service.class))) {
+            AnnotationValue<Service> service = definition.getAnnotation(Service.class);
+            if (service == null) {
+                continue;
+            }
+            service.classValue().ifPresent(type -> tables.putIfAbsent(service.stringValue("tableName").orElseGet(type::getSimpleName), type));
+        }
+
+        if (tables.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+
+        Flux.fromIterable(tables.entrySet())
+            .flatMap(table -> Mono.fromRunnable(() -> warmUp(table.getKey(), table.getValue())).subscribeOn(Schedulers.boundedElastic()), parallelism)
+            .blockLast();
+
+        LOGGER.debug("Warmed up {} DynamoDB services in {} ms", tables.size(), System.currentTimeMillis() - start);
+    }
+
+    private void warmUp(String tableName, Class<?> type) {
+        try {
+            provider.findOrCreate(tableName, type);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to warm up DynamoDB service for table {} of type {}", tableName, type.getName(), e);
+        }
+    }
+
+}
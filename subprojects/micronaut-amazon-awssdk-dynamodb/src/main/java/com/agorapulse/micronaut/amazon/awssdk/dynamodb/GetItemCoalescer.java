@@ -0,0 +1,110 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects the concurrent requests for single items and loads them using a single batch request.
+ * <p>
+ * The keys requested during the configured window are deduplicated and loaded together once the window elapses
+ * or once there is enough keys to fill the whole batch. Every caller receives its own item or an empty result
+ * if the item does not exist.
+ * </p>
+ * @param <T> the type of the items
+ */
+final class GetItemCoalescer<T> {
+
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private final Function<List<Key>, Mono<Map<Key, T>>> batchLoader;
+    private final long windowNanos;
+    private final Object lock = new Object();
+
+    private Map<Key, CompletableFuture<T>> pending = new LinkedHashMap<>();
+
+    GetItemCoalescer(Duration window, Function<List<Key>, Mono<Map<Key, T>>> batchLoader) {
+        this.batchLoader = batchLoader;
+        this.windowNanos = Math.max(0, window.toNanos());
+    }
+
+    /**
+     * Loads the item with the given key together with the items requested concurrently.
+     * @param key the key of the item
+     * @return the item or empty mono if the item does not exist
+     */
+    Mono<T> load(Key key) {
+        return Mono.defer(() -> {
+            CompletableFuture<T> future;
+            Map<Key, CompletableFuture<T>> full = null;
+            boolean first;
+
+            synchronized (lock) {
+                first = pending.isEmpty();
+                future = pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+                if (pending.size() >= MAX_BATCH_SIZE) {
+                    full = pending;
+                    pending = new LinkedHashMap<>();
+                }
+            }
+
+            if (full != null) {
+                flush(full);
+            } else if (first) {
+                Schedulers.parallel().schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+
+            // copy to prevent cancelling the future shared with the other callers
+            return Mono.fromFuture(future.copy());
+        });
+    }
+
+    private void flush() {
+        Map<Key, CompletableFuture<T>> batch;
+
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+
+        flush(batch);
+    }
+
+    private void flush(Map<Key, CompletableFuture<T>> batch) {
+        batchLoader.apply(new ArrayList<>(batch.keySet())).subscribe(
+            items -> batch.forEach((key, future) -> future.complete(items.get(key))),
+            error -> batch.values().forEach(future -> future.completeExceptionally(error)),
+            () -> batch.values().forEach(future -> future.complete(null))
+        );
+    }
+
+}
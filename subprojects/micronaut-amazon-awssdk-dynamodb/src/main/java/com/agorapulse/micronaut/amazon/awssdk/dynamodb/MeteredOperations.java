@@ -0,0 +1,160 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.PageObserver;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.exception.FailedBatchRequestException;
+import io.micronaut.core.annotation.Nullable;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Wraps the operations of the DynamoDB services into the metrics recordings.
+ */
+final class MeteredOperations {
+
+    private MeteredOperations() { }
+
+    /**
+     * Records the blocking operation.
+     */
+    static <R> R record(DynamoDbMetrics metrics, String tableName, String operation, Function<DynamoDbMetrics.Recording, R> action) {
+        if (metrics == DynamoDbMetrics.NONE) {
+            return action.apply(DynamoDbMetrics.Recording.NONE);
+        }
+
+        DynamoDbMetrics.Recording recording = metrics.start(tableName, operation);
+
+        try {
+            R result = action.apply(recording);
+            recording.stop(null);
+            return result;
+        } catch (RuntimeException e) {
+            failed(recording, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Records the operation emitting multiple results, the recording stops when the results complete or they are cancelled.
+     */
+    static <R> Flux<R> recordMany(DynamoDbMetrics metrics, String tableName, String operation, Function<DynamoDbMetrics.Recording, Publisher<R>> action) {
+        if (metrics == DynamoDbMetrics.NONE) {
+            return Flux.from(action.apply(DynamoDbMetrics.Recording.NONE));
+        }
+
+        return Flux.defer(() -> {
+            DynamoDbMetrics.Recording recording = metrics.start(tableName, operation);
+            return Flux.from(action.apply(recording))
+                .doOnComplete(() -> recording.stop(null))
+                .doOnCancel(() -> recording.stop(null))
+                .doOnError(e -> failed(recording, e));
+        });
+    }
+
+    /**
+     * Records the operation emitting at most one result.
+     */
+    static <R> Mono<R> recordOne(DynamoDbMetrics metrics, String tableName, String operation, Function<DynamoDbMetrics.Recording, Mono<R>> action) {
+        if (metrics == DynamoDbMetrics.NONE) {
+            return action.apply(DynamoDbMetrics.Recording.NONE);
+        }
+
+        return Mono.defer(() -> {
+            DynamoDbMetrics.Recording recording = metrics.start(tableName, operation);
+            return action.apply(recording)
+                .doOnSuccess(result -> recording.stop(null))
+                .doOnCancel(() -> recording.stop(null))
+                .doOnError(e -> failed(recording, e));
+        });
+    }
+
+    /**
+     * Records the items which were not written even after all the attempts.
+     */
+    static void recordFailure(DynamoDbMetrics metrics, String tableName, String operation, FailedBatchRequestException failure) {
+        if (metrics == DynamoDbMetrics.NONE) {
+            return;
+        }
+
+        DynamoDbMetrics.Recording recording = metrics.start(tableName, operation);
+        recording.failed(failure.getUnprocessedItems().size());
+        recording.stop(failure);
+    }
+
+    /**
+     * @return the observer recording the pages fetched by the queries and scans
+     */
+    static PageObserver pages(DynamoDbMetrics.Recording recording) {
+        if (recording == DynamoDbMetrics.Recording.NONE) {
+            return PageObserver.NONE;
+        }
+
+        return new PageObserver() {
+
+            @Override
+            public boolean isConsumedCapacityRequired() {
+                return true;
+            }
+
+            @Override
+            public Duration onPage(@Nullable String index, Page<?> page) {
+                recording.index(index);
+                recording.page(page.items().size());
+                recording.readCapacity(capacityUnits(page.consumedCapacity()));
+                return Duration.ZERO;
+            }
+
+        };
+    }
+
+    /**
+     * @return the capacity units consumed or zero if not known
+     */
+    static double capacityUnits(@Nullable ConsumedCapacity consumedCapacity) {
+        return consumedCapacity == null || consumedCapacity.capacityUnits() == null ? 0 : consumedCapacity.capacityUnits();
+    }
+
+    /**
+     * @return the capacity units consumed from the given table or zero if not known
+     */
+    static double capacityUnits(@Nullable List<ConsumedCapacity> consumedCapacity, String tableName) {
+        if (consumedCapacity == null) {
+            return 0;
+        }
+        return consumedCapacity.stream()
+            .filter(c -> tableName.equals(c.tableName()))
+            .mapToDouble(MeteredOperations::capacityUnits)
+            .sum();
+    }
+
+    private static void failed(DynamoDbMetrics.Recording recording, Throwable error) {
+        if (AdaptiveRateLimiter.isThrottling(error)) {
+            recording.throttled();
+        }
+        recording.stop(error);
+    }
+
+}
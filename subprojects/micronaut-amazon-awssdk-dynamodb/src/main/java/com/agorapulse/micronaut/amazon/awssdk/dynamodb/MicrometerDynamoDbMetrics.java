@@ -0,0 +1,199 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Singleton;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records the metrics of the DynamoDB services using Micrometer.
+ * <p>
+ * All the meters are tagged with the name of the table, the name of the index and the name of the operation.
+ * </p>
+ */
+@Singleton
+@Requires(classes = MeterRegistry.class, beans = MeterRegistry.class)
+@Requires(property = "aws.dynamodb.metrics.enabled", notEquals = "false")
+public class MicrometerDynamoDbMetrics implements DynamoDbMetrics {
+
+    public static final String OPERATIONS = "aws.dynamodb.operations";
+    public static final String ITEMS = "aws.dynamodb.items";
+    public static final String PAGES = "aws.dynamodb.pages";
+    public static final String READ_CAPACITY = "aws.dynamodb.capacity.read";
+    public static final String WRITE_CAPACITY = "aws.dynamodb.capacity.write";
+    public static final String UNPROCESSED = "aws.dynamodb.unprocessed";
+    public static final String FAILED = "aws.dynamodb.failed";
+    public static final String THROTTLES = "aws.dynamodb.throttles";
+    public static final String RETRIES = "aws.dynamodb.retries";
+
+    private static final String NO_INDEX = "none";
+    private static final Map<String, String> DESCRIPTIONS = Map.of(
+        ITEMS, "Items loaded, written or deleted",
+        PAGES, "Pages fetched by the queries and scans",
+        READ_CAPACITY, "Read capacity units consumed",
+        WRITE_CAPACITY, "Write capacity units consumed",
+        UNPROCESSED, "Items not processed by the batch requests",
+        FAILED, "Items not written even after all the attempts",
+        THROTTLES, "Requests throttled",
+        RETRIES, "Batch requests resubmitted"
+    );
+
+    private final MeterRegistry registry;
+    private final Map<MeterKey, Meters> meters = new ConcurrentHashMap<>();
+
+    public MicrometerDynamoDbMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Recording start(String tableName, String operation) {
+        return new MicrometerRecording(tableName, operation, Timer.start(registry));
+    }
+
+    private Meters meters(String tableName, @Nullable String index, String operation) {
+        return meters.computeIfAbsent(new MeterKey(tableName, index == null ? NO_INDEX : index, operation), key -> new Meters(registry, key.tags()));
+    }
+
+    private record MeterKey(String tableName, String index, String operation) {
+
+        Tags tags() {
+            return Tags.of("table", tableName, "index", index, "operation", operation);
+        }
+
+    }
+
+    private static final class Meters {
+
+        private final MeterRegistry registry;
+        private final Tags tags;
+        private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+        Meters(MeterRegistry registry, Tags tags) {
+            this.registry = registry;
+            this.tags = tags;
+        }
+
+        void increment(String name, double amount) {
+            // the counters are registered lazily so the operations only report the meters relevant to them
+            counters.computeIfAbsent(name, n -> Counter.builder(n).description(DESCRIPTIONS.get(n)).tags(tags).register(registry)).increment(amount);
+        }
+
+        Timer timer(String outcome) {
+            return Timer.builder(OPERATIONS).description("Duration of the operations").tags(tags).tag("outcome", outcome).register(registry);
+        }
+
+    }
+
+    private final class MicrometerRecording implements Recording {
+
+        private final String tableName;
+        private final String operation;
+        private final Timer.Sample sample;
+        private final AtomicBoolean stopped = new AtomicBoolean();
+        private volatile Meters meters;
+
+        MicrometerRecording(String tableName, String operation, Timer.Sample sample) {
+            this.tableName = tableName;
+            this.operation = operation;
+            this.sample = sample;
+        }
+
+        @Override
+        public void index(@Nullable String index) {
+            this.meters = MicrometerDynamoDbMetrics.this.meters(tableName, index, operation);
+        }
+
+        @Override
+        public void items(int count) {
+            meters().increment(ITEMS, count);
+        }
+
+        @Override
+        public void page(int items) {
+            Meters current = meters();
+            current.increment(PAGES, 1);
+            current.increment(ITEMS, items);
+        }
+
+        @Override
+        public void readCapacity(double units) {
+            if (units > 0) {
+                meters().increment(READ_CAPACITY, units);
+            }
+        }
+
+        @Override
+        public void writeCapacity(double units) {
+            if (units > 0) {
+                meters().increment(WRITE_CAPACITY, units);
+            }
+        }
+
+        @Override
+        public void unprocessed(int count) {
+            if (count > 0) {
+                meters().increment(UNPROCESSED, count);
+            }
+        }
+
+        @Override
+        public void failed(int count) {
+            if (count > 0) {
+                meters().increment(FAILED, count);
+            }
+        }
+
+        @Override
+        public void throttled() {
+            meters().increment(THROTTLES, 1);
+        }
+
+        @Override
+        public void retried() {
+            meters().increment(RETRIES, 1);
+        }
+
+        @Override
+        public void stop(@Nullable Throwable error) {
+            if (stopped.compareAndSet(false, true)) {
+                String outcome = error == null ? "success" : AdaptiveRateLimiter.isThrottling(error) ? "throttled" : "error";
+                sample.stop(meters().timer(outcome));
+            }
+        }
+
+        private Meters meters() {
+            Meters current = meters;
+            if (current == null) {
+                current = MicrometerDynamoDbMetrics.this.meters(tableName, null, operation);
+                meters = current;
+            }
+            return current;
+        }
+
+    }
+
+}
@@ -0,0 +1,395 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbEvent;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbEventType;
+import io.micronaut.core.annotation.Nullable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.MappedTableResource;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPage;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Packs the reads and writes of the items from multiple tables into the shared batch requests.
+ * <p>
+ *     The items are split into the chunks of at most 100 reads or 25 writes in the order they were requested and every chunk is sent
+ *     as a single request containing one batch per table. The unprocessed items are tracked per table so only these are resubmitted.
+ * </p>
+ */
+final class MultiTableBatch {
+
+    /**
+     * Resolves the table for the given table name and entity type.
+     */
+    interface Resolver {
+
+        <T> Table<T> resolve(String tableName, Class<T> type);
+
+    }
+
+    /**
+     * Publishes the events for the items of a single table.
+     * @param <T> the type of the DynamoDB entity
+     */
+    interface Events<T> {
+
+        static <T> Events<T> none() {
+            return (type, entities, eventFactory) -> { };
+        }
+
+        void publishAll(DynamoDbEventType type, List<T> entities, Function<T, DynamoDbEvent<T>> eventFactory);
+
+    }
+
+    /**
+     * The table taking part in the batch together with the events of the service responsible for the table.
+     * @param <T> the type of the DynamoDB entity
+     */
+    static final class Table<T> {
+
+        private final MappedTableResource<T> resource;
+        private final Events<T> events;
+
+        Table(MappedTableResource<T> resource, Events<T> events) {
+            this.resource = resource;
+            this.events = events;
+        }
+
+        static <T> Table<T> of(DynamoDbService<T> service) {
+            if (service instanceof DefaultDynamoDbService<T> defaultService) {
+                return new Table<>(service.getTable(), defaultService::publishAll);
+            }
+            return new Table<>(service.getTable(), Events.none());
+        }
+
+        static <T> Table<T> of(AsyncDynamoDbService<T> service) {
+            if (service instanceof DefaultAsyncDynamoDbService<T> defaultService) {
+                return new Table<>(service.getTable(), defaultService::publishAll);
+            }
+            return new Table<>(service.getTable(), Events.none());
+        }
+
+        MappedTableResource<T> resource() {
+            return resource;
+        }
+
+        String name() {
+            return resource.tableName();
+        }
+
+        Class<T> itemType() {
+            return resource.tableSchema().itemType().rawClass();
+        }
+
+        Key key(AttributeConversionHelper attributeConversionHelper, Object partitionKey, @Nullable Object sortKey) {
+            String partitionKeyName = resource.tableSchema().tableMetadata().primaryPartitionKey();
+
+            if (partitionKey == null) {
+                throw new IllegalArgumentException("Partition key " + partitionKeyName + " cannot be null");
+            }
+
+            AttributeValue partitionKeyValue = attributeConversionHelper.convert(resource, partitionKeyName, partitionKey);
+
+            if (sortKey == null) {
+                return Key.builder().partitionValue(partitionKeyValue).build();
+            }
+
+            String sortKeyName = resource.tableSchema().tableMetadata().primarySortKey().orElseThrow(
+                () -> new IllegalArgumentException("Table " + name() + " does not have a sort key")
+            );
+
+            return Key.builder()
+                .partitionValue(partitionKeyValue)
+                .sortValue(attributeConversionHelper.convert(resource, sortKeyName, sortKey))
+                .build();
+        }
+
+        Key keyFrom(Object item) {
+            return resource.keyFrom(itemType().cast(item));
+        }
+
+        T itemFrom(Key key) {
+            return resource.tableSchema().mapToItem(key.primaryKeyMap(resource.tableSchema()));
+        }
+
+        List<T> results(BatchGetResultPage page) {
+            return page.resultsForTable(resource);
+        }
+
+        List<Key> unprocessedKeys(BatchGetResultPage page) {
+            return page.unprocessedKeysForTable(resource);
+        }
+
+        List<Key> unprocessedPuts(BatchWriteResult result) {
+            return result.unprocessedPutItemsForTable(resource).stream().map(resource::keyFrom).toList();
+        }
+
+        List<Key> unprocessedDeletes(BatchWriteResult result) {
+            return result.unprocessedDeleteItemsForTable(resource);
+        }
+
+        ReadBatch.Builder<T> readBatch() {
+            return ReadBatch.builder(itemType()).mappedTableResource(resource);
+        }
+
+        WriteBatch.Builder<T> writeBatch() {
+            return WriteBatch.builder(itemType()).mappedTableResource(resource);
+        }
+
+        @SuppressWarnings("unchecked")
+        void add(WriteBatch.Builder<?> builder, Write write) {
+            WriteBatch.Builder<T> tableBuilder = (WriteBatch.Builder<T>) builder;
+            if (write.delete()) {
+                tableBuilder.addDeleteItem(write.entry().key());
+            } else {
+                tableBuilder.addPutItem(itemType().cast(write.item()));
+            }
+        }
+
+        void publishAll(DynamoDbEventType type, List<?> items) {
+            List<T> entities = items.stream().map(itemType()::cast).toList();
+            switch (type) {
+                case PRE_PERSIST -> events.publishAll(type, entities, DynamoDbEvent::prePersist);
+                case POST_PERSIST -> events.publishAll(type, entities, DynamoDbEvent::postPersist);
+                case PRE_REMOVE -> events.publishAll(type, entities, DynamoDbEvent::preRemove);
+                case POST_REMOVE -> events.publishAll(type, entities, DynamoDbEvent::postRemove);
+                case PRE_UPDATE -> events.publishAll(type, entities, DynamoDbEvent::preUpdate);
+                case POST_UPDATE -> events.publishAll(type, entities, DynamoDbEvent::postUpdate);
+                case POST_LOAD -> events.publishAll(type, entities, DynamoDbEvent::postLoad);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof Table<?> other && name().equals(other.name());
+        }
+
+        @Override
+        public int hashCode() {
+            return name().hashCode();
+        }
+
+    }
+
+    /**
+     * The primary key of the item in the particular table.
+     * @param table the table
+     * @param key the primary key of the item
+     */
+    record Entry(Table<?> table, Key key) { }
+
+    /**
+     * The item to be saved or deleted.
+     * @param entry the table and the primary key of the item
+     * @param item the item to be saved or the item being deleted
+     * @param delete whether the item should be deleted
+     */
+    record Write(Entry entry, Object item, boolean delete) { }
+
+    /**
+     * Collects the distinct reads in the order they were requested.
+     */
+    static final class Reads implements BatchGetBuilder {
+
+        private final Resolver resolver;
+        private final AttributeConversionHelper attributeConversionHelper;
+        private final Set<Entry> entries = new LinkedHashSet<>();
+
+        Reads(Resolver resolver, AttributeConversionHelper attributeConversionHelper) {
+            this.resolver = resolver;
+            this.attributeConversionHelper = attributeConversionHelper;
+        }
+
+        @Override
+        public <T> BatchGetBuilder get(String tableName, Class<T> type, Object partitionKey, @Nullable Object sortKey) {
+            Table<T> table = resolver.resolve(tableName, type);
+            entries.add(new Entry(table, table.key(attributeConversionHelper, partitionKey, sortKey)));
+            return this;
+        }
+
+        List<Entry> entries() {
+            return new ArrayList<>(entries);
+        }
+
+    }
+
+    /**
+     * Collects the writes in the order they were requested, the later write of the item with the same key replaces the former one.
+     */
+    static final class Writes implements BatchWriteBuilder {
+
+        private final Resolver resolver;
+        private final AttributeConversionHelper attributeConversionHelper;
+        private final Map<Entry, Write> writes = new LinkedHashMap<>();
+
+        Writes(Resolver resolver, AttributeConversionHelper attributeConversionHelper) {
+            this.resolver = resolver;
+            this.attributeConversionHelper = attributeConversionHelper;
+        }
+
+        @Override
+        public <T> BatchWriteBuilder save(String tableName, T item) {
+            return add(tableName, item, false);
+        }
+
+        @Override
+        public <T> BatchWriteBuilder delete(String tableName, T item) {
+            return add(tableName, item, true);
+        }
+
+        @Override
+        public <T> BatchWriteBuilder delete(String tableName, Class<T> type, Object partitionKey, @Nullable Object sortKey) {
+            Table<T> table = resolver.resolve(tableName, type);
+            Key key = table.key(attributeConversionHelper, partitionKey, sortKey);
+            Entry entry = new Entry(table, key);
+            writes.put(entry, new Write(entry, table.itemFrom(key), true));
+            return this;
+        }
+
+        List<Write> writes() {
+            return new ArrayList<>(writes.values());
+        }
+
+        private BatchWriteBuilder add(String tableName, Object item, boolean delete) {
+            Table<?> table = resolver.resolve(tableName, item.getClass());
+            Entry entry = new Entry(table, table.keyFrom(item));
+            writes.put(entry, new Write(entry, item, delete));
+            return this;
+        }
+
+    }
+
+    private MultiTableBatch() { }
+
+    static <E> List<List<E>> chunks(List<E> items, int size) {
+        List<List<E>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += size) {
+            chunks.add(items.subList(i, Math.min(items.size(), i + size)));
+        }
+        return chunks;
+    }
+
+    static List<ReadBatch> readBatches(List<Entry> entries) {
+        Map<Table<?>, ReadBatch.Builder<?>> builders = new LinkedHashMap<>();
+        entries.forEach(entry -> builders.computeIfAbsent(entry.table(), Table::readBatch).addGetItem(entry.key()));
+        return builders.values().stream().map(ReadBatch.Builder::build).toList();
+    }
+
+    static List<WriteBatch> writeBatches(List<Write> writes) {
+        Map<Table<?>, WriteBatch.Builder<?>> builders = new LinkedHashMap<>();
+        writes.forEach(write -> write.entry().table().add(builders.computeIfAbsent(write.entry().table(), Table::writeBatch), write));
+        return builders.values().stream().map(WriteBatch.Builder::build).toList();
+    }
+
+    /**
+     * Collects the loaded items of the page.
+     * @param page the page returned for the requested entries
+     * @param requested the requested entries
+     * @param loaded the map collecting the loaded items
+     * @return the entries which were not processed
+     */
+    static List<Entry> collect(BatchGetResultPage page, List<Entry> requested, Map<Entry, Object> loaded) {
+        List<Entry> unprocessed = new ArrayList<>();
+        for (Table<?> table : tables(requested)) {
+            for (Object item : table.results(page)) {
+                loaded.put(new Entry(table, table.keyFrom(item)), item);
+            }
+            for (Key key : table.unprocessedKeys(page)) {
+                unprocessed.add(new Entry(table, key));
+            }
+        }
+        return unprocessed;
+    }
+
+    /**
+     * @param result the result of the batch write request
+     * @param requested the requested writes
+     * @return the writes which were not processed
+     */
+    static List<Write> unprocessed(BatchWriteResult result, List<Write> requested) {
+        Set<Entry> unprocessedPuts = new HashSet<>();
+        Set<Entry> unprocessedDeletes = new HashSet<>();
+        for (Table<?> table : tables(requested.stream().map(Write::entry).toList())) {
+            table.unprocessedPuts(result).forEach(key -> unprocessedPuts.add(new Entry(table, key)));
+            table.unprocessedDeletes(result).forEach(key -> unprocessedDeletes.add(new Entry(table, key)));
+        }
+
+        if (unprocessedPuts.isEmpty() && unprocessedDeletes.isEmpty()) {
+            return List.of();
+        }
+
+        return requested.stream().filter(w -> (w.delete() ? unprocessedDeletes : unprocessedPuts).contains(w.entry())).toList();
+    }
+
+    static List<Write> withoutUnprocessed(List<Write> writes, List<Write> unprocessed) {
+        if (unprocessed.isEmpty()) {
+            return writes;
+        }
+        Set<Write> unprocessedWrites = new HashSet<>(unprocessed);
+        return writes.stream().filter(w -> !unprocessedWrites.contains(w)).toList();
+    }
+
+    static void publishLoaded(List<Entry> entries, Map<Entry, Object> loaded) {
+        Map<Table<?>, List<Object>> items = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            Object item = loaded.get(entry);
+            if (item != null) {
+                items.computeIfAbsent(entry.table(), t -> new ArrayList<>()).add(item);
+            }
+        }
+        items.forEach((table, tableItems) -> table.publishAll(DynamoDbEventType.POST_LOAD, tableItems));
+    }
+
+    static void publishBeforeWrite(List<Write> writes) {
+        publishWritten(writes, DynamoDbEventType.PRE_PERSIST, DynamoDbEventType.PRE_REMOVE);
+    }
+
+    static void publishAfterWrite(List<Write> writes) {
+        publishWritten(writes, DynamoDbEventType.POST_PERSIST, DynamoDbEventType.POST_REMOVE);
+    }
+
+    private static void publishWritten(List<Write> writes, DynamoDbEventType persistType, DynamoDbEventType removeType) {
+        Map<Table<?>, List<Object>> saved = new LinkedHashMap<>();
+        Map<Table<?>, List<Object>> deleted = new LinkedHashMap<>();
+        for (Write write : writes) {
+            (write.delete() ? deleted : saved).computeIfAbsent(write.entry().table(), t -> new ArrayList<>()).add(write.item());
+        }
+        saved.forEach((table, items) -> table.publishAll(persistType, items));
+        deleted.forEach((table, items) -> table.publishAll(removeType, items));
+    }
+
+    private static Set<Table<?>> tables(List<Entry> entries) {
+        Set<Table<?>> tables = new LinkedHashSet<>();
+        entries.forEach(entry -> tables.add(entry.table()));
+        return tables;
+    }
+
+}
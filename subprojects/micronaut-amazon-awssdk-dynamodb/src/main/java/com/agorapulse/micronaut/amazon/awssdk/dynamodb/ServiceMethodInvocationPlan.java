@@ -0,0 +1,403 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.Query;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.Scan;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.Update;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.util.ItemArgument;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.util.QueryArguments;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.type.Argument;
+import io.micronaut.inject.ExecutableMethod;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Immutable description of what a single declarative service method does.
+ * <p>
+ * The plan is resolved once per {@link ExecutableMethod} so the introduction does not have to inspect the method name,
+ * the annotations and the arguments on every invocation.
+ * </p>
+ */
+final class ServiceMethodInvocationPlan {
+
+    enum Operation {
+        SAVE,
+        SAVE_ALL,
+        GET,
+        GET_ALL_BY_PARTITION_KEYS,
+        GET_ALL_BY_SORT_KEYS,
+        QUERY,
+        QUERY_COUNT,
+        QUERY_DELETE,
+        QUERY_UPDATE,
+        SCAN,
+        SCAN_COUNT,
+        SCAN_DELETE,
+        SCAN_UPDATE,
+        UPDATE,
+        DELETE_ITEM,
+        DELETE_ITEMS,
+        DELETE_BY_KEY,
+        DELETE_BY_ARGUMENTS,
+        COUNT_BY_KEY,
+        COUNT_BY_ARGUMENTS,
+        FIND_BY_KEY,
+        FIND_BY_ARGUMENTS
+    }
+
+    enum ResultType {
+        VOID,
+        PUBLISHER,
+        NUMBER,
+        STREAM,
+        COLLECTION,
+        SINGLE
+    }
+
+    private static final String METHOD_SAVE = "save";
+    private static final String METHOD_GET = "get";
+    private static final String METHOD_LOAD = "load";
+    private static final String METHOD_COUNT = "count";
+    private static final String METHOD_DELETE = "delete";
+    private static final String METHOD_QUERY = "query";
+    private static final String METHOD_FIND_ALL = "findAll";
+    private static final String METHOD_LIST = "list";
+
+    private final Operation operation;
+    private final ResultType resultType;
+    private final Class<Object> returnType;
+    private final String checkpointDescription;
+    private final Argument<?> itemArgument;
+    private final QueryArguments queryArguments;
+    private final Class<? extends Function<Map<String, Object>, ?>> criteriaType;
+    private final Class<? extends Function<Map<String, Object>, ?>> updateType;
+    private final int totalSegments;
+    private final boolean transactional;
+    private final Class<?> projectionType;
+
+    private ServiceMethodInvocationPlan(
+        Operation operation,
+        MethodInvocationContext<Object, Object> context,
+        Argument<?> itemArgument,
+        QueryArguments queryArguments,
+        Class<? extends Function<Map<String, Object>, ?>> criteriaType,
+        Class<? extends Function<Map<String, Object>, ?>> updateType
+    ) {
+        this(operation, context, itemArgument, queryArguments, criteriaType, updateType, 1, false);
+    }
+
+    private ServiceMethodInvocationPlan(
+        Operation operation,
+        MethodInvocationContext<Object, Object> context,
+        Argument<?> itemArgument,
+        QueryArguments queryArguments,
+        Class<? extends Function<Map<String, Object>, ?>> criteriaType,
+        Class<? extends Function<Map<String, Object>, ?>> updateType,
+        int totalSegments,
+        boolean transactional
+    ) {
+        this.operation = operation;
+        this.returnType = context.getReturnType().getType();
+        this.resultType = resolveResultType(returnType);
+        this.checkpointDescription = context.getExecutableMethod().toString();
+        this.itemArgument = itemArgument;
+        this.queryArguments = queryArguments;
+        this.criteriaType = criteriaType;
+        this.updateType = updateType;
+        this.totalSegments = totalSegments;
+        this.transactional = transactional;
+        this.projectionType = null;
+    }
+
+    private ServiceMethodInvocationPlan(ServiceMethodInvocationPlan plan, Class<?> projectionType) {
+        this.operation = plan.operation;
+        this.returnType = plan.returnType;
+        this.resultType = plan.resultType;
+        this.checkpointDescription = plan.checkpointDescription;
+        this.itemArgument = plan.itemArgument;
+        this.queryArguments = plan.queryArguments;
+        this.criteriaType = plan.criteriaType;
+        this.updateType = plan.updateType;
+        this.totalSegments = plan.totalSegments;
+        this.transactional = plan.transactional;
+        this.projectionType = projectionType;
+    }
+
+    /**
+     * Resolves the invocation plan for the method being invoked.
+     * <p>
+     * Unsupported methods are reported by throwing {@link UnsupportedOperationException} in the same order as they would be
+     * evaluated during the invocation.
+     * </p>
+     *
+     * @param context the method invocation context
+     * @param itemType the type of the items handled by the service
+     * @param tableMetadata the metadata of the table handled by the service
+     * @return the invocation plan for the method
+     */
+    static ServiceMethodInvocationPlan create(MethodInvocationContext<Object, Object> context, Class<?> itemType, TableMetadata tableMetadata) {
+        ServiceMethodInvocationPlan plan = createPlan(context, itemType, tableMetadata);
+        Class<?> projectionType = resolveProjectionType(plan.operation, context.getReturnType().asArgument(), itemType);
+        return projectionType == null ? plan : new ServiceMethodInvocationPlan(plan, projectionType);
+    }
+
+    private static ServiceMethodInvocationPlan createPlan(MethodInvocationContext<Object, Object> context, Class<?> itemType, TableMetadata tableMetadata) {
+        String methodName = context.getMethodName();
+        Method method = context.getTargetMethod();
+
+        if (methodName.startsWith(METHOD_SAVE)) {
+            return createSave(context);
+        }
+
+        if (methodName.startsWith(METHOD_GET) || methodName.startsWith(METHOD_LOAD)) {
+            return createGet(context, itemType, tableMetadata);
+        }
+
+        Query query = method.getAnnotation(Query.class);
+        Update update = method.getAnnotation(Update.class);
+
+        if (query != null) {
+            if (methodName.startsWith(METHOD_COUNT)) {
+                return new ServiceMethodInvocationPlan(Operation.QUERY_COUNT, context, null, null, query.value(), null);
+            }
+            if (methodName.startsWith(METHOD_DELETE)) {
+                return new ServiceMethodInvocationPlan(Operation.QUERY_DELETE, context, null, null, query.value(), null);
+            }
+            if (update != null) {
+                return new ServiceMethodInvocationPlan(Operation.QUERY_UPDATE, context, null, null, query.value(), update.value(), 1, update.transactional());
+            }
+            return new ServiceMethodInvocationPlan(Operation.QUERY, context, null, null, query.value(), null);
+        }
+
+        Scan scan = method.getAnnotation(Scan.class);
+
+        if (scan != null) {
+            if (methodName.startsWith(METHOD_COUNT)) {
+                return new ServiceMethodInvocationPlan(Operation.SCAN_COUNT, context, null, null, scan.value(), null, scan.parallel(), false);
+            }
+            if (methodName.startsWith(METHOD_DELETE)) {
+                return new ServiceMethodInvocationPlan(Operation.SCAN_DELETE, context, null, null, scan.value(), null, scan.parallel(), false);
+            }
+            if (update != null) {
+                return new ServiceMethodInvocationPlan(Operation.SCAN_UPDATE, context, null, null, scan.value(), update.value(), scan.parallel(), update.transactional());
+            }
+            return new ServiceMethodInvocationPlan(Operation.SCAN, context, null, null, scan.value(), null, scan.parallel(), false);
+        }
+
+        if (update != null) {
+            return new ServiceMethodInvocationPlan(Operation.UPDATE, context, null, null, update.value(), null);
+        }
+
+        if (methodName.startsWith(METHOD_DELETE)) {
+            Optional<ItemArgument> maybeItemArgument = ItemArgument.findItemArgument(itemType, context);
+            if (maybeItemArgument.isPresent()) {
+                ItemArgument item = maybeItemArgument.get();
+                return new ServiceMethodInvocationPlan(item.isSingle() ? Operation.DELETE_ITEM : Operation.DELETE_ITEMS, context, item.getArgument(), null, null, null);
+            }
+        }
+
+        if (
+            methodName.startsWith(METHOD_QUERY)
+                || methodName.startsWith(METHOD_FIND_ALL)
+                || methodName.startsWith(METHOD_LIST)
+                || methodName.startsWith(METHOD_COUNT)
+                || methodName.startsWith(METHOD_DELETE)
+        ) {
+            QueryArguments partitionAndSort = QueryArguments.create(context, tableMetadata, itemType);
+            if (methodName.startsWith(METHOD_COUNT)) {
+                return new ServiceMethodInvocationPlan(partitionAndSort.isCustomized() ? Operation.COUNT_BY_ARGUMENTS : Operation.COUNT_BY_KEY, context, null, partitionAndSort, null, null);
+            }
+            if (methodName.startsWith(METHOD_DELETE)) {
+                if (partitionAndSort.isCustomized()) {
+                    return new ServiceMethodInvocationPlan(Operation.DELETE_BY_ARGUMENTS, context, null, partitionAndSort, null, null);
+                }
+                return createDeleteByKey(context, partitionAndSort);
+            }
+            return new ServiceMethodInvocationPlan(partitionAndSort.isCustomized() ? Operation.FIND_BY_ARGUMENTS : Operation.FIND_BY_KEY, context, null, partitionAndSort, null, null);
+        }
+
+        throw new UnsupportedOperationException("Cannot implement method " + context.getExecutableMethod().getTargetMethod());
+    }
+
+    Operation getOperation() {
+        return operation;
+    }
+
+    ResultType getResultType() {
+        return resultType;
+    }
+
+    Class<Object> getReturnType() {
+        return returnType;
+    }
+
+    String getCheckpointDescription() {
+        return checkpointDescription;
+    }
+
+    Argument<?> getItemArgument() {
+        return itemArgument;
+    }
+
+    QueryArguments getQueryArguments() {
+        return queryArguments;
+    }
+
+    int getTotalSegments() {
+        return totalSegments;
+    }
+
+    boolean isTransactional() {
+        return transactional;
+    }
+
+    /**
+     * @return the type the items are projected into or <code>null</code> if the method returns the items themselves
+     */
+    @SuppressWarnings("unchecked")
+    <P> Class<P> getProjectionType() {
+        return (Class<P>) projectionType;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T, F extends Function<Map<String, Object>, T>> Class<F> getCriteriaType() {
+        return (Class<F>) criteriaType;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T, F extends Function<Map<String, Object>, T>> Class<F> getUpdateType() {
+        return (Class<F>) updateType;
+    }
+
+    private static ServiceMethodInvocationPlan createSave(MethodInvocationContext<Object, Object> context) {
+        Argument<?>[] args = context.getArguments();
+
+        if (args.length != 1) {
+            throw new UnsupportedOperationException("Method expects 1 parameter - item, iterable of items or array of items");
+        }
+
+        Argument<?> itemArgument = args[0];
+
+        if (itemArgument.getType().isArray() || Iterable.class.isAssignableFrom(itemArgument.getType()) || Publisher.class.isAssignableFrom(itemArgument.getType())) {
+            return new ServiceMethodInvocationPlan(Operation.SAVE_ALL, context, itemArgument, null, null, null);
+        }
+
+        return new ServiceMethodInvocationPlan(Operation.SAVE, context, itemArgument, null, null, null);
+    }
+
+    private static ServiceMethodInvocationPlan createGet(MethodInvocationContext<Object, Object> context, Class<?> itemType, TableMetadata tableMetadata) {
+        Argument<?>[] args = context.getArguments();
+
+        if (args.length > 2) {
+            throw new UnsupportedOperationException("Method expects at most 2 parameters - partition key and sort key or sort keys");
+        }
+
+        QueryArguments partitionAndSort = QueryArguments.create(context, tableMetadata, itemType);
+
+        if (!partitionAndSort.hasSortKey()) {
+            if (partitionAndSort.isPartitionKeyPublisherOrIterable()) {
+                return new ServiceMethodInvocationPlan(Operation.GET_ALL_BY_PARTITION_KEYS, context, null, partitionAndSort, null, null);
+            }
+            return new ServiceMethodInvocationPlan(Operation.GET, context, null, partitionAndSort, null, null);
+        }
+
+        if (partitionAndSort.isSortKeyPublisherOrIterable()) {
+            return new ServiceMethodInvocationPlan(Operation.GET_ALL_BY_SORT_KEYS, context, null, partitionAndSort, null, null);
+        }
+
+        return new ServiceMethodInvocationPlan(Operation.GET, context, null, partitionAndSort, null, null);
+    }
+
+    private static ServiceMethodInvocationPlan createDeleteByKey(MethodInvocationContext<Object, Object> context, QueryArguments partitionAndSort) {
+        Argument<?>[] args = context.getArguments();
+        if (args.length > 2) {
+            throw new UnsupportedOperationException("Method expects at most 2 parameters - partition key and sort key, an item or items");
+        }
+
+        return new ServiceMethodInvocationPlan(Operation.DELETE_BY_KEY, context, null, partitionAndSort, null, null);
+    }
+
+    private static Class<?> resolveProjectionType(Operation operation, Argument<?> returnType, Class<?> itemType) {
+        if (operation != Operation.QUERY && operation != Operation.SCAN && operation != Operation.FIND_BY_KEY && operation != Operation.FIND_BY_ARGUMENTS) {
+            return null;
+        }
+
+        Class<?> elementType = resolveElementType(returnType);
+
+        if (
+            elementType == null
+                || elementType.isPrimitive()
+                || elementType.isArray()
+                || elementType.getName().startsWith("java.")
+                || elementType.isAssignableFrom(itemType)
+                || itemType.isAssignableFrom(elementType)
+        ) {
+            return null;
+        }
+
+        return elementType;
+    }
+
+    private static Class<?> resolveElementType(Argument<?> returnType) {
+        Class<?> type = returnType.getType();
+
+        if (type.isArray()) {
+            return type.getComponentType();
+        }
+
+        if (Publishers.isConvertibleToPublisher(type) || Stream.class.isAssignableFrom(type) || Iterable.class.isAssignableFrom(type)) {
+            return returnType.getFirstTypeVariable().map(Argument::getType).orElse(null);
+        }
+
+        return type;
+    }
+
+    private static ResultType resolveResultType(Class<Object> type) {
+        if (void.class.isAssignableFrom(type) || Void.class.isAssignableFrom(type)) {
+            return ResultType.VOID;
+        }
+
+        if (Publishers.isConvertibleToPublisher(type)) {
+            return ResultType.PUBLISHER;
+        }
+
+        if (Number.class.isAssignableFrom(type) || type.isPrimitive() && !boolean.class.isAssignableFrom(type)) {
+            return ResultType.NUMBER;
+        }
+
+        if (Stream.class.isAssignableFrom(type)) {
+            return ResultType.STREAM;
+        }
+
+        if (type.isArray() || Iterable.class.isAssignableFrom(type)) {
+            return ResultType.COLLECTION;
+        }
+
+        return ResultType.SINGLE;
+    }
+
+}
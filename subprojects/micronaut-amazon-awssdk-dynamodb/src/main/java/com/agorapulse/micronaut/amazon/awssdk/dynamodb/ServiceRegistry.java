@@ -0,0 +1,90 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Creates the services at most once per table without a global lock.
+ * <p>
+ * The first caller for a table creates the service, including the optional table checks, while the other callers
+ * for the same table wait for the result. Callers for other tables are never blocked. If the creation fails,
+ * the failure is propagated to all the waiting callers and the next call tries again.
+ * </p>
+ * @param <S> the type of the service
+ */
+final class ServiceRegistry<S> {
+
+    private final ConcurrentHashMap<String, CompletableFuture<S>> services = new ConcurrentHashMap<>();
+
+    S findOrCreate(String tableName, Supplier<S> factory) {
+        CompletableFuture<S> existing = services.get(tableName);
+        if (existing == null) {
+            CompletableFuture<S> created = new CompletableFuture<>();
+            existing = services.putIfAbsent(tableName, created);
+            if (existing == null) {
+                return create(tableName, created, factory);
+            }
+        }
+
+        S service = existing.getNow(null);
+        if (service != null) {
+            return service;
+        }
+
+        try {
+            return existing.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return the services which have been successfully created so far
+     */
+    List<S> getServices() {
+        List<S> result = new ArrayList<>(services.size());
+        for (CompletableFuture<S> future : services.values()) {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                result.add(future.join());
+            }
+        }
+        return result;
+    }
+
+    private S create(String tableName, CompletableFuture<S> created, Supplier<S> factory) {
+        try {
+            S service = factory.get();
+            created.complete(service);
+            return service;
+        } catch (RuntimeException | Error e) {
+            services.remove(tableName, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.Builders;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.ConditionCheckBuilder;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedConditionCheck;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedUpdate;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.UpdateBuilder;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Collects the actions on the items from one or more tables to be executed within a single <code>TransactWriteItems</code> request.
+ *
+ * The table name defaults to the simple name of the entity type, the same way as in {@link DynamoDBServiceProvider#findOrCreate(Class)}.
+ * A single transaction can contain at most 100 actions and each item can only be targeted by a single action.
+ */
+public interface TransactionWriteBuilder {
+
+    /**
+     * Requests saving the item into given table.
+     *
+     * @param tableName the name of the table
+     * @param item      the item to be saved
+     * @param <T>       the type of the DynamoDB entity
+     * @return self
+     */
+    <T> TransactionWriteBuilder save(String tableName, T item);
+
+    /**
+     * Requests saving the item.
+     *
+     * @param item  the item to be saved
+     * @param <T>   the type of the DynamoDB entity
+     * @return self
+     */
+    default <T> TransactionWriteBuilder save(T item) {
+        return save(item.getClass().getSimpleName(), item);
+    }
+
+    /**
+     * Requests updating the item in given table.
+     *
+     * @param tableName the name of the table
+     * @param type      the type of the DynamoDB entity
+     * @param update    the update of the item, the return values are ignored
+     * @param <T>       the type of the DynamoDB entity
+     * @return self
+     */
+    <T> TransactionWriteBuilder update(String tableName, Class<T> type, DetachedUpdate<T, ?> update);
+
+    /**
+     * Requests updating the item.
+     *
+     * @param type      the type of the DynamoDB entity
+     * @param update    the definition of the update of the item, the return values are ignored
+     * @param <T>       the type of the DynamoDB entity
+     * @param <R>       the type of the ignored return value
+     * @return self
+     */
+    default <T, R> TransactionWriteBuilder update(Class<T> type, Function<UpdateBuilder<T, T>, UpdateBuilder<T, R>> update) {
+        return update(type.getSimpleName(), type, Builders.update(update));
+    }
+
+    /**
+     * Requests deleting the item from given table.
+     *
+     * @param tableName the name of the table
+     * @param item      the item to be deleted
+     * @param <T>       the type of the DynamoDB entity
+     * @return self
+     */
+    <T> TransactionWriteBuilder delete(String tableName, T item);
+
+    /**
+     * Requests deleting the item.
+     *
+     * @param item  the item to be deleted
+     * @param <T>   the type of the DynamoDB entity
+     * @return self
+     */
+    default <T> TransactionWriteBuilder delete(T item) {
+        return delete(item.getClass().getSimpleName(), item);
+    }
+
+    /**
+     * Requests deleting the item with given keys from given table.
+     *
+     * @param tableName     the name of the table
+     * @param type          the type of the DynamoDB entity
+     * @param partitionKey  the partition key of the item
+     * @param sortKey       the sort key of the item or <code>null</code> if the table has no sort key
+     * @param <T>           the type of the DynamoDB entity
+     * @return self
+     */
+    <T> TransactionWriteBuilder delete(String tableName, Class<T> type, Object partitionKey, @Nullable Object sortKey);
+
+    /**
+     * Requests deleting the item with given keys.
+     *
+     * @param type          the type of the DynamoDB entity
+     * @param partitionKey  the partition key of the item
+     * @param sortKey       the sort key of the item or <code>null</code> if the table has no sort key
+     * @param <T>           the type of the DynamoDB entity
+     * @return self
+     */
+    default <T> TransactionWriteBuilder delete(Class<T> type, Object partitionKey, @Nullable Object sortKey) {
+        return delete(type.getSimpleName(), type, partitionKey, sortKey);
+    }
+
+    /**
+     * Requests deleting the item with given partition key from the table without the sort key.
+     *
+     * @param type          the type of the DynamoDB entity
+     * @param partitionKey  the partition key of the item
+     * @param <T>           the type of the DynamoDB entity
+     * @return self
+     */
+    default <T> TransactionWriteBuilder delete(Class<T> type, Object partitionKey) {
+        return delete(type, partitionKey, null);
+    }
+
+    /**
+     * Requests checking the condition on the item in given table. The whole transaction fails if the condition is not met.
+     *
+     * @param tableName the name of the table
+     * @param type      the type of the DynamoDB entity
+     * @param check     the condition check
+     * @param <T>       the type of the DynamoDB entity
+     * @return self
+     */
+    <T> TransactionWriteBuilder conditionCheck(String tableName, Class<T> type, DetachedConditionCheck<T> check);
+
+    /**
+     * Requests checking the condition on the item. The whole transaction fails if the condition is not met.
+     *
+     * @param type      the type of the DynamoDB entity
+     * @param check     the definition of the condition check
+     * @param <T>       the type of the DynamoDB entity
+     * @return self
+     */
+    default <T> TransactionWriteBuilder conditionCheck(Class<T> type, Consumer<ConditionCheckBuilder<T>> check) {
+        return conditionCheck(type.getSimpleName(), type, Builders.conditionCheck(check));
+    }
+
+    /**
+     * Sets the token which makes the transaction idempotent, the repeated requests with the same token within ten minutes are not applied again.
+     *
+     * @param token the client request token
+     * @return self
+     */
+    TransactionWriteBuilder clientRequestToken(String token);
+
+}
@@ -0,0 +1,352 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedConditionCheck;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedUpdate;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.UpdateBuilder;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbEventType;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanProperty;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import software.amazon.awssdk.enhanced.dynamodb.Document;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.MappedTableResource;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactGetItemsEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Helper methods for the updates of multiple items and for the transactions shared by the synchronous and asynchronous services.
+ */
+final class Transactions {
+
+    /**
+     * The maximum number of the actions in a single DynamoDB transaction.
+     */
+    static final int MAX_TRANSACTION_ITEMS = 100;
+
+    /**
+     * The kind of the action within the transaction.
+     */
+    enum ActionType {
+        PUT(DynamoDbEventType.PRE_PERSIST, DynamoDbEventType.POST_PERSIST),
+        UPDATE(DynamoDbEventType.PRE_UPDATE, DynamoDbEventType.POST_UPDATE),
+        DELETE(DynamoDbEventType.PRE_REMOVE, DynamoDbEventType.POST_REMOVE),
+        CONDITION_CHECK(null, null);
+
+        private final DynamoDbEventType before;
+        private final DynamoDbEventType after;
+
+        ActionType(DynamoDbEventType before, DynamoDbEventType after) {
+            this.before = before;
+            this.after = after;
+        }
+    }
+
+    /**
+     * The single action of the transaction.
+     * @param table the table of the item
+     * @param type the kind of the action
+     * @param item creates the native action, called once the events before the commit were published so the changes done by the listeners are written
+     * @param entity the entity for the events, for the updates it only contains the keys
+     */
+    record Action(MultiTableBatch.Table<?> table, ActionType type, Supplier<TransactWriteItem> item, @Nullable Object entity) { }
+
+    /**
+     * Collects the actions of the transaction in the order they were requested.
+     */
+    static final class Writes implements TransactionWriteBuilder {
+
+        private final MultiTableBatch.Resolver resolver;
+        private final AttributeConversionHelper attributeConversionHelper;
+        private final List<Action> actions = new ArrayList<>();
+        private String clientRequestToken;
+
+        Writes(MultiTableBatch.Resolver resolver, AttributeConversionHelper attributeConversionHelper) {
+            this.resolver = resolver;
+            this.attributeConversionHelper = attributeConversionHelper;
+        }
+
+        @Override
+        public <T> TransactionWriteBuilder save(String tableName, T item) {
+            MultiTableBatch.Table<?> table = resolver.resolve(tableName, item.getClass());
+            actions.add(new Action(table, ActionType.PUT, () -> Transactions.put(table, item), item));
+            return this;
+        }
+
+        @Override
+        public <T> TransactionWriteBuilder update(String tableName, Class<T> type, DetachedUpdate<T, ?> update) {
+            MultiTableBatch.Table<T> table = resolver.resolve(tableName, type);
+            UpdateItemRequest request = update.resolveRequest(table.resource(), attributeConversionHelper);
+            TransactWriteItem item = Transactions.update(request);
+            actions.add(new Action(table, ActionType.UPDATE, () -> item, table.resource().tableSchema().mapToItem(request.key())));
+            return this;
+        }
+
+        @Override
+        public <T> TransactionWriteBuilder delete(String tableName, T item) {
+            MultiTableBatch.Table<?> table = resolver.resolve(tableName, item.getClass());
+            actions.add(new Action(table, ActionType.DELETE, () -> Transactions.delete(table, table.keyFrom(item)), item));
+            return this;
+        }
+
+        @Override
+        public <T> TransactionWriteBuilder delete(String tableName, Class<T> type, Object partitionKey, @Nullable Object sortKey) {
+            MultiTableBatch.Table<T> table = resolver.resolve(tableName, type);
+            Key key = table.key(attributeConversionHelper, partitionKey, sortKey);
+            TransactWriteItem item = Transactions.delete(table, key);
+            actions.add(new Action(table, ActionType.DELETE, () -> item, table.itemFrom(key)));
+            return this;
+        }
+
+        @Override
+        public <T> TransactionWriteBuilder conditionCheck(String tableName, Class<T> type, DetachedConditionCheck<T> check) {
+            MultiTableBatch.Table<T> table = resolver.resolve(tableName, type);
+            MappedTableResource<T> resource = table.resource();
+            TransactWriteItem item = writeItem(request -> request.addConditionCheck(resource, check.resolveRequest(resource, attributeConversionHelper)));
+            actions.add(new Action(table, ActionType.CONDITION_CHECK, () -> item, null));
+            return this;
+        }
+
+        @Override
+        public TransactionWriteBuilder clientRequestToken(String token) {
+            this.clientRequestToken = token;
+            return this;
+        }
+
+        List<Action> actions() {
+            return actions;
+        }
+
+        /**
+         * Creates the request, must be called after the events before the commit were published.
+         * @return the request executing the transaction
+         */
+        TransactWriteItemsRequest request() {
+            return TransactWriteItemsRequest.builder()
+                .transactItems(actions.stream().map(action -> action.item().get()).toList())
+                .clientRequestToken(clientRequestToken)
+                .build();
+        }
+
+    }
+
+    private Transactions() {
+        // utility class
+    }
+
+    static void checkTransactionSize(int transactionSize) {
+        if (transactionSize < 1 || transactionSize > MAX_TRANSACTION_ITEMS) {
+            throw new IllegalArgumentException("Transaction size must be between 1 and " + MAX_TRANSACTION_ITEMS + " but was " + transactionSize);
+        }
+    }
+
+    /**
+     * Splits the items into the transactions. DynamoDB rejects the transactions which contain more than one action
+     * for the same item so the transaction is closed when the item with the same key appears again.
+     * @param items the items
+     * @param transactionSize the maximum number of the items in a single transaction
+     * @param keyFunction the function returning the key of the item
+     * @return the items grouped into the transactions
+     */
+    static <T> Flux<List<T>> chunks(Flux<T> items, int transactionSize, Function<T, Key> keyFunction) {
+        return Flux.defer(() -> {
+            Set<Key> keys = new HashSet<>();
+            return items.bufferUntil(item -> {
+                Key key = keyFunction.apply(item);
+                if (keys.size() < transactionSize && keys.add(key)) {
+                    return false;
+                }
+                keys.clear();
+                keys.add(key);
+                return true;
+            }, true);
+        });
+    }
+
+    /**
+     * Writes the transactions concurrently but never writes two transactions containing the same key at the same time.
+     * The transaction waits until all the previous transactions containing any of its keys are finished, otherwise
+     * DynamoDB cancels one of them with the transaction conflict.
+     * @param transactions the items grouped into the transactions
+     * @param keyFunction the function returning the key of the item
+     * @param writer the function writing the transaction
+     * @param concurrency the maximum number of the transactions written at the same time
+     * @return the results of the writes
+     */
+    static <T, R> Flux<R> writeChunks(Flux<List<T>> transactions, Function<T, Key> keyFunction, Function<List<T>, Publisher<R>> writer, int concurrency) {
+        return Flux.defer(() -> {
+            Map<Key, Sinks.Empty<Void>> pending = new ConcurrentHashMap<>();
+            // the transactions are registered in the order they arrive so the dependencies are always subscribed before
+            return transactions.map(batch -> {
+                Sinks.Empty<Void> finished = Sinks.empty();
+                List<Mono<Void>> previous = new ArrayList<>();
+                List<Key> keys = new ArrayList<>(batch.size());
+                for (T item : batch) {
+                    Key key = keyFunction.apply(item);
+                    keys.add(key);
+                    Sinks.Empty<Void> other = pending.put(key, finished);
+                    if (other != null) {
+                        previous.add(other.asMono());
+                    }
+                }
+                Runnable release = () -> {
+                    keys.forEach(key -> pending.remove(key, finished));
+                    finished.tryEmitEmpty();
+                };
+                return Mono.when(previous).thenMany(Flux.defer(() -> writer.apply(batch))).doFinally(signal -> release.run());
+            }).flatMap(Function.identity(), concurrency);
+        });
+    }
+
+    /**
+     * Creates the key from the key attributes of the request without mapping them to the entity.
+     * @param table the table
+     * @param attributes the key attributes
+     * @return the key of the item
+     */
+    static Key keyFrom(MappedTableResource<?> table, Map<String, AttributeValue> attributes) {
+        TableMetadata tableMetadata = table.tableSchema().tableMetadata();
+        Key.Builder key = Key.builder().partitionValue(attributes.get(tableMetadata.primaryPartitionKey()));
+        tableMetadata.primarySortKey().map(attributes::get).ifPresent(key::sortValue);
+        return key.build();
+    }
+
+    /**
+     * Converts the update request into the update action of the transaction.
+     * @param request the update request
+     * @return the update action of the transaction
+     */
+    static TransactWriteItem update(UpdateItemRequest request) {
+        return TransactWriteItem.builder().update(Update.builder()
+            .tableName(request.tableName())
+            .key(request.key())
+            .updateExpression(request.updateExpression())
+            .conditionExpression(request.conditionExpression())
+            .expressionAttributeNames(request.expressionAttributeNames())
+            .expressionAttributeValues(request.expressionAttributeValues())
+            .build()
+        ).build();
+    }
+
+    /**
+     * Creates the function which creates a copy of the update for each entity with the keys of the entity.
+     * @param table the table
+     * @param update the update definition
+     * @return the function creating the update for each entity
+     */
+    static <T, R> Function<T, UpdateBuilder<T, R>> updateForEntity(MappedTableResource<T> table, UpdateBuilder<T, R> update) {
+        BeanIntrospection<T> introspection = EntityIntrospection.getBeanIntrospection(table);
+        TableMetadata tableMetadata = table.tableSchema().tableMetadata();
+        Optional<BeanProperty<T, Object>> partitionKey = introspection.getProperty(tableMetadata.primaryPartitionKey());
+        Optional<BeanProperty<T, Object>> sortKey = tableMetadata.primarySortKey().flatMap(introspection::getProperty);
+
+        return entity -> {
+            UpdateBuilder<T, R> copy = update.copy();
+            partitionKey.ifPresent(p -> copy.partitionKey(p.get(entity)));
+            sortKey.ifPresent(p -> copy.sortKey(p.get(entity)));
+            return copy;
+        };
+    }
+
+    static TransactGetItemsEnhancedRequest getRequest(List<MultiTableBatch.Entry> entries) {
+        TransactGetItemsEnhancedRequest.Builder builder = TransactGetItemsEnhancedRequest.builder();
+        entries.forEach(entry -> builder.addGetItem(entry.table().resource(), entry.key()));
+        return builder.build();
+    }
+
+    /**
+     * @param entries the requested entries
+     * @param documents the documents returned in the same order as the entries were requested
+     * @return the loaded items
+     */
+    static Map<MultiTableBatch.Entry, Object> collect(List<MultiTableBatch.Entry> entries, List<Document> documents) {
+        Map<MultiTableBatch.Entry, Object> loaded = new HashMap<>();
+        for (int i = 0; i < entries.size() && i < documents.size(); i++) {
+            Object item = documents.get(i).getItem(entries.get(i).table().resource());
+            if (item != null) {
+                loaded.put(entries.get(i), item);
+            }
+        }
+        return loaded;
+    }
+
+    static void publishBeforeCommit(List<Action> actions) {
+        publish(actions, true);
+    }
+
+    static void publishAfterCommit(List<Action> actions) {
+        publish(actions, false);
+    }
+
+    private static void publish(List<Action> actions, boolean beforeCommit) {
+        Map<MultiTableBatch.Table<?>, Map<ActionType, List<Object>>> entities = new LinkedHashMap<>();
+        for (Action action : actions) {
+            if (action.entity() != null) {
+                entities.computeIfAbsent(action.table(), t -> new EnumMap<>(ActionType.class))
+                    .computeIfAbsent(action.type(), t -> new ArrayList<>())
+                    .add(action.entity());
+            }
+        }
+        entities.forEach((table, byType) -> byType.forEach((type, items) -> table.publishAll(beforeCommit ? type.before : type.after, items)));
+    }
+
+    private static <T> TransactWriteItem put(MultiTableBatch.Table<T> table, Object item) {
+        return writeItem(request -> request.addPutItem(table.resource(), table.itemType().cast(item)));
+    }
+
+    private static <T> TransactWriteItem delete(MultiTableBatch.Table<T> table, Key key) {
+        return writeItem(request -> request.addDeleteItem(table.resource(), key));
+    }
+
+    /**
+     * Creates the single native action using the public enhanced client request which applies the mapper extensions.
+     * @param action adds the single action to the request
+     * @return the native action of the transaction
+     */
+    private static TransactWriteItem writeItem(Consumer<TransactWriteItemsEnhancedRequest.Builder> action) {
+        TransactWriteItemsEnhancedRequest.Builder request = TransactWriteItemsEnhancedRequest.builder();
+        action.accept(request);
+        return request.build().transactWriteItems().get(0);
+    }
+
+}
@@ -0,0 +1,296 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.exception.FailedBatchRequestException;
+import io.micronaut.core.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Buffers the saved items and writes them in batches.
+ * <p>
+ * Repeated saves of the item with the same key are coalesced so only the latest version is written.
+ * The batch is written once there are enough items to fill it or when the linger time elapses.
+ * If the buffer is full the saves wait until the buffered items are written.
+ * </p>
+ * <p>
+ * The items which are not processed or whose batch request fails are resubmitted with exponential backoff.
+ * The items which are still not written after all the attempts are reported to the failure handler
+ * and the next {@link #flush()} fails with {@link FailedBatchRequestException} containing them.
+ * </p>
+ * @param <T> the type of the items
+ */
+final class WriteBehindBuffer<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    private final Function<T, Key> keyExtractor;
+    private final Function<List<T>, Mono<List<T>>> batchWriter;
+    private final Consumer<List<T>> writtenItemsConsumer;
+    private final Consumer<FailedBatchRequestException> failureHandler;
+    private final BatchRetryBackoff retryBackoff;
+    private final int batchSize;
+    private final int capacity;
+    private final Duration linger;
+
+    private final Object lock = new Object();
+    private final Set<CompletableFuture<Void>> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<Key, T> failed = new LinkedHashMap<>();
+    private Map<Key, T> pending = new LinkedHashMap<>();
+    private boolean lingerScheduled;
+
+    /**
+     * @param configuration the write-behind configuration
+     * @param retryBackoff the backoff between the attempts to write the items which were not written
+     * @param keyExtractor function returning the key of the item
+     * @param batchWriter function writing the batch once and returning the items which were not processed
+     * @param writtenItemsConsumer consumer notified about the items written by every batch
+     * @param failureHandler handler notified about the items which were not written even after all the attempts
+     */
+    WriteBehindBuffer(
+        DynamoDBWriteBehindConfiguration configuration,
+        BatchRetryBackoff retryBackoff,
+        Function<T, Key> keyExtractor,
+        Function<List<T>, Mono<List<T>>> batchWriter,
+        Consumer<List<T>> writtenItemsConsumer,
+        Consumer<FailedBatchRequestException> failureHandler
+    ) {
+        this.retryBackoff = retryBackoff;
+        this.keyExtractor = keyExtractor;
+        this.batchWriter = batchWriter;
+        this.writtenItemsConsumer = writtenItemsConsumer;
+        this.failureHandler = failureHandler;
+        this.batchSize = Math.max(1, Math.min(configuration.getBatchSize(), 25));
+        this.capacity = Math.max(batchSize, configuration.getCapacity());
+        this.linger = configuration.getLinger();
+    }
+
+    /**
+     * Adds the item to the buffer.
+     * @param item the item to be saved
+     * @return mono completing with the item once the item is in the buffer
+     */
+    Mono<T> add(T item) {
+        return Mono.defer(() -> {
+            Key key = keyExtractor.apply(item);
+            boolean full = false;
+            boolean scheduleLinger = false;
+
+            synchronized (lock) {
+                if (pending.size() >= capacity && !pending.containsKey(key)) {
+                    full = true;
+                } else {
+                    pending.put(key, item);
+                    if (!lingerScheduled) {
+                        lingerScheduled = true;
+                        scheduleLinger = true;
+                    }
+                }
+            }
+
+            if (full) {
+                LOGGER.debug("Write-behind buffer is full, waiting for the buffered items to be written");
+                return waitForWrites().then(add(item));
+            }
+
+            if (scheduleLinger) {
+                Schedulers.parallel().schedule(this::writeAll, linger.toMillis(), TimeUnit.MILLISECONDS);
+            }
+
+            writeFullBatches();
+
+            return Mono.just(item);
+        });
+    }
+
+    /**
+     * Writes all the buffered items.
+     * @return mono completing once all the buffered items and the batches being written are written or failing with
+     *          {@link FailedBatchRequestException} if some items have not been written since the last flush
+     */
+    Mono<Void> flush() {
+        return waitForWrites().then(Mono.defer(() -> {
+            List<T> failedItems;
+            synchronized (lock) {
+                if (failed.isEmpty()) {
+                    return Mono.empty();
+                }
+                failedItems = new ArrayList<>(failed.values());
+                failed.clear();
+            }
+            return Mono.error(new FailedBatchRequestException("Failed to write buffered items", failedItems));
+        }));
+    }
+
+    /**
+     * @return the number of items waiting in the buffer
+     */
+    int size() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    private Mono<Void> waitForWrites() {
+        return Mono.defer(() -> {
+            writeAll();
+            return Mono.fromFuture(CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])));
+        });
+    }
+
+    private void writeFullBatches() {
+        Batch<T> batch;
+        while ((batch = takeBatch(true)) != null) {
+            write(batch);
+        }
+    }
+
+    private void writeAll() {
+        synchronized (lock) {
+            lingerScheduled = false;
+        }
+        Batch<T> batch;
+        while ((batch = takeBatch(false)) != null) {
+            write(batch);
+        }
+    }
+
+    private Batch<T> takeBatch(boolean onlyFull) {
+        synchronized (lock) {
+            if (pending.isEmpty() || onlyFull && pending.size() < batchSize) {
+                return null;
+            }
+
+            List<T> items = new ArrayList<>(Math.min(batchSize, pending.size()));
+            Iterator<T> iterator = pending.values().iterator();
+            while (iterator.hasNext() && items.size() < batchSize) {
+                items.add(iterator.next());
+                iterator.remove();
+            }
+
+            // registered before the lock is released so the flush always sees the items either pending or in flight
+            CompletableFuture<Void> written = new CompletableFuture<>();
+            inFlight.add(written);
+            return new Batch<>(items, written);
+        }
+    }
+
+    private void write(Batch<T> batch) {
+        write(batch.items(), 1)
+            .onErrorResume(e -> {
+                LOGGER.error("Failed to handle batch of " + batch.items().size() + " buffered items", e);
+                return Mono.empty();
+            })
+            .doFinally(signal -> {
+                batch.written().complete(null);
+                inFlight.remove(batch.written());
+            })
+            .subscribe();
+    }
+
+    private Mono<Void> write(List<T> items, int attempt) {
+        if (items.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return Mono.defer(() -> batchWriter.apply(items))
+            .defaultIfEmpty(List.of())
+            .onErrorResume(e -> {
+                LOGGER.warn("Failed to write batch of " + items.size() + " buffered items (attempt " + attempt + ")", e);
+                return retryOrFail(items, attempt, e).then(Mono.empty());
+            })
+            .flatMap(unprocessed -> {
+                Set<Key> unprocessedKeys = unprocessed.stream().map(keyExtractor).collect(Collectors.toSet());
+                List<T> written = items.stream().filter(i -> !unprocessedKeys.contains(keyExtractor.apply(i))).toList();
+                forgetFailures(written);
+                writtenItemsConsumer.accept(written);
+                return retryOrFail(unprocessed, attempt, null);
+            });
+    }
+
+    private Mono<Void> retryOrFail(List<T> items, int attempt, @Nullable Throwable error) {
+        if (items.isEmpty()) {
+            return Mono.empty();
+        }
+
+        if (retryBackoff.canRetry(attempt)) {
+            LOGGER.debug("{} buffered items were not written, retrying (attempt {})", items.size(), attempt + 1);
+            return Mono.delay(retryBackoff.delay(attempt)).then(Mono.defer(() -> write(withoutSuperseded(items), attempt + 1)));
+        }
+
+        FailedBatchRequestException exception = new FailedBatchRequestException("Failed to write " + items.size() + " buffered items after " + attempt + " attempts", items);
+        if (error != null) {
+            exception.initCause(error);
+        }
+
+        LOGGER.error(exception.getMessage(), error);
+
+        synchronized (lock) {
+            for (T item : items) {
+                // keep at most as many failed items as the buffer can hold, the rest is only reported to the handler
+                if (failed.size() < capacity || failed.containsKey(keyExtractor.apply(item))) {
+                    failed.put(keyExtractor.apply(item), item);
+                }
+            }
+        }
+
+        failureHandler.accept(exception);
+        return Mono.empty();
+    }
+
+    /**
+     * Forgets the earlier failures of the items whose newer versions have been written.
+     */
+    private void forgetFailures(List<T> written) {
+        synchronized (lock) {
+            if (!failed.isEmpty()) {
+                written.forEach(i -> failed.remove(keyExtractor.apply(i)));
+            }
+        }
+    }
+
+    /**
+     * @return the items which were not saved again in the meantime, the newer versions are written by their own batches
+     */
+    private List<T> withoutSuperseded(List<T> items) {
+        synchronized (lock) {
+            return items.stream().filter(i -> !pending.containsKey(keyExtractor.apply(i))).toList();
+        }
+    }
+
+    private record Batch<T>(List<T> items, CompletableFuture<Void> written) { }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert.CompressionCodec;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert.GzipCompressionCodec;
+
+import java.lang.annotation.*;
+
+/**
+ * Specifies that the string property is persisted compressed as binary attribute.
+ *
+ * The values shorter than the threshold are persisted uncompressed. The first byte of the persisted value identifies the codec
+ * so the codec can be changed later without migrating the existing values.
+ *
+ */
+@Inherited
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.ANNOTATION_TYPE, ElementType.FIELD, ElementType.METHOD})
+public @interface Compressed {
+
+    /**
+     * @return the codec used to compress the values, the codec is either obtained from the application context or instantiated using the default constructor
+     */
+    Class<? extends CompressionCodec> codec() default GzipCompressionCodec.class;
+
+    /**
+     * @return the minimal size of the value in bytes (UTF-8) to be compressed
+     */
+    int threshold() default 0;
+
+}
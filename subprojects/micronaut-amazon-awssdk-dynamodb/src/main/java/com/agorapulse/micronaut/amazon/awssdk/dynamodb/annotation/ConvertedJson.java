@@ -22,6 +22,9 @@ import java.lang.annotation.*;
 /**
  * Specifies that the property is persisted as JSON string. Requires micronaut-jackson-databind to be on the classpath.
  *
+ * The value is serialized using the application's JSON mapper. Use {@link #format()} to persist the value as native
+ * DynamoDB map or list or as binary CBOR or Smile which is usually smaller and faster to parse than the JSON string.
+ *
  */
 @Inherited
 @Documented
@@ -29,4 +32,36 @@ import java.lang.annotation.*;
 @Target({ElementType.ANNOTATION_TYPE, ElementType.FIELD, ElementType.METHOD})
 public @interface ConvertedJson {
 
+    /**
+     * The format of the persisted value.
+     */
+    enum Format {
+
+        /**
+         * JSON string persisted as string attribute.
+         */
+        STRING,
+
+        /**
+         * Native DynamoDB attributes, objects are persisted as maps and arrays as lists.
+         */
+        NATIVE,
+
+        /**
+         * CBOR persisted as binary attribute. Requires jackson-dataformat-cbor to be on the classpath.
+         */
+        CBOR,
+
+        /**
+         * Smile persisted as binary attribute. Requires jackson-dataformat-smile to be on the classpath.
+         */
+        SMILE
+
+    }
+
+    /**
+     * @return the format of the persisted value
+     */
+    Format format() default Format.STRING;
+
 }
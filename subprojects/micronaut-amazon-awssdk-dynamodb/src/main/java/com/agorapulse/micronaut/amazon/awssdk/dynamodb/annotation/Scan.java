@@ -34,4 +34,13 @@ public @interface Scan {
 
     Class<? extends Function<Map<String, Object>, DetachedScan>> value();
 
+    /**
+     * The number of segments scanned concurrently.
+     *
+     * Values greater than one turn the scan into a parallel scan, see {@link com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.ScanBuilder#parallel(int)}.
+     *
+     * @return the number of segments scanned concurrently
+     */
+    int parallel() default 1;
+
 }
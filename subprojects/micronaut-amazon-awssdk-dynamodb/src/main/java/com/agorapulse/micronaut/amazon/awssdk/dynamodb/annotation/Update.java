@@ -34,4 +34,14 @@ public @interface Update {
 
     Class<? extends Function<Map<String, Object>, DetachedUpdate>> value();
 
+    /**
+     * Whether the items matched by {@link Query} or {@link Scan} should be updated in transactions of up to 100 items.
+     * <p>
+     * Either all the updates within a single transaction succeed or none of them is applied. The transactional updates
+     * return the updated items with the values before the update.
+     * </p>
+     * @return <code>true</code> if the items should be updated in transactions
+     */
+    boolean transactional() default false;
+
 }
@@ -72,7 +72,7 @@ public class Builders {
      * @return query builder for given DynamoDB entity
      */
     public static <T> QueryBuilder<T> query() {
-        return new DefaultQueryBuilder<>(QueryEnhancedRequest.builder().limit(DEFAULT_QUERY_LIMIT));
+        return new DefaultQueryBuilder<>(QueryEnhancedRequest.builder(), DEFAULT_QUERY_LIMIT);
     }
 
     /**
@@ -122,7 +122,7 @@ public class Builders {
      * @return scan builder for given DynamoDB entity
      */
     public static <T> ScanBuilder<T> scan() {
-        return new DefaultScanBuilder<T>(ScanEnhancedRequest.builder().limit(DEFAULT_QUERY_LIMIT));
+        return new DefaultScanBuilder<T>(ScanEnhancedRequest.builder(), DEFAULT_QUERY_LIMIT);
     }
 
     /**
@@ -201,4 +201,27 @@ public class Builders {
         return definition.apply(builder);
     }
 
+    /**
+     * Creates condition check builder for given DynamoDB entity.
+     *
+     * @param <T> type of DynamoDB entity
+     * @return condition check builder for given DynamoDB entity
+     */
+    public static <T> ConditionCheckBuilder<T> conditionCheck() {
+        return new DefaultConditionCheckBuilder<>();
+    }
+
+    /**
+     * Creates condition check builder for given DynamoDB entity.
+     *
+     * @param definition definition of the condition check
+     * @param <T> type of DynamoDB entity
+     * @return condition check builder for given DynamoDB entity
+     */
+    public static <T> ConditionCheckBuilder<T> conditionCheck(Consumer<ConditionCheckBuilder<T>> definition) {
+        ConditionCheckBuilder<T> builder = conditionCheck();
+        definition.accept(builder);
+        return builder;
+    }
+
 }
@@ -0,0 +1,55 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder;
+
+import java.util.function.Consumer;
+
+/**
+ * Builder for the condition checks of the DynamoDB transactions.
+ *
+ * The condition check does not modify the item but the whole transaction fails if the condition is not met.
+ *
+ * @param <T> type of the DynamoDB entity
+ */
+public interface ConditionCheckBuilder<T> extends DetachedConditionCheck<T> {
+
+    /**
+     * Sets the partition key value of the checked entity.
+     * @param key the partition key of the checked entity
+     * @return self
+     */
+    ConditionCheckBuilder<T> partitionKey(Object key);
+
+    /**
+     * Sets the sort key value of the checked entity.
+     * @param key the sort key of the checked entity
+     * @return self
+     */
+    ConditionCheckBuilder<T> sortKey(Object key);
+
+    /**
+     * One or more conditions which must be met by the checked entity.
+     *
+     * Multiple calls are combined using the logical <code>and</code>.
+     *
+     * @param conditions consumer to build the conditions
+     * @return self
+     */
+    ConditionCheckBuilder<T> condition(Consumer<FilterConditionCollector<T>> conditions);
+
+}
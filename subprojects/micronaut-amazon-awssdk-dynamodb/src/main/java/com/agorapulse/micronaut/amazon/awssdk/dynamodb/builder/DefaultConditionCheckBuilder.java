@@ -0,0 +1,82 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.AttributeConversionHelper;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.MappedTableResource;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.model.ConditionCheck;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Consumer;
+
+class DefaultConditionCheckBuilder<T> implements ConditionCheckBuilder<T> {
+
+    // fields are prefixed with "__" to allow groovy evaluation of the arguments
+    private final List<Consumer<FilterConditionCollector<T>>> __conditions = new LinkedList<>();
+    private Object __hash;
+    private Object __range;
+
+    @Override
+    public ConditionCheckBuilder<T> partitionKey(Object key) {
+        this.__hash = key;
+        return this;
+    }
+
+    @Override
+    public ConditionCheckBuilder<T> sortKey(Object key) {
+        this.__range = key;
+        return this;
+    }
+
+    @Override
+    public ConditionCheckBuilder<T> condition(Consumer<FilterConditionCollector<T>> conditions) {
+        __conditions.add(conditions);
+        return this;
+    }
+
+    @Override
+    public ConditionCheck<T> resolveRequest(MappedTableResource<T> mapper, AttributeConversionHelper attributeConversionHelper) {
+        if (__hash == null) {
+            throw new IllegalArgumentException("Partition key must be defined for condition check on entity " + mapper.tableSchema().itemType().rawClass());
+        }
+
+        if (__conditions.isEmpty()) {
+            throw new IllegalArgumentException("At least one condition must be defined for condition check on entity " + mapper.tableSchema().itemType().rawClass());
+        }
+
+        Key.Builder key = Key.builder();
+        key.partitionValue(attributeConversionHelper.convert(mapper, mapper.tableSchema().tableMetadata().primaryPartitionKey(), __hash));
+
+        if (__range != null) {
+            String sortKey = mapper.tableSchema().tableMetadata().primarySortKey().orElseThrow(() -> new IllegalArgumentException("Range key defined for condition check but none present on entity " + mapper.tableSchema().itemType().rawClass()));
+            key.sortValue(attributeConversionHelper.convert(mapper, sortKey, __range));
+        }
+
+        DefaultFilterConditionCollector<T> collector = new DefaultFilterConditionCollector<>(mapper, attributeConversionHelper);
+        __conditions.forEach(c -> c.accept(collector));
+
+        return ConditionCheck.builder()
+            .key(key.build())
+            .conditionExpression(collector.getCondition().expression(mapper.tableSchema(), TableMetadata.primaryIndexName()))
+            .build();
+    }
+
+}
@@ -19,7 +19,9 @@ package com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder;
 
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.AttributeConversionHelper;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.conditional.QueryConditionalFactory;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema.ProjectionTableSchema;
 import io.micronaut.core.util.CollectionUtils;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import software.amazon.awssdk.core.async.SdkPublisher;
@@ -33,14 +35,18 @@ import software.amazon.awssdk.enhanced.dynamodb.model.Page;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.Select;
 
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -49,8 +55,9 @@ import java.util.stream.Collectors;
  */
 class DefaultQueryBuilder<T> implements QueryBuilder<T> {
 
-    DefaultQueryBuilder(QueryEnhancedRequest.Builder expression) {
-        this.__expression = expression;
+    DefaultQueryBuilder(QueryEnhancedRequest.Builder expression, int defaultPage) {
+        this.__expression = expression.limit(defaultPage);
+        this.__defaultPage = defaultPage;
     }
 
     @Override
@@ -107,6 +114,7 @@ class DefaultQueryBuilder<T> implements QueryBuilder<T> {
 
     @Override
     public DefaultQueryBuilder<T> page(int page) {
+        this.__page = page;
         __expression.limit(page);
         return this;
     }
@@ -117,6 +125,15 @@ class DefaultQueryBuilder<T> implements QueryBuilder<T> {
         return this;
     }
 
+    @Override
+    public QueryBuilder<T> prefetch(int pages) {
+        if (pages < 0) {
+            throw new IllegalArgumentException("Prefetch must not be negative but was " + pages);
+        }
+        this.__prefetch = pages;
+        return this;
+    }
+
     @Override
     public QueryBuilder<T> lastEvaluatedKey(Object lastEvaluatedKey) {
         this.__lastEvaluatedKey = lastEvaluatedKey;
@@ -125,46 +142,74 @@ class DefaultQueryBuilder<T> implements QueryBuilder<T> {
 
     @Override
     public int count(DynamoDbTable<T> mapper, AttributeConversionHelper attributeConversionHelper) {
-        // TODO: use select
-        return Flux.from(query(mapper, attributeConversionHelper)).count().blockOptional().map(Long::intValue).orElse(0);
+        QueryEnhancedRequest request = resolveCountRequest(mapper, attributeConversionHelper);
+        SdkIterable<Page<T>> pages = this.__index == null ? mapper.query(request) : mapper.index(__index).query(request);
+
+        long count = 0;
+        for (Page<T> page : pages) {
+            count += countItems(page);
+            if (count >= __max) {
+                return __max;
+            }
+        }
+        return (int) count;
     }
 
     @Override
     public Mono<Long> count(DynamoDbAsyncTable<T> mapper, AttributeConversionHelper attributeConversionHelper) {
-        return query(mapper, attributeConversionHelper).count();
+        QueryEnhancedRequest request = resolveCountRequest(mapper, attributeConversionHelper);
+        Publisher<Page<T>> pages = this.__index == null ? mapper.query(request) : mapper.index(__index).query(request);
+
+        return Flux.from(pages)
+            .scan(0L, (count, page) -> count + countItems(page))
+            .takeUntil(count -> count >= __max)
+            .last(0L)
+            .map(count -> Math.min(count, __max));
     }
 
     @Override
     public Flux<T> query(DynamoDbTable<T> mapper, AttributeConversionHelper attributeConversionHelper) {
-        QueryEnhancedRequest request = resolveRequest(mapper, attributeConversionHelper);
-        SdkIterable<Page<T>> iterable = this.__index == null ? mapper.query(request) : mapper.index(__index).query(request);
-        Flux<T> results = Flux.fromIterable(iterable).flatMap(p -> Flux.fromIterable(p.items()));
+        return query(mapper, attributeConversionHelper, PageObserver.NONE);
+    }
+
+    @Override
+    public Flux<T> query(DynamoDbTable<T> mapper, AttributeConversionHelper attributeConversionHelper, PageObserver observer) {
+        QueryEnhancedRequest request = resolveObservedRequest(mapper, attributeConversionHelper, observer);
         if (__max < Integer.MAX_VALUE) {
-            return results.take(__max);
+            return queryLimited(request, r -> ObservedPages.observe(Flux.fromIterable(this.__index == null ? mapper.query(r) : mapper.index(__index).query(r)), observer, __index));
         }
-        return results;
+        SdkIterable<Page<T>> iterable = this.__index == null ? mapper.query(request) : mapper.index(__index).query(request);
+        return Flux.from(ObservedPages.observe(Flux.fromIterable(iterable), observer, __index)).flatMap(p -> Flux.fromIterable(p.items()));
     }
 
     @Override
     public QueryEnhancedRequest resolveRequest(MappedTableResource<T> mapper, AttributeConversionHelper attributeConversionHelper) {
         applyRangeConditions(mapper, attributeConversionHelper, __expression::queryConditional);
         String currentIndex = __index == null ? TableMetadata.primaryIndexName() : __index;
-        applyFilterConditions(mapper, attributeConversionHelper, cond -> __expression.filterExpression(cond.expression(mapper.tableSchema(), currentIndex)));
+        applyFilterConditions(mapper, attributeConversionHelper, cond -> __expression.filterExpression(QueryConditionalFactory.filterExpression(cond, mapper.tableSchema(), currentIndex)));
         applyLastEvaluatedKey(__expression, mapper);
         __configurer.accept(__expression);
 
-        return __expression.build();
+        return projected(__expression.build(), mapper);
     }
 
     @Override
     public Flux<T> query(DynamoDbAsyncTable<T> mapper, AttributeConversionHelper attributeConversionHelper) {
-        QueryEnhancedRequest request = resolveRequest(mapper, attributeConversionHelper);
-        SdkPublisher<Page<T>> iterable = this.__index == null ? mapper.query(request) : mapper.index(__index).query(request);
-        Flux<T> results = Flux.from(iterable).flatMap(p -> Flux.fromIterable(p.items()));
+        return query(mapper, attributeConversionHelper, PageObserver.NONE);
+    }
+
+    @Override
+    public Flux<T> query(DynamoDbAsyncTable<T> mapper, AttributeConversionHelper attributeConversionHelper, PageObserver observer) {
+        QueryEnhancedRequest request = resolveObservedRequest(mapper, attributeConversionHelper, observer);
         if (__max < Integer.MAX_VALUE) {
-            return results.take(__max);
+            return queryLimited(request, r -> ObservedPages.observe(this.__index == null ? mapper.query(r) : mapper.index(__index).query(r), observer, __index));
+        }
+        SdkPublisher<Page<T>> iterable = this.__index == null ? mapper.query(request) : mapper.index(__index).query(request);
+        Flux<Page<T>> pages = Flux.from(ObservedPages.observe(iterable, observer, __index));
+        if (__prefetch > 0) {
+            return PagePrefetcher.items(pages, __prefetch);
         }
-        return results;
+        return pages.flatMap(p -> Flux.fromIterable(p.items()));
     }
 
     @Override
@@ -179,6 +224,51 @@ class DefaultQueryBuilder<T> implements QueryBuilder<T> {
         return this;
     }
 
+    private static QueryEnhancedRequest projected(QueryEnhancedRequest request, MappedTableResource<?> mapper) {
+        // the projection table only needs the attributes of the projection, the builder is left untouched so it can be reused
+        if (mapper.tableSchema() instanceof ProjectionTableSchema<?> projection && CollectionUtils.isEmpty(request.attributesToProject())) {
+            return request.toBuilder().attributesToProject(projection.getProjectedAttributes()).build();
+        }
+        return request;
+    }
+
+    private QueryEnhancedRequest resolveCountRequest(MappedTableResource<T> mapper, AttributeConversionHelper attributeConversionHelper) {
+        QueryEnhancedRequest request = resolveRequest(mapper, attributeConversionHelper);
+        QueryEnhancedRequest.Builder builder = request.toBuilder()
+            .select(Select.COUNT)
+            .attributesToProject((Collection<String>) null);
+
+        if (__page == null && Objects.equals(request.limit(), __defaultPage)) {
+            // only the number of matching items is returned so there is no reason to use the default small page size
+            builder.limit(null);
+        }
+
+        return builder.build();
+    }
+
+    private QueryEnhancedRequest resolveObservedRequest(MappedTableResource<T> mapper, AttributeConversionHelper attributeConversionHelper, PageObserver observer) {
+        QueryEnhancedRequest request = resolveRequest(mapper, attributeConversionHelper);
+        if (observer.isConsumedCapacityRequired()) {
+            return request.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        return request;
+    }
+
+    private Flux<T> queryLimited(QueryEnhancedRequest request, Function<QueryEnhancedRequest, Publisher<Page<T>>> pageQuery) {
+        // the page size is derived from the number of the remaining items so the query does not read more items than required
+        return LimitedPageSizer.fetch(__max, __page, request.filterExpression() != null, (pageSize, lastEvaluatedKey) -> {
+            QueryEnhancedRequest.Builder builder = request.toBuilder().limit(pageSize);
+            if (lastEvaluatedKey != null) {
+                builder.exclusiveStartKey(lastEvaluatedKey);
+            }
+            return pageQuery.apply(builder.build());
+        }).flatMapIterable(Page::items).take(__max);
+    }
+
+    private static long countItems(Page<?> page) {
+        return page.count() == null ? page.items().size() : page.count();
+    }
+
     private void applyRangeConditions(
         MappedTableResource<T> model,
         AttributeConversionHelper attributeConversionHelper,
@@ -198,7 +288,7 @@ class DefaultQueryBuilder<T> implements QueryBuilder<T> {
         String partitionKey = model.tableSchema().tableMetadata().indexPartitionKey(__index);
         QueryConditional hashCondition = QueryConditionalFactory.equalTo(partitionKey, attributeConversionHelper.convert(model, partitionKey, __hash));
 
-        addFilterConsumer.accept(QueryConditionalFactory.and(hashCondition, rangeCollector.getCondition()));
+        addFilterConsumer.accept(QueryConditionalFactory.keyCondition(QueryConditionalFactory.and(hashCondition, rangeCollector.getCondition())));
     }
 
     private void applyFilterConditions(
@@ -247,13 +337,16 @@ class DefaultQueryBuilder<T> implements QueryBuilder<T> {
     // fields are prefixed with "__" to allow groovy evaluation of the arguments
     // otherwise if the argument has the same name (such as max) it will be ignored and field value will be used
     private final QueryEnhancedRequest.Builder __expression;
+    private final int __defaultPage;
     private final List<Consumer<FilterConditionCollector<T>>> __filterCollectorsConsumers = new LinkedList<>();
     private final List<Consumer<KeyConditionCollector<T>>> __queryConditionals = new LinkedList<>();
 
     private String __index = TableMetadata.primaryIndexName();
     private Object __hash;
     private Object __lastEvaluatedKey;
+    private Integer __page;
     private int __max = Integer.MAX_VALUE;
+    private int __prefetch;
     private Consumer<QueryEnhancedRequest.Builder> __configurer = b -> {};
 
 }
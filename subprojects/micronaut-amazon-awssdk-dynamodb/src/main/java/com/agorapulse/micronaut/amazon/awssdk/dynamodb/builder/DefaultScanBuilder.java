@@ -18,10 +18,13 @@
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder;
 
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.AttributeConversionHelper;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.conditional.QueryConditionalFactory;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema.ProjectionTableSchema;
 import io.micronaut.core.util.CollectionUtils;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
@@ -32,14 +35,19 @@ import software.amazon.awssdk.enhanced.dynamodb.model.Page;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.Select;
 
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -48,8 +56,9 @@ import java.util.stream.Collectors;
  */
 class DefaultScanBuilder<T> implements ScanBuilder<T> {
 
-    DefaultScanBuilder(ScanEnhancedRequest.Builder expression) {
-        this.__expression = expression;
+    DefaultScanBuilder(ScanEnhancedRequest.Builder expression, int defaultPage) {
+        this.__expression = expression.limit(defaultPage);
+        this.__defaultPage = defaultPage;
     }
 
     @Override
@@ -84,6 +93,7 @@ class DefaultScanBuilder<T> implements ScanBuilder<T> {
 
     @Override
     public DefaultScanBuilder<T> page(int page) {
+        this.__page = page;
         __expression.limit(page);
         return this;
     }
@@ -100,48 +110,76 @@ class DefaultScanBuilder<T> implements ScanBuilder<T> {
         return this;
     }
 
+    @Override
+    public DefaultScanBuilder<T> prefetch(int pages) {
+        if (pages < 0) {
+            throw new IllegalArgumentException("Prefetch must not be negative but was " + pages);
+        }
+        this.__prefetch = pages;
+        return this;
+    }
+
+    @Override
+    public DefaultScanBuilder<T> parallel(int totalSegments) {
+        if (totalSegments < 1) {
+            throw new IllegalArgumentException("Total segments must be at least 1 but was " + totalSegments);
+        }
+        this.__totalSegments = totalSegments;
+        return this;
+    }
+
     @Override
     public int count(DynamoDbTable<T> mapper, AttributeConversionHelper attributeConversionHelper) {
-        // TODO: use select
-        return Flux.from(scan(mapper, attributeConversionHelper)).count().blockOptional().map(Long::intValue).orElse(0);
+        ScanEnhancedRequest request = resolveCountRequest(mapper, attributeConversionHelper);
+        return countPages(scanPages(request, r -> scanSegment(mapper, r))).blockOptional().map(Long::intValue).orElse(0);
     }
 
     @Override
     public Mono<Long> count(DynamoDbAsyncTable<T> mapper, AttributeConversionHelper attributeConversionHelper) {
-        return scan(mapper, attributeConversionHelper).count();
+        ScanEnhancedRequest request = resolveCountRequest(mapper, attributeConversionHelper);
+        return countPages(scanPages(request, r -> scanSegment(mapper, r)));
     }
 
     @Override
     public Flux<T> scan(DynamoDbTable<T> mapper, AttributeConversionHelper attributeConversionHelper) {
-        ScanEnhancedRequest request = resolveRequest(mapper, attributeConversionHelper);
-        SdkIterable<Page<T>> iterable = this.__index == null ? mapper.scan(request) : mapper.index(__index).scan(request);
-        Flux<T> results = Flux.fromIterable(iterable).flatMap(p -> Flux.fromIterable(p.items()));
+        return scan(mapper, attributeConversionHelper, PageObserver.NONE);
+    }
+
+    @Override
+    public Flux<T> scan(DynamoDbAsyncTable<T> mapper, AttributeConversionHelper attributeConversionHelper) {
+        return scan(mapper, attributeConversionHelper, PageObserver.NONE);
+    }
+
+    @Override
+    public Flux<T> scan(DynamoDbTable<T> mapper, AttributeConversionHelper attributeConversionHelper, PageObserver observer) {
+        ScanEnhancedRequest request = resolveObservedRequest(mapper, attributeConversionHelper, observer);
         if (__max < Integer.MAX_VALUE) {
-            return results.take(__max);
+            return scanLimited(request, l -> ObservedPages.observe(scanSegment(mapper, l), observer, __index));
         }
-        return results;
+        return scanPages(request, r -> ObservedPages.observe(scanSegment(mapper, r), observer, __index)).flatMapIterable(Page::items);
     }
 
     @Override
-    public Flux<T> scan(DynamoDbAsyncTable<T> mapper, AttributeConversionHelper attributeConversionHelper) {
-        ScanEnhancedRequest request = resolveRequest(mapper, attributeConversionHelper);
-        Publisher<Page<T>> iterable = this.__index == null ? mapper.scan(request) : mapper.index(__index).scan(request);
-        Flux<T> results = Flux.from(iterable).flatMap(p -> Flux.fromIterable(p.items()));
+    public Flux<T> scan(DynamoDbAsyncTable<T> mapper, AttributeConversionHelper attributeConversionHelper, PageObserver observer) {
+        ScanEnhancedRequest request = resolveObservedRequest(mapper, attributeConversionHelper, observer);
         if (__max < Integer.MAX_VALUE) {
-            return results.take(__max);
+            return scanLimited(request, l -> ObservedPages.observe(scanSegment(mapper, l), observer, __index));
         }
-        return results;
+        if (__prefetch > 0) {
+            return PagePrefetcher.items(scanPages(request, r -> ObservedPages.observe(scanSegment(mapper, r), observer, __index)), __prefetch);
+        }
+        return scanPages(request, r -> ObservedPages.observe(scanSegment(mapper, r), observer, __index)).flatMapIterable(Page::items);
     }
 
     @Override
     public ScanEnhancedRequest resolveRequest(MappedTableResource<T> mapper, AttributeConversionHelper attributeConversionHelper) {
         String currentIndex = __index == null ? TableMetadata.primaryIndexName() : __index;
-        applyConditions(mapper, attributeConversionHelper, __filterCollectorsConsumers, cond -> __expression.filterExpression(cond.expression(mapper.tableSchema(), currentIndex)));
+        applyConditions(mapper, attributeConversionHelper, __filterCollectorsConsumers, cond -> __expression.filterExpression(QueryConditionalFactory.filterExpression(cond, mapper.tableSchema(), currentIndex)));
         applyLastEvaluatedKey(__expression, mapper);
 
         __configurer.accept(__expression);
 
-        return __expression.build();
+        return projected(__expression.build(), mapper);
     }
 
     @Override
@@ -156,6 +194,92 @@ class DefaultScanBuilder<T> implements ScanBuilder<T> {
         return this;
     }
 
+    private static ScanEnhancedRequest projected(ScanEnhancedRequest request, MappedTableResource<?> mapper) {
+        // the projection table only needs the attributes of the projection, the builder is left untouched so it can be reused
+        if (mapper.tableSchema() instanceof ProjectionTableSchema<?> projection && CollectionUtils.isEmpty(request.attributesToProject())) {
+            return request.toBuilder().attributesToProject(projection.getProjectedAttributes()).build();
+        }
+        return request;
+    }
+
+    private ScanEnhancedRequest resolveCountRequest(MappedTableResource<T> mapper, AttributeConversionHelper attributeConversionHelper) {
+        ScanEnhancedRequest request = resolveRequest(mapper, attributeConversionHelper);
+        ScanEnhancedRequest.Builder builder = request.toBuilder()
+            .select(Select.COUNT)
+            .attributesToProject((Collection<String>) null);
+
+        if (__page == null && Objects.equals(request.limit(), __defaultPage)) {
+            // only the number of matching items is returned so there is no reason to use the default small page size
+            builder.limit(null);
+        }
+
+        return builder.build();
+    }
+
+    private ScanEnhancedRequest resolveObservedRequest(MappedTableResource<T> mapper, AttributeConversionHelper attributeConversionHelper, PageObserver observer) {
+        ScanEnhancedRequest request = resolveRequest(mapper, attributeConversionHelper);
+        if (observer.isConsumedCapacityRequired()) {
+            return request.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        return request;
+    }
+
+    private static long countItems(Page<?> page) {
+        return page.count() == null ? page.items().size() : page.count();
+    }
+
+    private Mono<Long> countPages(Flux<Page<T>> pages) {
+        return pages
+            .scan(0L, (count, page) -> count + countItems(page))
+            .takeUntil(count -> count >= __max)
+            .last(0L)
+            .map(count -> Math.min(count, __max));
+    }
+
+    private Publisher<Page<T>> scanSegment(DynamoDbTable<T> mapper, ScanEnhancedRequest request) {
+        SdkIterable<Page<T>> iterable = this.__index == null ? mapper.scan(request) : mapper.index(__index).scan(request);
+        Flux<Page<T>> pages = Flux.fromIterable(iterable);
+        if (__totalSegments > 1) {
+            // the synchronous client blocks while fetching the pages so each segment needs its own thread
+            return pages.subscribeOn(Schedulers.boundedElastic());
+        }
+        return pages;
+    }
+
+    private Publisher<Page<T>> scanSegment(DynamoDbAsyncTable<T> mapper, ScanEnhancedRequest request) {
+        return this.__index == null ? mapper.scan(request) : mapper.index(__index).scan(request);
+    }
+
+    private Flux<T> scanLimited(ScanEnhancedRequest request, Function<ScanEnhancedRequest, Publisher<Page<T>>> segmentScanner) {
+        // the page size is derived from the number of the remaining items so the scan does not read more items than required
+        // the segments of the parallel scan share the number of the remaining items
+        return Flux.defer(() -> {
+            AtomicInteger remaining = new AtomicInteger(__max);
+            return scanPages(request, r -> LimitedPageSizer.fetch(remaining, __totalSegments, __page, request.filterExpression() != null, (pageSize, lastEvaluatedKey) -> {
+                ScanEnhancedRequest.Builder builder = r.toBuilder().limit(pageSize);
+                if (lastEvaluatedKey != null) {
+                    builder.exclusiveStartKey(lastEvaluatedKey);
+                }
+                return segmentScanner.apply(builder.build());
+            }));
+        }).flatMapIterable(Page::items).take(__max);
+    }
+
+    private Flux<Page<T>> scanPages(ScanEnhancedRequest request, Function<ScanEnhancedRequest, Publisher<Page<T>>> segmentScanner) {
+        if (__totalSegments <= 1) {
+            return Flux.from(segmentScanner.apply(request));
+        }
+
+        if (CollectionUtils.isNotEmpty(request.exclusiveStartKey())) {
+            throw new IllegalStateException("Parallel scan cannot be combined with the last evaluated key");
+        }
+
+        return Flux.range(0, __totalSegments).flatMap(
+            segment -> segmentScanner.apply(request.toBuilder().segment(segment).totalSegments(__totalSegments).build()),
+            __totalSegments
+        );
+    }
+
     private void applyConditions(
         MappedTableResource<T> table,
         AttributeConversionHelper attributeConversionHelper,
@@ -203,11 +327,15 @@ class DefaultScanBuilder<T> implements ScanBuilder<T> {
     // fields are prefixed with "__" to allow groovy evaluation of the arguments
     // otherwise if the argument has the same name (such as max) it will be ignored and field value will be used
     private final ScanEnhancedRequest.Builder __expression;
+    private final int __defaultPage;
     private final List<Consumer<FilterConditionCollector<T>>> __filterCollectorsConsumers = new LinkedList<>();
 
     private String __index = TableMetadata.primaryIndexName();
     private Object __lastEvaluatedKey;
+    private Integer __page;
     private int __max = Integer.MAX_VALUE;
+    private int __prefetch;
+    private int __totalSegments = 1;
     private Consumer<ScanEnhancedRequest.Builder> __configurer = b -> {};
 
 }
@@ -18,45 +18,55 @@
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder;
 
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.AttributeConversionHelper;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.UpdateExpressionTemplate.Operation;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbEvent;
 import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.reflect.ReflectionUtils;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Mono;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
+import software.amazon.awssdk.enhanced.dynamodb.DefaultAttributeConverterProvider;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.MappedTableResource;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
-import software.amazon.awssdk.services.dynamodb.model.AttributeAction;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-import software.amazon.awssdk.services.dynamodb.model.AttributeValueUpdate;
 import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
 import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 class DefaultUpdateBuilder<T, R> implements UpdateBuilder<T, R> {
 
+    private enum Action {
+        PUT, PUT_IF_ABSENT, ADD, APPEND, DELETE
+    }
+
     private static class Update {
         final String name;
-        final AttributeAction action;
+        final Action action;
         final Object value;
 
-        private Update(String name, AttributeAction action, Object value) {
+        private Update(String name, Action action, Object value) {
             this.name = name;
             this.action = action;
             this.value = value;
         }
     }
 
+    private static final DefaultAttributeConverterProvider DEFAULT_CONVERTERS = DefaultAttributeConverterProvider.create();
+
     // fields are prefixed with "__" to allow groovy evaluation of the arguments
     // otherwise if the argument has the same name (such as max) it will be ignored and field value will be used
     private final List<Update> __updates = new ArrayList<>();
@@ -81,19 +91,31 @@ class DefaultUpdateBuilder<T, R> implements UpdateBuilder<T, R> {
 
     @Override
     public UpdateBuilder<T, R> add(String attributeName, Object delta) {
-        __updates.add(new Update(attributeName, AttributeAction.ADD, delta));
+        __updates.add(new Update(attributeName, Action.ADD, delta));
         return this;
     }
 
     @Override
     public UpdateBuilder<T, R> put(String attributeName, Object value) {
-        __updates.add(new Update(attributeName, AttributeAction.PUT, value));
+        __updates.add(new Update(attributeName, Action.PUT, value));
+        return this;
+    }
+
+    @Override
+    public UpdateBuilder<T, R> putIfAbsent(String attributeName, Object value) {
+        __updates.add(new Update(attributeName, Action.PUT_IF_ABSENT, value));
+        return this;
+    }
+
+    @Override
+    public UpdateBuilder<T, R> append(String attributeName, Object values) {
+        __updates.add(new Update(attributeName, Action.APPEND, values instanceof Collection || values == null ? values : Collections.singletonList(values)));
         return this;
     }
 
     @Override
     public UpdateBuilder<T, R> delete(String attributeName) {
-        __updates.add(new Update(attributeName, AttributeAction.DELETE, null));
+        __updates.add(new Update(attributeName, Action.DELETE, null));
         return this;
     }
 
@@ -103,6 +125,18 @@ class DefaultUpdateBuilder<T, R> implements UpdateBuilder<T, R> {
         return this;
     }
 
+    @Override
+    public UpdateBuilder<T, R> copy() {
+        DefaultUpdateBuilder<T, R> copy = new DefaultUpdateBuilder<>();
+        copy.__updates.addAll(__updates);
+        copy.__returnValue = __returnValue;
+        copy.__returnValueMapper = __returnValueMapper;
+        copy.__hash = __hash;
+        copy.__range = __range;
+        copy.__configurer = __configurer;
+        return copy;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <N> UpdateBuilder<T, N> returns(ReturnValue returnValue, Function<T, N> mapper) {
@@ -113,9 +147,13 @@ class DefaultUpdateBuilder<T, R> implements UpdateBuilder<T, R> {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public R update(DynamoDbTable<T> mapper, DynamoDbClient client, AttributeConversionHelper attributeConversionHelper, ApplicationEventPublisher publisher) {
-        UpdateItemRequest request = resolveRequest(mapper, attributeConversionHelper);
+        return update(mapper, client, resolveRequest(mapper, attributeConversionHelper), attributeConversionHelper, publisher);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R update(DynamoDbTable<T> mapper, DynamoDbClient client, UpdateItemRequest request, AttributeConversionHelper attributeConversionHelper, ApplicationEventPublisher publisher) {
         T keyItem = mapper.tableSchema().mapToItem(request.key());
         publisher.publishEvent(DynamoDbEvent.preUpdate(keyItem));
 
@@ -137,7 +175,11 @@ class DefaultUpdateBuilder<T, R> implements UpdateBuilder<T, R> {
 
     @Override
     public Publisher<R> update(DynamoDbAsyncTable<T> mapper, DynamoDbAsyncClient client, AttributeConversionHelper attributeConversionHelper, ApplicationEventPublisher publisher) {
-        UpdateItemRequest request = resolveRequest(mapper, attributeConversionHelper);
+        return update(mapper, client, resolveRequest(mapper, attributeConversionHelper), attributeConversionHelper, publisher);
+    }
+
+    @Override
+    public Publisher<R> update(DynamoDbAsyncTable<T> mapper, DynamoDbAsyncClient client, UpdateItemRequest request, AttributeConversionHelper attributeConversionHelper, ApplicationEventPublisher publisher) {
         T keyItem = mapper.tableSchema().mapToItem(request.key());
         publisher.publishEvent(DynamoDbEvent.preUpdate(keyItem));
 
@@ -181,31 +223,161 @@ class DefaultUpdateBuilder<T, R> implements UpdateBuilder<T, R> {
         builder.key(key.build().primaryKeyMap(mapper.tableSchema()));
         builder.returnValues(__returnValue);
 
-        // TODO: switch to update expressions
-        Map<String, AttributeValueUpdate> attributeUpdates = new HashMap<>();
+        List<String> paths = new ArrayList<>(__updates.size());
+        List<Operation> operations = new ArrayList<>(__updates.size());
+        List<AttributeValue> values = new ArrayList<>(__updates.size());
 
-        Map<String, AttributeValue> converted = attributeConversionHelper.convert(
-            mapper,
-            __updates.stream()
-                .filter(u -> u.value != null)
-                .collect(Collectors.toMap(
-                    u -> u.name,
-                    u -> u.value
-                ))
-        );
+        // the names of the attributes are only required to tell the top level attributes containing dots or brackets from the paths
+        Collection<String> attributeNames = Collections.emptySet();
+        for (Update u : __updates) {
+            if (UpdateExpressionTemplate.isPath(u.name)) {
+                attributeNames = mapper.tableSchema().attributeNames();
+                break;
+            }
+        }
 
         for (Update u : __updates) {
-            attributeUpdates.put(
-                u.name,
-                AttributeValueUpdate.builder().action(u.action).value(converted.get(u.name)).build()
-            );
+            boolean nested = UpdateExpressionTemplate.isNested(u.name, attributeNames);
+            AttributeValue value = nested ? convertNested(mapper.tableSchema(), u.name, u.value) : attributeConversionHelper.convert(mapper, u.name, u.value);
+            Operation operation = resolveOperation(u.name, u.action, value, nested);
+
+            if (operation != null) {
+                paths.add(u.name);
+                operations.add(operation);
+                values.add(value);
+            }
         }
 
-        builder.attributeUpdates(attributeUpdates);
+        UpdateExpressionTemplate template = UpdateExpressionTemplate.get(paths, operations, attributeNames);
+        AttributeValue[] boundValues = values.toArray(new AttributeValue[0]);
+        template.apply(builder, boundValues);
 
         __configurer.accept(builder);
 
-        return builder.build();
+        // the configurer may replace the names and the values if it declares a condition expression
+        return template.merge(builder.build(), boundValues);
+    }
+
+    private static Operation resolveOperation(String path, Action action, AttributeValue value, boolean nested) {
+        switch (action) {
+            case DELETE:
+                return Operation.REMOVE;
+            case PUT:
+                return value == null ? Operation.REMOVE : Operation.SET;
+            case PUT_IF_ABSENT:
+                return value == null ? null : Operation.SET_IF_NOT_EXISTS;
+            case APPEND:
+                return value == null ? null : Operation.APPEND;
+            case ADD:
+                if (value == null) {
+                    return null;
+                }
+                if (value.hasL()) {
+                    // keeps the semantics of the legacy attribute updates which append to the lists
+                    return Operation.APPEND;
+                }
+                if (nested && value.n() != null) {
+                    return Operation.INCREMENT;
+                }
+                if (nested) {
+                    throw new IllegalArgumentException("Cannot add value " + value + " to nested attribute " + path + ", DynamoDB only supports adding the sets to the top level attributes");
+                }
+                return Operation.ADD;
+            default:
+                throw new IllegalArgumentException("Unsupported action " + action);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AttributeValue convertNested(TableSchema<?> schema, String path, Object value) {
+        if (value == null || value instanceof AttributeValue) {
+            return (AttributeValue) value;
+        }
+
+        Function<Object, AttributeValue> schemaConverter = nestedConverter(schema, path, value);
+
+        if (schemaConverter != null) {
+            return schemaConverter.apply(value);
+        }
+
+        if (value instanceof Collection) {
+            List<AttributeValue> items = new ArrayList<>(((Collection<?>) value).size());
+            for (Object item : (Collection<?>) value) {
+                items.add(convertNested(schema, path + "[]", item));
+            }
+            return AttributeValue.builder().l(items).build();
+        }
+
+        try {
+            AttributeConverter<Object> converter = (AttributeConverter<Object>) DEFAULT_CONVERTERS.converterFor(EnhancedType.of(value.getClass()));
+            return converter.transformFrom(value);
+        } catch (IllegalStateException e) {
+            throw new IllegalArgumentException("Cannot convert value " + value + " for nested attribute " + path + ", use AttributeValue instead", e);
+        }
+    }
+
+    /**
+     * Follows the path through the nested schemas so the converters declared on the nested properties are used.
+     * @return the converter for the value or <code>null</code> if the path cannot be resolved from the schema
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, AttributeValue> nestedConverter(TableSchema<?> schema, String path, Object value) {
+        TableSchema<Object> current = (TableSchema<Object>) schema;
+        EnhancedType<?> type = null;
+        AttributeConverter<Object> converter = null;
+
+        try {
+            for (String segment : path.split("\\.")) {
+                int index = segment.indexOf('[');
+                String name = index < 0 ? segment : segment.substring(0, index);
+
+                if (current != null) {
+                    converter = current.converterForAttribute(name);
+                    if (converter == null) {
+                        return null;
+                    }
+                    type = converter.type();
+                } else if (type != null && Map.class.isAssignableFrom(type.rawClass()) && type.rawClassParameters().size() == 2) {
+                    converter = null;
+                    type = type.rawClassParameters().get(1);
+                } else {
+                    return null;
+                }
+
+                for (int i = index; i >= 0; i = segment.indexOf('[', i + 1)) {
+                    if (!Collection.class.isAssignableFrom(type.rawClass()) || type.rawClassParameters().size() != 1) {
+                        return null;
+                    }
+                    converter = null;
+                    type = type.rawClassParameters().get(0);
+                }
+
+                current = (TableSchema<Object>) type.tableSchema().orElse(null);
+            }
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            // the schema does not expose the converters or the attribute is not known
+            return null;
+        }
+
+        if (type == null || !ReflectionUtils.getWrapperType(type.rawClass()).isInstance(value)) {
+            return null;
+        }
+
+        if (converter != null) {
+            return converter::transformFrom;
+        }
+
+        if (current != null) {
+            TableSchema<Object> document = current;
+            return item -> AttributeValue.fromM(document.itemToMap(item, true));
+        }
+
+        try {
+            AttributeConverter<Object> typeConverter = (AttributeConverter<Object>) DEFAULT_CONVERTERS.converterFor(type);
+            return typeConverter::transformFrom;
+        } catch (IllegalStateException e) {
+            return null;
+        }
     }
 
 }
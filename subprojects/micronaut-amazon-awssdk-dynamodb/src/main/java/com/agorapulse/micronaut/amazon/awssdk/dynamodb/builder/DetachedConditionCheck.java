@@ -0,0 +1,38 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.AttributeConversionHelper;
+import software.amazon.awssdk.enhanced.dynamodb.MappedTableResource;
+import software.amazon.awssdk.enhanced.dynamodb.model.ConditionCheck;
+
+/**
+ * An interface for condition checks which can be resolved using supplied mapper.
+ * @param <T> type of the DynamoDB entity
+ */
+public interface DetachedConditionCheck<T> {
+
+    /**
+     * Resolves the current condition check into native condition check using provided mapper.
+     * @param mapper DynamoDB mapper
+     * @param attributeConversionHelper the helper converting the keys and the values of the conditions
+     * @return the current condition check resolved into native condition check
+     */
+    ConditionCheck<T> resolveRequest(MappedTableResource<T> mapper, AttributeConversionHelper attributeConversionHelper);
+
+}
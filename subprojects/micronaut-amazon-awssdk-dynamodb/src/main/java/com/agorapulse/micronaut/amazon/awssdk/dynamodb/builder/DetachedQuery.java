@@ -44,6 +44,26 @@ public interface DetachedQuery<T> {
      */
     Publisher<T> query(DynamoDbAsyncTable<T> mapper, AttributeConversionHelper attributeConversionHelper);
 
+    /**
+     * Executes a query using provided mapper and notifies the observer about every page fetched.
+     * @param mapper DynamoDB mapper
+     * @param observer the observer of the fetched pages
+     * @return flowable of entities found for the current query
+     */
+    default Publisher<T> query(DynamoDbTable<T> mapper, AttributeConversionHelper attributeConversionHelper, PageObserver observer) {
+        return query(mapper, attributeConversionHelper);
+    }
+
+    /**
+     * Executes a query using provided mapper and notifies the observer about every page fetched.
+     * @param mapper DynamoDB mapper
+     * @param observer the observer of the fetched pages
+     * @return flowable of entities found for the current query
+     */
+    default Publisher<T> query(DynamoDbAsyncTable<T> mapper, AttributeConversionHelper attributeConversionHelper, PageObserver observer) {
+        return query(mapper, attributeConversionHelper);
+    }
+
     /**
      * Counts entities satisfying given query using provided mapper.
      * @param mapper DynamoDB mapper
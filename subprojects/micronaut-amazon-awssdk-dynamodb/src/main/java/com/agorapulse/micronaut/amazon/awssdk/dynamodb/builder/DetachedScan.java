@@ -44,6 +44,26 @@ public interface DetachedScan<T> {
      */
     Publisher<T> scan(DynamoDbAsyncTable<T> mapper, AttributeConversionHelper attributeConversionHelper);
 
+    /**
+     * Executes a scan using provided mapper and notifies the observer about every page fetched.
+     * @param mapper DynamoDB mapper
+     * @param observer the observer of the fetched pages
+     * @return flowable of entities found for the current scan
+     */
+    default Publisher<T> scan(DynamoDbTable<T> mapper, AttributeConversionHelper attributeConversionHelper, PageObserver observer) {
+        return scan(mapper, attributeConversionHelper);
+    }
+
+    /**
+     * Executes a scan using provided mapper and notifies the observer about every page fetched.
+     * @param mapper DynamoDB mapper
+     * @param observer the observer of the fetched pages
+     * @return flowable of entities found for the current scan
+     */
+    default Publisher<T> scan(DynamoDbAsyncTable<T> mapper, AttributeConversionHelper attributeConversionHelper, PageObserver observer) {
+        return scan(mapper, attributeConversionHelper);
+    }
+
     /**
      * Counts entities satisfying given scan using provided mapper.
      * @param mapper DynamoDB mapper
@@ -57,4 +57,30 @@ public interface DetachedUpdate<T, R> {
      * @return the return value which depends on the configuration of the update request
      */
     Publisher<R> update(DynamoDbAsyncTable<T> table, DynamoDbAsyncClient client, AttributeConversionHelper attributeConversionHelper, ApplicationEventPublisher publisher);
+
+    /**
+     * Executes the update request previously resolved by {@link #resolveRequest(MappedTableResource, AttributeConversionHelper)}.
+     * The default implementation resolves the request again.
+     * @param mapper DynamoDB mapper
+     * @param client low level AWS SDK client
+     * @param request the resolved update request
+     * @param publisher application event publisher
+     * @return the return value which depends on the configuration of the update request
+     */
+    default R update(DynamoDbTable<T> mapper, DynamoDbClient client, UpdateItemRequest request, AttributeConversionHelper attributeConversionHelper, ApplicationEventPublisher publisher) {
+        return update(mapper, client, attributeConversionHelper, publisher);
+    }
+
+    /**
+     * Executes the update request previously resolved by {@link #resolveRequest(MappedTableResource, AttributeConversionHelper)}.
+     * The default implementation resolves the request again.
+     * @param table DynamoDB mapper
+     * @param client low level AWS SDK client
+     * @param request the resolved update request
+     * @param publisher application event publisher
+     * @return the return value which depends on the configuration of the update request
+     */
+    default Publisher<R> update(DynamoDbAsyncTable<T> table, DynamoDbAsyncClient client, UpdateItemRequest request, AttributeConversionHelper attributeConversionHelper, ApplicationEventPublisher publisher) {
+        return update(table, client, attributeConversionHelper, publisher);
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder;
+
+import io.micronaut.core.util.CollectionUtils;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Sizes the pages of a query or scan with the maximum number of items so no more items are read than required.
+ * <p>
+ * Without the filter every page reads exactly the number of the remaining items. With the filter the next page is sized
+ * by the ratio of the matched and evaluated items so far, doubling the page size while nothing matches. The explicitly
+ * set page size is never exceeded. The segments of a parallel scan share the number of the remaining items.
+ * </p>
+ */
+final class LimitedPageSizer {
+
+    private final AtomicInteger remaining;
+    private final int segments;
+    private final int maxPageSize;
+    private final boolean filtered;
+
+    private int returned;
+    private long evaluated;
+    private int lastPageSize;
+
+    private LimitedPageSizer(AtomicInteger remaining, int segments, Integer page, boolean filtered) {
+        this.remaining = remaining;
+        this.segments = segments;
+        this.maxPageSize = page == null || page < 1 ? Integer.MAX_VALUE : page;
+        this.filtered = filtered;
+    }
+
+    /**
+     * Fetches the pages one by one with the page size adjusted to the number of remaining items.
+     *
+     * @param max the maximum number of items required
+     * @param page the explicitly set page size or <code>null</code>
+     * @param filtered whether the request contains a filter expression
+     * @param fetchPage function fetching the publisher of the pages for given page size and exclusive start key (<code>null</code> for the first page)
+     * @param <T> the type of the items
+     * @return the pages fetched until the maximum number of items is reached or there are no more items
+     */
+    static <T> Flux<Page<T>> fetch(int max, Integer page, boolean filtered, BiFunction<Integer, Map<String, AttributeValue>, Publisher<Page<T>>> fetchPage) {
+        return Flux.defer(() -> fetch(new AtomicInteger(max), 1, page, filtered, fetchPage));
+    }
+
+    /**
+     * Fetches the pages of one of the segments of a parallel scan.
+     * <p>
+     * All the segments share the number of the remaining items and each segment only reads its share of them,
+     * so the parallel scan reads at most one item per segment more than required without the filter.
+     * </p>
+     *
+     * @param remaining the number of the items still required by all the segments
+     * @param segments the total number of the segments
+     * @param page the explicitly set page size or <code>null</code>
+     * @param filtered whether the request contains a filter expression
+     * @param fetchPage function fetching the publisher of the pages for given page size and exclusive start key (<code>null</code> for the first page)
+     * @param <T> the type of the items
+     * @return the pages fetched until the maximum number of items is reached or there are no more items in the segment
+     */
+    static <T> Flux<Page<T>> fetch(AtomicInteger remaining, int segments, Integer page, boolean filtered, BiFunction<Integer, Map<String, AttributeValue>, Publisher<Page<T>>> fetchPage) {
+        return Flux.defer(() -> {
+            if (remaining.get() <= 0) {
+                // DynamoDB rejects the limit lower than one so there is nothing to fetch
+                return Flux.empty();
+            }
+            LimitedPageSizer sizer = new LimitedPageSizer(remaining, segments, page, filtered);
+            return firstPage(fetchPage.apply(sizer.firstPageSize(), null)).expand(current -> {
+                int nextPageSize = sizer.nextPageSize(current);
+                if (nextPageSize == 0) {
+                    return Mono.empty();
+                }
+                return firstPage(fetchPage.apply(nextPageSize, current.lastEvaluatedKey()));
+            });
+        });
+    }
+
+    int firstPageSize() {
+        lastPageSize = Math.min(share(remaining.get()), maxPageSize);
+        return lastPageSize;
+    }
+
+    int nextPageSize(Page<?> page) {
+        int items = page.items().size();
+        returned += items;
+        evaluated += page.scannedCount() == null ? items : page.scannedCount();
+
+        int left = remaining.addAndGet(-items);
+
+        if (left <= 0 || CollectionUtils.isEmpty(page.lastEvaluatedKey())) {
+            return 0;
+        }
+
+        int share = share(left);
+        long estimate = share;
+
+        if (filtered) {
+            estimate = returned == 0 ? 2L * lastPageSize : (long) Math.ceil((double) share * evaluated / returned);
+        }
+
+        lastPageSize = (int) Math.min(maxPageSize, Math.max(share, Math.min(Integer.MAX_VALUE, estimate)));
+        return lastPageSize;
+    }
+
+    private int share(int left) {
+        return segments <= 1 ? left : (left + segments - 1) / segments;
+    }
+
+    private static <T> Mono<Page<T>> firstPage(Publisher<Page<T>> pages) {
+        // only the first page is requested so the paginator does not fetch the following pages with the original size
+        return Flux.from(pages).take(1).next();
+    }
+
+}
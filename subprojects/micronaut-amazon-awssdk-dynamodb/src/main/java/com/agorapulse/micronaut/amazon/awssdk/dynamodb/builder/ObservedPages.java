@@ -0,0 +1,62 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+
+import java.time.Duration;
+
+/**
+ * Notifies the {@link PageObserver} about the fetched pages and delays the requests for the following pages if required.
+ */
+final class ObservedPages {
+
+    private ObservedPages() { }
+
+    /**
+     * Notifies the observer about every page fetched.
+     *
+     * @param pages the pages
+     * @param observer the observer of the pages
+     * @param index the name of the index used or <code>null</code> if the table itself is used
+     * @param <T> the type of the items
+     * @return the pages
+     */
+    static <T> Publisher<Page<T>> observe(Publisher<Page<T>> pages, PageObserver observer, String index) {
+        if (observer == PageObserver.NONE) {
+            return pages;
+        }
+
+        String observedIndex = TableMetadata.primaryIndexName().equals(index) ? null : index;
+
+        // the page is passed downstream immediately but the next page is only requested after the delay
+        return Flux.from(pages).concatMap(page -> {
+            Duration delay = observer.onPage(observedIndex, page);
+            if (delay.isZero() || delay.isNegative()) {
+                return Mono.just(page);
+            }
+            return Flux.concat(Mono.just(page), Mono.delay(delay, Schedulers.boundedElastic()).then(Mono.empty()));
+        }, 0);
+    }
+
+}
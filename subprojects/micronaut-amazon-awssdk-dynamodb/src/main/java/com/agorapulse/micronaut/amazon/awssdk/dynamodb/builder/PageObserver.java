@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder;
+
+import io.micronaut.core.annotation.Nullable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+
+import java.time.Duration;
+
+/**
+ * Observes the pages fetched by the queries and scans, for example to pace the scans according to the consumed capacity
+ * or to record the metrics.
+ */
+public interface PageObserver {
+
+    /**
+     * The observer which does not request the consumed capacity and never delays the next page.
+     */
+    PageObserver NONE = new PageObserver() { };
+
+    /**
+     * @return <code>true</code> if the consumed capacity should be returned with every page
+     */
+    default boolean isConsumedCapacityRequired() {
+        return false;
+    }
+
+    /**
+     * Called when the page has been fetched.
+     * @param index the name of the index being queried or scanned or <code>null</code> if the table itself is used
+     * @param page the page fetched
+     * @return the delay before the next page is requested
+     */
+    default Duration onPage(@Nullable String index, Page<?> page) {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Combines this observer with another one. The consumed capacity is requested if any of the observers requires it
+     * and the next page is delayed by the longer of the delays.
+     * @param other the other observer
+     * @return the observer notifying both observers
+     */
+    default PageObserver and(PageObserver other) {
+        if (other == NONE) {
+            return this;
+        }
+
+        if (this == NONE) {
+            return other;
+        }
+
+        PageObserver self = this;
+
+        return new PageObserver() {
+
+            @Override
+            public boolean isConsumedCapacityRequired() {
+                return self.isConsumedCapacityRequired() || other.isConsumedCapacityRequired();
+            }
+
+            @Override
+            public Duration onPage(@Nullable String index, Page<?> page) {
+                Duration first = self.onPage(index, page);
+                Duration second = other.onPage(index, page);
+                return first.compareTo(second) >= 0 ? first : second;
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+
+/**
+ * Hands over the items of the pages to the consumer on a separate thread so the following pages are fetched
+ * while the current page is being processed.
+ */
+final class PagePrefetcher {
+
+    private PagePrefetcher() { }
+
+    /**
+     * Flattens the pages into the items fetching at most the given number of pages in advance.
+     *
+     * @param pages the pages
+     * @param prefetch the number of pages fetched in advance
+     * @param <T> the type of the items
+     * @return the items of the pages
+     */
+    static <T> Flux<T> items(Flux<Page<T>> pages, int prefetch) {
+        // the pages themselves are buffered so the depth of the buffer does not depend on the size of the pages
+        // the publisher of the pages emits on the client's thread so the consumer must be moved to another thread
+        // otherwise the next page would not be requested until the consumer has processed the current page
+        // the fusion must be prevented as the buffer would be filled only on the consumer's demand
+        return pages.hide().publishOn(Schedulers.boundedElastic(), prefetch).concatMapIterable(Page::items, 1);
+    }
+
+}
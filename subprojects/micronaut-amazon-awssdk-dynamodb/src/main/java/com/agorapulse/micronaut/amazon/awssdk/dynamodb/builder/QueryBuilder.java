@@ -136,7 +136,9 @@ public interface QueryBuilder<T> extends DetachedQuery<T> {
     /**
      * Sets the maximum number of items to be returned from the queries.
      *
-     * This is a shortcut for calling <code>{@link reactor.core.publisher.Flux#take(long)}</code> on the result Flux.
+     * The size of the requested pages is derived from the number of the remaining items so no more items than required
+     * are read from the table. If the filter is present, the page size grows with the number of filtered out items.
+     * The page size set by {@link #page(int)} is never exceeded.
      *
      * @param max the maximum number of items returned
      * @return self
@@ -144,6 +146,23 @@ public interface QueryBuilder<T> extends DetachedQuery<T> {
     QueryBuilder<T> limit(int max);
 
 
+    /**
+     * Sets the number of pages requested in advance while the items of the current page are being processed.
+     *
+     * The items are handed over to the consumer on a separate thread so the next page is requested as soon
+     * as the current page arrives and the consumer does not wait for the round-trip. At most the given number
+     * of pages is buffered and no more pages are requested until the consumer catches up.
+     *
+     * The prefetch only applies to the asynchronous queries without {@link #limit(int)} and is disabled by default.
+     * The builders which do not support the prefetch ignore it.
+     *
+     * @param pages the number of pages requested in advance, <code>0</code> disables the prefetch
+     * @return self
+     */
+    default QueryBuilder<T> prefetch(int pages) {
+        return this;
+    }
+
     /**
      * Sets the query offset by defining the exclusive start value.
      * @param lastEvaluatedKey exclusive start value
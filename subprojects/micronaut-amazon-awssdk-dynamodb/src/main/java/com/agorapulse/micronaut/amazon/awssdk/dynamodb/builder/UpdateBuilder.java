@@ -25,6 +25,10 @@ import java.util.function.Function;
 
 /**
  * Builder for DynamoDB updates.
+ *
+ * The updates are translated into a single update expression. The values of the top level attributes are converted
+ * using the table schema, the values of the nested attributes must be either simple values or {@link software.amazon.awssdk.services.dynamodb.model.AttributeValue}.
+ *
  * @param <T> type of the DynamoDB entity
  * @param <R> type of the result returned from the update method
  */
@@ -68,7 +72,11 @@ public interface UpdateBuilder<T, R> extends DetachedUpdate<T, R> {
 
     /**
      * Add a difference to particular attribute of the entity.
-     * @param attributeName name of the attribute
+     *
+     * The numbers are incremented and the items are added to the sets. If the attribute is a list then the items
+     * are appended to the end of the list. The missing attribute is treated as zero or as an empty collection.
+     *
+     * @param attributeName name of the attribute or a path to the nested attribute such as <code>address.zip</code>
      * @param delta the difference - usually a number or set of new items for set attributes
      * @return self
      */
@@ -76,15 +84,37 @@ public interface UpdateBuilder<T, R> extends DetachedUpdate<T, R> {
 
     /**
      * Sets a particular attribute of the entity.
-     * @param attributeName name of the attribute
+     *
+     * Setting the value to <code>null</code> removes the attribute.
+     *
+     * @param attributeName name of the attribute or a path to the nested attribute such as <code>address.zip</code>
      * @param value new value to be set
      * @return self
      */
     UpdateBuilder<T, R> put(String attributeName, Object value);
 
+    /**
+     * Sets a particular attribute of the entity only if the attribute does not exist yet.
+     * @param attributeName name of the attribute or a path to the nested attribute such as <code>address.zip</code>
+     * @param value new value to be set if the attribute is missing
+     * @return self
+     */
+    UpdateBuilder<T, R> putIfAbsent(String attributeName, Object value);
+
+    /**
+     * Appends the values to the end of the list attribute of the entity.
+     *
+     * The missing attribute is treated as an empty list.
+     *
+     * @param attributeName name of the attribute or a path to the nested attribute such as <code>address.lines</code>
+     * @param values the collection of the values or a single value to be appended
+     * @return self
+     */
+    UpdateBuilder<T, R> append(String attributeName, Object values);
+
     /**
      * Deletes the value of the particular attribute of the entity.
-     * @param attributeName name of the attribute
+     * @param attributeName name of the attribute or a path to the nested attribute such as <code>address.zip</code>
      * @return self
      */
     UpdateBuilder<T, R> delete(String attributeName);
@@ -165,4 +195,13 @@ public interface UpdateBuilder<T, R> extends DetachedUpdate<T, R> {
      */
     UpdateBuilder<T, R> configure(Consumer<UpdateItemRequest.Builder> configurer);
 
+    /**
+     * Creates an independent copy of this update.
+     *
+     * The copy can be used to update a different item, e.g. by setting different keys, without affecting this update.
+     *
+     * @return the copy of this update
+     */
+    UpdateBuilder<T, R> copy();
+
 }
@@ -0,0 +1,323 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static software.amazon.awssdk.enhanced.dynamodb.internal.EnhancedClientUtils.cleanAttributeName;
+
+/**
+ * Compiled update expression with the attribute names already resolved and the placeholders for the attribute values.
+ *
+ * The templates are cached by the list of the update actions so the expression is only created once for the updates
+ * of the same structure (e.g. each invocation of the same <code>@Update</code> method) and only the values are bound
+ * for each call.
+ */
+final class UpdateExpressionTemplate {
+
+    /**
+     * The way the single attribute is updated.
+     */
+    enum Operation {
+        /** <code>SET path = value</code> */
+        SET,
+        /** <code>SET path = if_not_exists(path, value)</code> */
+        SET_IF_NOT_EXISTS,
+        /** <code>SET path = list_append(if_not_exists(path, []), value)</code> */
+        APPEND,
+        /** <code>SET path = if_not_exists(path, 0) + value</code>, the nested paths cannot be used with <code>ADD</code> */
+        INCREMENT,
+        /** <code>ADD path value</code> */
+        ADD,
+        /** <code>REMOVE path</code> */
+        REMOVE
+    }
+
+    static final int MAX_CACHED_TEMPLATES = 1024;
+
+    private static final String EMPTY_LIST_TOKEN = ":AGORA_UPDATE_EMPTY_LIST";
+    private static final String ZERO_TOKEN = ":AGORA_UPDATE_ZERO";
+    private static final AttributeValue EMPTY_LIST = AttributeValue.builder().l(Collections.emptyList()).build();
+    private static final AttributeValue ZERO = AttributeValue.builder().n("0").build();
+
+    private static final Pattern INVALID_TOKEN_CHARACTERS = Pattern.compile("[^A-Za-z0-9_]");
+
+    private static final Map<List<Object>, UpdateExpressionTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    private final String expression;
+    private final Map<String, String> names;
+    private final String[] valueTokens;
+    private final Map<String, AttributeValue> fixedValues;
+
+    private UpdateExpressionTemplate(String expression, Map<String, String> names, String[] valueTokens, Map<String, AttributeValue> fixedValues) {
+        this.expression = expression;
+        this.names = names;
+        this.valueTokens = valueTokens;
+        this.fixedValues = fixedValues;
+    }
+
+    static UpdateExpressionTemplate get(List<String> paths, List<Operation> operations) {
+        return get(paths, operations, Collections.emptySet());
+    }
+
+    /**
+     * Returns the cached template or compiles the new one.
+     * @param paths the attribute paths
+     * @param operations the operations for each path
+     * @param attributeNames the names of the top level attributes which are never parsed as the nested paths
+     * @return the template for the given update actions
+     */
+    static UpdateExpressionTemplate get(List<String> paths, List<Operation> operations, Collection<String> attributeNames) {
+        List<Object> shape = new ArrayList<>(paths.size() * 3);
+        for (int i = 0; i < paths.size(); i++) {
+            shape.add(paths.get(i));
+            shape.add(operations.get(i));
+            shape.add(isNested(paths.get(i), attributeNames));
+        }
+
+        UpdateExpressionTemplate template = TEMPLATES.get(shape);
+
+        if (template != null) {
+            return template;
+        }
+
+        template = compile(paths, operations, attributeNames);
+
+        if (TEMPLATES.size() < MAX_CACHED_TEMPLATES) {
+            UpdateExpressionTemplate existing = TEMPLATES.putIfAbsent(shape, template);
+            if (existing != null) {
+                return existing;
+            }
+        }
+
+        return template;
+    }
+
+    /**
+     * Returns <code>true</code> if the path points to a nested attribute or to an element of a list.
+     * @param path the attribute path
+     * @return <code>true</code> if the path contains a dot or a bracket
+     */
+    static boolean isPath(String path) {
+        return path.indexOf('.') >= 0 || path.indexOf('[') >= 0;
+    }
+
+    /**
+     * Returns <code>true</code> if the path points to a nested attribute or to an element of a list. The names of the top
+     * level attributes are resolved first so the attribute literally named e.g. <code>a.b</code> is not a nested path.
+     * @param path the attribute path
+     * @param attributeNames the names of the top level attributes
+     * @return <code>true</code> if the path is not just a name of the top level attribute
+     */
+    static boolean isNested(String path, Collection<String> attributeNames) {
+        return isPath(path) && !attributeNames.contains(path);
+    }
+
+    static int cachedTemplates() {
+        return TEMPLATES.size();
+    }
+
+    static UpdateExpressionTemplate compile(List<String> paths, List<Operation> operations) {
+        return compile(paths, operations, Collections.emptySet());
+    }
+
+    static UpdateExpressionTemplate compile(List<String> paths, List<Operation> operations, Collection<String> attributeNames) {
+        Map<String, String> names = new LinkedHashMap<>();
+        Map<String, AttributeValue> fixedValues = new HashMap<>();
+        String[] valueTokens = new String[paths.size()];
+        List<String> setActions = new ArrayList<>();
+        List<String> addActions = new ArrayList<>();
+        List<String> removeActions = new ArrayList<>();
+
+        for (int i = 0; i < paths.size(); i++) {
+            String path = paths.get(i);
+            Operation operation = operations.get(i);
+            boolean nested = isNested(path, attributeNames);
+            String pathToken = nested ? pathToken(path, names) : nameToken(path, names);
+
+            if (operation == Operation.REMOVE) {
+                removeActions.add(pathToken);
+                continue;
+            }
+
+            String valueToken = nested ? valueToken(path, i) : ":AGORA_UPDATE_" + tokenName(path) + "_" + i;
+            valueTokens[i] = valueToken;
+
+            switch (operation) {
+                case SET:
+                    setActions.add(pathToken + " = " + valueToken);
+                    break;
+                case SET_IF_NOT_EXISTS:
+                    setActions.add(pathToken + " = if_not_exists(" + pathToken + ", " + valueToken + ")");
+                    break;
+                case APPEND:
+                    fixedValues.put(EMPTY_LIST_TOKEN, EMPTY_LIST);
+                    setActions.add(pathToken + " = list_append(if_not_exists(" + pathToken + ", " + EMPTY_LIST_TOKEN + "), " + valueToken + ")");
+                    break;
+                case INCREMENT:
+                    fixedValues.put(ZERO_TOKEN, ZERO);
+                    setActions.add(pathToken + " = if_not_exists(" + pathToken + ", " + ZERO_TOKEN + ") + " + valueToken);
+                    break;
+                case ADD:
+                    addActions.add(pathToken + " " + valueToken);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported operation " + operation);
+            }
+        }
+
+        StringBuilder expression = new StringBuilder();
+        appendClause(expression, "SET", setActions);
+        appendClause(expression, "ADD", addActions);
+        appendClause(expression, "REMOVE", removeActions);
+
+        return new UpdateExpressionTemplate(expression.toString(), Collections.unmodifiableMap(names), valueTokens, Collections.unmodifiableMap(fixedValues));
+    }
+
+    String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Applies the expression, the names and the values to the request builder.
+     * @param builder the request builder
+     * @param values the converted values in the same order as the paths used to compile the template, <code>null</code> for {@link Operation#REMOVE}
+     */
+    void apply(UpdateItemRequest.Builder builder, AttributeValue[] values) {
+        if (expression.isEmpty()) {
+            return;
+        }
+
+        Map<String, AttributeValue> expressionValues = new HashMap<>((values.length + fixedValues.size()) * 4 / 3 + 1);
+        expressionValues.putAll(fixedValues);
+
+        for (int i = 0; i < valueTokens.length; i++) {
+            if (valueTokens[i] != null) {
+                expressionValues.put(valueTokens[i], values[i]);
+            }
+        }
+
+        builder.updateExpression(expression).expressionAttributeNames(names);
+
+        if (!expressionValues.isEmpty()) {
+            builder.expressionAttributeValues(expressionValues);
+        }
+    }
+
+    /**
+     * Restores the names and values which might have been replaced by the configurer of the request.
+     * @param request the configured request
+     * @return the request containing the names and the values required by this template
+     */
+    UpdateItemRequest merge(UpdateItemRequest request, AttributeValue[] values) {
+        if (expression.isEmpty() || !expression.equals(request.updateExpression())) {
+            return request;
+        }
+
+        boolean namesPresent = request.expressionAttributeNames().keySet().containsAll(names.keySet());
+        boolean valuesPresent = request.expressionAttributeValues().keySet().containsAll(fixedValues.keySet());
+
+        for (int i = 0; valuesPresent && i < valueTokens.length; i++) {
+            valuesPresent = valueTokens[i] == null || request.expressionAttributeValues().containsKey(valueTokens[i]);
+        }
+
+        if (namesPresent && valuesPresent) {
+            return request;
+        }
+
+        UpdateItemRequest.Builder builder = UpdateItemRequest.builder();
+        apply(builder, values);
+        UpdateItemRequest ours = builder.build();
+
+        Map<String, String> mergedNames = new HashMap<>(ours.expressionAttributeNames());
+        mergedNames.putAll(request.expressionAttributeNames());
+
+        Map<String, AttributeValue> mergedValues = new HashMap<>(ours.expressionAttributeValues());
+        mergedValues.putAll(request.expressionAttributeValues());
+
+        return request.toBuilder()
+            .expressionAttributeNames(mergedNames)
+            .expressionAttributeValues(mergedValues.isEmpty() ? null : mergedValues)
+            .build();
+    }
+
+    private static void appendClause(StringBuilder expression, String keyword, List<String> actions) {
+        if (actions.isEmpty()) {
+            return;
+        }
+
+        if (expression.length() > 0) {
+            expression.append(' ');
+        }
+
+        expression.append(keyword).append(' ').append(String.join(", ", actions));
+    }
+
+    private static String pathToken(String path, Map<String, String> names) {
+        StringBuilder token = new StringBuilder();
+        for (String segment : path.split("\\.")) {
+            int index = segment.indexOf('[');
+            String name = index < 0 ? segment : segment.substring(0, index);
+
+            if (token.length() > 0) {
+                token.append('.');
+            }
+
+            token.append(nameToken(name, names));
+
+            if (index >= 0) {
+                token.append(segment.substring(index));
+            }
+        }
+        return token.toString();
+    }
+
+    private static String nameToken(String name, Map<String, String> names) {
+        String token = "#AGORA_UPDATE_" + tokenName(name);
+        String candidate = token;
+        int index = 1;
+        while (names.containsKey(candidate) && !name.equals(names.get(candidate))) {
+            candidate = token + "_" + index++;
+        }
+        names.put(candidate, name);
+        return candidate;
+    }
+
+    private static String valueToken(String path, int index) {
+        String name = path.substring(path.lastIndexOf('.') + 1);
+        int bracket = name.indexOf('[');
+        return ":AGORA_UPDATE_" + tokenName(bracket < 0 ? name : name.substring(0, bracket)) + "_" + index;
+    }
+
+    private static String tokenName(String name) {
+        // the names of the top level attributes may also contain the brackets which are not cleaned by the enhanced client
+        return INVALID_TOKEN_CHARACTERS.matcher(cleanAttributeName(name)).replaceAll("_");
+    }
+
+}
@@ -17,12 +17,14 @@
  */
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb.conditional;
 
-import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
-class ConditionalWithConditionalAndArgument implements QueryConditional {
+import java.util.Arrays;
+import java.util.List;
+
+class ConditionalWithConditionalAndArgument extends TemplateConditional {
 
     private final String template;
     private final QueryConditional first;
@@ -35,23 +37,21 @@ class ConditionalWithConditionalAndArgument implements QueryConditional {
     }
 
     @Override
-    public Expression expression(TableSchema<?> tableSchema, String indexName) {
-        Expression ex = first.expression(tableSchema, indexName);
-        String propertyValueToken = QueryConditionalFactory.expressionValue("VAL");
-
-        Expression.Builder result = Expression.builder().expression(String.format(template, ex.expression(), propertyValueToken));
-
-        if (ex.expressionNames() != null) {
-            ex.expressionNames().forEach(result::putExpressionName);
-        }
-
-        if (ex.expressionValues() != null) {
-            ex.expressionValues().forEach(result::putExpressionValue);
-        }
+    Object shape() {
+        Object firstShape = shapeOf(first);
+        return firstShape == null ? null : Arrays.asList(ConditionalWithConditionalAndArgument.class, template, firstShape);
+    }
 
-        result.putExpressionValue(propertyValueToken, value);
+    @Override
+    void write(ExpressionTemplate.Writer writer, TableSchema<?> tableSchema, String indexName) {
+        String valueName = first instanceof ConditionalWithSingleStringArgument ? ((ConditionalWithSingleStringArgument) first).getPath() : "VAL";
+        writeTemplate(writer, template, () -> writer.conditional(first, tableSchema, indexName), () -> writer.value(valueName));
+    }
 
-        return result.build();
+    @Override
+    void collectValues(List<AttributeValue> values) {
+        collectValues(first, values);
+        values.add(value);
     }
 
 }
@@ -17,13 +17,12 @@
  */
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb.conditional;
 
-import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
-import java.util.Collections;
+import java.util.List;
 
-class ConditionalWithSingleStringArgument implements QueryConditional {
+class ConditionalWithSingleStringArgument extends TemplateConditional {
 
     static final String ATTRIBUTE_EXISTS = "attribute_exists (%s)";
     static final String ATTRIBUTE_NOT_EXISTS = "attribute_not_exists (%s)";
@@ -37,15 +36,23 @@ class ConditionalWithSingleStringArgument implements QueryConditional {
         this.path = path;
     }
 
+    String getPath() {
+        return path;
+    }
+
+    @Override
+    Object shape() {
+        return List.of(ConditionalWithSingleStringArgument.class, template, path);
+    }
+
+    @Override
+    void write(ExpressionTemplate.Writer writer, TableSchema<?> tableSchema, String indexName) {
+        writeTemplate(writer, template, () -> writer.name(path));
+    }
+
     @Override
-    public Expression expression(TableSchema<?> tableSchema, String indexName) {
-        String pathKeyToken = QueryConditionalFactory.expressionKey(path);
-        String queryExpression = String.format(template, pathKeyToken);
-
-        return Expression.builder()
-            .expression(queryExpression)
-            .expressionNames(Collections.singletonMap(pathKeyToken, path))
-            .build();
+    void collectValues(List<AttributeValue> values) {
+        // no values
     }
 
 }
@@ -17,14 +17,12 @@
  */
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb.conditional;
 
-import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
-import java.util.Collections;
+import java.util.List;
 
-class ConditionalWithThreeArguments implements QueryConditional {
+class ConditionalWithThreeArguments extends TemplateConditional {
 
     static final String BETWEEN_TEMPLATE = "%s BETWEEN %s AND %s";
 
@@ -41,18 +39,19 @@ class ConditionalWithThreeArguments implements QueryConditional {
     }
 
     @Override
-    public Expression expression(TableSchema<?> tableSchema, String indexName) {
-        String propertyKeyToken = QueryConditionalFactory.expressionKey(property);
-        String firstValueToken = QueryConditionalFactory.expressionValue(property) + "_1";
-        String secondValueToken = QueryConditionalFactory.expressionValue(property) + "_2";
-        String queryExpression = String.format(template, propertyKeyToken, firstValueToken, secondValueToken);
-
-        return Expression.builder()
-            .expression(queryExpression)
-            .expressionNames(Collections.singletonMap(propertyKeyToken, property))
-            .putExpressionValue(firstValueToken, first)
-            .putExpressionValue(secondValueToken, second)
-            .build();
+    Object shape() {
+        return List.of(ConditionalWithThreeArguments.class, template, property);
+    }
+
+    @Override
+    void write(ExpressionTemplate.Writer writer, TableSchema<?> tableSchema, String indexName) {
+        writeTemplate(writer, template, () -> writer.name(property), () -> writer.value(property), () -> writer.value(property));
+    }
+
+    @Override
+    void collectValues(List<AttributeValue> values) {
+        values.add(first);
+        values.add(second);
     }
 
 }
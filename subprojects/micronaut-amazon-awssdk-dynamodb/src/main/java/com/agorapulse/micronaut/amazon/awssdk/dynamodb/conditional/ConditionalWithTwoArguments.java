@@ -17,14 +17,12 @@
  */
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb.conditional;
 
-import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
-import java.util.Collections;
+import java.util.List;
 
-class ConditionalWithTwoArguments implements QueryConditional {
+class ConditionalWithTwoArguments extends TemplateConditional {
 
     static final String EQUAL_TO_TEMPLATE = "%s = %s";
     static final String NOT_EQUAL_TO_TEMPLATE = "%s <> %s";
@@ -47,16 +45,18 @@ class ConditionalWithTwoArguments implements QueryConditional {
     }
 
     @Override
-    public Expression expression(TableSchema<?> tableSchema, String indexName) {
-        String propertyKeyToken = QueryConditionalFactory.expressionKey(property);
-        String propertyValueToken = QueryConditionalFactory.expressionValue(property);
-        String queryExpression = String.format(template, propertyKeyToken, propertyValueToken);
-
-        return Expression.builder()
-            .expression(queryExpression)
-            .expressionNames(Collections.singletonMap(propertyKeyToken, property))
-            .expressionValues(Collections.singletonMap(propertyValueToken, value))
-            .build();
+    Object shape() {
+        return List.of(ConditionalWithTwoArguments.class, template, property);
+    }
+
+    @Override
+    void write(ExpressionTemplate.Writer writer, TableSchema<?> tableSchema, String indexName) {
+        writeTemplate(writer, template, () -> writer.name(property), () -> writer.value(property));
+    }
+
+    @Override
+    void collectValues(List<AttributeValue> values) {
+        values.add(value);
     }
 
 }
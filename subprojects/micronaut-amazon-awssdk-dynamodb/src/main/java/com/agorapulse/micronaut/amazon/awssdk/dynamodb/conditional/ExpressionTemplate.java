@@ -0,0 +1,235 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.conditional;
+
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static software.amazon.awssdk.enhanced.dynamodb.internal.EnhancedClientUtils.cleanAttributeName;
+
+/**
+ * Compiled expression with the attribute names already resolved and the placeholders for the attribute values.
+ *
+ * The templates are cached by the role and the shape of the conditional so the expression string and the attribute names
+ * are only created once for the conditions of the same structure (e.g. each invocation of the same query method)
+ * and only the attribute values are bound for each call.
+ *
+ * The role is part of the placeholders so the key condition and the filter expression of the same query never share
+ * a placeholder even if they have the same structure.
+ */
+final class ExpressionTemplate {
+
+    /**
+     * The part of the request the expression is used for.
+     */
+    enum Role {
+        KEY_CONDITION("K"), FILTER("F"), CONDITION("C");
+
+        private final String prefix;
+
+        Role(String prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    static final int MAX_CACHED_TEMPLATES = 1024;
+
+    private static final Map<Role, Map<Object, ExpressionTemplate>> TEMPLATES = new EnumMap<>(Role.class);
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    static {
+        for (Role role : Role.values()) {
+            TEMPLATES.put(role, new ConcurrentHashMap<>());
+        }
+    }
+
+    private final String expression;
+    private final Map<String, String> names;
+    private final List<String> valueTokens;
+    private final Map<String, AttributeValue> fixedValues;
+
+    private ExpressionTemplate(String expression, Map<String, String> names, List<String> valueTokens, Map<String, AttributeValue> fixedValues) {
+        this.expression = expression;
+        this.names = names;
+        this.valueTokens = valueTokens;
+        this.fixedValues = fixedValues;
+    }
+
+    static Expression evaluate(TemplateConditional conditional, TableSchema<?> tableSchema, String indexName, Role role) {
+        Object shape = conditional.shape();
+
+        if (shape == null) {
+            return compile(conditional, tableSchema, indexName, role).bind(conditional);
+        }
+
+        Map<Object, ExpressionTemplate> templates = TEMPLATES.get(role);
+        ExpressionTemplate template = templates.get(shape);
+
+        if (template == null) {
+            template = compile(conditional, tableSchema, indexName, role);
+            if (templates.size() < MAX_CACHED_TEMPLATES) {
+                ExpressionTemplate existing = templates.putIfAbsent(shape, template);
+                if (existing != null) {
+                    template = existing;
+                }
+            }
+        }
+
+        return template.bind(conditional);
+    }
+
+    static int cachedTemplates() {
+        int cached = 0;
+        for (Map<Object, ExpressionTemplate> templates : TEMPLATES.values()) {
+            cached += templates.size();
+        }
+        return cached;
+    }
+
+    static ExpressionTemplate compile(TemplateConditional conditional, TableSchema<?> tableSchema, String indexName, Role role) {
+        Writer writer = new Writer(role.prefix + (COUNTER.getAndIncrement() & Integer.MAX_VALUE));
+        conditional.write(writer, tableSchema, indexName);
+        return writer.build();
+    }
+
+    Expression bind(TemplateConditional conditional) {
+        List<AttributeValue> values = new ArrayList<>(valueTokens.size());
+        conditional.collectValues(values);
+
+        if (values.size() != valueTokens.size()) {
+            throw new IllegalStateException("Expected " + valueTokens.size() + " values for expression " + expression + " but got " + values.size());
+        }
+
+        Map<String, AttributeValue> expressionValues = null;
+
+        if (!valueTokens.isEmpty() || !fixedValues.isEmpty()) {
+            expressionValues = new HashMap<>(fixedValues);
+            for (int i = 0; i < valueTokens.size(); i++) {
+                expressionValues.put(valueTokens.get(i), values.get(i));
+            }
+        }
+
+        return Expression.builder()
+            .expression(expression)
+            .expressionNames(names.isEmpty() ? null : names)
+            .expressionValues(expressionValues)
+            .build();
+    }
+
+    /**
+     * Collects the expression string, the attribute names and the value placeholders while the template is being compiled.
+     */
+    static final class Writer {
+
+        private final String suffix;
+        private final StringBuilder expression = new StringBuilder();
+        private final Map<String, String> names = new LinkedHashMap<>();
+        private final List<String> valueTokens = new ArrayList<>();
+        private final Map<String, AttributeValue> fixedValues = new HashMap<>();
+
+        private Writer(String suffix) {
+            this.suffix = suffix;
+        }
+
+        Writer append(String text) {
+            expression.append(text);
+            return this;
+        }
+
+        Writer name(String property) {
+            String token = "#AGORA_MAPPED_" + cleanAttributeName(property) + "_" + suffix;
+            String candidate = token;
+            int index = 1;
+            while (names.containsKey(candidate) && !property.equals(names.get(candidate))) {
+                candidate = token + "_" + index++;
+            }
+            names.put(candidate, property);
+            expression.append(candidate);
+            return this;
+        }
+
+        Writer value(String property) {
+            String token = ":AGORA_MAPPED_" + cleanAttributeName(property) + "_" + suffix + "_" + valueTokens.size();
+            valueTokens.add(token);
+            expression.append(token);
+            return this;
+        }
+
+        Writer conditional(QueryConditional conditional, TableSchema<?> tableSchema, String indexName) {
+            if (conditional instanceof TemplateConditional) {
+                ((TemplateConditional) conditional).write(this, tableSchema, indexName);
+                return this;
+            }
+
+            Expression foreign = conditional.expression(tableSchema, indexName);
+
+            if (foreign.expression() != null) {
+                expression.append(foreign.expression());
+            }
+
+            if (foreign.expressionNames() != null) {
+                names.putAll(foreign.expressionNames());
+            }
+
+            if (foreign.expressionValues() != null) {
+                fixedValues.putAll(foreign.expressionValues());
+            }
+
+            return this;
+        }
+
+        int length() {
+            return expression.length();
+        }
+
+        String substring(int start) {
+            return expression.substring(start);
+        }
+
+        void insert(int offset, String text) {
+            expression.insert(offset, text);
+        }
+
+        void truncate(int length) {
+            expression.setLength(length);
+        }
+
+        private ExpressionTemplate build() {
+            return new ExpressionTemplate(
+                expression.toString(),
+                Collections.unmodifiableMap(names),
+                Collections.unmodifiableList(valueTokens),
+                fixedValues
+            );
+        }
+
+    }
+
+}
@@ -17,11 +17,13 @@
  */
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb.conditional;
 
-import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
-class GroupConditional implements QueryConditional {
+import java.util.List;
+
+class GroupConditional extends TemplateConditional {
 
     private final QueryConditional statement;
 
@@ -30,13 +32,19 @@ class GroupConditional implements QueryConditional {
     }
 
     @Override
-    public Expression expression(TableSchema<?> tableSchema, String indexName) {
-        Expression expression = statement.expression(tableSchema, indexName);
-        return Expression.builder()
-            .expression(String.format("( %s )", expression.expression()))
-            .expressionNames(expression.expressionNames())
-            .expressionValues(expression.expressionValues())
-            .build();
+    Object shape() {
+        Object statementShape = shapeOf(statement);
+        return statementShape == null ? null : List.of(GroupConditional.class, statementShape);
+    }
+
+    @Override
+    void write(ExpressionTemplate.Writer writer, TableSchema<?> tableSchema, String indexName) {
+        writer.append("( ").conditional(statement, tableSchema, indexName).append(" )");
+    }
+
+    @Override
+    void collectValues(List<AttributeValue> values) {
+        collectValues(statement, values);
     }
 
 }
@@ -17,16 +17,12 @@
  */
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb.conditional;
 
-import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
-class InListConditional implements QueryConditional {
+class InListConditional extends TemplateConditional {
 
     private final String property;
     private final List<AttributeValue> values;
@@ -41,23 +37,25 @@ class InListConditional implements QueryConditional {
     }
 
     @Override
-    public Expression expression(TableSchema<?> tableSchema, String indexName) {
-        Expression.Builder builder = Expression.builder();
-
-        String propertyKeyToken = QueryConditionalFactory.expressionKey(property);
-        builder.expressionNames(Collections.singletonMap(propertyKeyToken, property));
+    Object shape() {
+        return List.of(InListConditional.class, property, values.size());
+    }
 
-        String valueTokenBase = QueryConditionalFactory.expressionValue(property);
-        List<String> valueNames = new ArrayList<>();
+    @Override
+    void write(ExpressionTemplate.Writer writer, TableSchema<?> tableSchema, String indexName) {
+        writer.name(property).append(" IN  (");
         for (int i = 0; i < values.size(); i++) {
-            String valueName = valueTokenBase + "_" + i;
-            valueNames.add(valueName);
-            builder.putExpressionValue(valueName, values.get(i));
+            if (i > 0) {
+                writer.append(", ");
+            }
+            writer.value(property);
         }
+        writer.append(")");
+    }
 
-        builder.expression(propertyKeyToken + " IN  (" + String.join(", ", valueNames) + ")");
-
-        return builder.build();
+    @Override
+    void collectValues(List<AttributeValue> values) {
+        values.addAll(this.values);
     }
 
 }
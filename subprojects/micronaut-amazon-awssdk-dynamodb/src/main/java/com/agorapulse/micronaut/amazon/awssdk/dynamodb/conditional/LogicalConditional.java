@@ -17,17 +17,14 @@
  */
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb.conditional;
 
-import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
-import static java.util.stream.Collectors.joining;
-
-class LogicalConditional implements QueryConditional {
+class LogicalConditional extends TemplateConditional {
 
     static final String AND_TOKEN = " AND ";
     static final String OR_TOKEN = " OR ";
@@ -41,21 +38,47 @@ class LogicalConditional implements QueryConditional {
     }
 
     @Override
-    public Expression expression(TableSchema<?> tableSchema, String indexName) {
-        Expression.Builder builder = Expression.builder();
-        List<Expression> expressions = StreamSupport.stream(statements.spliterator(), false)
-            .map(s -> s.expression(tableSchema, indexName))
-            .collect(Collectors.toList());
-        builder.expression(expressions.stream().map(Expression::expression).filter(e -> e != null && !e.isEmpty()).collect(joining(token)));
-        expressions.forEach(ex -> {
-            if (ex.expressionNames() != null) {
-                ex.expressionNames().forEach(builder::putExpressionName);
+    Object shape() {
+        List<Object> shape = new ArrayList<>();
+        shape.add(LogicalConditional.class);
+        shape.add(token);
+        for (QueryConditional statement : statements) {
+            Object statementShape = shapeOf(statement);
+            if (statementShape == null) {
+                return null;
             }
-            if (ex.expressionValues() != null) {
-                ex.expressionValues().forEach(builder::putExpressionValue);
+            shape.add(statementShape);
+        }
+        return shape;
+    }
+
+    @Override
+    void write(ExpressionTemplate.Writer writer, TableSchema<?> tableSchema, String indexName) {
+        boolean empty = true;
+        for (QueryConditional statement : statements) {
+            int beforeToken = writer.length();
+
+            if (!empty) {
+                writer.append(token);
             }
-        });
-        return builder.build();
+
+            int beforeStatement = writer.length();
+            writer.conditional(statement, tableSchema, indexName);
+
+            if (writer.length() == beforeStatement) {
+                // skip the empty expressions together with the token
+                writer.truncate(beforeToken);
+            } else {
+                empty = false;
+            }
+        }
+    }
+
+    @Override
+    void collectValues(List<AttributeValue> values) {
+        for (QueryConditional statement : statements) {
+            collectValues(statement, values);
+        }
     }
 
 }
@@ -17,11 +17,13 @@
  */
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb.conditional;
 
-import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
-class NotConditional implements QueryConditional {
+import java.util.List;
+
+class NotConditional extends TemplateConditional {
 
     private final QueryConditional statement;
 
@@ -30,13 +32,27 @@ class NotConditional implements QueryConditional {
     }
 
     @Override
-    public Expression expression(TableSchema<?> tableSchema, String indexName) {
-        Expression expression = statement.expression(tableSchema, indexName);
-        return Expression.builder()
-            .expression(String.format(expression.expression().trim().startsWith("(") ? "NOT %s" : "NOT (%s)", expression.expression()))
-            .expressionNames(expression.expressionNames())
-            .expressionValues(expression.expressionValues())
-            .build();
+    Object shape() {
+        Object statementShape = shapeOf(statement);
+        return statementShape == null ? null : List.of(NotConditional.class, statementShape);
+    }
+
+    @Override
+    void write(ExpressionTemplate.Writer writer, TableSchema<?> tableSchema, String indexName) {
+        int start = writer.length();
+        writer.conditional(statement, tableSchema, indexName);
+
+        if (writer.substring(start).trim().startsWith("(")) {
+            writer.insert(start, "NOT ");
+        } else {
+            writer.insert(start, "NOT (");
+            writer.append(")");
+        }
+    }
+
+    @Override
+    void collectValues(List<AttributeValue> values) {
+        collectValues(statement, values);
     }
 
 }
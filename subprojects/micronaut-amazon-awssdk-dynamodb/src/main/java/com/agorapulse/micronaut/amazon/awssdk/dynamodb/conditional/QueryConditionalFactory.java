@@ -20,6 +20,8 @@ package com.agorapulse.micronaut.amazon.awssdk.dynamodb.conditional;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType;
 import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
@@ -27,10 +29,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 
 import static software.amazon.awssdk.enhanced.dynamodb.internal.AttributeValues.*;
-import static software.amazon.awssdk.enhanced.dynamodb.internal.EnhancedClientUtils.cleanAttributeName;
 
 public class QueryConditionalFactory {
 
@@ -216,17 +216,26 @@ public class QueryConditionalFactory {
         return new NotConditional(statement);
     }
 
-    // package private
-
-    static String expressionKey(String key) {
-        return "#AGORA_MAPPED_" + cleanAttributeName(key) + "_" + RANDOM.nextInt(10000);
+    /**
+     * Marks the conditional as the key condition so its placeholders never clash with the filter expression of the same query.
+     *
+     * @param conditional the key condition
+     * @return the conditional evaluated as the key condition
+     */
+    public static QueryConditional keyCondition(QueryConditional conditional) {
+        return (tableSchema, indexName) -> TemplateConditional.expression(conditional, tableSchema, indexName, ExpressionTemplate.Role.KEY_CONDITION);
     }
 
-    static String expressionValue(String key) {
-        return ":AGORA_MAPPED_" + cleanAttributeName(key) + "_" + RANDOM.nextInt(10000);
+    /**
+     * Evaluates the conditional as the filter expression so its placeholders never clash with the key condition of the same query.
+     *
+     * @param conditional the filter condition
+     * @param tableSchema the table schema
+     * @param indexName the name of the index
+     * @return the filter expression
+     */
+    public static Expression filterExpression(QueryConditional conditional, TableSchema<?> tableSchema, String indexName) {
+        return TemplateConditional.expression(conditional, tableSchema, indexName, ExpressionTemplate.Role.FILTER);
     }
 
-    // private
-
-    private static final Random RANDOM = new Random();
 }
@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.conditional;
+
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+
+/**
+ * Base for the conditionals which compile into the cached {@link ExpressionTemplate}.
+ */
+abstract class TemplateConditional implements QueryConditional {
+
+    @Override
+    public final Expression expression(TableSchema<?> tableSchema, String indexName) {
+        return ExpressionTemplate.evaluate(this, tableSchema, indexName, ExpressionTemplate.Role.CONDITION);
+    }
+
+    /**
+     * Returns the key describing the structure of the expression without the attribute values.
+     *
+     * @return the key describing the structure of the expression or <code>null</code> if the expression cannot be cached
+     */
+    abstract Object shape();
+
+    /**
+     * Writes the expression with the attribute names and the value placeholders.
+     *
+     * @param writer the template writer
+     * @param tableSchema the table schema
+     * @param indexName the name of the index
+     */
+    abstract void write(ExpressionTemplate.Writer writer, TableSchema<?> tableSchema, String indexName);
+
+    /**
+     * Collects the attribute values in the same order as the placeholders were written.
+     *
+     * @param values the values collected so far
+     */
+    abstract void collectValues(List<AttributeValue> values);
+
+    static Expression expression(QueryConditional conditional, TableSchema<?> tableSchema, String indexName, ExpressionTemplate.Role role) {
+        if (conditional instanceof TemplateConditional) {
+            return ExpressionTemplate.evaluate((TemplateConditional) conditional, tableSchema, indexName, role);
+        }
+        return conditional.expression(tableSchema, indexName);
+    }
+
+    static Object shapeOf(QueryConditional conditional) {
+        return conditional instanceof TemplateConditional ? ((TemplateConditional) conditional).shape() : null;
+    }
+
+    static void collectValues(QueryConditional conditional, List<AttributeValue> values) {
+        if (conditional instanceof TemplateConditional) {
+            ((TemplateConditional) conditional).collectValues(values);
+        }
+    }
+
+    static void writeTemplate(ExpressionTemplate.Writer writer, String template, Runnable... arguments) {
+        String[] parts = template.split("%s", -1);
+        for (int i = 0; i < parts.length; i++) {
+            writer.append(parts[i]);
+            if (i < arguments.length && i < parts.length - 1) {
+                arguments[i].run();
+            }
+        }
+    }
+
+}
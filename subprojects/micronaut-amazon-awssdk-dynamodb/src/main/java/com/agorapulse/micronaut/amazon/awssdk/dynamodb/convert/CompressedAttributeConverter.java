@@ -0,0 +1,135 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stores the string attribute compressed by the given {@link CompressionCodec}.
+ * <p>
+ * The first byte of the stored value identifies the codec used. The values shorter than the threshold are stored uncompressed
+ * because compressing them costs more than it saves. The values written by the {@link CompressedStringConverter} are read as well.
+ * </p>
+ */
+public final class CompressedAttributeConverter implements AttributeConverter<String> {
+
+    /**
+     * The header byte of the values stored uncompressed.
+     */
+    public static final byte UNCOMPRESSED = 0;
+
+    private static final byte GZIP_MAGIC_FIRST = (byte) 0x1f;
+    private static final byte GZIP_MAGIC_SECOND = (byte) 0x8b;
+
+    private static final CompressionCodec GZIP = new GzipCompressionCodec();
+    private static final CompressionCodec DEFLATE = new DeflateCompressionCodec();
+
+    private final CompressionCodec codec;
+    private final int threshold;
+
+    /**
+     * @param codec the codec used to compress the values
+     * @param threshold the minimal size of the value in bytes to be compressed
+     */
+    public CompressedAttributeConverter(CompressionCodec codec, int threshold) {
+        this.codec = codec;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public AttributeValue transformFrom(String input) {
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+
+        if (bytes.length < threshold) {
+            byte[] value = new byte[bytes.length + 1];
+            value[0] = UNCOMPRESSED;
+            System.arraycopy(bytes, 0, value, 1, bytes.length);
+            return AttributeValue.builder().b(SdkBytes.fromByteArrayUnsafe(value)).build();
+        }
+
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(bytes.length / 2, 32));
+            output.write(codec.getId());
+            codec.compress(bytes, output);
+            return AttributeValue.builder().b(SdkBytes.fromByteArrayUnsafe(output.toByteArray())).build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress the value", e);
+        }
+    }
+
+    @Override
+    public String transformTo(AttributeValue input) {
+        return decode(input.b().asByteArrayUnsafe(), codec);
+    }
+
+    @Override
+    public EnhancedType<String> type() {
+        return EnhancedType.of(String.class);
+    }
+
+    @Override
+    public AttributeValueType attributeValueType() {
+        return AttributeValueType.B;
+    }
+
+    static String decode(byte[] value, CompressionCodec codec) {
+        if (value.length == 0) {
+            return "";
+        }
+
+        try {
+            if (value.length > 1 && value[0] == GZIP_MAGIC_FIRST && value[1] == GZIP_MAGIC_SECOND) {
+                // raw GZIP without the header byte
+                return new String(GZIP.decompress(value, 0, value.length), StandardCharsets.UTF_8);
+            }
+
+            byte id = value[0];
+
+            if (id == UNCOMPRESSED) {
+                return new String(value, 1, value.length - 1, StandardCharsets.UTF_8);
+            }
+
+            return new String(findCodec(id, codec).decompress(value, 1, value.length - 1), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decompress the value", e);
+        }
+    }
+
+    private static CompressionCodec findCodec(byte id, CompressionCodec codec) {
+        if (id == codec.getId()) {
+            return codec;
+        }
+        if (id == GzipCompressionCodec.ID) {
+            return GZIP;
+        }
+        if (id == DeflateCompressionCodec.ID) {
+            return DEFLATE;
+        }
+        throw new IllegalArgumentException("Unknown compression codec with id " + id);
+    }
+
+}
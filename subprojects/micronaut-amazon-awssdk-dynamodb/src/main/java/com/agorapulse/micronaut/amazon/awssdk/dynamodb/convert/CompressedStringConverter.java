@@ -23,50 +23,41 @@ import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType;
 import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
+/**
+ * Stores the string attribute compressed using GZIP.
+ * <p>
+ * Use {@link com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.Compressed} to select different codec or to skip compressing small values.
+ * </p>
+ */
 public final class CompressedStringConverter implements AttributeConverter<String> {
 
+    private static final CompressionCodec GZIP = new GzipCompressionCodec();
+
     @Override
     public AttributeValue transformFrom(String input) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream(); GZIPOutputStream gos = new GZIPOutputStream(baos)) {
-            gos.write(input.getBytes(StandardCharsets.UTF_8));
-            gos.close();
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(bytes.length / 2, 32));
+            GZIP.compress(bytes, output);
 
             return AttributeValue.builder()
-                .b(SdkBytes.fromByteArray(baos.toByteArray()))
+                .b(SdkBytes.fromByteArrayUnsafe(output.toByteArray()))
                 .build();
 
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new UncheckedIOException(e);
         }
     }
 
     @Override
     public String transformTo(AttributeValue input) {
-        byte[] bytes = input.b().asByteArray();
-
-        try(ByteArrayInputStream bais = new ByteArrayInputStream(bytes);
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            GZIPInputStream gzis = new GZIPInputStream(bais)) {
-
-            byte[] buffer = new byte[1024];
-            int len = 0;
-
-            while ((len = gzis.read(buffer)) > 0) {
-                baos.write(buffer, 0, len);
-            }
-
-            return baos.toString(StandardCharsets.UTF_8.toString());
-
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        return CompressedAttributeConverter.decode(input.b().asByteArrayUnsafe(), GZIP);
     }
 
     @Override
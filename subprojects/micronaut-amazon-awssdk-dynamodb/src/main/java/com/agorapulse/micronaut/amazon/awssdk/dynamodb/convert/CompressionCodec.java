@@ -0,0 +1,56 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Compression algorithm used by the {@link CompressedAttributeConverter}.
+ * <p>
+ * Every codec is identified by a single byte stored as the first byte of the attribute value so the value can be decompressed
+ * even if the codec of the property changes later. The identifiers from <code>0</code> to <code>31</code> are reserved for the built-in codecs,
+ * custom codecs such as LZ4 or zstd should use higher identifiers.
+ * </p>
+ */
+public interface CompressionCodec {
+
+    /**
+     * @return the identifier of the codec stored in the header byte of the compressed value
+     */
+    byte getId();
+
+    /**
+     * Compresses the input.
+     * @param input the bytes to compress
+     * @param output the stream to write the compressed bytes to
+     * @throws IOException if the compression fails
+     */
+    void compress(byte[] input, OutputStream output) throws IOException;
+
+    /**
+     * Decompresses the input.
+     * @param input the array containing the compressed bytes
+     * @param offset the offset of the compressed bytes in the input
+     * @param length the number of the compressed bytes
+     * @return the decompressed bytes
+     * @throws IOException if the decompression fails
+     */
+    byte[] decompress(byte[] input, int offset, int length) throws IOException;
+
+}
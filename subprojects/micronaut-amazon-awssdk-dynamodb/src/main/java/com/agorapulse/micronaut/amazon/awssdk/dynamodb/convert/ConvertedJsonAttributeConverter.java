@@ -17,53 +17,245 @@
  */
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert;
 
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.ConvertedJson;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.micronaut.context.BeanContext;
+import io.micronaut.jackson.databind.JacksonDatabindMapper;
 import io.micronaut.json.JsonMapper;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
 import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType;
 import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
- * Converter which converts objects to JSON strings.
+ * Converter which converts objects to JSON strings, native DynamoDB maps and lists or binary CBOR or Smile documents.
+ * <p>
+ * The reader and the writer for the type are created once per converter so the type does not have to be resolved for every value.
+ * </p>
  * @param <T> the type of the object
  */
 public class ConvertedJsonAttributeConverter<T> implements AttributeConverter<T> {
 
-        private static final JsonMapper JSON_MAPPER = JsonMapper.createDefault();
+    private static final class DefaultObjectMapperHolder {
 
-        private final Class<T> type;
+        private static final ObjectMapper OBJECT_MAPPER = JsonMapper.createDefault() instanceof JacksonDatabindMapper jacksonMapper
+            ? jacksonMapper.getObjectMapper()
+            : new ObjectMapper();
 
-        public ConvertedJsonAttributeConverter(Class<T> type) {
-            this.type = type;
+    }
+
+    private static final String CBOR_FACTORY = "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+    private static final String SMILE_FACTORY = "com.fasterxml.jackson.dataformat.smile.SmileFactory";
+
+    /**
+     * Creates the converter using the JSON mapper from the application context if present.
+     * @param type the type of the object
+     * @param format the format of the persisted value
+     * @param beanContext the bean context
+     * @param <T> the type of the object
+     * @return new converter
+     */
+    public static <T> ConvertedJsonAttributeConverter<T> create(Class<T> type, ConvertedJson.Format format, BeanContext beanContext) {
+        ObjectMapper objectMapper = beanContext.findBean(JsonMapper.class)
+            .filter(JacksonDatabindMapper.class::isInstance)
+            .map(mapper -> ((JacksonDatabindMapper) mapper).getObjectMapper())
+            .or(() -> beanContext.findBean(ObjectMapper.class))
+            .orElseGet(ConvertedJsonAttributeConverter::createDefaultObjectMapper);
+
+        return new ConvertedJsonAttributeConverter<>(type, format, objectMapper);
+    }
+
+    private final Class<T> type;
+    private final ConvertedJson.Format format;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final AttributeValueType attributeValueType;
+
+    public ConvertedJsonAttributeConverter(Class<T> type) {
+        this(type, ConvertedJson.Format.STRING, createDefaultObjectMapper());
+    }
+
+    public ConvertedJsonAttributeConverter(Class<T> type, ConvertedJson.Format format, ObjectMapper objectMapper) {
+        this.type = type;
+        this.format = format;
+        this.objectMapper = objectMapper;
+
+        ObjectMapper formatMapper = switch (format) {
+            case CBOR -> objectMapper.copyWith(createFactory(CBOR_FACTORY, format));
+            case SMILE -> objectMapper.copyWith(createFactory(SMILE_FACTORY, format));
+            default -> objectMapper;
+        };
+
+        this.reader = formatMapper.readerFor(type);
+        this.writer = formatMapper.writerFor(type);
+        this.attributeValueType = switch (format) {
+            case STRING -> AttributeValueType.S;
+            case NATIVE -> isWrittenAsArray(objectMapper.constructType(type)) ? AttributeValueType.L : AttributeValueType.M;
+            case CBOR, SMILE -> AttributeValueType.B;
+        };
+    }
+
+    @Override
+    public AttributeValue transformFrom(T input) {
+        try {
+            return switch (format) {
+                case STRING -> AttributeValue.fromS(writer.writeValueAsString(input));
+                case NATIVE -> toAttributeValue(writeTree(input));
+                case CBOR, SMILE -> AttributeValue.fromB(SdkBytes.fromByteArrayUnsafe(writer.writeValueAsBytes(input)));
+            };
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cannot write value as " + format + ": " + input, e);
         }
+    }
 
-        @Override
-        public AttributeValue transformFrom(T input) {
-            try {
-                return AttributeValue.fromS(JSON_MAPPER.writeValueAsString(input));
-            } catch (IOException e) {
-                throw new IllegalArgumentException("Cannot write value as JSON: " + input, e);
-            }
+    @Override
+    public T transformTo(AttributeValue input) {
+        try {
+            return switch (format) {
+                case STRING -> reader.readValue(input.s());
+                case NATIVE -> reader.readValue(toJsonNode(input));
+                case CBOR, SMILE -> reader.readValue(input.b().asByteArrayUnsafe());
+            };
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read value: " + input,  e);
         }
+    }
+
+    @Override
+    public EnhancedType<T> type() {
+        return EnhancedType.of(type);
+    }
 
-        @Override
-        public T transformTo(AttributeValue input) {
-            try {
-                return JSON_MAPPER.readValue(input.s(), type);
-            } catch (IOException e) {
-                throw new IllegalArgumentException("Cannot read value: " + input.s(),  e);
+    @Override
+    public AttributeValueType attributeValueType() {
+        return attributeValueType;
+    }
+
+    private JsonNode writeTree(T input) throws IOException {
+        // written by the writer for the type, same as the other formats, instead of the mapper's valueToTree
+        try (TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+            writer.writeValue(buffer, input);
+            try (JsonParser parser = buffer.asParser(objectMapper)) {
+                JsonNode node = objectMapper.readTree(parser);
+                return node == null ? JsonNodeFactory.instance.nullNode() : node;
             }
         }
+    }
+
+    private static boolean isWrittenAsArray(JavaType javaType) {
+        return javaType.isArrayType() || javaType.isCollectionLikeType() || Iterable.class.isAssignableFrom(javaType.getRawClass());
+    }
 
-        @Override
-        public EnhancedType<T> type() {
-            return EnhancedType.of(type);
+    private static ObjectMapper createDefaultObjectMapper() {
+        return DefaultObjectMapperHolder.OBJECT_MAPPER;
+    }
+
+    private static JsonFactory createFactory(String className, ConvertedJson.Format format) {
+        try {
+            return (JsonFactory) Class.forName(className).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalStateException("The " + format + " format requires " + className + " to be on the classpath", e);
         }
+    }
 
-        @Override
-        public AttributeValueType attributeValueType() {
-            return AttributeValueType.S;
+    private static AttributeValue toAttributeValue(JsonNode node) {
+        switch (node.getNodeType()) {
+            case OBJECT:
+                Map<String, AttributeValue> map = new LinkedHashMap<>(node.size() * 4 / 3 + 1);
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    map.put(field.getKey(), toAttributeValue(field.getValue()));
+                }
+                return AttributeValue.fromM(map);
+            case ARRAY:
+                List<AttributeValue> list = new ArrayList<>(node.size());
+                node.forEach(item -> list.add(toAttributeValue(item)));
+                return AttributeValue.fromL(list);
+            case STRING:
+                return AttributeValue.fromS(node.textValue());
+            case NUMBER:
+                return AttributeValue.fromN(node.isIntegralNumber() ? node.bigIntegerValue().toString() : node.decimalValue().toPlainString());
+            case BOOLEAN:
+                return AttributeValue.fromBool(node.booleanValue());
+            case BINARY:
+                try {
+                    return AttributeValue.fromB(SdkBytes.fromByteArrayUnsafe(node.binaryValue()));
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Cannot read binary value: " + node, e);
+                }
+            default:
+                return AttributeValue.fromNul(true);
         }
     }
+
+    private static JsonNode toJsonNode(AttributeValue value) {
+        JsonNodeFactory factory = JsonNodeFactory.instance;
+
+        switch (value.type()) {
+            case M:
+                ObjectNode object = factory.objectNode();
+                value.m().forEach((key, item) -> object.set(key, toJsonNode(item)));
+                return object;
+            case L:
+                ArrayNode array = factory.arrayNode(value.l().size());
+                value.l().forEach(item -> array.add(toJsonNode(item)));
+                return array;
+            case S:
+                return factory.textNode(value.s());
+            case N:
+                return toNumberNode(value.n());
+            case BOOL:
+                return factory.booleanNode(value.bool());
+            case B:
+                return factory.binaryNode(value.b().asByteArrayUnsafe());
+            case SS:
+                ArrayNode strings = factory.arrayNode(value.ss().size());
+                value.ss().forEach(strings::add);
+                return strings;
+            case NS:
+                ArrayNode numbers = factory.arrayNode(value.ns().size());
+                value.ns().forEach(n -> numbers.add(toNumberNode(n)));
+                return numbers;
+            case BS:
+                ArrayNode binaries = factory.arrayNode(value.bs().size());
+                value.bs().forEach(b -> binaries.add(b.asByteArrayUnsafe()));
+                return binaries;
+            default:
+                return factory.nullNode();
+        }
+    }
+
+    private static JsonNode toNumberNode(String number) {
+        if (number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0) {
+            BigInteger integer = new BigInteger(number);
+            if (integer.bitLength() < Long.SIZE) {
+                return JsonNodeFactory.instance.numberNode(integer.longValue());
+            }
+            return JsonNodeFactory.instance.numberNode(integer);
+        }
+        return JsonNodeFactory.instance.numberNode(new BigDecimal(number));
+    }
+
+}
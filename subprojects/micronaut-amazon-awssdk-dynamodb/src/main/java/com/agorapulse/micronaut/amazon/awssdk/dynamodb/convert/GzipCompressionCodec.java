@@ -0,0 +1,54 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GZIP compression codec, compatible with the values written by the {@link CompressedStringConverter}.
+ */
+public final class GzipCompressionCodec implements CompressionCodec {
+
+    public static final byte ID = 1;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public void compress(byte[] input, OutputStream output) throws IOException {
+        GZIPOutputStream gos = new GZIPOutputStream(output, Math.min(Math.max(input.length, 512), BUFFER_SIZE));
+        gos.write(input);
+        gos.finish();
+    }
+
+    @Override
+    public byte[] decompress(byte[] input, int offset, int length) throws IOException {
+        try (GZIPInputStream gzis = new GZIPInputStream(new ByteArrayInputStream(input, offset, length), Math.min(Math.max(length, 512), BUFFER_SIZE))) {
+            return gzis.readAllBytes();
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.events;
+
+import java.util.List;
+
+/**
+ * Event triggered once for the whole batch of entities, e.g. for every batch written by
+ * {@link com.agorapulse.micronaut.amazon.awssdk.dynamodb.DynamoDbService#saveAll(org.reactivestreams.Publisher, int)}.
+ * <p>
+ * The batch events are published in addition to the events for the individual entities and only if there is a listener for them.
+ * </p>
+ *
+ * @param <T> the type of the entities
+ */
+public class DynamoDbBatchEvent<T> {
+
+    public static <T> DynamoDbBatchEvent<T> of(DynamoDbEventType type, List<T> entities) {
+        return new DynamoDbBatchEvent<>(type, entities);
+    }
+
+    private final DynamoDbEventType type;
+    private final List<T> entities;
+
+    protected DynamoDbBatchEvent(DynamoDbEventType type, List<T> entities) {
+        this.type = type;
+        this.entities = entities;
+    }
+
+    public DynamoDbEventType getType() {
+        return type;
+    }
+
+    public List<T> getEntities() {
+        return entities;
+    }
+
+}
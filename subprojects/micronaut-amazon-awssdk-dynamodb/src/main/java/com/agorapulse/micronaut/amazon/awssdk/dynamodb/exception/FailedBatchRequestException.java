@@ -26,7 +26,9 @@ import java.util.List;
  *     The exception contains a list of unprocessed items - for save operation it is a list of items that were not saved and for delete operation it is a list of keys that were not deleted.
  * </p>
  * <p>
- *     This exception is not thrown from async implementation but the unprocessed items are saved or deleted individually instead.
+ *     The unprocessed items are resubmitted with exponential backoff first so the exception is only thrown
+ *     when the items are still unprocessed after all the attempts configured by <code>aws.dynamodb.batch.max-attempts</code>.
+ *     The async implementation saves or deletes such items one by one instead.
  * </p>
  */
 public class FailedBatchRequestException extends IllegalArgumentException {
@@ -18,6 +18,7 @@
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb.groovy;
 
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.Builders;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.ConditionCheckBuilder;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.QueryBuilder;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.ScanBuilder;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.UpdateBuilder;
@@ -81,4 +82,21 @@ public class GroovyBuilders extends Builders {
         return Builders.update(FunctionWithDelegate.create(definition));
     }
 
+    /**
+     * Creates condition check builder for given DynamoDB entity.
+     *
+     * @param type DynamoDB entity type
+     * @param definition definition of the condition check
+     * @param <T> type of DynamoDB entity
+     * @return condition check builder for given DynamoDB entity
+     */
+    public static <T> ConditionCheckBuilder<T> conditionCheck(
+        Class<T> type,
+        @DelegatesTo(type = "com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.ConditionCheckBuilder<T>", strategy = Closure.DELEGATE_FIRST)
+        @ClosureParams(value = FromString.class, options = "com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.ConditionCheckBuilder<T>")
+            Closure<ConditionCheckBuilder<T>> definition
+    ) {
+        return Builders.conditionCheck(ConsumerWithDelegate.create(definition));
+    }
+
 }
@@ -314,6 +314,16 @@ public class MicronautDynamoDbExtensions {
         return service.updateAll(items, FunctionWithDelegate.create(update));
     }
 
+    public static <T, N> int updateAllInTransactions(
+        DynamoDbService<T> service,
+        Publisher<T> items,
+        @DelegatesTo(type = "com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.UpdateBuilder<T, T>", strategy = Closure.DELEGATE_FIRST)
+        @ClosureParams(value = FromString.class, options = "com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.UpdateBuilder<T, T>")
+            Closure<UpdateBuilder<T, N>> update
+    ) {
+        return service.updateAllInTransactions(items, FunctionWithDelegate.create(update));
+    }
+
     public static <T> int countUsingQuery(
         DynamoDbService<T> service,
         @DelegatesTo(type = "com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.QueryBuilder<T>", strategy = Closure.DELEGATE_FIRST)
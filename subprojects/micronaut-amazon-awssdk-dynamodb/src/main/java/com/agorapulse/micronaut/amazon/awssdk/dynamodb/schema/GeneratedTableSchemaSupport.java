@@ -0,0 +1,200 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.TimeToLive;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert.LegacyAttributeConverterProvider;
+import io.micronaut.context.BeanContext;
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanIntrospector;
+import io.micronaut.core.beans.BeanProperty;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeConverterProvider;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchemaCache;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttribute;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Support for the table schemas generated by the DynamoDB annotation processor.
+ * <p>
+ * The annotation processor generates a table schema with direct getter and setter calls for the mutable
+ * {@link io.micronaut.core.annotation.Introspected} entities which declare a partition key. The generated schema
+ * is named after the entity with <code>$</code> prefix and <code>$TableSchema</code> suffix, e.g. <code>$Book$TableSchema</code>
+ * for the <code>Book</code> entity.
+ * </p>
+ * <p>
+ * The parts of the schema which require the runtime such as the converters declared by annotations, nested documents
+ * or time to live attributes are resolved using this class exactly the same way as {@link BeanIntrospectionTableSchema} does.
+ * </p>
+ *
+ * @param <T> The type of object that the generated {@link TableSchema} maps to.
+ */
+public final class GeneratedTableSchemaSupport<T> {
+
+    private static final String PREFIX = "$";
+    private static final String SUFFIX = "$TableSchema";
+
+    private final Class<T> beanClass;
+    private final BeanIntrospection<T> introspection;
+    private final BeanContext beanContext;
+    private final MetaTableSchemaCache metaTableSchemaCache;
+    private final List<AttributeConverterProvider> attributeConverterProviders;
+
+    public GeneratedTableSchemaSupport(Class<T> beanClass, BeanContext beanContext, MetaTableSchemaCache metaTableSchemaCache) {
+        this.beanClass = beanClass;
+        this.introspection = BeanIntrospector.SHARED.findIntrospection(beanClass).orElseThrow(() ->
+            new IllegalArgumentException("A DynamoDb bean class must be annotated with @Introspected, but " + beanClass.getTypeName() + " was not.")
+        );
+        this.beanContext = beanContext;
+        this.metaTableSchemaCache = metaTableSchemaCache;
+        this.attributeConverterProviders = introspection.findAnnotation(DynamoDbBean.class)
+            .map(dynamoDbBean -> IntrospectionTableSchema.createConverterProvidersFromAnnotation(dynamoDbBean, beanContext))
+            .orElseGet(() -> List.of(new LegacyAttributeConverterProvider()));
+    }
+
+    /**
+     * Finds the table schema generated by the annotation processor for the given class.
+     *
+     * @param <T> The type of object that the {@link TableSchema} maps to.
+     * @param beanClass The class to find the generated table schema for
+     * @param beanContext The Micronaut bean context
+     * @param metaTableSchemaCache Cache for table schemas to prevent infinite recursion
+     * @return the generated table schema or empty if the schema was not generated for the class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Optional<TableSchema<T>> find(Class<T> beanClass, BeanContext beanContext, MetaTableSchemaCache metaTableSchemaCache) {
+        Class<?> schemaClass;
+        try {
+            schemaClass = Class.forName(getGeneratedClassName(beanClass), true, beanClass.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return Optional.empty();
+        }
+
+        if (!TableSchema.class.isAssignableFrom(schemaClass)) {
+            return Optional.empty();
+        }
+
+        IntrospectionTableSchema.debugLog(beanClass, () -> "Using generated schema " + schemaClass.getName());
+        MetaTableSchema<T> metaTableSchema = metaTableSchemaCache.getOrCreate(beanClass);
+
+        try {
+            Constructor<?> constructor = schemaClass.getConstructor(BeanContext.class, MetaTableSchemaCache.class);
+            TableSchema<T> schema = (TableSchema<T>) constructor.newInstance(beanContext, metaTableSchemaCache);
+            if (!metaTableSchema.isInitialized()) {
+                metaTableSchema.initialize(schema);
+            }
+            return Optional.of(schema);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to create generated table schema " + schemaClass.getName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create generated table schema " + schemaClass.getName(), e);
+        }
+    }
+
+    /**
+     * @param beanClass the entity class
+     * @return the name of the table schema class generated for the entity
+     */
+    public static String getGeneratedClassName(Class<?> beanClass) {
+        String packageName = beanClass.getPackageName();
+        String name = packageName.isEmpty() ? beanClass.getName() : beanClass.getName().substring(packageName.length() + 1);
+        return (packageName.isEmpty() ? "" : packageName + ".") + PREFIX + name + SUFFIX;
+    }
+
+    public List<AttributeConverterProvider> getAttributeConverterProviders() {
+        return attributeConverterProviders;
+    }
+
+    /**
+     * Resolves the type of the property which is not a simple type such as a nested document or an enum.
+     *
+     * @param <P> The property type
+     * @param propertyName the name of the property
+     * @return the enhanced type of the property
+     */
+    public <P> EnhancedType<P> getEnhancedType(String propertyName) {
+        BeanProperty<T, P> property = getProperty(propertyName);
+        return IntrospectionTableSchema.convertTypeToEnhancedType(
+            property.asArgument(),
+            metaTableSchemaCache,
+            IntrospectionTableSchema.resolveAttributeConfiguration(property),
+            beanContext,
+            attributeConverterProviders
+        );
+    }
+
+    /**
+     * Creates the converter declared by the annotation of the property such as {@link com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.ConvertedJson}.
+     *
+     * @param <P> The property type
+     * @param propertyName the name of the property
+     * @return the attribute converter for the property
+     */
+    public <P> AttributeConverter<P> getAttributeConverter(String propertyName) {
+        BeanProperty<T, P> property = getProperty(propertyName);
+        return IntrospectionTableSchema.createAttributeConverterFromAnnotation(property, beanContext).orElseThrow(() ->
+            new IllegalArgumentException("Property " + propertyName + " of " + beanClass.getTypeName() + " does not declare any converter")
+        );
+    }
+
+    /**
+     * Creates the time to live attribute declared by the {@link TimeToLive} annotation of the property.
+     *
+     * @param propertyName the name of the property
+     * @return the time to live attribute
+     */
+    public StaticAttribute<T, ?> getTimeToLiveAttribute(String propertyName) {
+        BeanProperty<T, Object> property = getProperty(propertyName);
+        AnnotationValue<TimeToLive> timeToLive = property.findAnnotation(TimeToLive.class).orElseThrow(() ->
+            new IllegalArgumentException("Property " + propertyName + " of " + beanClass.getTypeName() + " is not annotated with @TimeToLive")
+        );
+        return BeanIntrospectionTableSchema.createTtlAttributeFromFieldAnnotation(beanClass, timeToLive, property, beanContext);
+    }
+
+    /**
+     * Creates the time to live attribute declared by the {@link TimeToLive} annotation of the class.
+     *
+     * @return the time to live attribute
+     */
+    public StaticAttribute<T, ?> getTimeToLiveAttribute() {
+        AnnotationValue<TimeToLive> timeToLive = introspection.findAnnotation(TimeToLive.class).orElseThrow(() ->
+            new IllegalArgumentException("Class " + beanClass.getTypeName() + " is not annotated with @TimeToLive")
+        );
+        return BeanIntrospectionTableSchema.createTtlAttributeFromTopLevelAnnotation(beanClass, timeToLive, beanContext);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <P> BeanProperty<T, P> getProperty(String propertyName) {
+        return (BeanProperty<T, P>) introspection.getProperty(propertyName).orElseThrow(() ->
+            new IllegalArgumentException("Unknown property " + propertyName + " of " + beanClass.getTypeName())
+        );
+    }
+
+}
@@ -18,7 +18,10 @@
 package com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema;
 
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.*;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert.CompressedAttributeConverter;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert.CompressionCodec;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert.ConvertedJsonAttributeConverter;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert.GzipCompressionCodec;
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert.LegacyAttributeConverterProvider;
 import io.micronaut.context.BeanContext;
 import io.micronaut.core.annotation.AnnotationMetadataProvider;
@@ -345,8 +348,28 @@ public class IntrospectionTableSchema {
         return findAnnotation(propertyDescriptor, DynamoDbConvertedBy.class, ConvertedBy.class)
             .flatMap(AnnotationValue::classValue)
             .map(clazz -> (AttributeConverter<P>) fromContextOrNew(clazz, beanContext).get())
+            .or(() -> findAnnotation(propertyDescriptor, Compressed.class)
+                .map(anno -> (AttributeConverter<P>) createCompressedAttributeConverter(propertyDescriptor, anno, beanContext)))
             .or(() -> findAnnotation(propertyDescriptor, ConvertedJson.class)
-                .map(anno -> (AttributeConverter<P>) new ConvertedJsonAttributeConverter<>(propertyDescriptor.getType())));
+                .map(anno -> (AttributeConverter<P>) ConvertedJsonAttributeConverter.create(
+                    propertyDescriptor.getType(),
+                    anno.enumValue("format", ConvertedJson.Format.class).orElse(ConvertedJson.Format.STRING),
+                    beanContext
+                )));
+    }
+
+    private static AttributeConverter<String> createCompressedAttributeConverter(
+        BeanProperty<?, ?> propertyDescriptor,
+        AnnotationValue<Annotation> compressed,
+        BeanContext beanContext
+    ) {
+        if (!String.class.equals(propertyDescriptor.getType())) {
+            throw new IllegalArgumentException("Compressed annotation can only be used on fields of type String but was used on " + propertyDescriptor);
+        }
+
+        Class<?> codecClass = compressed.classValue("codec").orElse(GzipCompressionCodec.class);
+        CompressionCodec codec = (CompressionCodec) fromContextOrNew(codecClass, beanContext).get();
+        return new CompressedAttributeConverter(codec, compressed.intValue("threshold").orElse(0));
     }
 
     /**
@@ -0,0 +1,401 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.Attribute;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanIntrospector;
+import io.micronaut.core.beans.BeanProperty;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.core.type.Argument;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Table schema which reads the items of an entity table directly into a projection type.
+ * <p>
+ * The projection can be an interface with getters, a record or a class annotated with
+ * {@link io.micronaut.core.annotation.Introspected}. Each property of the projection is matched to the entity attribute
+ * with the same property name or to the attribute declared by {@link DynamoDbAttribute} or {@link Attribute} annotation
+ * on the projection property. The values are converted with the converters of the entity schema so the entity itself
+ * is never instantiated.
+ * </p>
+ * <p>
+ * The schema shares the metadata with the entity schema so it can be used to execute queries and scans against the
+ * entity table but it cannot be used to write the projections.
+ * </p>
+ *
+ * @param <P> the type of the projection
+ */
+public final class ProjectionTableSchema<P> implements TableSchema<P> {
+
+    private final TableSchema<?> entitySchema;
+    private final Class<P> projectionType;
+    private final List<ProjectedProperty> properties;
+    private final List<String> projectedAttributes;
+    private final Function<Map<String, Object>, P> instantiator;
+
+    private ProjectionTableSchema(TableSchema<?> entitySchema, Class<P> projectionType, List<ProjectedProperty> properties, Function<Map<String, Object>, P> instantiator) {
+        this.entitySchema = entitySchema;
+        this.projectionType = projectionType;
+        this.properties = properties;
+        this.projectedAttributes = properties.stream().map(ProjectedProperty::attributeName).distinct().toList();
+        this.instantiator = instantiator;
+    }
+
+    /**
+     * Creates a new projection schema for given entity schema.
+     *
+     * @param entitySchema the schema of the entity stored in the table
+     * @param projectionType the type of the projection
+     * @param <P> the type of the projection
+     * @return the new projection schema
+     * @throws IllegalArgumentException if the type cannot be used as a projection or none of its properties matches the entity attributes
+     */
+    public static <P> ProjectionTableSchema<P> create(TableSchema<?> entitySchema, Class<P> projectionType) {
+        Map<String, String> entityAttributes = getEntityAttributes(entitySchema);
+        Set<String> attributeNames = new HashSet<>(entitySchema.attributeNames());
+        List<ProjectedProperty> properties = new ArrayList<>();
+        Function<Map<String, Object>, P> instantiator;
+
+        if (projectionType.isInterface()) {
+            instantiator = createInterfaceProjection(projectionType, entityAttributes, properties);
+        } else {
+            instantiator = BeanIntrospector.SHARED.findIntrospection(projectionType)
+                .map(introspection -> createIntrospectedProjection(introspection, entityAttributes, properties))
+                .orElseGet(() -> createRecordProjection(projectionType, entityAttributes, properties));
+        }
+
+        List<ProjectedProperty> mapped = properties.stream().filter(p -> attributeNames.contains(p.attributeName())).toList();
+
+        if (mapped.isEmpty()) {
+            throw new IllegalArgumentException("None of the properties of projection " + projectionType.getName() + " matches any attribute of " + entitySchema.itemType().rawClass().getName());
+        }
+
+        return new ProjectionTableSchema<>(entitySchema, projectionType, mapped, instantiator);
+    }
+
+    /**
+     * @return the names of the attributes which are required to populate the projection
+     */
+    public List<String> getProjectedAttributes() {
+        return projectedAttributes;
+    }
+
+    @Override
+    public P mapToItem(Map<String, AttributeValue> attributeMap) {
+        if (attributeMap == null) {
+            return null;
+        }
+
+        Map<String, Object> values = new HashMap<>();
+        for (ProjectedProperty property : properties) {
+            AttributeValue value = attributeMap.get(property.attributeName());
+            if (value != null && !Boolean.TRUE.equals(value.nul())) {
+                values.put(property.name(), convert(property, value));
+            }
+        }
+        return instantiator.apply(values);
+    }
+
+    @Override
+    public Map<String, AttributeValue> itemToMap(P item, boolean ignoreNulls) {
+        return withEntitySchema(item, (schema, entity) -> schema.itemToMap(entity, ignoreNulls));
+    }
+
+    @Override
+    public Map<String, AttributeValue> itemToMap(P item, Collection<String> attributes) {
+        return withEntitySchema(item, (schema, entity) -> schema.itemToMap(entity, attributes));
+    }
+
+    @Override
+    public AttributeValue attributeValue(P item, String attributeName) {
+        return withEntitySchema(item, (schema, entity) -> schema.attributeValue(entity, attributeName));
+    }
+
+    @Override
+    public TableMetadata tableMetadata() {
+        return entitySchema.tableMetadata();
+    }
+
+    @Override
+    public EnhancedType<P> itemType() {
+        return EnhancedType.of(projectionType);
+    }
+
+    @Override
+    public List<String> attributeNames() {
+        return entitySchema.attributeNames();
+    }
+
+    @Override
+    public boolean isAbstract() {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public AttributeConverter converterForAttribute(Object key) {
+        return entitySchema.converterForAttribute(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object convert(ProjectedProperty property, AttributeValue value) {
+        Object converted = ((AttributeConverter<Object>) entitySchema.converterForAttribute(property.attributeName())).transformTo(value);
+        Argument<?> type = property.type();
+
+        if (converted == null || type.getWrapperType().isInstance(converted)) {
+            return converted;
+        }
+
+        return ConversionService.SHARED.convert(converted, type).orElseThrow(() -> new IllegalArgumentException(
+            "Cannot convert value of attribute " + property.attributeName() + " to " + type.getTypeName() + " for projection " + projectionType.getName()
+        ));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R withEntitySchema(P item, EntitySchemaFunction<R> function) {
+        // the items passed to the schema can still be entities, e.g. the last evaluated key of a query
+        if (entitySchema.itemType().rawClass().isInstance(item)) {
+            return function.apply((TableSchema<Object>) entitySchema, item);
+        }
+        throw new UnsupportedOperationException("Projection " + projectionType.getName() + " cannot be converted to an item of " + entitySchema.itemType().rawClass().getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> getEntityAttributes(TableSchema<?> entitySchema) {
+        Map<String, String> attributes = new HashMap<>();
+        BeanIntrospector.SHARED.findIntrospection((Class<Object>) entitySchema.itemType().rawClass()).ifPresent(introspection -> {
+            for (BeanProperty<Object, Object> property : introspection.getBeanProperties()) {
+                attributes.put(property.getName(), IntrospectionTableSchema.attributeNameForProperty(property));
+            }
+        });
+        return attributes;
+    }
+
+    private static <P> Function<Map<String, Object>, P> createInterfaceProjection(Class<P> projectionType, Map<String, String> entityAttributes, List<ProjectedProperty> properties) {
+        Map<Method, String> accessors = new HashMap<>();
+
+        for (Method method : projectionType.getMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers()) || method.getParameterCount() > 0 || method.getReturnType() == void.class) {
+                continue;
+            }
+
+            String name = getInterfacePropertyName(method);
+            String attributeName = findAttributeName(method).orElseGet(() -> entityAttributes.getOrDefault(name, name));
+
+            accessors.put(method, name);
+            properties.add(new ProjectedProperty(name, attributeName, Argument.of(method.getGenericReturnType())));
+        }
+
+        ClassLoader classLoader = projectionType.getClassLoader();
+        Class<?>[] interfaces = {projectionType};
+
+        return values -> projectionType.cast(Proxy.newProxyInstance(classLoader, interfaces, new ProjectionInvocationHandler(projectionType, accessors, values)));
+    }
+
+    private static <P> Function<Map<String, Object>, P> createIntrospectedProjection(BeanIntrospection<P> introspection, Map<String, String> entityAttributes, List<ProjectedProperty> properties) {
+        Argument<?>[] constructorArguments = introspection.getConstructorArguments();
+        Set<String> constructorArgumentNames = new HashSet<>();
+
+        for (Argument<?> argument : constructorArguments) {
+            constructorArgumentNames.add(argument.getName());
+        }
+
+        List<BeanProperty<P, Object>> writableProperties = new ArrayList<>();
+
+        for (BeanProperty<P, Object> property : introspection.getBeanProperties()) {
+            boolean constructorArgument = constructorArgumentNames.contains(property.getName());
+            if (!constructorArgument && property.isReadOnly()) {
+                continue;
+            }
+
+            if (!constructorArgument) {
+                writableProperties.add(property);
+            }
+
+            String name = property.getName();
+            String attributeName = IntrospectionTableSchema.attributeNameForProperty(property);
+            if (name.equals(attributeName)) {
+                attributeName = entityAttributes.getOrDefault(name, name);
+            }
+
+            properties.add(new ProjectedProperty(name, attributeName, property.asArgument()));
+        }
+
+        return values -> {
+            Object[] arguments = new Object[constructorArguments.length];
+            for (int i = 0; i < constructorArguments.length; i++) {
+                arguments[i] = valueOrDefault(values.get(constructorArguments[i].getName()), constructorArguments[i].getType());
+            }
+
+            P instance = introspection.instantiate(false, arguments);
+
+            for (BeanProperty<P, Object> property : writableProperties) {
+                if (values.containsKey(property.getName())) {
+                    property.set(instance, values.get(property.getName()));
+                }
+            }
+
+            return instance;
+        };
+    }
+
+    private static <P> Function<Map<String, Object>, P> createRecordProjection(Class<P> projectionType, Map<String, String> entityAttributes, List<ProjectedProperty> properties) {
+        if (!projectionType.isRecord()) {
+            throw new IllegalArgumentException("Cannot use " + projectionType.getName() + " as a projection. Please, use an interface, a record or annotate the class with @Introspected");
+        }
+
+        RecordComponent[] components = projectionType.getRecordComponents();
+
+        for (RecordComponent component : components) {
+            String name = component.getName();
+            String attributeName = findAttributeName(component.getAccessor()).orElseGet(() -> entityAttributes.getOrDefault(name, name));
+            properties.add(new ProjectedProperty(name, attributeName, Argument.of(component.getGenericType())));
+        }
+
+        Constructor<P> constructor;
+        try {
+            constructor = projectionType.getDeclaredConstructor(Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new));
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot access the canonical constructor of projection " + projectionType.getName(), e);
+        }
+
+        return values -> {
+            Object[] arguments = new Object[components.length];
+            for (int i = 0; i < components.length; i++) {
+                arguments[i] = valueOrDefault(values.get(components[i].getName()), components[i].getType());
+            }
+
+            try {
+                return constructor.newInstance(arguments);
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new IllegalStateException("Cannot instantiate projection " + projectionType.getName(), e);
+            } catch (InvocationTargetException e) {
+                throw new IllegalStateException("Cannot instantiate projection " + projectionType.getName(), e.getCause());
+            }
+        };
+    }
+
+    private static Optional<String> findAttributeName(Method accessor) {
+        DynamoDbAttribute dynamoDbAttribute = accessor.getAnnotation(DynamoDbAttribute.class);
+        if (dynamoDbAttribute != null) {
+            return Optional.of(dynamoDbAttribute.value());
+        }
+        Attribute attribute = accessor.getAnnotation(Attribute.class);
+        if (attribute != null) {
+            return Optional.of(attribute.value());
+        }
+        return Optional.empty();
+    }
+
+    private static String getInterfacePropertyName(Method method) {
+        String name = method.getName();
+        if (name.length() > 3 && name.startsWith("get")) {
+            return NameUtils.decapitalize(name.substring(3));
+        }
+        if (name.length() > 2 && name.startsWith("is") && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)) {
+            return NameUtils.decapitalize(name.substring(2));
+        }
+        return name;
+    }
+
+    private static Object valueOrDefault(Object value, Class<?> type) {
+        if (value == null && type.isPrimitive()) {
+            return Array.get(Array.newInstance(type, 1), 0);
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface EntitySchemaFunction<R> {
+        R apply(TableSchema<Object> schema, Object entity);
+    }
+
+    private record ProjectedProperty(String name, String attributeName, Argument<?> type) { }
+
+    private static final class ProjectionInvocationHandler implements InvocationHandler {
+
+        private final Class<?> projectionType;
+        private final Map<Method, String> accessors;
+        private final Map<String, Object> values;
+
+        ProjectionInvocationHandler(Class<?> projectionType, Map<Method, String> accessors, Map<String, Object> values) {
+            this.projectionType = projectionType;
+            this.accessors = accessors;
+            this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String property = accessors.get(method);
+
+            if (property != null) {
+                return valueOrDefault(values.get(property), method.getReturnType());
+            }
+
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+
+            switch (method.getName()) {
+                case "equals":
+                    return args[0] != null
+                        && Proxy.isProxyClass(args[0].getClass())
+                        && Proxy.getInvocationHandler(args[0]) instanceof ProjectionInvocationHandler other
+                        && other.projectionType.equals(projectionType)
+                        && other.values.equals(values);
+                case "hashCode":
+                    return values.hashCode();
+                case "toString":
+                    return projectionType.getSimpleName() + values;
+                default:
+                    throw new UnsupportedOperationException("Method " + method + " is not supported by projection " + projectionType.getName());
+            }
+        }
+
+    }
+
+}
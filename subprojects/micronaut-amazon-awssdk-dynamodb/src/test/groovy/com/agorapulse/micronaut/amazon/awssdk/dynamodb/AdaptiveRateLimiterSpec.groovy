@@ -0,0 +1,153 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import software.amazon.awssdk.enhanced.dynamodb.model.DescribeTableEnhancedResponse
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputDescription
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException
+import software.amazon.awssdk.services.dynamodb.model.TableDescription
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.TimeUnit
+
+class AdaptiveRateLimiterSpec extends Specification {
+
+    long now = 0
+
+    void 'paces the requests to the target fraction of the provisioned capacity'() {
+        given:
+            AdaptiveRateLimiter limiter = limiter(provisioned(100, 50))
+        expect:
+            limiter.reads().rate == 50
+            limiter.writes().rate == 25
+            limiter.writes().acquire(25) == Duration.ofSeconds(1)
+            limiter.writes().acquire(25) == Duration.ofSeconds(2)
+        when:
+            now += TimeUnit.SECONDS.toNanos(2)
+        then:
+            limiter.writes().acquire(25) == Duration.ofSeconds(1)
+    }
+
+    void 'configured capacity takes precedence over the provisioned capacity'() {
+        given:
+            AdaptiveRateLimiter limiter = limiter(configuration(readCapacity: 10, writeCapacity: 20), provisioned(100, 50))
+        expect:
+            limiter.reads().rate == 5
+            limiter.writes().rate == 10
+    }
+
+    void 'halves the rate when throttled and recovers with successful requests'() {
+        given:
+            AdaptiveRateLimiter.Budget writes = limiter(provisioned(100, 50)).writes()
+        when:
+            writes.throttled()
+        then:
+            writes.rate == 12.5
+        when:
+            10.times { writes.consumed(25, 25) }
+        then:
+            writes.rate == 25
+    }
+
+    void 'uses the observed capacity for on-demand tables'() {
+        given:
+            AdaptiveRateLimiter.Budget writes = limiter(provisioned(0, 0)).writes()
+        when:
+            40.times {
+                now += TimeUnit.MILLISECONDS.toNanos(50)
+                assert writes.acquire(25).zero
+                writes.consumed(25, 25)
+            }
+        then:
+            writes.rate == Double.POSITIVE_INFINITY
+        when:
+            writes.throttled()
+        then:
+            writes.rate == 125
+    }
+
+    void 'never goes below the minimal capacity'() {
+        given:
+            AdaptiveRateLimiter.Budget writes = limiter(configuration(minCapacity: 2), provisioned(0, 0)).writes()
+        when:
+            writes.throttled()
+            writes.throttled()
+        then:
+            writes.rate == 2
+    }
+
+    void 'refunds the reservation of the failed requests'() {
+        given:
+            AdaptiveRateLimiter.Budget writes = limiter(provisioned(100, 50)).writes()
+        when:
+            writes.acquire(25)
+            writes.failed(25, new IllegalStateException('Boom'))
+        then:
+            writes.rate == 25
+            writes.acquire(25) == Duration.ofSeconds(1)
+    }
+
+    void 'counts only the capacity consumed by the table'() {
+        expect:
+            limiter(provisioned(100, 50)).capacityUnits([
+                ConsumedCapacity.builder().tableName('Entity').capacityUnits(3d).build(),
+                ConsumedCapacity.builder().tableName('Other').capacityUnits(5d).build(),
+            ]) == 3
+    }
+
+    void 'recognizes throttling errors'() {
+        expect:
+            AdaptiveRateLimiter.isThrottling(new CompletionException('Throttled', ProvisionedThroughputExceededException.builder().build()))
+            !AdaptiveRateLimiter.isThrottling(new IllegalStateException('Boom'))
+    }
+
+    void 'rate limiter is not created unless enabled'() {
+        expect:
+            AdaptiveRateLimiter.create(null, { provisioned(100, 50) }) == null
+            AdaptiveRateLimiter.create(configuration(enabled: false), { provisioned(100, 50) }) == null
+            AdaptiveRateLimiter.create(configuration(), { provisioned(100, 50) }) != null
+    }
+
+    private AdaptiveRateLimiter limiter(CompletableFuture<DescribeTableEnhancedResponse> description) {
+        return limiter(configuration(), description)
+    }
+
+    private AdaptiveRateLimiter limiter(DynamoDBRateLimitConfiguration configuration, CompletableFuture<DescribeTableEnhancedResponse> description) {
+        return new AdaptiveRateLimiter(configuration, { description }, { now })
+    }
+
+    private static DynamoDBRateLimitConfiguration configuration(Map<String, Object> properties = [:]) {
+        DynamoDBRateLimitConfiguration configuration = new DynamoDBRateLimitConfiguration('Entity')
+        properties.each { name, value -> configuration[name] = value }
+        return configuration
+    }
+
+    private static CompletableFuture<DescribeTableEnhancedResponse> provisioned(long readCapacity, long writeCapacity) {
+        return CompletableFuture.completedFuture(DescribeTableEnhancedResponse.builder().response(
+            DescribeTableResponse.builder().table(TableDescription.builder().provisionedThroughput(
+                ProvisionedThroughputDescription.builder().readCapacityUnits(readCapacity).writeCapacityUnits(writeCapacity).build()
+            ).build()).build()
+        ).build())
+    }
+
+}
@@ -0,0 +1,300 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.Query
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.Scan
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.Update
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.Builders
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedQuery
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedScan
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedUpdate
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema.BeanIntrospectionTableSchema
+import io.micronaut.aop.MethodInvocationContext
+import io.micronaut.context.BeanContext
+import io.micronaut.core.convert.ConversionService
+import io.micronaut.core.type.Argument
+import io.micronaut.core.type.MutableArgumentValue
+import io.micronaut.core.type.ReturnType
+import io.micronaut.inject.ExecutableMethod
+import org.reactivestreams.Publisher
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Hooks
+import reactor.core.publisher.Mono
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema
+import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchemaCache
+import spock.lang.Specification
+
+import java.lang.reflect.Method
+import java.util.function.Function
+
+/**
+ * Specification for the declarative services' introduction which does not need the database.
+ */
+class AsyncDynamoDbServiceIntroductionSpec extends Specification {
+
+    private static final String TABLE_NAME = 'DynamoDBEntity'
+    private static final String DISCARD_HOOK = 'AsyncDynamoDbServiceIntroductionSpec'
+
+    BeanContext context = Mock {
+        findBean(_) >> Optional.empty()
+        conversionService >> ConversionService.SHARED
+    }
+
+    TableSchema<DynamoDBEntity> schema = BeanIntrospectionTableSchema.create(DynamoDBEntity, context, new MetaTableSchemaCache())
+
+    DynamoDbAsyncTable<DynamoDBEntity> table = Stub {
+        tableSchema() >> schema
+    }
+
+    AsyncDynamoDbService<DynamoDBEntity> service = Mock {
+        getItemType() >> DynamoDBEntity
+        getTable() >> table
+    }
+
+    AsyncDynamoDBServiceProvider provider = Stub {
+        findOrCreate(TABLE_NAME, DynamoDBEntity) >> service
+    }
+
+    FunctionEvaluator functionEvaluator = Mock()
+
+    AsyncDynamoDbServiceIntroduction introduction = new AsyncDynamoDbServiceIntroduction(functionEvaluator, provider, ConversionService.SHARED)
+
+    Map<Method, ExecutableMethod<Object, Object>> executableMethods = [:]
+
+    DynamoDBEntity first = new DynamoDBEntity(parentId: '1', id: '1')
+    DynamoDBEntity second = new DynamoDBEntity(parentId: '1', id: '2')
+
+    void cleanup() {
+        introduction.close()
+    }
+
+    void 'plan is resolved once per method and reused'() {
+        when:
+            Object firstResult = intercept('get', parentId: '1', id: '1')
+            Object secondResult = intercept('get', parentId: '1', id: '2')
+            intercept('save', entity: first)
+        then:
+            2 * service.getTable() >> table
+            1 * service.get('1', '1') >> Mono.just(first)
+            1 * service.get('1', '2') >> Mono.just(second)
+            1 * service.save(first) >> Mono.just(first)
+        and:
+            firstResult.is(first)
+            secondResult.is(second)
+    }
+
+    void 'dispatches get, save and delete'() {
+        when:
+            Object loaded = intercept('get', parentId: '1', id: '1')
+        then:
+            1 * service.get('1', '1') >> Mono.just(first)
+            loaded.is(first)
+
+        when:
+            Object saved = intercept('save', entity: first)
+        then:
+            1 * service.save(first) >> Mono.just(first)
+            saved.is(first)
+
+        when:
+            Object deleted = intercept('delete', entity: first)
+        then:
+            1 * service.delete(first) >> Mono.just(first)
+            deleted == null
+
+        when:
+            intercept('deleteByKey', parentId: '1', id: '2')
+        then:
+            1 * service.delete('1', '2') >> Mono.just(second)
+    }
+
+    void 'dispatches query, scan and update'() {
+        given:
+            DetachedQuery<DynamoDBEntity> query = Builders.query(DynamoDBEntity).partitionKey('1')
+            DetachedScan<DynamoDBEntity> scan = Builders.scan(DynamoDBEntity)
+            DetachedUpdate<DynamoDBEntity, Number> update = Stub()
+
+        when:
+            Object queried = intercept('queryByParent', parentId: '1')
+        then:
+            1 * functionEvaluator.evaluateAnnotationType(IntroducedEntityQuery, _) >> query
+            1 * service.query(query) >> Flux.just(first, second)
+        and:
+            queried instanceof Publisher
+            Flux.from(queried).collectList().block() == [first, second]
+
+        when:
+            Object scanned = intercept('scanByNumber', number: 1)
+        then:
+            1 * functionEvaluator.evaluateAnnotationType(IntroducedEntityScan, _) >> scan
+            1 * service.scan(scan) >> Flux.just(first, second)
+        and:
+            scanned == [first, second]
+
+        when:
+            Object updated = intercept('increment', parentId: '1', id: '1')
+        then:
+            1 * functionEvaluator.evaluateAnnotationType(IntroducedEntityUpdate, _) >> update
+            1 * service.update(update) >> Mono.just(5)
+        and:
+            updated == 5
+    }
+
+    void 'dispatches count'() {
+        given:
+            DetachedQuery<DynamoDBEntity> query = Builders.query(DynamoDBEntity).partitionKey('1')
+
+        when:
+            Object byKey = intercept('count', parentId: '1')
+        then:
+            1 * service.count('1', null) >> Mono.just(3L)
+            byKey == 3
+
+        when:
+            Object byQuery = intercept('countByParent', parentId: '1')
+        then:
+            1 * functionEvaluator.evaluateAnnotationType(IntroducedEntityQuery, _) >> query
+            1 * service.count(query) >> Mono.just(4L)
+            byQuery == 4
+    }
+
+    void 'numbers are counted from the publishers of many items'() {
+        given:
+            DetachedQuery<DynamoDBEntity> query = Builders.query(DynamoDBEntity).partitionKey('1')
+            Flux<DynamoDBEntity> items = Flux.just(first, second)
+        when:
+            Object deleted = intercept('deleteByParent', parentId: '1')
+        then:
+            1 * functionEvaluator.evaluateAnnotationType(IntroducedEntityQuery, _) >> query
+            1 * service.query(query) >> items
+            1 * service.deleteAll(items) >> Flux.just(first, second)
+        and:
+            deleted == 2
+    }
+
+    void 'void methods drain the results without retaining them'() {
+        given:
+            List<DynamoDBEntity> entities = (1..100).collect { new DynamoDBEntity(parentId: '1', id: "$it") }
+            List<Object> discarded = []
+            Hooks.onLastOperator(DISCARD_HOOK) { Publisher<Object> publisher ->
+                publisher instanceof Mono
+                    ? Mono.from(publisher).doOnDiscard(Object) { discarded << it }
+                    : Flux.from(publisher).doOnDiscard(Object) { discarded << it }
+            }
+        when:
+            Object result = intercept('saveAll', entities: entities)
+        then:
+            1 * service.saveAll(_) >> { Publisher<DynamoDBEntity> toSave -> Flux.from(toSave) }
+        and:
+            result == null
+            // every saved item is dropped as soon as it is emitted instead of being collected first
+            discarded == entities
+        cleanup:
+            Hooks.resetOnLastOperator(DISCARD_HOOK)
+    }
+
+    private Object intercept(Map<String, Object> arguments, String methodName) {
+        return introduction.doIntercept(invocation(methodName, arguments), DynamoDBEntity, TABLE_NAME)
+    }
+
+    private MethodInvocationContext<Object, Object> invocation(String methodName, Map<String, Object> arguments) {
+        Method method = IntroducedEntityService.methods.find { it.name == methodName }
+        List<Argument<?>> methodArguments = arguments.keySet().withIndex().collect { String name, int index ->
+            Argument<?> argument = Argument.of(method.genericParameterTypes[index])
+            return Argument.of(argument.type, name, argument.typeParameters)
+        }
+        Map<String, MutableArgumentValue<?>> parameters = methodArguments.collectEntries { Argument<?> argument ->
+            [argument.name, MutableArgumentValue.create(argument, arguments[argument.name])]
+        }
+        ExecutableMethod<Object, Object> executableMethod = executableMethods.computeIfAbsent(method) { Stub(ExecutableMethod) }
+        ReturnType<Object> returnType = Stub {
+            getType() >> method.returnType
+            asArgument() >> Argument.of(method.genericReturnType)
+        }
+
+        return Stub(MethodInvocationContext) {
+            getExecutableMethod() >> executableMethod
+            getMethodName() >> methodName
+            getTargetMethod() >> method
+            getReturnType() >> returnType
+            getArguments() >> (methodArguments as Argument[])
+            getParameters() >> parameters
+        }
+    }
+
+}
+
+interface IntroducedEntityService {
+
+    DynamoDBEntity get(String parentId, String id)
+
+    DynamoDBEntity save(DynamoDBEntity entity)
+
+    void saveAll(List<DynamoDBEntity> entities)
+
+    void delete(DynamoDBEntity entity)
+
+    void deleteByKey(String parentId, String id)
+
+    int count(String parentId)
+
+    @Query(IntroducedEntityQuery)
+    int countByParent(String parentId)
+
+    @Query(IntroducedEntityQuery)
+    int deleteByParent(String parentId)
+
+    @Query(IntroducedEntityQuery)
+    Publisher<DynamoDBEntity> queryByParent(String parentId)
+
+    @Scan(IntroducedEntityScan)
+    List<DynamoDBEntity> scanByNumber(Integer number)
+
+    @Update(IntroducedEntityUpdate)
+    Number increment(String parentId, String id)
+
+}
+
+class IntroducedEntityQuery implements Function<Map<String, Object>, DetachedQuery> {
+
+    @Override
+    DetachedQuery apply(Map<String, Object> arguments) {
+        return Builders.query(DynamoDBEntity).partitionKey(arguments.parentId)
+    }
+
+}
+
+class IntroducedEntityScan implements Function<Map<String, Object>, DetachedScan> {
+
+    @Override
+    DetachedScan apply(Map<String, Object> arguments) {
+        return Builders.scan(DynamoDBEntity)
+    }
+
+}
+
+class IntroducedEntityUpdate implements Function<Map<String, Object>, DetachedUpdate> {
+
+    @Override
+    DetachedUpdate apply(Map<String, Object> arguments) {
+        return Builders.update(DynamoDBEntity).partitionKey(arguments.parentId).sortKey(arguments.id).add('number', 1)
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import spock.lang.Specification
+
+import java.time.Duration
+
+class BatchRetryBackoffSpec extends Specification {
+
+    void 'retries until the attempts are exhausted'() {
+        given:
+            BatchRetryBackoff backoff = new BatchRetryBackoff(new DynamoDBBatchConfiguration(maxAttempts: 3))
+        expect:
+            backoff.canRetry(1)
+            backoff.canRetry(2)
+            !backoff.canRetry(3)
+    }
+
+    void 'delay grows exponentially up to the maximum backoff'() {
+        given:
+            BatchRetryBackoff backoff = new BatchRetryBackoff(new DynamoDBBatchConfiguration(
+                initialBackoff: Duration.ofMillis(100),
+                maxBackoff: Duration.ofMillis(1000)
+            ))
+        expect:
+            (1..100).every { backoff.delay(1).toMillis() <= 100 }
+            (1..100).every { backoff.delay(3).toMillis() <= 400 }
+            (1..100).every { backoff.delay(50).toMillis() <= 1000 }
+            (1..100).collect { backoff.delay(10).toMillis() }.unique().size() > 1
+    }
+
+}
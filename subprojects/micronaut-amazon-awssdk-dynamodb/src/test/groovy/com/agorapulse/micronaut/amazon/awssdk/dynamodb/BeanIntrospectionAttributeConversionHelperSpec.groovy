@@ -0,0 +1,132 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema.BeanIntrospectionTableSchema
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema.EntityWithConverter
+import io.micronaut.context.BeanContext
+import io.micronaut.core.convert.ConversionService
+import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient
+import software.amazon.awssdk.enhanced.dynamodb.MappedTableResource
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema
+import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchemaCache
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Specification for converting the keys and the filter values using the table schema.
+ */
+class BeanIntrospectionAttributeConversionHelperSpec extends Specification {
+
+    BeanContext context = Mock {
+        findBean(_) >> Optional.empty()
+        conversionService >> ConversionService.SHARED
+    }
+
+    DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(Stub(DynamoDbClient)).build()
+
+    AttributeConversionHelper helper = new BeanIntrospectionAttributeConversionHelper()
+
+    @Unroll
+    void 'convert key and filter values #description'() {
+        given:
+            MappedTableResource<DynamoDBEntity> table = table(DynamoDBEntity, exposed)
+        expect:
+            helper.convert(table, 'parentId', '1') == AttributeValue.fromS('1')
+            helper.convert(table, 'number', 42) == AttributeValue.fromN('42')
+            helper.convert(table, [parentId: '1', id: '2', number: 3]) == [
+                parentId: AttributeValue.fromS('1'),
+                id: AttributeValue.fromS('2'),
+                number: AttributeValue.fromN('3'),
+            ]
+        and:
+            helper.convert(table, 'number', null) == null
+            helper.convert(table, 'number', AttributeValue.fromS('foo')) == AttributeValue.fromS('foo')
+
+        where:
+            exposed << [true, false]
+            description = exposed ? 'using converters of the schema' : 'using new instance when the schema does not expose the converters'
+    }
+
+    @Unroll
+    void 'convert values with custom converter #description'() {
+        given:
+            MappedTableResource<EntityWithConverter> table = table(EntityWithConverter, exposed)
+        expect:
+            helper.convert(table, 'subEntity', new EntityWithConverter.SubEntity(name: 'bar')) == AttributeValue.fromS('bar')
+
+        where:
+            exposed << [true, false]
+            description = exposed ? 'using converters of the schema' : 'using new instance when the schema does not expose the converters'
+    }
+
+    @Unroll
+    void 'value of wrong type is rejected #description'() {
+        given:
+            MappedTableResource<DynamoDBEntity> table = table(DynamoDBEntity, exposed)
+        when:
+            helper.convert(table, 'number', 'foo')
+        then:
+            IllegalArgumentException e = thrown(IllegalArgumentException)
+            e.message == 'Specified value [foo] is not of the correct type: class java.lang.Integer'
+
+        where:
+            exposed << [true, false]
+            description = exposed ? 'using converters of the schema' : 'using new instance when the schema does not expose the converters'
+    }
+
+    @Unroll
+    void 'unknown property is rejected #description'() {
+        given:
+            MappedTableResource<DynamoDBEntity> table = table(DynamoDBEntity, exposed)
+        when:
+            helper.convert(table, 'unknown', 'foo')
+        then:
+            IllegalArgumentException e = thrown(IllegalArgumentException)
+            e.message.startsWith('Unknown property unknown for ')
+
+        where:
+            exposed << [true, false]
+            description = exposed ? 'using converters of the schema' : 'using new instance when the schema does not expose the converters'
+    }
+
+    private <T> MappedTableResource<T> table(Class<T> type, boolean exposed) {
+        TableSchema<T> schema = BeanIntrospectionTableSchema.create(type, context, new MetaTableSchemaCache())
+        return enhancedClient.table(type.simpleName, exposed ? schema : new SchemaWithoutConverters<T>(schema))
+    }
+
+    private static class SchemaWithoutConverters<T> implements TableSchema<T> {
+
+        @Delegate(excludes = 'converterForAttribute')
+        private final TableSchema<T> schema
+
+        SchemaWithoutConverters(TableSchema<T> schema) {
+            this.schema = schema
+        }
+
+        @Override
+        AttributeConverter<?> converterForAttribute(Object key) {
+            throw new UnsupportedOperationException('The converters are not exposed')
+        }
+
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import reactor.core.publisher.Mono
+import software.amazon.awssdk.enhanced.dynamodb.Key
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.function.Function
+
+class BoundedDynamoDbEntityCacheSpec extends Specification {
+
+    List<Key> loaded = []
+
+    Function<Key, Mono<String>> loader = { Key key ->
+        loaded << key
+        String value = key.partitionKeyValue().s()
+        return value == 'missing' ? Mono.<String>empty() : Mono.just(value)
+    } as Function<Key, Mono<String>>
+
+    void 'items are loaded only once'() {
+        given:
+            BoundedDynamoDbEntityCache<String> cache = new BoundedDynamoDbEntityCache<>(10, Duration.ofMinutes(1), null)
+        expect:
+            cache.get(key('foo'), loader).block() == 'foo'
+            cache.get(key('foo'), loader).block() == 'foo'
+            loaded == [key('foo')]
+    }
+
+    void 'misses are cached only if enabled'() {
+        given:
+            BoundedDynamoDbEntityCache<String> cache = new BoundedDynamoDbEntityCache<>(10, Duration.ofMinutes(1), missTtl)
+        when:
+            cache.get(key('missing'), loader).block()
+            cache.get(key('missing'), loader).block()
+        then:
+            loaded.size() == loads
+        where:
+            missTtl              | loads
+            null                 | 2
+            Duration.ofMinutes(1) | 1
+    }
+
+    void 'expired items are loaded again'() {
+        given:
+            BoundedDynamoDbEntityCache<String> cache = new BoundedDynamoDbEntityCache<>(10, Duration.ofMillis(10), null)
+        when:
+            cache.get(key('foo'), loader).block()
+            Thread.sleep(50)
+            cache.get(key('foo'), loader).block()
+        then:
+            loaded.size() == 2
+    }
+
+    void 'least recently used items are evicted'() {
+        given:
+            BoundedDynamoDbEntityCache<String> cache = new BoundedDynamoDbEntityCache<>(2, Duration.ofMinutes(1), null)
+        when:
+            cache.get(key('foo'), loader).block()
+            cache.get(key('bar'), loader).block()
+            cache.get(key('foo'), loader).block()
+            cache.get(key('baz'), loader).block()
+            cache.get(key('foo'), loader).block()
+            cache.get(key('bar'), loader).block()
+        then:
+            cache.size() == 2
+            loaded == [key('foo'), key('bar'), key('baz'), key('bar')]
+    }
+
+    void 'invalidated items are loaded again'() {
+        given:
+            BoundedDynamoDbEntityCache<String> cache = new BoundedDynamoDbEntityCache<>(10, Duration.ofMinutes(1), null)
+        when:
+            cache.get(key('foo'), loader).block()
+            cache.invalidate(key('foo'))
+            cache.get(key('foo'), loader).block()
+        then:
+            loaded.size() == 2
+    }
+
+    void 'item loaded during invalidation is not cached'() {
+        given:
+            BoundedDynamoDbEntityCache<String> cache = new BoundedDynamoDbEntityCache<>(10, Duration.ofMinutes(1), null)
+        when:
+            cache.get(key('foo'), { Key key ->
+                cache.invalidate(key)
+                return Mono.just('stale')
+            } as Function<Key, Mono<String>>).block()
+        then:
+            cache.size() == 0
+    }
+
+    private static Key key(String value) {
+        return Key.builder().partitionValue(value).build()
+    }
+
+}
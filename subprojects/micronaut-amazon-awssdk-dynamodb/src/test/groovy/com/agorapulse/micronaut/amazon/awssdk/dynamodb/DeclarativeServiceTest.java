@@ -102,7 +102,14 @@ public class DeclarativeServiceTest {
 
         assertEquals(1, s.queryByDates("3", Date.from(REFERENCE_DATE.plus(9, ChronoUnit.DAYS)), Date.from(REFERENCE_DATE.plus(20, ChronoUnit.DAYS))).size());
 
+        List<DynamoDBEntitySummary> summaries = s.querySummariesByDates("1", Date.from(REFERENCE_DATE.minus(1, ChronoUnit.DAYS)), Date.from(REFERENCE_DATE.plus(2, ChronoUnit.DAYS)));
+        assertEquals(2, summaries.size());
+        assertEquals("1", summaries.get(0).parentId());
+        assertNotNull(summaries.get(0).id());
+        assertNotNull(summaries.get(0).date());
+
         assertEquals(2, safeBlock(Flux.from(s.scanAllByRangeIndex("bar")).count()).intValue());
+        assertEquals(2, s.scanSummariesByRangeIndex("bar").size());
 
         s.increment("1", "1");
         s.increment("1", "1");
@@ -0,0 +1,148 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbEventType
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema.BeanIntrospectionTableSchema
+import io.micronaut.context.BeanContext
+import io.micronaut.context.event.ApplicationEventPublisher
+import io.micronaut.core.convert.ConversionService
+import reactor.core.publisher.Flux
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient
+import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchemaCache
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemResponse
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Specification for the batch writes of DefaultAsyncDynamoDbService which do not need the database.
+ */
+class DefaultAsyncDynamoDbServiceBatchSpec extends Specification {
+
+    private static final String TABLE_NAME = 'DynamoDBEntity'
+    private static final String UNPROCESSED_ID = '3'
+
+    AtomicInteger batches = new AtomicInteger()
+    List<String> singleWrites = new CopyOnWriteArrayList<>()
+
+    DynamoDbAsyncClient client = new DynamoDbAsyncClient() {
+
+        @Override
+        CompletableFuture<BatchWriteItemResponse> batchWriteItem(BatchWriteItemRequest request) {
+            return CompletableFuture.completedFuture(DefaultAsyncDynamoDbServiceBatchSpec.this.batchWrite(request))
+        }
+
+        @Override
+        CompletableFuture<UpdateItemResponse> updateItem(UpdateItemRequest request) {
+            singleWrites << "update ${request.key().id.s()}".toString()
+            return CompletableFuture.completedFuture(UpdateItemResponse.builder().attributes(request.key()).build())
+        }
+
+        @Override
+        CompletableFuture<DeleteItemResponse> deleteItem(DeleteItemRequest request) {
+            singleWrites << "delete ${request.key().id.s()}".toString()
+            return CompletableFuture.completedFuture(DeleteItemResponse.builder().attributes(request.key()).build())
+        }
+
+        @Override
+        String serviceName() {
+            return 'dynamodb'
+        }
+
+        @Override
+        void close() { }
+
+    }
+
+    BeanContext context = Mock {
+        findBean(_) >> Optional.empty()
+        conversionService >> ConversionService.SHARED
+    }
+
+    ApplicationEventPublisher publisher = Mock()
+
+    void 'items not saved by the batches are saved individually after all the attempts'() {
+        when:
+            List<DynamoDBEntity> saved = Flux.from(service().saveAll(Flux.fromIterable(entities(5)))).collectList().block()
+        then:
+            saved*.id.toSorted() == ['1', '2', '3', '4', '5']
+            batches.get() == 2
+            singleWrites == ["update $UNPROCESSED_ID".toString()]
+        and:
+            5 * publisher.publishEvent({ it.type == DynamoDbEventType.PRE_PERSIST })
+            5 * publisher.publishEvent({ it.type == DynamoDbEventType.POST_PERSIST })
+    }
+
+    void 'items not deleted by the batches are deleted individually after all the attempts'() {
+        when:
+            List<DynamoDBEntity> deleted = Flux.from(service().deleteAll(Flux.fromIterable(entities(5)))).collectList().block()
+        then:
+            deleted*.id.toSorted() == ['1', '2', '3', '4', '5']
+            batches.get() == 2
+            singleWrites == ["delete $UNPROCESSED_ID".toString()]
+        and:
+            5 * publisher.publishEvent({ it.type == DynamoDbEventType.PRE_REMOVE })
+            5 * publisher.publishEvent({ it.type == DynamoDbEventType.POST_REMOVE })
+    }
+
+    private DefaultAsyncDynamoDbService<DynamoDBEntity> service() {
+        DynamoDbEnhancedAsyncClient enhancedClient = DynamoDbEnhancedAsyncClient.builder().dynamoDbClient(client).build()
+        return new DefaultAsyncDynamoDbService<>(
+            DynamoDBEntity,
+            enhancedClient,
+            client,
+            new BeanIntrospectionAttributeConversionHelper(),
+            publisher,
+            enhancedClient.table(TABLE_NAME, BeanIntrospectionTableSchema.create(DynamoDBEntity, context, new MetaTableSchemaCache())),
+            new DynamoDbServiceOptions<DynamoDBEntity>().withBatchConfiguration(new DynamoDBBatchConfiguration(
+                maxAttempts: 2,
+                initialBackoff: Duration.ofMillis(1)
+            ))
+        )
+    }
+
+    private BatchWriteItemResponse batchWrite(BatchWriteItemRequest request) {
+        batches.incrementAndGet()
+
+        List<WriteRequest> unprocessed = request.requestItems()[TABLE_NAME].findAll {
+            Map<String, AttributeValue> key = it.putRequest() ? it.putRequest().item() : it.deleteRequest().key()
+            key.id.s() == UNPROCESSED_ID
+        }
+
+        return BatchWriteItemResponse.builder()
+            .unprocessedItems(unprocessed ? [(TABLE_NAME): unprocessed] : [:])
+            .build()
+    }
+
+    private static List<DynamoDBEntity> entities(int count) {
+        return (1..count).collect { new DynamoDBEntity(parentId: '1', id: it.toString()) }
+    }
+
+}
@@ -329,6 +329,17 @@ class DefaultDynamoDBServiceSpec extends Specification {
                 }
             }).collectList().block().size() == 8
 
+            service.scanAllByRangeIndexInParallel('foo').size() == 8
+            service.countAllByRangeIndexInParallel('foo') == 8
+
+            Flux.from(dbs.scan {
+                filter {
+                    eq DynamoDBEntity.RANGE_INDEX, 'foo'
+                }
+                parallel 4
+                limit 3
+            }).collectList().block().size() == 3
+
         when:
             List<DynamoDBEntity> scannedPage = service.scanAllByRangeIndexWithLimit('bar', 2, null)
         then:
@@ -438,6 +449,43 @@ class DefaultDynamoDBServiceSpec extends Specification {
             service.count(parentKey) == 101
     }
 
+    void 'update many items concurrently and in transactions'() {
+        given:
+            String parentKey = '2003'
+            service.saveAll((1..150).collect { new DynamoDBEntity(parentId: parentKey, id: "$it", number: 1) })
+        when:
+            int updated = dbs.updateAll(dbs.findAll(parentKey)) {
+                add 'number', 1
+            }
+        then:
+            updated == 150
+            Flux.from(dbs.findAll(parentKey)).collectList().block()*.number.every { it == 2 }
+
+        when:
+            int updatedInTransactions = service.incrementAllInTransactions(parentKey)
+        then:
+            updatedInTransactions == 150
+            Flux.from(dbs.findAll(parentKey)).collectList().block()*.number.every { it == 3 }
+
+        when:
+            dbs.updateAllInTransactions(dbs.findAll(parentKey), update(DynamoDBEntity) {
+                add 'number', 1
+            }, 101)
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+    void 'load many items in the order of the keys'() {
+        given:
+            String parentKey = '2002'
+            service.saveAll((1..150).collect { new DynamoDBEntity(parentId: parentKey, id: "$it") })
+            List<String> ids = (150..1).collect { "$it".toString() }
+        when:
+            List<DynamoDBEntity> loaded = service.loadAll(parentKey, ids)
+        then:
+            loaded*.id == ids
+    }
+
 }
 
 @SuppressWarnings([
@@ -832,6 +880,18 @@ interface DynamoDBItemDBService {
     })
     int resetAll(String hashKey)
 
+    @Query({
+        query(DynamoDBEntity) {
+            partitionKey hashKey
+        }
+    })
+    @Update(value = {
+        update(DynamoDBEntity) {
+            add 'number', 1
+        }
+    }, transactional = true)
+    int incrementAllInTransactions(String hashKey)
+
     @Scan({
         scan(DynamoDBEntity) {
             filter {
@@ -873,6 +933,26 @@ interface DynamoDBItemDBService {
     })
     List<DynamoDBEntity> scanAllByRangeIndexWithLimit(String foo, int max, DynamoDBEntity lastInPreviousList)
 
+    @Scan(value = {
+        scan(DynamoDBEntity) {
+            filter {
+                eq DynamoDBEntity.RANGE_INDEX, foo
+            }
+            page 1
+        }
+    }, parallel = 3)
+    List<DynamoDBEntity> scanAllByRangeIndexInParallel(String foo)
+
+    @Scan({
+        scan(DynamoDBEntity) {
+            filter {
+                eq DynamoDBEntity.RANGE_INDEX, foo
+            }
+            parallel 4
+        }
+    })
+    int countAllByRangeIndexInParallel(String foo)
+
     @Scan({
         scan(DynamoDBEntity) {
             index DynamoDBEntity.DATE_INDEX
@@ -0,0 +1,178 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.Builders
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbEventType
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.exception.FailedBatchRequestException
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema.BeanIntrospectionTableSchema
+import io.micronaut.context.BeanContext
+import io.micronaut.context.event.ApplicationEventPublisher
+import io.micronaut.core.convert.ConversionService
+import reactor.core.publisher.Flux
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable
+import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchemaCache
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Consumer
+
+/**
+ * Specification for the batch and transactional writes of DefaultDynamoDbService which do not need the database.
+ */
+class DefaultDynamoDbServiceBatchSpec extends Specification {
+
+    private static final String TABLE_NAME = 'DynamoDBEntity'
+
+    AtomicInteger requests = new AtomicInteger()
+    AtomicInteger inFlight = new AtomicInteger()
+    AtomicInteger maxInFlight = new AtomicInteger()
+
+    String unprocessedId
+
+    List<List<String>> transactions = new CopyOnWriteArrayList<>()
+
+    DynamoDbClient client = Stub {
+        batchWriteItem(_ as BatchWriteItemRequest) >> { BatchWriteItemRequest request -> write(request) }
+        transactWriteItems(_ as Consumer) >> { Consumer<TransactWriteItemsRequest.Builder> request -> transactWrite(request) }
+    }
+
+    BeanContext context = Mock {
+        findBean(_) >> Optional.empty()
+        conversionService >> ConversionService.SHARED
+    }
+
+    ApplicationEventPublisher publisher = Mock()
+
+    void 'dispatches up to the configured number of batches concurrently'() {
+        given:
+            DefaultDynamoDbService<DynamoDBEntity> service = service(new DynamoDBBatchConfiguration(parallelism: parallelism))
+        when:
+            List<DynamoDBEntity> saved = Flux.from(service.saveAll(Flux.fromIterable(entities(250)))).collectList().block()
+        then:
+            saved*.id == (1..250)*.toString()
+            requests.get() == 10
+            maxInFlight.get() == parallelism
+
+        where:
+            parallelism << [1, 3]
+    }
+
+    void 'saves and counts the items concurrently'() {
+        given:
+            DefaultDynamoDbService<DynamoDBEntity> service = service(new DynamoDBBatchConfiguration(parallelism: 3))
+        when:
+            int saved = service.saveAllAndCount(Flux.fromIterable(entities(250)))
+        then:
+            saved == 250
+            requests.get() == 10
+            maxInFlight.get() == 3
+    }
+
+    void 'reports the unprocessed items when saving and counting'() {
+        given:
+            unprocessedId = '42'
+            DefaultDynamoDbService<DynamoDBEntity> service = service(new DynamoDBBatchConfiguration(
+                parallelism: 2,
+                maxAttempts: 2,
+                initialBackoff: Duration.ofMillis(1)
+            ))
+        when:
+            service.saveAllAndCount(Flux.fromIterable(entities(100)))
+        then:
+            FailedBatchRequestException e = thrown(FailedBatchRequestException)
+            e.unprocessedItems*.id == ['42']
+        and:
+            // four batches and a single retry of the batch with the unprocessed item
+            requests.get() == 5
+    }
+
+    void 'updates of the same item are split into separate transactions'() {
+        given:
+            DefaultDynamoDbService<DynamoDBEntity> service = service(new DynamoDBBatchConfiguration())
+        when:
+            int updated = service.updateAllInTransactions(
+                Flux.fromIterable(['1', '2', '1', '3', '4', '5', '5'].collect { new DynamoDBEntity(parentId: '1', id: it) }),
+                Builders.update(DynamoDBEntity).add('number', 1),
+                3
+            )
+        then:
+            updated == 7
+            transactions.toSorted { it.join(',') } == [['1', '2'], ['1', '3', '4'], ['5'], ['5']]
+        and:
+            7 * publisher.publishEvent({ it.type == DynamoDbEventType.PRE_UPDATE })
+            7 * publisher.publishEvent({ it.type == DynamoDbEventType.POST_UPDATE })
+    }
+
+    private DefaultDynamoDbService<DynamoDBEntity> service(DynamoDBBatchConfiguration configuration) {
+        DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(client).build()
+        DynamoDbTable<DynamoDBEntity> table = enhancedClient.table(
+            TABLE_NAME,
+            BeanIntrospectionTableSchema.create(DynamoDBEntity, context, new MetaTableSchemaCache())
+        )
+        return new DefaultDynamoDbService<>(
+            DynamoDBEntity,
+            enhancedClient,
+            client,
+            new BeanIntrospectionAttributeConversionHelper(),
+            publisher,
+            table,
+            new DynamoDbServiceOptions<DynamoDBEntity>().withBatchConfiguration(configuration)
+        )
+    }
+
+    private BatchWriteItemResponse write(BatchWriteItemRequest request) {
+        requests.incrementAndGet()
+        int current = inFlight.incrementAndGet()
+        maxInFlight.accumulateAndGet(current, Math::max)
+        try {
+            Thread.sleep(100)
+        } finally {
+            inFlight.decrementAndGet()
+        }
+
+        List<WriteRequest> unprocessed = request.requestItems()[TABLE_NAME].findAll {
+            it.putRequest().item().id.s() == unprocessedId
+        }
+
+        return BatchWriteItemResponse.builder()
+            .unprocessedItems(unprocessed ? [(TABLE_NAME): unprocessed] : [:])
+            .build()
+    }
+
+    private TransactWriteItemsResponse transactWrite(Consumer<TransactWriteItemsRequest.Builder> consumer) {
+        TransactWriteItemsRequest.Builder builder = TransactWriteItemsRequest.builder()
+        consumer.accept(builder)
+        transactions << builder.build().transactItems()*.update()*.key()*.id*.s()
+        return TransactWriteItemsResponse.builder().build()
+    }
+
+    private static List<DynamoDBEntity> entities(int count) {
+        return (1..count).collect { new DynamoDBEntity(parentId: '1', id: it.toString()) }
+    }
+
+}
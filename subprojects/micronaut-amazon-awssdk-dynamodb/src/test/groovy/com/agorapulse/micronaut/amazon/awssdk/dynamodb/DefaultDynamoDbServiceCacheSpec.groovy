@@ -0,0 +1,223 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.Builders
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.DetachedUpdate
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.UpdateBuilder
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema.BeanIntrospectionTableSchema
+import io.micronaut.context.BeanContext
+import io.micronaut.context.event.ApplicationEventPublisher
+import io.micronaut.core.convert.ConversionService
+import org.reactivestreams.Publisher
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable
+import software.amazon.awssdk.enhanced.dynamodb.MappedTableResource
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema
+import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchemaCache
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Specification for the cache invalidation of the DynamoDB services which does not need the database.
+ */
+class DefaultDynamoDbServiceCacheSpec extends Specification {
+
+    private static final String TABLE_NAME = 'DynamoDBEntity'
+
+    AtomicInteger number = new AtomicInteger()
+    AtomicInteger reads = new AtomicInteger()
+
+    DynamoDbClient client = Stub {
+        getItem(_ as GetItemRequest) >> { GetItemRequest request -> read() }
+        updateItem(_ as UpdateItemRequest) >> { UpdateItemRequest request -> write(request) }
+    }
+
+    DynamoDbAsyncClient asyncClient = Stub {
+        getItem(_ as GetItemRequest) >> { GetItemRequest request -> CompletableFuture.completedFuture(read()) }
+        updateItem(_ as UpdateItemRequest) >> { UpdateItemRequest request -> CompletableFuture.completedFuture(write(request)) }
+    }
+
+    BeanContext context = Mock {
+        findBean(_) >> Optional.empty()
+        conversionService >> ConversionService.SHARED
+    }
+
+    ApplicationEventPublisher publisher = Mock()
+
+    TableSchema<DynamoDBEntity> schema = BeanIntrospectionTableSchema.create(DynamoDBEntity, context, new MetaTableSchemaCache())
+
+    DynamoDbEntityCache<DynamoDBEntity> cache = new BoundedDynamoDbEntityCache<>(10, Duration.ofMinutes(1), null)
+
+    void 'update invalidates the cached item'() {
+        given:
+            DefaultDynamoDbService<DynamoDBEntity> service = service()
+        expect:
+            service.get('1', '1').number == 0
+            service.get('1', '1').number == 0
+            reads.get() == 1
+
+        when:
+            service.update(Builders.update(DynamoDBEntity).partitionKey('1').sortKey('1').add('number', 1))
+        then:
+            service.get('1', '1').number == 1
+            reads.get() == 2
+    }
+
+    void 'update with the cache resolves the request only once'() {
+        given:
+            DefaultDynamoDbService<DynamoDBEntity> service = service()
+            UpdateBuilder<DynamoDBEntity, DynamoDBEntity> definition = Builders.update(DynamoDBEntity).partitionKey('1').sortKey('1').add('number', 1)
+            AtomicInteger resolved = new AtomicInteger()
+            DetachedUpdate<DynamoDBEntity, DynamoDBEntity> counting = new DetachedUpdate<DynamoDBEntity, DynamoDBEntity>() {
+
+                @Override
+                DynamoDBEntity update(DynamoDbTable<DynamoDBEntity> mapper, DynamoDbClient client, AttributeConversionHelper helper, ApplicationEventPublisher publisher) {
+                    throw new UnsupportedOperationException('The resolved request should be used')
+                }
+
+                @Override
+                DynamoDBEntity update(DynamoDbTable<DynamoDBEntity> mapper, DynamoDbClient client, UpdateItemRequest request, AttributeConversionHelper helper, ApplicationEventPublisher publisher) {
+                    return definition.update(mapper, client, request, helper, publisher)
+                }
+
+                @Override
+                UpdateItemRequest resolveRequest(MappedTableResource<DynamoDBEntity> mapper, AttributeConversionHelper helper) {
+                    resolved.incrementAndGet()
+                    return definition.resolveRequest(mapper, helper)
+                }
+
+                @Override
+                Publisher<DynamoDBEntity> update(DynamoDbAsyncTable<DynamoDBEntity> table, DynamoDbAsyncClient client, AttributeConversionHelper helper, ApplicationEventPublisher publisher) {
+                    throw new UnsupportedOperationException('Only the synchronous update is expected')
+                }
+
+            }
+        expect:
+            service.get('1', '1').number == 0
+
+        when:
+            service.update(counting)
+        then:
+            resolved.get() == 1
+            service.get('1', '1').number == 1
+            reads.get() == 2
+    }
+
+    void 'update all invalidates the cached items'() {
+        given:
+            DefaultDynamoDbService<DynamoDBEntity> service = service()
+        expect:
+            service.get('1', '1').number == 0
+
+        when:
+            service.updateAll(
+                Flux.just(new DynamoDBEntity(parentId: '1', id: '1')),
+                Builders.update(DynamoDBEntity).add('number', 1)
+            )
+        then:
+            service.get('1', '1').number == 1
+            reads.get() == 2
+    }
+
+    void 'async update invalidates the cached item'() {
+        given:
+            DefaultAsyncDynamoDbService<DynamoDBEntity> service = asyncService()
+        expect:
+            Mono.from(service.get('1', '1')).block().number == 0
+            Mono.from(service.get('1', '1')).block().number == 0
+            reads.get() == 1
+
+        when:
+            Flux.from(service.update(Builders.update(DynamoDBEntity).partitionKey('1').sortKey('1').add('number', 1))).blockLast()
+        then:
+            Mono.from(service.get('1', '1')).block().number == 1
+            reads.get() == 2
+    }
+
+    void 'async update all invalidates the cached items'() {
+        given:
+            DefaultAsyncDynamoDbService<DynamoDBEntity> service = asyncService()
+        expect:
+            Mono.from(service.get('1', '1')).block().number == 0
+
+        when:
+            Flux.from(service.updateAll(
+                Flux.just(new DynamoDBEntity(parentId: '1', id: '1')),
+                Builders.update(DynamoDBEntity).add('number', 1)
+            )).blockLast()
+        then:
+            Mono.from(service.get('1', '1')).block().number == 1
+            reads.get() == 2
+    }
+
+    private DefaultDynamoDbService<DynamoDBEntity> service() {
+        DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(client).build()
+        return new DefaultDynamoDbService<>(
+            DynamoDBEntity,
+            enhancedClient,
+            client,
+            new BeanIntrospectionAttributeConversionHelper(),
+            publisher,
+            enhancedClient.table(TABLE_NAME, schema),
+            new DynamoDbServiceOptions<DynamoDBEntity>().withCache(cache)
+        )
+    }
+
+    private DefaultAsyncDynamoDbService<DynamoDBEntity> asyncService() {
+        DynamoDbEnhancedAsyncClient enhancedClient = DynamoDbEnhancedAsyncClient.builder().dynamoDbClient(asyncClient).build()
+        return new DefaultAsyncDynamoDbService<>(
+            DynamoDBEntity,
+            enhancedClient,
+            asyncClient,
+            new BeanIntrospectionAttributeConversionHelper(),
+            publisher,
+            enhancedClient.table(TABLE_NAME, schema),
+            new DynamoDbServiceOptions<DynamoDBEntity>().withCache(cache)
+        )
+    }
+
+    private GetItemResponse read() {
+        reads.incrementAndGet()
+        return GetItemResponse.builder().item(
+            parentId: AttributeValue.fromS('1'),
+            id: AttributeValue.fromS('1'),
+            number: AttributeValue.fromN(number.get().toString())
+        ).build()
+    }
+
+    private UpdateItemResponse write(UpdateItemRequest request) {
+        number.addAndGet(request.expressionAttributeValues().values().first().n() as int)
+        return UpdateItemResponse.builder().build()
+    }
+
+}
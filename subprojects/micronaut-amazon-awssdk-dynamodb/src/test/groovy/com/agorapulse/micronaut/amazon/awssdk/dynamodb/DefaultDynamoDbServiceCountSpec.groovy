@@ -0,0 +1,236 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema.BeanIntrospectionTableSchema
+import io.micronaut.context.BeanContext
+import io.micronaut.context.event.ApplicationEventPublisher
+import io.micronaut.core.convert.ConversionService
+import reactor.core.publisher.Mono
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema
+import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchemaCache
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse
+import software.amazon.awssdk.services.dynamodb.model.Select
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CopyOnWriteArrayList
+
+/**
+ * Specification for counting the items of DefaultDynamoDbService and DefaultAsyncDynamoDbService which does not need the database.
+ */
+class DefaultDynamoDbServiceCountSpec extends Specification {
+
+    private static final String TABLE_NAME = 'DynamoDBEntity'
+    private static final int ITEMS = 250
+    private static final int DEFAULT_PAGE_SIZE = 100
+
+    List<Map<String, Object>> requests = new CopyOnWriteArrayList<>()
+
+    DynamoDbClient client = new DynamoDbClient() {
+
+        @Override
+        QueryResponse query(QueryRequest request) {
+            return DefaultDynamoDbServiceCountSpec.this.query(request)
+        }
+
+        @Override
+        ScanResponse scan(ScanRequest request) {
+            return DefaultDynamoDbServiceCountSpec.this.scan(request)
+        }
+
+        @Override
+        String serviceName() {
+            return 'dynamodb'
+        }
+
+        @Override
+        void close() { }
+
+    }
+
+    DynamoDbAsyncClient asyncClient = new DynamoDbAsyncClient() {
+
+        @Override
+        CompletableFuture<QueryResponse> query(QueryRequest request) {
+            return CompletableFuture.completedFuture(DefaultDynamoDbServiceCountSpec.this.query(request))
+        }
+
+        @Override
+        CompletableFuture<ScanResponse> scan(ScanRequest request) {
+            return CompletableFuture.completedFuture(DefaultDynamoDbServiceCountSpec.this.scan(request))
+        }
+
+        @Override
+        String serviceName() {
+            return 'dynamodb'
+        }
+
+        @Override
+        void close() { }
+
+    }
+
+    BeanContext context = Mock {
+        findBean(_) >> Optional.empty()
+        conversionService >> ConversionService.SHARED
+    }
+
+    ApplicationEventPublisher publisher = Mock()
+
+    TableSchema<DynamoDBEntity> schema = BeanIntrospectionTableSchema.create(DynamoDBEntity, context, new MetaTableSchemaCache())
+
+    void 'count items across multiple pages'() {
+        when:
+            int count = service().countUsingQuery { it.partitionKey('1') }
+        then:
+            count == ITEMS
+            requests.size() == 3
+            requests.every { it.select == Select.COUNT && it.limit == null }
+    }
+
+    void 'count items across multiple pages of given size'() {
+        when:
+            int count = service().countUsingQuery { it.partitionKey('1').page(50) }
+        then:
+            count == ITEMS
+            requests*.limit == [50] * 5
+    }
+
+    void 'count keeps the page size set by the configurer'() {
+        when:
+            int count = service().countUsingQuery { it.partitionKey('1').configure { it.limit(100) } }
+        then:
+            count == ITEMS
+            requests*.limit == [100] * 3
+    }
+
+    void 'count stops once the maximum number of items is reached'() {
+        when:
+            int count = service().countUsingQuery { it.partitionKey('1').limit(150) }
+        then:
+            count == 150
+            requests.size() == 2
+    }
+
+    void 'count items using scan'() {
+        expect:
+            service().countUsingScan { it } == ITEMS
+            requests.size() == 3
+
+        when:
+            requests.clear()
+            int count = service().countUsingScan { it.limit(50) }
+        then:
+            count == 50
+            requests.size() == 1
+    }
+
+    void 'count items asynchronously across multiple pages'() {
+        when:
+            Long count = Mono.from(asyncService().countUsingQuery { it.partitionKey('1') }).block()
+        then:
+            count == ITEMS
+            requests.size() == 3
+            requests.every { it.select == Select.COUNT }
+    }
+
+    void 'count stops asynchronously once the maximum number of items is reached'() {
+        when:
+            Long count = Mono.from(asyncService().countUsingQuery { it.partitionKey('1').limit(150) }).block()
+        then:
+            count == 150
+            requests.size() == 2
+    }
+
+    void 'count items asynchronously using scan'() {
+        expect:
+            Mono.from(asyncService().countUsingScan { it }).block() == ITEMS
+            requests.size() == 3
+
+        when:
+            requests.clear()
+            Long count = Mono.from(asyncService().countUsingScan { it.limit(50) }).block()
+        then:
+            count == 50
+            requests.size() == 1
+    }
+
+    private DefaultDynamoDbService<DynamoDBEntity> service() {
+        DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(client).build()
+        return new DefaultDynamoDbService<>(
+            DynamoDBEntity,
+            enhancedClient,
+            client,
+            new BeanIntrospectionAttributeConversionHelper(),
+            publisher,
+            enhancedClient.table(TABLE_NAME, schema)
+        )
+    }
+
+    private DefaultAsyncDynamoDbService<DynamoDBEntity> asyncService() {
+        DynamoDbEnhancedAsyncClient enhancedClient = DynamoDbEnhancedAsyncClient.builder().dynamoDbClient(asyncClient).build()
+        return new DefaultAsyncDynamoDbService<>(
+            DynamoDBEntity,
+            enhancedClient,
+            asyncClient,
+            new BeanIntrospectionAttributeConversionHelper(),
+            publisher,
+            enhancedClient.table(TABLE_NAME, schema)
+        )
+    }
+
+    private QueryResponse query(QueryRequest request) {
+        Map<String, Object> page = page(request.select(), request.limit(), request.exclusiveStartKey())
+        return QueryResponse.builder()
+            .count(page.count as Integer)
+            .scannedCount(page.count as Integer)
+            .lastEvaluatedKey(page.lastEvaluatedKey as Map<String, AttributeValue>)
+            .build()
+    }
+
+    private ScanResponse scan(ScanRequest request) {
+        Map<String, Object> page = page(request.select(), request.limit(), request.exclusiveStartKey())
+        return ScanResponse.builder()
+            .count(page.count as Integer)
+            .scannedCount(page.count as Integer)
+            .lastEvaluatedKey(page.lastEvaluatedKey as Map<String, AttributeValue>)
+            .build()
+    }
+
+    private Map<String, Object> page(Select select, Integer limit, Map<String, AttributeValue> exclusiveStartKey) {
+        requests << [select: select, limit: limit]
+
+        int start = exclusiveStartKey ? exclusiveStartKey.id.s() as int : 0
+        int end = Math.min(ITEMS, start + (limit ?: DEFAULT_PAGE_SIZE))
+
+        return [
+            count: end - start,
+            lastEvaluatedKey: end < ITEMS ? [parentId: AttributeValue.fromS('1'), id: AttributeValue.fromS(end.toString())] : null,
+        ]
+    }
+
+}
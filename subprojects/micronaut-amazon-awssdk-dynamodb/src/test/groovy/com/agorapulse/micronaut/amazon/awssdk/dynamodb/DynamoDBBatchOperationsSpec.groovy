@@ -0,0 +1,93 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+
+import jakarta.inject.Inject
+
+/**
+ * Specification for reading and writing items from multiple tables using shared batch requests.
+ */
+@MicronautTest
+class DynamoDBBatchOperationsSpec extends Specification {
+
+    @Inject DynamoDBBatchOperations batchOperations
+    @Inject AsyncDynamoDBBatchOperations asyncBatchOperations
+
+    void 'write and read items from multiple tables'() {
+        given:
+            List<DynamoDBEntity> entities = (1..120).collect { new DynamoDBEntity(parentId: '3001', id: "$it", number: it) }
+            List<DynamoDBEntityNoRange> noRangeEntities = (1..30).collect { new DynamoDBEntityNoRange(parentId: "3001-$it", number: it) }
+        when:
+            int written = batchOperations.writeAll { BatchWriteBuilder batch ->
+                batch.saveAll(entities).saveAll(noRangeEntities)
+            }
+        then:
+            written == 150
+
+        when:
+            BatchGetResult result = batchOperations.getAll { BatchGetBuilder batch ->
+                batch.getAll(DynamoDBEntity, '3001', (120..1).collect { "$it".toString() })
+                (30..1).each { batch.get(DynamoDBEntityNoRange, "3001-$it") }
+                batch.get(DynamoDBEntityNoRange, 'missing')
+            }
+        then:
+            result.size() == 150
+            result.getAll(DynamoDBEntity)*.id == (120..1).collect { "$it".toString() }
+            result.getAll(DynamoDBEntityNoRange)*.number == (30..1).toList()
+            result.get(DynamoDBEntity, '3001', '7').number == 7
+            result.get(DynamoDBEntityNoRange, '3001-7').number == 7
+            result.get(DynamoDBEntityNoRange, 'missing') == null
+
+        when:
+            written = batchOperations.writeAll { BatchWriteBuilder batch ->
+                batch.deleteAll(entities.take(100))
+                batch.delete(DynamoDBEntityNoRange, '3001-1')
+            }
+        then:
+            written == 101
+            batchOperations.getAll { BatchGetBuilder batch ->
+                batch.getAll(DynamoDBEntity, '3001', ['1', '101'])
+                batch.get(DynamoDBEntityNoRange, '3001-1')
+                batch.get(DynamoDBEntityNoRange, '3001-2')
+            }.size() == 2
+    }
+
+    void 'write and read items from multiple tables asynchronously'() {
+        when:
+            Integer written = Mono.from(asyncBatchOperations.writeAll { BatchWriteBuilder batch ->
+                batch.save(new DynamoDBEntity(parentId: '3002', id: '1'))
+                batch.save(new DynamoDBEntityNoRange(parentId: '3002-1'))
+            }).block()
+        then:
+            written == 2
+
+        when:
+            BatchGetResult result = Mono.from(asyncBatchOperations.getAll { BatchGetBuilder batch ->
+                batch.get(DynamoDBEntity, '3002', '1')
+                batch.get(DynamoDBEntityNoRange, '3002-1')
+            }).block()
+        then:
+            result.get(DynamoDBEntity, '3002', '1')
+            result.get(DynamoDBEntityNoRange, '3002-1')
+    }
+
+}
@@ -114,6 +114,9 @@ public interface DynamoDBEntityService {
     @Query(BetweenDateIndex.class)
     List<DynamoDBEntity> queryByDates(String hashKey, Date after, Date before);
 
+    @Query(BetweenDateIndex.class)
+    List<DynamoDBEntitySummary> querySummariesByDates(String hashKey, Date after, Date before);
+
     class BetweenDateIndexScroll implements QueryFunction<DynamoDBEntity> {
         public QueryBuilder<DynamoDBEntity> query(Map<String, Object> arguments) {
             return builder()
@@ -185,6 +188,9 @@ public interface DynamoDBEntityService {
     Publisher<DynamoDBEntity> scanAllByRangeIndex(String foo);                          // <5>
     // end::sample-scan[]
 
+    @Scan(EqRangeScan.class)
+    List<DynamoDBEntitySummary> scanSummariesByRangeIndex(String foo);
+
     // CHECKSTYLE:OFF
     // tag::advanced-query-methods[]
     @Consistent                                                                         // <1>
@@ -0,0 +1,98 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import reactor.core.publisher.Mono
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException
+import spock.lang.Specification
+
+import jakarta.inject.Inject
+
+/**
+ * Specification for reading and writing items from multiple tables using transactions.
+ */
+@MicronautTest
+class DynamoDBTransactionOperationsSpec extends Specification {
+
+    @Inject DynamoDBTransactionOperations transactionOperations
+    @Inject AsyncDynamoDBTransactionOperations asyncTransactionOperations
+    @Inject DynamoDBServiceProvider provider
+
+    void 'write and read items from multiple tables in transaction'() {
+        given:
+            provider.findOrCreate(DynamoDBEntity).save(new DynamoDBEntity(parentId: '4001', id: '2', number: 1))
+            provider.findOrCreate(DynamoDBEntityNoRange).save(new DynamoDBEntityNoRange(parentId: '4001-2'))
+        when:
+            int executed = transactionOperations.transactWrite { TransactionWriteBuilder transaction ->
+                transaction.save(new DynamoDBEntity(parentId: '4001', id: '1', number: 1))
+                transaction.update(DynamoDBEntity) { it.partitionKey('4001').sortKey('2').add('number', 1) }
+                transaction.delete(DynamoDBEntityNoRange, '4001-2')
+                transaction.conditionCheck(DynamoDBEntity) { it.partitionKey('4001').sortKey('2').condition { it.eq('number', 1) } }
+                transaction.save(new DynamoDBEntityNoRange(parentId: '4001-1', number: 1))
+            }
+        then:
+            executed == 5
+
+        when:
+            BatchGetResult result = transactionOperations.transactGet { BatchGetBuilder batch ->
+                batch.getAll(DynamoDBEntity, '4001', ['1', '2'])
+                batch.get(DynamoDBEntityNoRange, '4001-1')
+                batch.get(DynamoDBEntityNoRange, '4001-2')
+            }
+        then:
+            result.getAll(DynamoDBEntity)*.number == [1, 2]
+            result.get(DynamoDBEntityNoRange, '4001-1').number == 1
+            result.get(DynamoDBEntityNoRange, '4001-2') == null
+
+        when:
+            transactionOperations.transactWrite { TransactionWriteBuilder transaction ->
+                transaction.delete(DynamoDBEntity, '4001', '1')
+                transaction.conditionCheck(DynamoDBEntity) { it.partitionKey('4001').sortKey('2').condition { it.eq('number', 1) } }
+            }
+        then:
+            thrown(TransactionCanceledException)
+            provider.findOrCreate(DynamoDBEntity).get('4001', '1')
+
+        when:
+            transactionOperations.transactWrite { TransactionWriteBuilder transaction ->
+                (1..101).each { transaction.save(new DynamoDBEntityNoRange(parentId: "4001-x$it")) }
+            }
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+    void 'write and read items from multiple tables in transaction asynchronously'() {
+        when:
+            Integer executed = Mono.from(asyncTransactionOperations.transactWrite { TransactionWriteBuilder transaction ->
+                transaction.save(new DynamoDBEntity(parentId: '4002', id: '1'))
+                transaction.save(new DynamoDBEntityNoRange(parentId: '4002-1'))
+            }).block()
+        then:
+            executed == 2
+
+        when:
+            BatchGetResult result = Mono.from(asyncTransactionOperations.transactGet { BatchGetBuilder batch ->
+                batch.get(DynamoDBEntity, '4002', '1')
+                batch.get(DynamoDBEntityNoRange, '4002-1')
+            }).block()
+        then:
+            result.size() == 2
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbEventType
+import io.micronaut.context.ApplicationContext
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+class DynamoDbEventListenersSpec extends Specification {
+
+    @AutoCleanup ApplicationContext context = ApplicationContext.run()
+
+    void 'events with listeners are detected'() {
+        given:
+            DynamoDbEventListeners listeners = context.getBean(DynamoDbEventListeners)
+        expect:
+            listeners.getListenedEventTypes(DynamoDBEntity) == EnumSet.allOf(DynamoDbEventType)
+            !listeners.hasBatchListeners(DynamoDBEntity)
+    }
+
+    void 'events for entities without listeners are skipped'() {
+        given:
+            DynamoDbEventListeners listeners = context.getBean(DynamoDbEventListeners)
+        expect:
+            listeners.getListenedEventTypes(Person).isEmpty()
+            !listeners.hasBatchListeners(Person)
+    }
+
+    void 'configured cache does not cause publishing the events'() {
+        given:
+            ApplicationContext cachedContext = ApplicationContext.run('aws.dynamodb.cache.Person.max-size': 10)
+            DynamoDbEventListeners listeners = cachedContext.getBean(DynamoDbEventListeners)
+        expect:
+            cachedContext.containsBean(DynamoDbEntityCacheRegistry)
+            listeners.getListenedEventTypes(Person).isEmpty()
+            !listeners.hasBatchListeners(Person)
+        cleanup:
+            cachedContext.close()
+    }
+
+}
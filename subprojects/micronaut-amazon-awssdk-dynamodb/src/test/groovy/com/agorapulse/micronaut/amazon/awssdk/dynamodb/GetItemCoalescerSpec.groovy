@@ -0,0 +1,79 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import software.amazon.awssdk.enhanced.dynamodb.Key
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.function.Function
+
+class GetItemCoalescerSpec extends Specification {
+
+    void 'concurrent requests are loaded using single batch'() {
+        given:
+            List<List<Key>> batches = []
+            GetItemCoalescer<String> coalescer = new GetItemCoalescer<>(Duration.ofMillis(50), { List<Key> keys ->
+                batches << keys
+                return Mono.just(keys.findAll { it.partitionKeyValue().s() != 'missing' }.collectEntries { [it, it.partitionKeyValue().s()] })
+            } as Function<List<Key>, Mono<Map<Key, String>>>)
+        when:
+            List<String> items = Flux.merge(
+                coalescer.load(key('foo')).defaultIfEmpty('none'),
+                coalescer.load(key('bar')).defaultIfEmpty('none'),
+                coalescer.load(key('foo')).defaultIfEmpty('none'),
+                coalescer.load(key('missing')).defaultIfEmpty('none'),
+            ).collectList().block()
+        then:
+            batches.size() == 1
+            batches[0] == [key('foo'), key('bar'), key('missing')]
+            items.sort() == ['bar', 'foo', 'foo', 'none']
+    }
+
+    void 'full batch is loaded immediately'() {
+        given:
+            List<List<Key>> batches = []
+            GetItemCoalescer<String> coalescer = new GetItemCoalescer<>(Duration.ofHours(1), { List<Key> keys ->
+                batches << keys
+                return Mono.just(keys.collectEntries { [it, it.partitionKeyValue().s()] })
+            } as Function<List<Key>, Mono<Map<Key, String>>>)
+        when:
+            List<String> items = Flux.merge((1..100).collect { coalescer.load(key("$it")) }).collectList().block(Duration.ofSeconds(10))
+        then:
+            batches.size() == 1
+            items.size() == 100
+    }
+
+    void 'errors are propagated to all callers'() {
+        given:
+            GetItemCoalescer<String> coalescer = new GetItemCoalescer<>(Duration.ofMillis(10), { List<Key> keys ->
+                return Mono.error(new IllegalStateException('Failed'))
+            } as Function<List<Key>, Mono<Map<Key, String>>>)
+        when:
+            coalescer.load(key('foo')).block()
+        then:
+            thrown(IllegalStateException)
+    }
+
+    private static Key key(String value) {
+        return Key.builder().partitionValue(value).build()
+    }
+
+}
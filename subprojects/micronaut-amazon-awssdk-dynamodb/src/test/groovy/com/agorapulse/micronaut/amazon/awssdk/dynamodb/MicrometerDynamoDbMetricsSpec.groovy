@@ -0,0 +1,112 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException
+import spock.lang.Specification
+
+class MicrometerDynamoDbMetricsSpec extends Specification {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry()
+    MicrometerDynamoDbMetrics metrics = new MicrometerDynamoDbMetrics(registry)
+
+    void 'records the operation per table and operation'() {
+        given:
+            DynamoDbMetrics.Recording recording = metrics.start('Entity', 'saveAll')
+        when:
+            recording.items(20)
+            recording.writeCapacity(20)
+            recording.unprocessed(5)
+            recording.retried()
+            recording.items(5)
+            recording.writeCapacity(5)
+            recording.unprocessed(0)
+            recording.stop(null)
+        then:
+            counter(MicrometerDynamoDbMetrics.ITEMS, 'saveAll') == 25
+            counter(MicrometerDynamoDbMetrics.WRITE_CAPACITY, 'saveAll') == 25
+            counter(MicrometerDynamoDbMetrics.UNPROCESSED, 'saveAll') == 5
+            counter(MicrometerDynamoDbMetrics.RETRIES, 'saveAll') == 1
+            timer('saveAll', 'success') == 1
+        and:
+            !registry.find(MicrometerDynamoDbMetrics.READ_CAPACITY).counter()
+            !registry.find(MicrometerDynamoDbMetrics.THROTTLES).counter()
+    }
+
+    void 'records the pages per index'() {
+        given:
+            DynamoDbMetrics.Recording recording = metrics.start('Entity', 'query')
+        when:
+            recording.index('by-date')
+            recording.page(10)
+            recording.readCapacity(2.5)
+            recording.page(3)
+            recording.readCapacity(1)
+            recording.stop(null)
+        then:
+            registry.get(MicrometerDynamoDbMetrics.PAGES).tags('table', 'Entity', 'index', 'by-date', 'operation', 'query').counter().count() == 2
+            registry.get(MicrometerDynamoDbMetrics.ITEMS).tags('index', 'by-date').counter().count() == 13
+            registry.get(MicrometerDynamoDbMetrics.READ_CAPACITY).tags('index', 'by-date').counter().count() == 3.5
+            registry.get(MicrometerDynamoDbMetrics.OPERATIONS).tags('index', 'by-date', 'outcome', 'success').timer().count() == 1
+    }
+
+    void 'records the throttled operations'() {
+        given:
+            DynamoDbMetrics.Recording recording = metrics.start('Entity', 'get')
+        when:
+            recording.throttled()
+            recording.stop(ProvisionedThroughputExceededException.builder().message('Throttled').build())
+            recording.stop(null)
+        then:
+            counter(MicrometerDynamoDbMetrics.THROTTLES, 'get') == 1
+            timer('get', 'throttled') == 1
+            !registry.find(MicrometerDynamoDbMetrics.OPERATIONS).tags('outcome', 'success').timer()
+    }
+
+    void 'records the failed operations'() {
+        when:
+            metrics.start('Entity', 'delete').stop(new IllegalStateException('Failed'))
+        then:
+            timer('delete', 'error') == 1
+    }
+
+    void 'records the items not written after all the attempts'() {
+        given:
+            DynamoDbMetrics.Recording recording = metrics.start('Entity', 'writeBehind')
+        when:
+            recording.failed(3)
+            recording.failed(0)
+            recording.stop(new IllegalStateException('Failed'))
+        then:
+            counter(MicrometerDynamoDbMetrics.FAILED, 'writeBehind') == 3
+            timer('writeBehind', 'error') == 1
+    }
+
+    private double counter(String name, String operation) {
+        return registry.get(name).tags('table', 'Entity', 'index', 'none', 'operation', operation).counter().count()
+    }
+
+    private long timer(String operation, String outcome) {
+        return registry.get(MicrometerDynamoDbMetrics.OPERATIONS)
+            .tags('table', 'Entity', 'index', 'none', 'operation', operation, 'outcome', outcome)
+            .timer()
+            .count()
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import reactor.core.scheduler.Schedulers
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Supplier
+
+class ServiceRegistrySpec extends Specification {
+
+    void 'service is created only once for concurrent callers'() {
+        given:
+            ServiceRegistry<String> registry = new ServiceRegistry<>()
+            AtomicInteger created = new AtomicInteger()
+            Supplier<String> factory = {
+                Thread.sleep(50)
+                return "service-${created.incrementAndGet()}".toString()
+            } as Supplier<String>
+        when:
+            List<String> services = Flux.range(0, 16)
+                .flatMap { Mono.fromCallable { registry.findOrCreate('table', factory) }.subscribeOn(Schedulers.boundedElastic()) }
+                .collectList()
+                .block()
+        then:
+            created.get() == 1
+            services.size() == 16
+            services.every { it == 'service-1' }
+            registry.services == ['service-1']
+    }
+
+    void 'slow creation does not block other tables'() {
+        given:
+            ServiceRegistry<String> registry = new ServiceRegistry<>()
+            CountDownLatch release = new CountDownLatch(1)
+            Thread slow = Thread.start {
+                registry.findOrCreate('slow', { release.await(10, TimeUnit.SECONDS); 'slow' } as Supplier<String>)
+            }
+        when:
+            String fast = registry.findOrCreate('fast', { 'fast' } as Supplier<String>)
+        then:
+            fast == 'fast'
+            registry.services == ['fast']
+        cleanup:
+            release.countDown()
+            slow.join()
+    }
+
+    void 'failed creation is retried on the next call'() {
+        given:
+            ServiceRegistry<String> registry = new ServiceRegistry<>()
+        when:
+            registry.findOrCreate('table', { throw new IllegalStateException('Failed') } as Supplier<String>)
+        then:
+            thrown(IllegalStateException)
+            registry.services.empty
+        when:
+            String service = registry.findOrCreate('table', { 'service' } as Supplier<String>)
+        then:
+            service == 'service'
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.events.DynamoDbEventType
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema.BeanIntrospectionTableSchema
+import io.micronaut.context.BeanContext
+import io.micronaut.core.convert.ConversionService
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable
+import software.amazon.awssdk.enhanced.dynamodb.Key
+import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchemaCache
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+import java.util.function.Function
+
+/**
+ * Specification for the transaction helpers which do not need the database.
+ */
+class TransactionsSpec extends Specification {
+
+    BeanContext context = Mock {
+        findBean(_) >> Optional.empty()
+        conversionService >> ConversionService.SHARED
+    }
+
+    DynamoDbTable<DynamoDBEntity> table = DynamoDbEnhancedClient.builder()
+        .dynamoDbClient(Stub(DynamoDbClient))
+        .build()
+        .table('DynamoDBEntity', BeanIntrospectionTableSchema.create(DynamoDBEntity, context, new MetaTableSchemaCache()))
+
+    void 'saved items contain the changes done by the listeners before the commit'() {
+        given:
+            MultiTableBatch.Table<DynamoDBEntity> transactionTable = new MultiTableBatch.Table<>(table, { DynamoDbEventType type, List<DynamoDBEntity> entities, eventFactory ->
+                if (type == DynamoDbEventType.PRE_PERSIST) {
+                    entities.each { it.number = 42 }
+                }
+            } as MultiTableBatch.Events<DynamoDBEntity>)
+            Transactions.Writes writes = new Transactions.Writes(
+                { String tableName, Class type -> transactionTable } as MultiTableBatch.Resolver,
+                new BeanIntrospectionAttributeConversionHelper()
+            )
+        when:
+            writes.save(new DynamoDBEntity(parentId: '1', id: '1', number: 1))
+            Transactions.publishBeforeCommit(writes.actions())
+            TransactWriteItemsRequest request = writes.request()
+        then:
+            request.transactItems().size() == 1
+            request.transactItems().first().put().item().number.n() == '42'
+    }
+
+    void 'actions are created for the table of the items'() {
+        given:
+            MultiTableBatch.Table<DynamoDBEntity> transactionTable = new MultiTableBatch.Table<>(table, MultiTableBatch.Events.none())
+            Transactions.Writes writes = new Transactions.Writes(
+                { String tableName, Class type -> transactionTable } as MultiTableBatch.Resolver,
+                new BeanIntrospectionAttributeConversionHelper()
+            )
+        when:
+            writes.save(new DynamoDBEntity(parentId: '1', id: '1', number: 1))
+            writes.delete(new DynamoDBEntity(parentId: '1', id: '2'))
+            writes.delete(DynamoDBEntity, '1', '3')
+            writes.conditionCheck(DynamoDBEntity) { it.partitionKey('1').sortKey('4').condition { it.eq('number', 1) } }
+            List<TransactWriteItem> items = writes.request().transactItems()
+        then:
+            items.size() == 4
+            items[0].put().tableName() == 'DynamoDBEntity'
+            items[0].put().item().number.n() == '1'
+            items[1].delete().tableName() == 'DynamoDBEntity'
+            items[1].delete().key().id.s() == '2'
+            items[2].delete().key().id.s() == '3'
+            items[3].conditionCheck().tableName() == 'DynamoDBEntity'
+            items[3].conditionCheck().key().id.s() == '4'
+            items[3].conditionCheck().conditionExpression()
+    }
+
+    void 'transactions containing the same key are not written at the same time'() {
+        given:
+            Set<String> inFlight = ConcurrentHashMap.newKeySet()
+            List<String> conflicts = [].asSynchronized()
+            Function<String, Key> keyFunction = { String id -> Key.builder().partitionValue(id).build() }
+            Flux<List<String>> chunks = Transactions.chunks(Flux.just('a', 'b', 'a', 'c', 'd', 'e', 'c'), 3, keyFunction)
+        when:
+            List<Integer> written = Transactions.writeChunks(chunks, keyFunction, { List<String> batch ->
+                Mono.defer {
+                    batch.each { if (!inFlight.add(it)) { conflicts << it } }
+                    Mono.delay(Duration.ofMillis(50)).map {
+                        inFlight.removeAll(batch)
+                        batch.size()
+                    }
+                }
+            }, 4).collectList().block()
+        then:
+            written == [2, 3, 2]
+            conflicts.empty
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.exception.FailedBatchRequestException
+import reactor.core.publisher.Mono
+import software.amazon.awssdk.enhanced.dynamodb.Key
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.function.Consumer
+import java.util.function.Function
+
+class WriteBehindBufferSpec extends Specification {
+
+    List<List<String>> batches = []
+    List<String> written = Collections.synchronizedList([])
+    List<FailedBatchRequestException> failures = []
+
+    void 'full batches are written immediately'() {
+        given:
+            WriteBehindBuffer<String> buffer = buffer(configuration(2, Duration.ofHours(1), 100))
+        when:
+            ['a', 'b', 'c'].each { buffer.add(it).block() }
+        then:
+            batches == [['a', 'b']]
+            buffer.size() == 1
+        when:
+            buffer.flush().block(Duration.ofSeconds(10))
+        then:
+            batches == [['a', 'b'], ['c']]
+            written == ['a', 'b', 'c']
+            buffer.size() == 0
+    }
+
+    void 'items with the same key are coalesced'() {
+        given:
+            WriteBehindBuffer<String> buffer = buffer(configuration(25, Duration.ofHours(1), 100)) { String item -> item.substring(0, 1) }
+        when:
+            ['a1', 'b1', 'a2'].each { buffer.add(it).block() }
+            buffer.flush().block(Duration.ofSeconds(10))
+        then:
+            batches == [['a2', 'b1']]
+    }
+
+    void 'partial batch is written after linger time'() {
+        given:
+            WriteBehindBuffer<String> buffer = buffer(configuration(25, Duration.ofMillis(10), 100))
+        when:
+            buffer.add('a').block()
+            Thread.sleep(500)
+        then:
+            batches == [['a']]
+    }
+
+    void 'unprocessed items are resubmitted'() {
+        given:
+            List<List<String>> attempts = []
+            WriteBehindBuffer<String> buffer = writingBuffer(configuration(25, Duration.ofHours(1), 100)) { List<String> items ->
+                attempts << items
+                return Mono.just(attempts.size() == 1 ? items.findAll { it == 'b' } : [])
+            }
+        when:
+            ['a', 'b'].each { buffer.add(it).block() }
+            buffer.flush().block(Duration.ofSeconds(10))
+        then:
+            attempts == [['a', 'b'], ['b']]
+            written == ['a', 'b']
+            failures.empty
+    }
+
+    void 'failed batch requests are resubmitted'() {
+        given:
+            int attempts = 0
+            WriteBehindBuffer<String> buffer = writingBuffer(configuration(25, Duration.ofHours(1), 100)) { List<String> items ->
+                if (attempts++ == 0) {
+                    return Mono.error(new IllegalStateException('Service unavailable'))
+                }
+                return Mono.just([])
+            }
+        when:
+            ['a', 'b'].each { buffer.add(it).block() }
+            buffer.flush().block(Duration.ofSeconds(10))
+        then:
+            attempts == 2
+            written == ['a', 'b']
+    }
+
+    void 'items not written after all the attempts are reported'() {
+        given:
+            WriteBehindBuffer<String> buffer = writingBuffer(configuration(25, Duration.ofHours(1), 100)) { List<String> items ->
+                return Mono.just(items.findAll { it == 'b' })
+            }
+        when:
+            ['a', 'b'].each { buffer.add(it).block() }
+            buffer.flush().block(Duration.ofSeconds(10))
+        then:
+            FailedBatchRequestException e = thrown(FailedBatchRequestException)
+            e.unprocessedItems == ['b']
+            written == ['a']
+            failures*.unprocessedItems == [['b']]
+
+        when:
+            buffer.flush().block(Duration.ofSeconds(10))
+        then:
+            noExceptionThrown()
+    }
+
+    void 'flush waits for the batches being written'() {
+        given:
+            WriteBehindBuffer<String> buffer = writingBuffer(configuration(2, Duration.ofHours(1), 100)) { List<String> items ->
+                return Mono.delay(Duration.ofMillis(200)).thenReturn([])
+            }
+        when:
+            ['a', 'b'].each { buffer.add(it).block() }
+        then:
+            buffer.size() == 0
+            written.empty
+
+        when:
+            buffer.flush().block(Duration.ofSeconds(10))
+        then:
+            written == ['a', 'b']
+    }
+
+    private WriteBehindBuffer<String> buffer(DynamoDBWriteBehindConfiguration configuration, Closure<String> keyValue = { String item -> item }) {
+        return buffer(configuration, keyValue) { List<String> items ->
+            batches << items
+            return Mono.just([])
+        }
+    }
+
+    private WriteBehindBuffer<String> writingBuffer(DynamoDBWriteBehindConfiguration configuration, Closure<Mono<List<String>>> writer) {
+        return buffer(configuration, { String item -> item }, writer)
+    }
+
+    private WriteBehindBuffer<String> buffer(DynamoDBWriteBehindConfiguration configuration, Closure<String> keyValue, Closure<Mono<List<String>>> writer) {
+        return new WriteBehindBuffer<>(
+            configuration,
+            new BatchRetryBackoff(new DynamoDBBatchConfiguration(maxAttempts: 2, initialBackoff: Duration.ofMillis(1), maxBackoff: Duration.ofMillis(1))),
+            { String item -> key(keyValue(item)) } as Function<String, Key>,
+            writer as Function<List<String>, Mono<List<String>>>,
+            { List<String> items -> written.addAll(items) } as Consumer<List<String>>,
+            { FailedBatchRequestException e -> failures << e } as Consumer<FailedBatchRequestException>
+        )
+    }
+
+    private static DynamoDBWriteBehindConfiguration configuration(int batchSize, Duration linger, int capacity) {
+        DynamoDBWriteBehindConfiguration configuration = new DynamoDBWriteBehindConfiguration('test')
+        configuration.batchSize = batchSize
+        configuration.linger = linger
+        configuration.capacity = capacity
+        return configuration
+    }
+
+    private static Key key(String value) {
+        return Key.builder().partitionValue(value).build()
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.BeanIntrospectionAttributeConversionHelper
+import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter
+import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest
+import spock.lang.Specification
+
+/**
+ * Specification for the updates of the nested attributes which do not need the database.
+ */
+class DefaultUpdateBuilderSpec extends Specification {
+
+    private static final AttributeConverter<String> UPPER_CASE = new AttributeConverter<String>() {
+
+        @Override
+        AttributeValue transformFrom(String input) {
+            return AttributeValue.fromS(input.toUpperCase())
+        }
+
+        @Override
+        String transformTo(AttributeValue input) {
+            return input.s().toLowerCase()
+        }
+
+        @Override
+        EnhancedType<String> type() {
+            return EnhancedType.of(String)
+        }
+
+        @Override
+        AttributeValueType attributeValueType() {
+            return AttributeValueType.S
+        }
+
+    }
+
+    TableSchema<UpdatedDetails> detailsSchema = StaticTableSchema.builder(UpdatedDetails)
+        .newItemSupplier { new UpdatedDetails() }
+        .addAttribute(String) { it.name('code').getter { d -> d.code }.setter { d, v -> d.code = v }.attributeConverter(UPPER_CASE) }
+        .addAttribute(EnhancedType.setOf(String)) { it.name('tags').getter { d -> d.tags }.setter { d, v -> d.tags = v } }
+        .build()
+
+    TableSchema<UpdatedEntity> schema = StaticTableSchema.builder(UpdatedEntity)
+        .newItemSupplier { new UpdatedEntity() }
+        .addAttribute(String) { it.name('id').getter { e -> e.id }.setter { e, v -> e.id = v }.tags(StaticAttributeTags.primaryPartitionKey()) }
+        .addAttribute(EnhancedType.documentOf(UpdatedDetails, detailsSchema)) { it.name('details').getter { e -> e.details }.setter { e, v -> e.details = v } }
+        .build()
+
+    DynamoDbTable<UpdatedEntity> table = DynamoDbEnhancedClient.builder()
+        .dynamoDbClient(Stub(DynamoDbClient))
+        .build()
+        .table('UpdatedEntity', schema)
+
+    void 'nested values are converted with the converters of the schema'() {
+        when:
+            UpdateItemRequest request = Builders.update(UpdatedEntity)
+                .partitionKey('1')
+                .put('details.code', 'abc')
+                .resolveRequest(table, new BeanIntrospectionAttributeConversionHelper())
+        then:
+            request.updateExpression().startsWith('SET ')
+            request.expressionAttributeValues().values() as List == [AttributeValue.fromS('ABC')]
+    }
+
+    void 'nested numbers are incremented'() {
+        when:
+            UpdateItemRequest request = Builders.update(UpdatedEntity)
+                .partitionKey('1')
+                .add('details.count', 1)
+                .resolveRequest(table, new BeanIntrospectionAttributeConversionHelper())
+        then:
+            request.updateExpression().startsWith('SET ')
+            request.updateExpression().contains('if_not_exists(')
+    }
+
+    void 'sets cannot be added to the nested attributes'() {
+        when:
+            Builders.update(UpdatedEntity)
+                .partitionKey('1')
+                .add('details.tags', ['x'] as Set)
+                .resolveRequest(table, new BeanIntrospectionAttributeConversionHelper())
+        then:
+            IllegalArgumentException e = thrown()
+            e.message.contains('details.tags')
+    }
+
+}
+
+class UpdatedEntity {
+
+    String id
+    UpdatedDetails details
+
+}
+
+class UpdatedDetails {
+
+    String code
+    Set<String> tags
+
+}
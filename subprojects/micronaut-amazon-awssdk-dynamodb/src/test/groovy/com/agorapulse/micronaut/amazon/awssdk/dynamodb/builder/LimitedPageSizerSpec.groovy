@@ -0,0 +1,99 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder
+
+import reactor.core.publisher.Flux
+import software.amazon.awssdk.enhanced.dynamodb.model.Page
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.BiFunction
+
+class LimitedPageSizerSpec extends Specification {
+
+    private static final int TABLE_SIZE = 100
+
+    @Unroll
+    void 'page sizes for max #max, every #modulo item matching and page #page are #expected'() {
+        given:
+            List<Integer> pageSizes = []
+            BiFunction<Integer, Map<String, AttributeValue>, Flux<Page<Integer>>> table = { Integer pageSize, Map<String, AttributeValue> lastEvaluatedKey ->
+                pageSizes << pageSize
+                int from = lastEvaluatedKey ? lastEvaluatedKey.k.n().toInteger() + 1 : 0
+                int to = Math.min(TABLE_SIZE, from + pageSize)
+                List<Integer> items = (from..<to).findAll { it % modulo == 0 }
+                Map<String, AttributeValue> last = to < TABLE_SIZE ? [k: AttributeValue.fromN(String.valueOf(to - 1))] : [:]
+                // the second page must never be requested by the sizer
+                return Flux.just(
+                    Page.builder(Integer).items(items).lastEvaluatedKey(last).scannedCount(to - from).build(),
+                    Page.builder(Integer).items([-1]).build()
+                )
+            } as BiFunction
+
+        when:
+            List<Integer> items = LimitedPageSizer.fetch(max, page, modulo > 1, table)
+                .flatMapIterable { it.items() }
+                .take(max)
+                .collectList()
+                .block()
+
+        then:
+            items.size() == Math.min(max, (TABLE_SIZE + modulo - 1).intdiv(modulo))
+            !items.contains(-1)
+            pageSizes == expected
+
+        where:
+            max | modulo | page | expected
+            0   | 1      | null | []
+            5   | 1      | null | [5]
+            30  | 1      | null | [30]
+            30  | 1      | 20   | [20, 10]
+            5   | 10     | null | [5, 20, 17]
+            5   | 10     | 3    | [3] * 14
+            3   | 1000   | null | [3, 6, 18, 54, 162]
+    }
+
+    void 'segments of the parallel scan share the remaining items'() {
+        given:
+            int segments = 4
+            AtomicInteger read = new AtomicInteger()
+            AtomicInteger remaining = new AtomicInteger(10)
+
+        when:
+            List<Integer> items = Flux.range(0, segments).flatMap({ Integer segment ->
+                LimitedPageSizer.fetch(remaining, segments, null, false, { Integer pageSize, Map<String, AttributeValue> lastEvaluatedKey ->
+                    int from = lastEvaluatedKey ? lastEvaluatedKey.k.n().toInteger() + 1 : 0
+                    int to = Math.min(TABLE_SIZE, from + pageSize)
+                    read.addAndGet(to - from)
+                    Map<String, AttributeValue> last = to < TABLE_SIZE ? [k: AttributeValue.fromN(String.valueOf(to - 1))] : [:]
+                    return Flux.just(Page.builder(Integer).items((from..<to).collect { segment * TABLE_SIZE + it }).lastEvaluatedKey(last).build())
+                } as BiFunction)
+            }, segments)
+                .flatMapIterable { it.items() }
+                .take(10)
+                .collectList()
+                .block()
+
+        then:
+            items.size() == 10
+            read.get() < 10 + segments
+    }
+
+}
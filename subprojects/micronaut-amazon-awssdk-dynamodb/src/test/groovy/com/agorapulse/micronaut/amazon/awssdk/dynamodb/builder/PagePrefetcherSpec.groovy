@@ -0,0 +1,95 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder
+
+import org.reactivestreams.Subscription
+import reactor.core.publisher.BaseSubscriber
+import reactor.core.publisher.Flux
+import software.amazon.awssdk.enhanced.dynamodb.model.Page
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicInteger
+
+class PagePrefetcherSpec extends Specification {
+
+    private static final int PAGES = 100
+    private static final int PAGE_SIZE = 50
+
+    void 'pages are fetched in advance up to the prefetch'() {
+        given:
+            AtomicInteger fetched = new AtomicInteger()
+            Flux<Page<Integer>> pages = Flux.range(0, PAGES)
+                .map { Page.create((0..<PAGE_SIZE).collect { i -> it * PAGE_SIZE + i }) }
+                .doOnNext { fetched.incrementAndGet() }
+            List<Integer> received = new CopyOnWriteArrayList<>()
+            HoldingSubscriber subscriber = new HoldingSubscriber(received)
+            PollingConditions conditions = new PollingConditions(timeout: 5)
+
+        when:
+            PagePrefetcher.items(pages, prefetch).subscribe(subscriber)
+        then:
+            conditions.eventually {
+                assert received == [0]
+                assert fetched.get() > 1
+            }
+
+        when:
+            Thread.sleep(100)
+        then:
+            // the page being consumed and at most the prefetched pages, regardless of the size of the pages
+            fetched.get() <= prefetch + 1
+
+        when:
+            subscriber.requestAll()
+        then:
+            conditions.eventually {
+                assert received.size() == PAGES * PAGE_SIZE
+                assert fetched.get() == PAGES
+            }
+
+        where:
+            prefetch << [1, 2, 5]
+    }
+
+    private static class HoldingSubscriber extends BaseSubscriber<Integer> {
+
+        private final List<Integer> received
+
+        HoldingSubscriber(List<Integer> received) {
+            this.received = received
+        }
+
+        void requestAll() {
+            request(Long.MAX_VALUE)
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            request(1)
+        }
+
+        @Override
+        protected void hookOnNext(Integer value) {
+            received << value
+        }
+
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.UpdateExpressionTemplate.Operation.*
+
+class UpdateExpressionTemplateSpec extends Specification {
+
+    @Unroll
+    void 'operation #operation on #path is compiled into #expected'() {
+        when:
+            UpdateItemRequest.Builder builder = UpdateItemRequest.builder()
+            UpdateExpressionTemplate.compile([path], [operation]).apply(builder, [AttributeValue.fromN('1')] as AttributeValue[])
+            UpdateItemRequest request = builder.build()
+            String text = request.updateExpression()
+            request.expressionAttributeNames().each { token, name -> text = text.replace(token, name) }
+            request.expressionAttributeValues().keySet().sort { -it.length() }.each { token -> text = text.replace(token, '?') }
+        then:
+            text == expected
+        where:
+            path                 | operation         | expected
+            'number'             | SET               | 'SET number = ?'
+            'number'             | SET_IF_NOT_EXISTS | 'SET number = if_not_exists(number, ?)'
+            'tags'               | APPEND            | 'SET tags = list_append(if_not_exists(tags, ?), ?)'
+            'address.zip'        | INCREMENT         | 'SET address.zip = if_not_exists(address.zip, ?) + ?'
+            'number'             | ADD               | 'ADD number ?'
+            'address.lines[1]'   | REMOVE            | 'REMOVE address.lines[1]'
+    }
+
+    void 'top level attributes containing dots or brackets are not treated as paths'() {
+        when:
+            UpdateItemRequest.Builder builder = UpdateItemRequest.builder()
+            UpdateExpressionTemplate.compile(['a.b', 'c[0]', 'address.zip'], [SET, SET, SET], ['a.b', 'c[0]']).apply(
+                builder,
+                [AttributeValue.fromS('x'), AttributeValue.fromS('y'), AttributeValue.fromS('z')] as AttributeValue[]
+            )
+            UpdateItemRequest request = builder.build()
+        then:
+            request.expressionAttributeNames().values().toSet() == ['a.b', 'c[0]', 'address', 'zip'].toSet()
+            request.expressionAttributeValues().size() == 3
+            !request.updateExpression().contains('[')
+    }
+
+    void 'templates of the same paths differ for top level attributes'() {
+        expect:
+            !UpdateExpressionTemplate.get(['a.b'], [SET]).is(UpdateExpressionTemplate.get(['a.b'], [SET], ['a.b']))
+            UpdateExpressionTemplate.get(['a.b'], [SET], ['a.b']).expression ==~ /SET #\w+ = :\w+/
+    }
+
+    void 'clauses are grouped'() {
+        when:
+            UpdateExpressionTemplate template = UpdateExpressionTemplate.compile(
+                ['number', 'old', 'name', 'counter', 'other'],
+                [ADD, REMOVE, SET, ADD, REMOVE]
+            )
+        then:
+            template.expression ==~ /SET [^,]+ = [^,]+ ADD [^,]+ [^,]+, [^,]+ [^,]+ REMOVE [^,]+, [^,]+/
+    }
+
+    void 'templates of the same structure are reused'() {
+        when:
+            UpdateExpressionTemplate first = UpdateExpressionTemplate.get(['number', 'name'], [ADD, SET])
+            int cached = UpdateExpressionTemplate.cachedTemplates()
+            UpdateExpressionTemplate second = UpdateExpressionTemplate.get(['number', 'name'], [ADD, SET])
+            UpdateExpressionTemplate third = UpdateExpressionTemplate.get(['number', 'name'], [ADD, SET_IF_NOT_EXISTS])
+        then:
+            first.is(second)
+            !first.is(third)
+            UpdateExpressionTemplate.cachedTemplates() == cached + 1
+    }
+
+    void 'values are bound for each call'() {
+        given:
+            UpdateExpressionTemplate template = UpdateExpressionTemplate.get(['number', 'old'], [ADD, REMOVE])
+        when:
+            UpdateItemRequest.Builder first = UpdateItemRequest.builder()
+            template.apply(first, [AttributeValue.fromN('1'), null] as AttributeValue[])
+            UpdateItemRequest.Builder second = UpdateItemRequest.builder()
+            template.apply(second, [AttributeValue.fromN('2'), null] as AttributeValue[])
+        then:
+            first.build().expressionAttributeValues().values()*.n() == ['1']
+            second.build().expressionAttributeValues().values()*.n() == ['2']
+            first.build().expressionAttributeNames() == second.build().expressionAttributeNames()
+    }
+
+    void 'names and values replaced by the configurer are restored'() {
+        given:
+            AttributeValue[] values = [AttributeValue.fromN('1')] as AttributeValue[]
+            UpdateExpressionTemplate template = UpdateExpressionTemplate.get(['number'], [ADD])
+            UpdateItemRequest.Builder builder = UpdateItemRequest.builder()
+            template.apply(builder, values)
+            builder.conditionExpression('#c = :c')
+                .expressionAttributeNames('#c': 'number')
+                .expressionAttributeValues(':c': AttributeValue.fromN('0'))
+        when:
+            UpdateItemRequest request = template.merge(builder.build(), values)
+        then:
+            request.expressionAttributeNames().size() == 2
+            request.expressionAttributeValues().size() == 2
+            request.expressionAttributeNames()['#c'] == 'number'
+    }
+
+}
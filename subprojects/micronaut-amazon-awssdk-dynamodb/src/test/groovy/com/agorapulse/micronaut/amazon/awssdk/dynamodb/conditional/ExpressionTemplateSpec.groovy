@@ -0,0 +1,107 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.conditional
+
+import software.amazon.awssdk.enhanced.dynamodb.Expression
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue
+import spock.lang.Specification
+
+import static com.agorapulse.micronaut.amazon.awssdk.dynamodb.conditional.QueryConditionalFactory.*
+
+class ExpressionTemplateSpec extends Specification {
+
+    void 'conditions of the same structure share the template'() {
+        when:
+            Expression first = condition('one', 1, 'a', 'b').expression(null, null)
+            int cached = ExpressionTemplate.cachedTemplates()
+            Expression second = condition('two', 2, 'c', 'd').expression(null, null)
+        then:
+            ExpressionTemplate.cachedTemplates() == cached
+            first.expression() == second.expression()
+            first.expressionNames() == second.expressionNames()
+            first.expressionNames().values().toSet() == ['parentId', 'rangeIndex', 'tags', 'number'].toSet()
+            first.expressionValues().keySet() == second.expressionValues().keySet()
+            first.expressionValues().values()*.s().findAll() as Set == ['one', 'a', 'b'] as Set
+            second.expressionValues().values()*.s().findAll() as Set == ['two', 'c', 'd'] as Set
+            second.expressionValues().values()*.n().findAll() == ['2']
+    }
+
+    void 'different structure compiles a new template'() {
+        when:
+            Expression first = and(equalTo('parentId', s('one')), inList('rangeIndex', [s('a')])).expression(null, null)
+            Expression second = and(equalTo('parentId', s('one')), inList('rangeIndex', [s('a'), s('b')])).expression(null, null)
+        then:
+            first.expression() != second.expression()
+            first.expressionValues().size() == 2
+            second.expressionValues().size() == 3
+    }
+
+    void 'key condition and filter of the same structure do not share the placeholders'() {
+        when:
+            Expression key = keyCondition(and(equalTo('parentId', s('one')), beginsWith('rangeIndex', s('a')))).expression(null, null)
+            Expression filter = filterExpression(and(equalTo('parentId', s('two')), beginsWith('rangeIndex', s('b'))), null, null)
+            Expression joined = Expression.join(key, filter, ' AND ')
+        then:
+            Collections.disjoint(key.expressionValues().keySet(), filter.expressionValues().keySet())
+            joined.expressionValues().values()*.s() as Set == ['one', 'a', 'two', 'b'] as Set
+            joined.expressionNames().values().toSet() == ['parentId', 'rangeIndex'].toSet()
+    }
+
+    void 'expression matches the structure of the conditions'() {
+        when:
+            Expression expression = condition('one', 1, 'a', 'b').expression(null, null)
+            String text = expression.expression()
+            expression.expressionNames().each { token, name -> text = text.replace(token, name) }
+            expression.expressionValues().keySet().sort { -it.length() }.each { token -> text = text.replace(token, '?') }
+        then:
+            text == 'parentId = ? AND ( rangeIndex BETWEEN ? AND ? OR NOT (attribute_exists (tags)) ) AND size (number) > ?'
+    }
+
+    void 'foreign conditions are inlined'() {
+        given:
+            QueryConditional foreign = { schema, index ->
+                Expression.builder().expression('#f = :f').putExpressionName('#f', 'foreign').putExpressionValue(':f', s('value')).build()
+            } as QueryConditional
+        when:
+            Expression expression = and(equalTo('parentId', s('one')), foreign).expression(null, null)
+        then:
+            expression.expression().endsWith(' AND #f = :f')
+            expression.expressionNames()['#f'] == 'foreign'
+            expression.expressionValues()[':f'] == s('value')
+            expression.expressionValues().size() == 2
+    }
+
+    void 'conditions without values do not produce empty values'() {
+        expect:
+            attributeExists('tags').expression(null, null).expressionValues() == null
+    }
+
+    private static QueryConditional condition(String parentId, int size, String from, String to) {
+        return and(
+            equalTo('parentId', s(parentId)),
+            group(or(between('rangeIndex', s(from), s(to)), not(attributeExists('tags')))),
+            sizeGreaterThan('number', AttributeValue.fromN(String.valueOf(size)))
+        )
+    }
+
+    private static AttributeValue s(String value) {
+        return AttributeValue.fromS(value)
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CompressedAttributeConverterSpec extends Specification {
+
+    private static final String LARGE = 'Hello World! ' * 1000
+
+    @Unroll
+    void 'value of length #value.length() is persisted and read using #codec.class.simpleName with threshold #threshold'() {
+        given:
+            CompressedAttributeConverter converter = new CompressedAttributeConverter(codec, threshold)
+        when:
+            AttributeValue attributeValue = converter.transformFrom(value)
+        then:
+            attributeValue.b().asByteArray()[0] == header
+            converter.transformTo(attributeValue) == value
+        where:
+            codec                         | threshold | value   | header
+            new GzipCompressionCodec()    | 0         | ''      | GzipCompressionCodec.ID
+            new GzipCompressionCodec()    | 0         | 'Hello' | GzipCompressionCodec.ID
+            new GzipCompressionCodec()    | 0         | LARGE   | GzipCompressionCodec.ID
+            new GzipCompressionCodec()    | 100       | 'Hello' | CompressedAttributeConverter.UNCOMPRESSED
+            new DeflateCompressionCodec() | 0         | ''      | DeflateCompressionCodec.ID
+            new DeflateCompressionCodec() | 0         | LARGE   | DeflateCompressionCodec.ID
+            new DeflateCompressionCodec() | 100       | 'Hello' | CompressedAttributeConverter.UNCOMPRESSED
+            new DeflateCompressionCodec() | 100       | LARGE   | DeflateCompressionCodec.ID
+    }
+
+    void 'large values are compressed'() {
+        given:
+            CompressedAttributeConverter converter = new CompressedAttributeConverter(new DeflateCompressionCodec(), 1024)
+        expect:
+            converter.transformFrom(LARGE).b().asByteArray().length < LARGE.length()
+    }
+
+    void 'values written by the other codecs are read'() {
+        given:
+            CompressedAttributeConverter gzip = new CompressedAttributeConverter(new GzipCompressionCodec(), 0)
+            CompressedAttributeConverter deflate = new CompressedAttributeConverter(new DeflateCompressionCodec(), 0)
+            CompressedStringConverter legacy = new CompressedStringConverter()
+        expect:
+            deflate.transformTo(gzip.transformFrom(LARGE)) == LARGE
+            gzip.transformTo(deflate.transformFrom(LARGE)) == LARGE
+            deflate.transformTo(legacy.transformFrom(LARGE)) == LARGE
+            legacy.transformTo(deflate.transformFrom(LARGE)) == LARGE
+    }
+
+}
@@ -20,12 +20,17 @@ package com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.DynamoDBServiceProvider
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.DynamoDbService
 import com.agorapulse.micronaut.amazon.awssdk.dynamodb.Options
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.ConvertedJson
+import com.fasterxml.jackson.databind.ObjectMapper
 import io.micronaut.json.JsonMapper
 import io.micronaut.test.extensions.spock.annotation.MicronautTest
 import jakarta.inject.Inject
+import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType
 import software.amazon.awssdk.enhanced.dynamodb.Key
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue
 import spock.lang.Specification
+import spock.lang.Unroll
 
 @MicronautTest
 class ConvertedJsonAttributeConverterSpec extends Specification {
@@ -85,4 +90,51 @@ class ConvertedJsonAttributeConverterSpec extends Specification {
             !RawDataUtil.getRawDynamoDbItem(dynamoDbClient, ConvertedJsonEntityExample, entity.id).options
     }
 
+    void 'should persist entity with options stored as native map and binary CBOR'() {
+        given:
+            DynamoDbService<ConvertedJsonFormatsEntityExample> formatsService = dynamoDBServiceProvider.findOrCreate(ConvertedJsonFormatsEntityExample)
+            ConvertedJsonFormatsEntityExample entity = new ConvertedJsonFormatsEntityExample(
+                UUID.randomUUID().toString(),
+                new Options(one: '1', two: '2'),
+                new Options(one: 'one', two: 'two')
+            )
+        when:
+            formatsService.save(entity)
+            ConvertedJsonFormatsEntityExample loaded = formatsService.get(Key.builder().partitionValue(entity.id).build())
+        then:
+            loaded.nativeOptions == entity.nativeOptions
+            loaded.binaryOptions == entity.binaryOptions
+
+        when:
+            Map<String, AttributeValue> item = RawDataUtil.getRawDynamoDbItem(dynamoDbClient, ConvertedJsonFormatsEntityExample, entity.id)
+        then:
+            item.nativeOptions.m().one.s() == '1'
+            item.nativeOptions.m().two.s() == '2'
+            item.binaryOptions.b()
+    }
+
+    @Unroll
+    void 'native format of #type.simpleName is stored as #expected'() {
+        expect:
+            new ConvertedJsonAttributeConverter<>(type, ConvertedJson.Format.NATIVE, new ObjectMapper()).attributeValueType() == expected
+        where:
+            type       | expected
+            Options    | AttributeValueType.M
+            Map        | AttributeValueType.M
+            List       | AttributeValueType.L
+            Set        | AttributeValueType.L
+            String[]   | AttributeValueType.L
+    }
+
+    void 'native format writes the collections as lists'() {
+        given:
+            ConvertedJsonAttributeConverter<List> converter = new ConvertedJsonAttributeConverter<>(List, ConvertedJson.Format.NATIVE, new ObjectMapper())
+        when:
+            AttributeValue value = converter.transformFrom([[one: '1', two: '2']])
+        then:
+            value.l().size() == 1
+            value.l().first().m().one.s() == '1'
+            converter.transformTo(value) == [[one: '1', two: '2']]
+    }
+
 }
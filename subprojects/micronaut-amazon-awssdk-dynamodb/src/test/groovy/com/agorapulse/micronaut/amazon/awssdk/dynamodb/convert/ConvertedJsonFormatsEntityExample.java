@@ -0,0 +1,66 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.convert;
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.Options;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.ConvertedJson;
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.annotation.PartitionKey;
+import io.micronaut.core.annotation.Introspected;
+
+@Introspected
+public class ConvertedJsonFormatsEntityExample {
+
+    private String id;
+    private Options nativeOptions;
+    private Options binaryOptions;
+
+    public ConvertedJsonFormatsEntityExample() {}
+
+    public ConvertedJsonFormatsEntityExample(String id, Options nativeOptions, Options binaryOptions) {
+        this.id = id;
+        this.nativeOptions = nativeOptions;
+        this.binaryOptions = binaryOptions;
+    }
+
+    @PartitionKey
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @ConvertedJson(format = ConvertedJson.Format.NATIVE)
+    public Options getNativeOptions() {
+        return nativeOptions;
+    }
+
+    public void setNativeOptions(Options nativeOptions) {
+        this.nativeOptions = nativeOptions;
+    }
+
+    @ConvertedJson(format = ConvertedJson.Format.CBOR)
+    public Options getBinaryOptions() {
+        return binaryOptions;
+    }
+
+    public void setBinaryOptions(Options binaryOptions) {
+        this.binaryOptions = binaryOptions;
+    }
+}
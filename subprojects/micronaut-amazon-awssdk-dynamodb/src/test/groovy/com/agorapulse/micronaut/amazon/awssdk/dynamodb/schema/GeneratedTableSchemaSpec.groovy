@@ -0,0 +1,77 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema
+
+import io.micronaut.context.BeanContext
+import io.micronaut.core.convert.ConversionService
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema
+import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchemaCache
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue
+import spock.lang.Specification
+
+class GeneratedTableSchemaSpec extends Specification {
+
+    BeanContext context = Mock {
+        findBean(_) >> Optional.empty()
+        conversionService >> ConversionService.SHARED
+    }
+
+    void 'table schema is generated for mutable entity'() {
+        when:
+            TableSchema<EntityWithTtl> generated = GeneratedTableSchemaSupport.find(EntityWithTtl, context, new MetaTableSchemaCache()).orElse(null)
+            TableSchema<EntityWithTtl> introspected = BeanIntrospectionTableSchema.create(EntityWithTtl, context, new MetaTableSchemaCache())
+        then:
+            generated
+            generated.class.name == GeneratedTableSchemaSupport.getGeneratedClassName(EntityWithTtl)
+            generated.attributeNames() == introspected.attributeNames()
+            generated.tableMetadata().primaryPartitionKey() == introspected.tableMetadata().primaryPartitionKey()
+            generated.tableMetadata().primarySortKey() == introspected.tableMetadata().primarySortKey()
+
+        when:
+            EntityWithTtl entity = new EntityWithTtl(id: 1L, sortKey: 2L)
+            Map<String, AttributeValue> map = generated.itemToMap(entity, true)
+        then:
+            map.id.n() == '1'
+            map.sortKey.n() == '2'
+            map.ttl.n()
+
+        when:
+            EntityWithTtl loaded = generated.mapToItem(map)
+        then:
+            loaded.id == 1L
+            loaded.sortKey == 2L
+    }
+
+    void 'table schema is generated for entity with custom converter provider'() {
+        when:
+            TableSchema<EntityWithConverter> generated = GeneratedTableSchemaSupport.find(EntityWithConverter, context, new MetaTableSchemaCache()).orElse(null)
+            EntityWithConverter entity = new EntityWithConverter(id: 'foo', subEntity: new EntityWithConverter.SubEntity(name: 'bar'))
+            Map<String, AttributeValue> map = generated.itemToMap(entity, true)
+        then:
+            map.id.s() == 'foo'
+            map.subEntity.s() == 'bar'
+            generated.mapToItem(map).subEntity.name == 'bar'
+    }
+
+    void 'table schema is not generated for immutable entity'() {
+        expect:
+            !GeneratedTableSchemaSupport.find(ImmutableEntityRecord, context, new MetaTableSchemaCache()).present
+            !GeneratedTableSchemaSupport.find(ImmutableEntityWithDynamoDbImmutable, context, new MetaTableSchemaCache()).present
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * Copyright 2018-2026 Agorapulse.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.agorapulse.micronaut.amazon.awssdk.dynamodb.schema
+
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.AttributeConversionHelper
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.BeanIntrospectionAttributeConversionHelper
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.Builders
+import com.agorapulse.micronaut.amazon.awssdk.dynamodb.builder.ScanBuilder
+import io.micronaut.context.BeanContext
+import io.micronaut.core.convert.ConversionService
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema
+import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchemaCache
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue
+import spock.lang.Specification
+
+class ProjectionTableSchemaSpec extends Specification {
+
+    interface EntityWithConverterView {
+
+        String getId()
+
+        EntityWithConverter.SubEntity getSubEntity()
+
+    }
+
+    interface UnrelatedView {
+
+        String getName()
+
+    }
+
+    BeanContext context = Mock {
+        findBean(_) >> Optional.empty()
+        conversionService >> ConversionService.SHARED
+    }
+
+    TableSchema<EntityWithConverter> entitySchema = BeanIntrospectionTableSchema.create(EntityWithConverter, context, new MetaTableSchemaCache())
+
+    Map<String, AttributeValue> item = [
+        id: AttributeValue.fromS('foo'),
+        subEntity: AttributeValue.fromS('bar'),
+    ]
+
+    void 'items are read into record projection'() {
+        when:
+            ProjectionTableSchema<EntityWithConverterSummary> schema = ProjectionTableSchema.create(entitySchema, EntityWithConverterSummary)
+            EntityWithConverterSummary summary = schema.mapToItem(item)
+        then:
+            schema.projectedAttributes == ['id', 'subEntity']
+            schema.tableMetadata() == entitySchema.tableMetadata()
+            summary.id() == 'foo'
+            summary.subEntity().name == 'bar'
+    }
+
+    void 'items are read into interface projection'() {
+        when:
+            ProjectionTableSchema<EntityWithConverterView> schema = ProjectionTableSchema.create(entitySchema, EntityWithConverterView)
+            EntityWithConverterView view = schema.mapToItem(item)
+        then:
+            schema.projectedAttributes.toSet() == ['id', 'subEntity'].toSet()
+            view.id == 'foo'
+            view.subEntity.name == 'bar'
+
+        when:
+            view = schema.mapToItem([id: AttributeValue.fromS('foo')])
+        then:
+            view.id == 'foo'
+            view.subEntity == null
+            view == schema.mapToItem([id: AttributeValue.fromS('foo')])
+    }
+
+    void 'entities can still be converted to items'() {
+        expect:
+            ProjectionTableSchema.create(entitySchema, EntityWithConverterSummary).itemToMap(new EntityWithConverter(id: 'foo'), true).id.s() == 'foo'
+    }
+
+    void 'builders project the attributes of the projection without changing the builder'() {
+        given:
+            DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(Stub(DynamoDbClient)).build()
+            DynamoDbTable<EntityWithConverter> entityTable = enhancedClient.table('EntityWithConverter', entitySchema)
+            DynamoDbTable<EntityWithConverter> projectionTable = enhancedClient.table(
+                'EntityWithConverter',
+                ProjectionTableSchema.create(entitySchema, EntityWithConverterSummary)
+            ) as DynamoDbTable<EntityWithConverter>
+            AttributeConversionHelper helper = new BeanIntrospectionAttributeConversionHelper()
+            ScanBuilder<EntityWithConverter> scan = Builders.scan(EntityWithConverter)
+
+        expect:
+            scan.resolveRequest(projectionTable, helper).attributesToProject() == ['id', 'subEntity']
+            !scan.resolveRequest(entityTable, helper).attributesToProject()
+
+        when:
+            scan.only('id')
+        then:
+            scan.resolveRequest(projectionTable, helper).attributesToProject() == ['id']
+    }
+
+    void 'projection must match at least one attribute'() {
+        when:
+            ProjectionTableSchema.create(entitySchema, UnrelatedView)
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+}